@@ -0,0 +1,26 @@
+package com.omisys.common.domain.entity;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * 사용자의 대기열 슬롯 반납을 게이트웨이에 알린다. 로그아웃(auth)과 주문 완료(order)에서 쓴다.
+ *
+ * <p>발행 실패는 로그만 남긴다. 게이트웨이의 무활동 만료가 결국 슬롯을 회수한다.
+ * 사용하는 서비스가 자기 StringRedisTemplate으로 빈을 등록한다.</p>
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class QueueSlotReleasePublisher {
+
+    private final StringRedisTemplate redisTemplate;
+
+    public void release(Long userId) {
+        try {
+            redisTemplate.convertAndSend(RedisChannelConstant.QUEUE_SLOT_RELEASE, String.valueOf(userId));
+        } catch (Exception e) {
+            log.warn("대기열 슬롯 반납 이벤트 발행 실패: userId={}", userId, e);
+        }
+    }
+}
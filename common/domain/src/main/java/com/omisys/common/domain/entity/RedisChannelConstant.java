@@ -0,0 +1,20 @@
+package com.omisys.common.domain.entity;
+
+public class RedisChannelConstant {
+
+    // 대기열 슬롯 반납 채널 — 메시지 본문은 userId
+    // 게이트웨이(QueueSlotReleaseListener)가 구독해 해당 사용자를 대기열에서 내보내고 대기자를 즉시 승격한다.
+    public static final String QUEUE_SLOT_RELEASE = "users:queue:release";
+
+    // 상품 서비스 로컬(L1) 캐시 무효화 채널 — 메시지 본문은 "instanceId|cacheName|key" (key 생략 시 캐시 전체)
+    // 각 인스턴스의 CacheInvalidationListener가 구독해 자기 L1에서 해당 항목을 제거한다.
+    public static final String PRODUCT_CACHE_INVALIDATION = "product:cache:invalidate";
+
+    // 사전예약 매진 상태 채널 — 메시지 본문은 "preOrderId:1"(매진) 또는 "preOrderId:0"(매진 해제)
+    // 상품 서비스 인스턴스와 게이트웨이가 구독해 매진된 사전예약 요청을 Redis 조회 없이 메모리에서 거절한다.
+    public static final String PREORDER_SOLD_OUT = "preorder:soldout";
+
+    // 매진된 사전예약 ID Set 키 — 채널 메시지를 놓친 인스턴스(재시작 등)가 기동 시 읽어 오는 기준 상태다.
+    public static final String PREORDER_SOLD_OUT_IDS = "preorder:soldout:ids";
+
+}
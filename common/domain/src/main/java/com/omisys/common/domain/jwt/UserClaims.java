@@ -0,0 +1,4 @@
+package com.omisys.common.domain.jwt;
+
+public record UserClaims(Long userId, String username, String role) {
+}
@@ -0,0 +1,124 @@
+package com.omisys.common.domain.jwt;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URLDecoder;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * X-User-Claims 헤더 인코더/디코더.
+ *
+ * <p>게이트웨이가 검증한 사용자 클레임을 JSON + URL 인코딩 대신 고정 레이아웃 바이너리를 base64url로 전달한다.
+ * 하위 서비스는 Jackson 파싱 없이 바이트 오프셋만으로 클레임을 복원한다.</p>
+ *
+ * <pre>
+ * [version:1][userId:8][usernameLength:2][username:UTF-8][roleLength:2][role:UTF-8]
+ * </pre>
+ */
+public final class UserClaimsCodec {
+
+    public static final byte VERSION = 1;
+
+    private static final long NO_USER_ID = Long.MIN_VALUE;
+    private static final int MAX_TEXT_LENGTH = 0xFFFF;
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private UserClaimsCodec() {
+    }
+
+    public static String encode(Long userId, String username, String role) {
+        byte[] usernameBytes = toBytes(username);
+        byte[] roleBytes = toBytes(role);
+
+        ByteBuffer buffer = ByteBuffer.allocate(1 + 8 + 2 + usernameBytes.length + 2 + roleBytes.length);
+        buffer.put(VERSION);
+        buffer.putLong(userId == null ? NO_USER_ID : userId);
+        buffer.putShort((short) usernameBytes.length).put(usernameBytes);
+        buffer.putShort((short) roleBytes.length).put(roleBytes);
+        return ENCODER.encodeToString(buffer.array());
+    }
+
+    /**
+     * @throws IllegalArgumentException base64url 형식이 아니거나, 버전/길이가 레이아웃과 맞지 않는 경우
+     */
+    public static UserClaims decode(String header) {
+        ByteBuffer buffer = ByteBuffer.wrap(DECODER.decode(header));
+        try {
+            byte version = buffer.get();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported X-User-Claims version: " + version);
+            }
+            long userId = buffer.getLong();
+            String username = readText(buffer);
+            String role = readText(buffer);
+            if (buffer.hasRemaining()) {
+                throw new IllegalArgumentException("Trailing bytes in X-User-Claims header");
+            }
+            return new UserClaims(userId == NO_USER_ID ? null : userId, username, role);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Malformed X-User-Claims header", e);
+        }
+    }
+
+    /**
+     * X-User-Claims 헤더를 형식에 관계없이 읽는다. 바이너리 헤더는 {@link #decode}로 복원하고,
+     * 게이트웨이 배포 전환 기간에 남아있는 URL 인코딩 JSON 헤더는 objectMapper로 읽는다.
+     *
+     * @throws IllegalArgumentException 어느 형식으로도 읽을 수 없는 경우
+     */
+    public static UserClaims parse(String header, ObjectMapper objectMapper) {
+        if (!isLegacyJson(header)) {
+            return decode(header);
+        }
+        try {
+            JsonNode node = objectMapper.readTree(URLDecoder.decode(header, StandardCharsets.UTF_8));
+            JsonNode userId = node.get("userId");
+            return new UserClaims(
+                    userId == null || userId.isNull() ? null : userId.asLong(),
+                    text(node, "username"),
+                    text(node, "role"));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed legacy X-User-Claims header", e);
+        }
+    }
+
+    /**
+     * 게이트웨이 배포 전환 기간에 남아있는 URL 인코딩 JSON 헤더인지 판별한다.
+     */
+    public static boolean isLegacyJson(String header) {
+        return header.startsWith("%7B") || header.startsWith("{");
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    private static byte[] toBytes(String text) {
+        if (text == null) {
+            return new byte[0];
+        }
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_TEXT_LENGTH) {
+            throw new IllegalArgumentException("Claim value too long: " + bytes.length);
+        }
+        return bytes;
+    }
+
+    private static String readText(ByteBuffer buffer) {
+        int length = Short.toUnsignedInt(buffer.getShort());
+        if (length == 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
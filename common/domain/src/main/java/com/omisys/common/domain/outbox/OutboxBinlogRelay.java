@@ -0,0 +1,366 @@
+package com.omisys.common.domain.outbox;
+
+import com.github.shyiko.mysql.binlog.BinaryLogClient;
+import com.github.shyiko.mysql.binlog.event.Event;
+import com.github.shyiko.mysql.binlog.event.EventData;
+import com.github.shyiko.mysql.binlog.event.EventHeader;
+import com.github.shyiko.mysql.binlog.event.EventType;
+import com.github.shyiko.mysql.binlog.event.TableMapEventData;
+import com.github.shyiko.mysql.binlog.event.WriteRowsEventData;
+import com.github.shyiko.mysql.binlog.event.deserialization.EventDeserializer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.io.Serializable;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * binlog를 따라가며 outbox 테이블에 INSERT된 행을 바로 발행하는 릴레이. 폴링 쿼리 없이 커밋 직후 발행된다.
+ *
+ * <p>MySQL 복제 프로토콜로 binlog를 받아(binlog_format=ROW 필요) 대상 테이블의 WRITE_ROWS 이벤트를 모으고,
+ * 트랜잭션 커밋(XID)마다 {@link OutboxRelay#publish}로 한 번에 발행한다. 발행·재시도 결과 반영은 폴링 모드와 같다.
+ * binlog에는 커밋된 행만 기록되므로 커밋 전 행을 읽을 일이 없다.</p>
+ *
+ * <p>binlog 위치는 저장하지 않고 연결 시점의 끝에서 시작한다. 대신 sweepInterval마다 grace보다 오래된 PENDING 행
+ * (연결 전에 쌓였거나 재시도 시각이 된 행)을 한 번 읽어 발행한다. grace 안의 새 행은 binlog 경로가 맡으므로
+ * 두 경로가 같은 행을 겹쳐 발행하는 일은 재연결 직후 정도로 드물다(at-least-once).</p>
+ *
+ * <p>binlog는 하나의 스트림이므로 테이블마다 한 인스턴스만 발행한다. 파티션 1개짜리 {@link OutboxPartitionLease}를 넘기면
+ * 그 lease를 가진 인스턴스만 발행하고 나머지는 연결만 유지한 채 대기하다가 lease가 넘어오면 이어받는다.</p>
+ *
+ * <p>연결 계정에는 REPLICATION SLAVE, REPLICATION CLIENT 권한이 필요하고, serverId는 복제 토폴로지 안에서 유일해야 한다.</p>
+ */
+@Slf4j(topic = "OutboxBinlogRelay")
+public class OutboxBinlogRelay implements SmartLifecycle {
+
+    private static final Pattern JDBC_MYSQL_URL = Pattern.compile("^jdbc:(mysql|mariadb)://([^/?]+)");
+    private static final Pattern ENUM_VALUE = Pattern.compile("'((?:[^']|'')*)'");
+    private static final int DEFAULT_PORT = 3306;
+    private static final long LEASE_CHECK_NANOS = Duration.ofSeconds(1).toNanos();
+
+    private final OutboxRelay relay;
+    private final OutboxRelayRepository repository;
+    private final JdbcTemplate jdbcTemplate;
+    private final OutboxPartitionLease leaderLease;
+    private final Duration leaseMargin;
+    private final Settings settings;
+    private final List<OutboxRecord> transactionRows = new ArrayList<>();
+
+    private volatile boolean running;
+    private BinaryLogClient client;
+    private Thread sweepThread;
+    private String schema;
+    private Columns columns;
+    private long tableId = -1;
+
+    /**
+     * @param leaderLease 여러 인스턴스 중 하나만 발행하게 할 파티션 1개짜리 lease. 단일 인스턴스면 null
+     */
+    public OutboxBinlogRelay(
+            OutboxRelayRepository repository,
+            KafkaTemplate<String, Object> kafkaTemplate,
+            JdbcTemplate jdbcTemplate,
+            MeterRegistry meterRegistry,
+            OutboxRelay.Settings relaySettings,
+            Settings settings,
+            OutboxPartitionLease leaderLease) {
+        this.relay = new OutboxRelay(repository, kafkaTemplate, meterRegistry, relaySettings);
+        this.repository = repository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.leaderLease = leaderLease;
+        this.leaseMargin = relaySettings.sendTimeout();
+        this.settings = settings;
+        Gauge.builder("outbox.relay.binlog.connected", this, binlogRelay -> binlogRelay.isConnected() ? 1 : 0)
+                .description("binlog 연결 여부")
+                .tag("table", repository.table())
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        loadTableMetadata();
+        client = new BinaryLogClient(settings.host(), settings.port(), settings.username(), settings.password());
+        client.setServerId(settings.serverId());
+        client.setKeepAlive(true);
+        EventDeserializer deserializer = new EventDeserializer();
+        deserializer.setCompatibilityMode(
+                EventDeserializer.CompatibilityMode.DATE_AND_TIME_AS_LONG_MICRO,
+                EventDeserializer.CompatibilityMode.CHAR_AND_BINARY_AS_BYTE_ARRAY);
+        client.setEventDeserializer(deserializer);
+        client.registerEventListener(this::onEvent);
+
+        LocalDateTime connectedAt = LocalDateTime.now();
+        try {
+            client.connect(settings.connectTimeout().toMillis());
+        } catch (Exception e) {
+            throw new IllegalStateException("binlog 연결 실패: " + settings.host() + ":" + settings.port(), e);
+        }
+        running = true;
+        sweepThread = new Thread(() -> runSweep(connectedAt), "outbox-binlog-sweep-" + repository.table());
+        sweepThread.setDaemon(true);
+        sweepThread.start();
+        log.info("Outbox binlog relay started: table={}.{} serverId={}", schema, repository.table(), settings.serverId());
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (sweepThread != null) {
+            LockSupport.unpark(sweepThread);
+            try {
+                sweepThread.join(leaseMargin.toMillis() + 1_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (client != null) {
+            try {
+                client.disconnect();
+            } catch (Exception e) {
+                log.warn("Outbox binlog disconnect failed: table={}", repository.table(), e);
+            }
+        }
+        if (leaderLease != null) {
+            leaderLease.release();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    public boolean isConnected() {
+        return client != null && client.isConnected();
+    }
+
+    /** binlog 클라이언트 스레드에서 순서대로 호출된다. */
+    void onEvent(Event event) {
+        EventHeader header = event.getHeader();
+        EventType type = header.getEventType();
+        EventData data = event.getData();
+        if (type == EventType.TABLE_MAP) {
+            TableMapEventData tableMap = (TableMapEventData) data;
+            if (repository.table().equals(tableMap.getTable()) && schema.equals(tableMap.getDatabase())) {
+                tableId = tableMap.getTableId();
+            }
+        } else if (EventType.isWrite(type)) {
+            WriteRowsEventData rows = (WriteRowsEventData) data;
+            if (rows.getTableId() == tableId) {
+                for (Serializable[] row : rows.getRows()) {
+                    OutboxRecord record = columns.toRecord(row);
+                    if (record != null) {
+                        transactionRows.add(record);
+                    }
+                }
+            }
+        } else if (type == EventType.XID) {
+            flush();
+        }
+    }
+
+    private void flush() {
+        if (transactionRows.isEmpty()) {
+            return;
+        }
+        if (!isLeader()) {
+            // 다른 인스턴스가 발행한다. lease를 넘겨받기 전의 행은 sweep이 grace 뒤에 확인한다.
+            transactionRows.clear();
+            return;
+        }
+        try {
+            relay.publish(List.copyOf(transactionRows));
+        } catch (Exception e) {
+            // 상태 반영에 실패한 행은 PENDING으로 남아 sweep이 다시 발행한다.
+            log.error("Outbox binlog publish failed: table={} rows={}", repository.table(), transactionRows.size(), e);
+        } finally {
+            transactionRows.clear();
+        }
+    }
+
+    boolean isLeader() {
+        return leaderLease == null || !leaderLease.currentPartitions(leaseMargin).isEmpty();
+    }
+
+    /** sweep 주기와 별개로 1초마다 깨어 leader lease를 갱신한다. 갱신은 lease 주기가 됐을 때만 DB에 간다. */
+    private void runSweep(LocalDateTime connectedAt) {
+        long nextSweepNanos = System.nanoTime();
+        boolean firstSweep = true;
+        while (running) {
+            long now = System.nanoTime();
+            if (isLeader() && now - nextSweepNanos >= 0) {
+                // 첫 sweep은 연결 전에 쌓인 행을 발행한다. 이후는 grace보다 오래된 행(재시도 대상·binlog가 놓친 행)만 본다.
+                sweep(firstSweep ? connectedAt : LocalDateTime.now().minus(settings.grace()));
+                firstSweep = false;
+                nextSweepNanos = now + settings.sweepInterval().toNanos();
+            }
+            LockSupport.parkNanos(Math.min(settings.sweepInterval().toNanos(), LEASE_CHECK_NANOS));
+        }
+    }
+
+    void sweep(LocalDateTime createdBefore) {
+        try {
+            int published;
+            do {
+                published = relay.publish(repository.findReadyCreatedBefore(
+                        LocalDateTime.now(), createdBefore, settings.sweepBatchSize()));
+            } while (running && published >= settings.sweepBatchSize());
+        } catch (Exception e) {
+            log.error("Outbox binlog sweep failed: table={}", repository.table(), e);
+        }
+    }
+
+    /** binlog 행에는 컬럼 이름이 없으므로(binlog_row_metadata=MINIMAL) 시작할 때 컬럼 순서를 읽어 둔다. */
+    void loadTableMetadata() {
+        schema = jdbcTemplate.queryForObject("SELECT DATABASE()", String.class);
+        columns = loadColumns();
+    }
+
+    private Columns loadColumns() {
+        Map<String, Integer> positions = new HashMap<>();
+        List<String> statusValues = new ArrayList<>();
+        jdbcTemplate.query("""
+                        SELECT COLUMN_NAME, ORDINAL_POSITION, COLUMN_TYPE FROM information_schema.COLUMNS
+                        WHERE TABLE_SCHEMA = ? AND TABLE_NAME = ?
+                        """,
+                rs -> {
+                    String name = rs.getString("COLUMN_NAME").toLowerCase();
+                    positions.put(name, rs.getInt("ORDINAL_POSITION") - 1);
+                    if ("status".equals(name)) {
+                        statusValues.addAll(enumValues(rs.getString("COLUMN_TYPE")));
+                    }
+                },
+                schema, repository.table());
+        if (positions.isEmpty()) {
+            throw new IllegalStateException("outbox 테이블을 찾을 수 없습니다: " + schema + "." + repository.table());
+        }
+        return Columns.of(positions, statusValues);
+    }
+
+    /** Hibernate는 EnumType.STRING을 MySQL ENUM으로 만들 수 있고, binlog에는 ENUM이 1부터 시작하는 번호로 기록된다. */
+    static List<String> enumValues(String columnType) {
+        List<String> values = new ArrayList<>();
+        if (columnType != null && columnType.toLowerCase().startsWith("enum(")) {
+            Matcher matcher = ENUM_VALUE.matcher(columnType);
+            while (matcher.find()) {
+                values.add(matcher.group(1).replace("''", "'"));
+            }
+        }
+        return values;
+    }
+
+    /** binlog 행(컬럼 순서대로의 값 배열)을 {@link OutboxRecord}로 바꾼다. PENDING이 아닌 행은 null. */
+    record Columns(int id, int eventType, int messageKey, int payload, int status, int retryCount, int createdAt,
+                   List<String> statusValues) {
+
+        static Columns of(Map<String, Integer> positions, List<String> statusValues) {
+            return new Columns(position(positions, "id"), position(positions, "event_type"),
+                    position(positions, "message_key"), position(positions, "payload"), position(positions, "status"),
+                    position(positions, "retry_count"), position(positions, "created_at"), List.copyOf(statusValues));
+        }
+
+        private static int position(Map<String, Integer> positions, String column) {
+            Integer position = positions.get(column);
+            if (position == null) {
+                throw new IllegalStateException("outbox 테이블에 " + column + " 컬럼이 없습니다");
+            }
+            return position;
+        }
+
+        OutboxRecord toRecord(Serializable[] row) {
+            if (!"PENDING".equals(status(row[status]))) {
+                return null;
+            }
+            return new OutboxRecord(
+                    ((Number) row[id]).longValue(),
+                    string(row[eventType]),
+                    string(row[messageKey]),
+                    string(row[payload]),
+                    ((Number) row[retryCount]).intValue(),
+                    dateTime(row[createdAt]));
+        }
+
+        private String status(Serializable value) {
+            if (value instanceof Number index && !statusValues.isEmpty()) {
+                int position = index.intValue() - 1;
+                return position >= 0 && position < statusValues.size() ? statusValues.get(position) : null;
+            }
+            return string(value);
+        }
+
+        private static String string(Serializable value) {
+            if (value instanceof byte[] bytes) {
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+            return value == null ? null : value.toString();
+        }
+
+        /** DATE_AND_TIME_AS_LONG_MICRO 모드에서 DATETIME은 벽시계 값을 UTC로 본 epoch 마이크로초다. */
+        private static LocalDateTime dateTime(Serializable value) {
+            if (value instanceof Long micros) {
+                return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                        (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+            }
+            if (value instanceof Timestamp timestamp) {
+                return timestamp.toLocalDateTime();
+            }
+            return value instanceof LocalDateTime localDateTime ? localDateTime : LocalDateTime.now();
+        }
+    }
+
+    /**
+     * @param host           binlog를 읽을 MySQL 호스트
+     * @param port           MySQL 포트
+     * @param username       복제 권한이 있는 계정
+     * @param password       계정 비밀번호
+     * @param serverId       복제 클라이언트 server_id(인스턴스마다 달라야 한다. 0이면 임의 값)
+     * @param connectTimeout 최초 연결 대기 시간
+     * @param sweepInterval  재시도·누락 행을 찾는 주기
+     * @param grace          sweep이 건너뛸 최근 행의 범위(binlog 경로가 맡는다)
+     * @param sweepBatchSize sweep 한 번에 읽을 최대 행 수
+     */
+    public record Settings(
+            String host,
+            int port,
+            String username,
+            String password,
+            long serverId,
+            Duration connectTimeout,
+            Duration sweepInterval,
+            Duration grace,
+            int sweepBatchSize) {
+
+        /** spring.datasource.url(jdbc:mysql://host:port/db)에서 호스트와 포트를 읽는다. */
+        public static Settings fromJdbcUrl(String jdbcUrl, String username, String password, long serverId,
+                                           long sweepIntervalSeconds, int sweepBatchSize) {
+            Matcher matcher = JDBC_MYSQL_URL.matcher(jdbcUrl);
+            if (!matcher.find()) {
+                throw new IllegalArgumentException("MySQL JDBC URL이 아닙니다: " + jdbcUrl);
+            }
+            // 여러 호스트가 적힌 경우 첫 번째(primary)만 쓴다.
+            URI uri = URI.create("mysql://" + matcher.group(2).split(",")[0]);
+            // server_id가 겹치면 MySQL이 먼저 붙은 복제 연결을 끊으므로, 지정하지 않으면 인스턴스마다 임의 값을 쓴다.
+            long resolvedServerId = serverId > 0 ? serverId : ThreadLocalRandom.current().nextLong(10_000, Integer.MAX_VALUE);
+            return new Settings(uri.getHost(), uri.getPort() < 0 ? DEFAULT_PORT : uri.getPort(), username, password,
+                    resolvedServerId, Duration.ofSeconds(10), Duration.ofSeconds(sweepIntervalSeconds),
+                    Duration.ofSeconds(sweepIntervalSeconds), sweepBatchSize);
+        }
+    }
+}
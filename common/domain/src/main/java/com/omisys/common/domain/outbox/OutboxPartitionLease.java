@@ -0,0 +1,173 @@
+package com.omisys.common.domain.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+/**
+ * 여러 인스턴스가 같은 outbox 테이블을 나눠 발행하기 위한 파티션 임대.
+ *
+ * <p>행은 {@code CRC32(message_key) % partitions}로 파티션에 속한다. 인스턴스는 outbox_relay_leases의 파티션 행을
+ * {@code FOR UPDATE SKIP LOCKED}로 잡아 lease_until까지 소유하고, 소유한 파티션의 행만 읽는다. 같은 키는 항상 같은
+ * 파티션이고 파티션 소유자는 한 번에 하나이므로 키 단위 발행 순서가 유지되고, 인스턴스가 늘면 파티션이 나뉘어
+ * 처리량이 함께 는다(파티션 수가 상한).</p>
+ *
+ * <p>outbox_relay_members에 살아 있는 인스턴스를 기록해 두고, 갱신할 때마다 {@code ceil(partitions / 인스턴스 수)}개를
+ * 목표로 남는 파티션은 내려놓고 빈 파티션을 가져온다. 죽은 인스턴스의 파티션은 lease가 끝나면 다른 인스턴스가 가져간다.
+ * 시각은 인스턴스 간 시계 차이를 피하려고 DB의 NOW(6)를 쓴다.</p>
+ */
+@Slf4j(topic = "OutboxPartitionLease")
+public class OutboxPartitionLease {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final String table;
+    private final int partitions;
+    private final Duration leaseDuration;
+    private final long renewIntervalNanos;
+    private final String owner;
+
+    private volatile Set<Integer> owned = Set.of();
+    private long validUntilNanos;
+    private long nextRenewNanos;
+    private boolean seeded;
+
+    public OutboxPartitionLease(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                String table, int partitions, Duration leaseDuration) {
+        if (partitions < 1) {
+            throw new IllegalArgumentException("outbox 파티션 수는 1 이상이어야 합니다: " + partitions);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.table = table;
+        this.partitions = partitions;
+        this.leaseDuration = leaseDuration;
+        this.renewIntervalNanos = leaseDuration.toNanos() / 3;
+        this.owner = System.getenv().getOrDefault("HOSTNAME", "relay") + "-" + UUID.randomUUID().toString().substring(0, 8);
+        this.nextRenewNanos = System.nanoTime();
+    }
+
+    public int partitions() {
+        return partitions;
+    }
+
+    public int ownedCount() {
+        return owned.size();
+    }
+
+    /**
+     * 발행해도 되는 파티션. 갱신 주기(lease의 1/3)가 됐으면 먼저 갱신하고, 남은 lease가 margin보다 짧으면
+     * (갱신이 계속 실패한 경우) 다른 인스턴스에 넘어갔을 수 있으므로 빈 집합을 돌려준다.
+     */
+    public synchronized Set<Integer> currentPartitions(Duration margin) {
+        long now = System.nanoTime();
+        if (now - nextRenewNanos >= 0) {
+            try {
+                renew(now);
+            } catch (Exception e) {
+                log.warn("Outbox partition lease renew failed: table={} owner={}", table, owner, e);
+            }
+            nextRenewNanos = now + renewIntervalNanos;
+        }
+        if (validUntilNanos - System.nanoTime() < margin.toNanos()) {
+            return Set.of();
+        }
+        return owned;
+    }
+
+    /** 종료 시 소유한 파티션을 바로 내려놓아 다른 인스턴스가 lease 만료를 기다리지 않게 한다. */
+    public synchronized void release() {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.update("UPDATE outbox_relay_leases SET owner = NULL, lease_until = NOW(6) "
+                        + "WHERE table_name = ? AND owner = ?", table, owner);
+                jdbcTemplate.update("DELETE FROM outbox_relay_members WHERE table_name = ? AND member_id = ?",
+                        table, owner);
+            });
+        } catch (Exception e) {
+            log.warn("Outbox partition lease release failed: table={} owner={}", table, owner, e);
+        }
+        owned = Set.of();
+    }
+
+    private void renew(long startedNanos) {
+        seedIfNeeded();
+        long leaseMicros = leaseDuration.toNanos() / 1_000;
+        Set<Integer> acquired = transactionTemplate.execute(status -> {
+            jdbcTemplate.update("INSERT INTO outbox_relay_members (table_name, member_id, alive_until) "
+                    + "VALUES (?, ?, NOW(6) + INTERVAL ? MICROSECOND) "
+                    + "ON DUPLICATE KEY UPDATE alive_until = VALUES(alive_until)", table, owner, leaseMicros);
+            jdbcTemplate.update("DELETE FROM outbox_relay_members WHERE table_name = ? AND alive_until < NOW(6)", table);
+            Integer members = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM outbox_relay_members WHERE table_name = ?", Integer.class, table);
+
+            List<Integer> mine = new ArrayList<>();
+            List<Integer> free = new ArrayList<>();
+            jdbcTemplate.query("SELECT partition_no, owner FROM outbox_relay_leases "
+                            + "WHERE table_name = ? AND partition_no < ? "
+                            + "AND (owner = ? OR owner IS NULL OR lease_until <= NOW(6)) "
+                            + "ORDER BY partition_no FOR UPDATE SKIP LOCKED",
+                    rs -> {
+                        (owner.equals(rs.getString("owner")) ? mine : free).add(rs.getInt("partition_no"));
+                    },
+                    table, partitions, owner);
+
+            Assignment assignment = assign(mine, free, target(partitions, members == null ? 1 : members));
+            updatePartitions("owner = NULL, lease_until = NOW(6)", assignment.release());
+            updatePartitions("owner = ?, lease_until = NOW(6) + INTERVAL ? MICROSECOND", assignment.keep(),
+                    owner, leaseMicros);
+            return new TreeSet<>(assignment.keep());
+        });
+        owned = acquired == null ? Set.of() : Collections.unmodifiableSet(acquired);
+        validUntilNanos = startedNanos + leaseDuration.toNanos();
+    }
+
+    private void updatePartitions(String assignments, List<Integer> partitionNos, Object... values) {
+        if (partitionNos.isEmpty()) {
+            return;
+        }
+        List<Object> args = new ArrayList<>(values.length + partitionNos.size() + 1);
+        Collections.addAll(args, values);
+        args.add(table);
+        args.addAll(partitionNos);
+        jdbcTemplate.update("UPDATE outbox_relay_leases SET " + assignments + " WHERE table_name = ? AND partition_no IN ("
+                + String.join(", ", Collections.nCopies(partitionNos.size(), "?")) + ")", args.toArray());
+    }
+
+    private void seedIfNeeded() {
+        if (seeded) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("INSERT IGNORE INTO outbox_relay_leases (table_name, partition_no, owner, lease_until) "
+                        + "VALUES (?, ?, NULL, NOW(6))",
+                IntStream.range(0, partitions).mapToObj(p -> new Object[]{table, p}).toList());
+        seeded = true;
+    }
+
+    static int target(int partitions, int members) {
+        int live = Math.max(1, members);
+        return (partitions + live - 1) / live;
+    }
+
+    /** 이미 가진 파티션을 우선 유지하고 목표 개수까지 빈 파티션을 채운다. 목표를 넘는 파티션은 내려놓는다. */
+    static Assignment assign(List<Integer> mine, List<Integer> free, int target) {
+        List<Integer> keep = new ArrayList<>(mine.subList(0, Math.min(target, mine.size())));
+        List<Integer> release = new ArrayList<>(mine.subList(keep.size(), mine.size()));
+        for (int i = 0; i < free.size() && keep.size() < target; i++) {
+            keep.add(free.get(i));
+        }
+        return new Assignment(keep, release);
+    }
+
+    record Assignment(List<Integer> keep, List<Integer> release) {
+    }
+}
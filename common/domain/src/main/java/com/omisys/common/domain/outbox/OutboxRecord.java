@@ -0,0 +1,15 @@
+package com.omisys.common.domain.outbox;
+
+import java.time.LocalDateTime;
+
+/**
+ * 릴레이가 읽는 outbox 행. 엔티티를 거치지 않고 발행에 필요한 컬럼만 담는다.
+ */
+public record OutboxRecord(
+        long id,
+        String eventType,
+        String messageKey,
+        String payload,
+        int retryCount,
+        LocalDateTime createdAt) {
+}
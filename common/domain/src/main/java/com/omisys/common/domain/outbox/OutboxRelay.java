@@ -0,0 +1,291 @@
+package com.omisys.common.domain.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * outbox 테이블 → Kafka 릴레이. 서비스마다 OutboxEventPoller가 이 클래스를 상속해 테이블 이름과 설정만 넘긴다.
+ *
+ * <p>한 번에 batchSize개를 읽어 전부 비동기로 send한 뒤 future를 모은다. 프로듀서 linger로 같은 파티션 메시지가
+ * 한 요청에 묶이므로 처리량이 이벤트당 왕복 시간(RTT)에 묶이지 않는다. 결과는 성공 ID 목록 UPDATE 한 번,
+ * 실패는 retryCount별 UPDATE 한 번씩으로 반영한다. 같은 messageKey는 같은 파티션으로 가고 멱등 프로듀서가
+ * 전송 순서를 지키므로 키 단위 순서는 기존 순차 전송과 같다.</p>
+ *
+ * <p>폴링 간격은 적응형이다. 배치가 가득 찼으면(적체) 쉬지 않고 다음 배치를 읽고, 일부만 찼으면 minDelay,
+ * 비어 있으면 maxDelay까지 두 배씩 늘린다.</p>
+ *
+ * <p>{@link OutboxPartitionLease}를 넘기면 임대한 파티션의 행만 읽어 여러 인스턴스가 중복 없이 나눠 발행한다.
+ * 없으면 단일 인스턴스 전제로 테이블 전체를 읽는다.</p>
+ *
+ * <p>지표: outbox.relay.backlog(PENDING 행 수), outbox.relay.lag(생성부터 발행 확인까지),
+ * outbox.relay.published{result=success|failure}(발행 건수 — rate()로 초당 발행 수).</p>
+ */
+@Slf4j(topic = "OutboxRelay")
+public class OutboxRelay implements SmartLifecycle {
+
+    private final OutboxRelayRepository repository;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final Settings settings;
+    private final OutboxPartitionLease lease;
+    private final AtomicLong backlog = new AtomicLong();
+    private final Timer lag;
+    private final Counter published;
+    private final Counter failed;
+
+    private volatile boolean running;
+    private Thread relayThread;
+    private long nextBacklogRefreshNanos;
+
+    public OutboxRelay(
+            OutboxRelayRepository repository,
+            KafkaTemplate<String, Object> kafkaTemplate,
+            MeterRegistry meterRegistry,
+            Settings settings) {
+        this(repository, kafkaTemplate, meterRegistry, settings, null);
+    }
+
+    public OutboxRelay(
+            OutboxRelayRepository repository,
+            KafkaTemplate<String, Object> kafkaTemplate,
+            MeterRegistry meterRegistry,
+            Settings settings,
+            OutboxPartitionLease lease) {
+        this.repository = repository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.settings = settings;
+        this.lease = lease;
+        this.nextBacklogRefreshNanos = System.nanoTime();
+        String table = repository.table();
+        Gauge.builder("outbox.relay.backlog", backlog, AtomicLong::get)
+                .description("발행 대기 중인 outbox 행 수")
+                .tag("table", table)
+                .register(meterRegistry);
+        this.lag = Timer.builder("outbox.relay.lag")
+                .description("outbox 행 생성부터 Kafka 발행 확인까지 걸린 시간")
+                .tag("table", table)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.published = Counter.builder("outbox.relay.published")
+                .tag("table", table)
+                .tag("result", "success")
+                .register(meterRegistry);
+        this.failed = Counter.builder("outbox.relay.published")
+                .tag("table", table)
+                .tag("result", "failure")
+                .register(meterRegistry);
+        if (lease != null) {
+            Gauge.builder("outbox.relay.partitions.owned", lease, OutboxPartitionLease::ownedCount)
+                    .description("이 인스턴스가 임대한 outbox 파티션 수")
+                    .tag("table", table)
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * 릴레이 전용 KafkaTemplate. 서비스의 프로듀서 설정(직렬화기 등)을 그대로 쓰되 linger·batch 크기만 배치 전송에 맞춘다.
+     */
+    public static KafkaTemplate<String, Object> batchingKafkaTemplate(
+            KafkaProperties kafkaProperties, int lingerMs, int batchSizeBytes) {
+        Map<String, Object> properties = kafkaProperties.buildProducerProperties(null);
+        properties.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        properties.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSizeBytes);
+        return new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(properties));
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        relayThread = new Thread(this::runLoop, "outbox-relay-" + repository.table());
+        relayThread.setDaemon(true);
+        relayThread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (relayThread != null) {
+            // 폴링 대기만 깨운다. 발행 확인 중인 배치는 끝까지 반영하고 종료한다.
+            LockSupport.unpark(relayThread);
+            try {
+                relayThread.join(settings.sendTimeout().toMillis() + 1_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        // 발행 중인 배치가 남아 있으면 파티션을 넘기지 않고 lease 만료를 기다리게 한다.
+        if (lease != null && (relayThread == null || !relayThread.isAlive())) {
+            lease.release();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * 배치 하나를 발행하고 읽은 행 수를 반환한다.
+     */
+    public int relayOnce() {
+        refreshBacklogIfDue();
+        return publish(findReady());
+    }
+
+    /**
+     * 행들을 발행하고 결과를 outbox 테이블에 반영한다. 폴링 외의 경로(binlog 등)로 읽은 행도 이 메서드로 발행한다.
+     */
+    public int publish(List<OutboxRecord> records) {
+        if (records.isEmpty()) {
+            return 0;
+        }
+
+        List<CompletableFuture<SendResult<String, Object>>> futures = new ArrayList<>(records.size());
+        for (OutboxRecord record : records) {
+            futures.add(send(record));
+        }
+
+        List<OutboxRecord> succeeded = new ArrayList<>(records.size());
+        Map<Integer, List<Long>> failedByRetryCount = new TreeMap<>();
+        long deadline = System.nanoTime() + settings.sendTimeout().toNanos();
+        for (int i = 0; i < records.size(); i++) {
+            OutboxRecord record = records.get(i);
+            try {
+                futures.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                succeeded.add(record);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                // 결과를 모르는 행은 상태를 바꾸지 않는다. 다음 폴링에서 다시 발행된다(at-least-once).
+                break;
+            } catch (Exception e) {
+                int retryCount = record.retryCount() + 1;
+                failedByRetryCount.computeIfAbsent(retryCount, count -> new ArrayList<>()).add(record.id());
+                log.warn("Outbox publish failed: id={} topic={} retryCount={}",
+                        record.id(), record.eventType(), retryCount, e);
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        repository.markPublished(succeeded.stream().map(OutboxRecord::id).toList(), now);
+        failedByRetryCount.forEach((retryCount, ids) -> {
+            if (OutboxRetryPolicy.exhausted(retryCount)) {
+                repository.markFailed(ids, retryCount);
+                log.error("Outbox max retry exceeded, FAILED permanently: ids={} retryCount={}", ids, retryCount);
+            } else {
+                repository.markRetry(ids, retryCount, OutboxRetryPolicy.nextRetryAt(retryCount, now));
+            }
+        });
+
+        recordMetrics(succeeded, failedByRetryCount, now);
+        return records.size();
+    }
+
+    private List<OutboxRecord> findReady() {
+        if (lease == null) {
+            return repository.findReady(LocalDateTime.now(), settings.batchSize());
+        }
+        // 배치 발행이 끝나기 전에 lease가 만료되지 않도록 발행 대기 시간만큼 여유가 있는 파티션만 읽는다.
+        Set<Integer> partitions = lease.currentPartitions(settings.sendTimeout());
+        return repository.findReady(LocalDateTime.now(), settings.batchSize(), lease.partitions(), partitions);
+    }
+
+    private CompletableFuture<SendResult<String, Object>> send(OutboxRecord record) {
+        try {
+            return kafkaTemplate.send(record.eventType(), record.messageKey(), record.payload());
+        } catch (Exception e) {
+            // 메타데이터 대기 초과·직렬화 실패처럼 send 호출 자체가 실패한 경우
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private void recordMetrics(List<OutboxRecord> succeeded,
+                               Map<Integer, List<Long>> failedByRetryCount, LocalDateTime now) {
+        published.increment(succeeded.size());
+        failed.increment(failedByRetryCount.values().stream().mapToInt(List::size).sum());
+        succeeded.forEach(record -> lag.record(Duration.between(record.createdAt(), now)));
+        backlog.updateAndGet(current -> Math.max(0, current - succeeded.size()));
+    }
+
+    /** COUNT(*)는 비싸므로 backlogRefreshInterval마다만 다시 센다. 그 사이에는 발행 건수만큼 줄여 둔다. */
+    private void refreshBacklogIfDue() {
+        long now = System.nanoTime();
+        if (now - nextBacklogRefreshNanos < 0) {
+            return;
+        }
+        nextBacklogRefreshNanos = now + settings.backlogRefreshInterval().toNanos();
+        backlog.set(repository.countPending());
+    }
+
+    private void runLoop() {
+        long delayNanos = settings.minDelay().toNanos();
+        while (running) {
+            try {
+                delayNanos = nextDelayNanos(relayOnce(), delayNanos);
+            } catch (Exception e) {
+                log.error("Outbox relay failed: table={}", repository.table(), e);
+                delayNanos = settings.maxDelay().toNanos();
+            }
+            if (delayNanos > 0 && running) {
+                LockSupport.parkNanos(delayNanos);
+            }
+        }
+    }
+
+    /** 배치가 가득 찼으면 바로, 일부만 찼으면 minDelay 뒤에, 비었으면 이전 간격의 두 배(maxDelay 상한) 뒤에 다시 읽는다. */
+    long nextDelayNanos(int relayed, long previousDelayNanos) {
+        if (relayed >= settings.batchSize()) {
+            return 0;
+        }
+        long minDelay = settings.minDelay().toNanos();
+        if (relayed > 0) {
+            return minDelay;
+        }
+        return Math.min(settings.maxDelay().toNanos(), Math.max(minDelay, previousDelayNanos * 2));
+    }
+
+    /**
+     * @param batchSize              한 번에 읽어 발행할 최대 행 수
+     * @param sendTimeout            배치 전체의 발행 확인 대기 시간
+     * @param minDelay               배치가 가득 차지 않았을 때의 폴링 간격
+     * @param maxDelay               빈 폴링이 이어질 때 늘어나는 폴링 간격의 상한
+     * @param backlogRefreshInterval backlog 지표용 COUNT(*) 주기
+     */
+    public record Settings(
+            int batchSize,
+            Duration sendTimeout,
+            Duration minDelay,
+            Duration maxDelay,
+            Duration backlogRefreshInterval) {
+
+        public Settings {
+            if (batchSize < 1) {
+                throw new IllegalArgumentException("outbox 릴레이 배치 크기는 1 이상이어야 합니다: " + batchSize);
+            }
+        }
+
+        public static Settings of(int batchSize, long maxDelayMillis) {
+            return new Settings(batchSize, Duration.ofSeconds(5), Duration.ofMillis(10),
+                    Duration.ofMillis(maxDelayMillis), Duration.ofSeconds(10));
+        }
+    }
+}
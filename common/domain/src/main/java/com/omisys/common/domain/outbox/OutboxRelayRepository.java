@@ -0,0 +1,133 @@
+package com.omisys.common.domain.outbox;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * outbox 테이블 JDBC 접근. 서비스마다 테이블 이름만 다르고(outbox_events, order_outbox_events, ...) 컬럼은 같다.
+ *
+ * <p>상태 변경은 행마다 save하지 않고 ID 목록을 IN 절로 묶은 UPDATE 한 문장으로 처리한다.</p>
+ */
+public class OutboxRelayRepository {
+
+    private static final Pattern TABLE_NAME = Pattern.compile("[A-Za-z0-9_]+");
+
+    private static final RowMapper<OutboxRecord> ROW_MAPPER = (rs, rowNum) -> new OutboxRecord(
+            rs.getLong("id"),
+            rs.getString("event_type"),
+            rs.getString("message_key"),
+            rs.getString("payload"),
+            rs.getInt("retry_count"),
+            rs.getTimestamp("created_at").toLocalDateTime());
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String table;
+    private final String findReadySql;
+    private final String findReadyInPartitionsSql;
+    private final String findReadyCreatedBeforeSql;
+    private final String countPendingSql;
+
+    public OutboxRelayRepository(JdbcTemplate jdbcTemplate, String table) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.table = checkTableName(table);
+        this.findReadySql = """
+                SELECT id, event_type, message_key, payload, retry_count, created_at
+                FROM %s
+                WHERE status = 'PENDING' AND (next_retry_at IS NULL OR next_retry_at <= ?)
+                ORDER BY created_at ASC
+                LIMIT ?
+                """.formatted(table);
+        this.findReadyInPartitionsSql = """
+                SELECT id, event_type, message_key, payload, retry_count, created_at
+                FROM %s
+                WHERE status = 'PENDING' AND (next_retry_at IS NULL OR next_retry_at <= ?)
+                  AND MOD(CRC32(message_key), ?) IN (%%s)
+                ORDER BY created_at ASC
+                LIMIT ?
+                """.formatted(table);
+        this.findReadyCreatedBeforeSql = """
+                SELECT id, event_type, message_key, payload, retry_count, created_at
+                FROM %s
+                WHERE status = 'PENDING' AND (next_retry_at IS NULL OR next_retry_at <= ?)
+                  AND created_at < ?
+                ORDER BY created_at ASC
+                LIMIT ?
+                """.formatted(table);
+        this.countPendingSql = "SELECT COUNT(*) FROM %s WHERE status = 'PENDING'".formatted(table);
+    }
+
+    /** SQL에 그대로 들어가는 이름이므로 영문·숫자·밑줄만 허용한다. */
+    static String checkTableName(String table) {
+        if (!TABLE_NAME.matcher(table).matches()) {
+            throw new IllegalArgumentException("잘못된 outbox 테이블 이름: " + table);
+        }
+        return table;
+    }
+
+    public String table() {
+        return table;
+    }
+
+    /** 발행할 차례가 된 PENDING 행을 생성 순으로 limit개까지 읽는다. */
+    public List<OutboxRecord> findReady(LocalDateTime now, int limit) {
+        return jdbcTemplate.query(findReadySql, ROW_MAPPER, Timestamp.valueOf(now), limit);
+    }
+
+    /** partitionNos에 속한 행만 읽는다. 파티션은 {@code CRC32(message_key) % partitionCount}로, 같은 키는 같은 파티션이다. */
+    public List<OutboxRecord> findReady(LocalDateTime now, int limit, int partitionCount, Collection<Integer> partitionNos) {
+        if (partitionNos.isEmpty()) {
+            return List.of();
+        }
+        List<Object> args = new ArrayList<>(partitionNos.size() + 3);
+        args.add(Timestamp.valueOf(now));
+        args.add(partitionCount);
+        args.addAll(partitionNos);
+        args.add(limit);
+        String sql = findReadyInPartitionsSql.formatted(String.join(", ", Collections.nCopies(partitionNos.size(), "?")));
+        return jdbcTemplate.query(sql, ROW_MAPPER, args.toArray());
+    }
+
+    /** createdBefore 이전에 만들어진 행만 읽는다. binlog 모드에서 binlog가 놓쳤거나 재시도할 행을 찾을 때 쓴다. */
+    public List<OutboxRecord> findReadyCreatedBefore(LocalDateTime now, LocalDateTime createdBefore, int limit) {
+        return jdbcTemplate.query(findReadyCreatedBeforeSql, ROW_MAPPER,
+                Timestamp.valueOf(now), Timestamp.valueOf(createdBefore), limit);
+    }
+
+    public long countPending() {
+        Long count = jdbcTemplate.queryForObject(countPendingSql, Long.class);
+        return count == null ? 0L : count;
+    }
+
+    public void markPublished(List<Long> ids, LocalDateTime publishedAt) {
+        update("status = 'PUBLISHED', published_at = ?", ids, Timestamp.valueOf(publishedAt));
+    }
+
+    /** 같은 retryCount로 실패한 행들을 재시도 대기 상태로 돌린다. */
+    public void markRetry(List<Long> ids, int retryCount, LocalDateTime nextRetryAt) {
+        update("retry_count = ?, next_retry_at = ?", ids, retryCount, Timestamp.valueOf(nextRetryAt));
+    }
+
+    public void markFailed(List<Long> ids, int retryCount) {
+        update("status = 'FAILED', retry_count = ?, next_retry_at = NULL", ids, retryCount);
+    }
+
+    private void update(String assignments, List<Long> ids, Object... values) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        String sql = "UPDATE %s SET %s WHERE id IN (%s)".formatted(
+                table, assignments, String.join(", ", Collections.nCopies(ids.size(), "?")));
+        List<Object> args = new ArrayList<>(values.length + ids.size());
+        Collections.addAll(args, values);
+        args.addAll(ids);
+        jdbcTemplate.update(sql, args.toArray());
+    }
+}
@@ -0,0 +1,274 @@
+package com.omisys.common.domain.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * outbox 테이블 정리. 발행된 지 retention이 지난 PUBLISHED 행을 chunkSize개씩 지운다.
+ *
+ * <p>청크마다 짧은 트랜잭션 하나로 {@code SELECT ... FOR UPDATE SKIP LOCKED} → (보관) → {@code DELETE ... WHERE id IN}을
+ * 처리하므로 잠금은 청크 하나 동안만 잡히고, 여러 인스턴스가 동시에 돌아도 같은 행을 두 번 보관하지 않는다.
+ * 청크 사이에는 chunkPause만큼 쉬어 복제 지연과 릴레이 쿼리에 주는 부담을 줄이고, 한 번에 maxChunksPerRun까지만 지운다.
+ * FAILED 행은 원인 확인이 필요하므로 지우지 않는다.</p>
+ *
+ * <p>archiveDir를 지정하면 지우기 전에 청크를 {@code <archiveDir>/<table>/<table>-<시각>-<첫 id>.jsonl.gz}로 남긴다.</p>
+ *
+ * <p>지표: outbox.table.rows·outbox.table.size(information_schema 추정치), outbox.retention.purged
+ * (rate()로 초당 삭제 수), outbox.retention.run(정리 한 번의 소요 시간).</p>
+ */
+@Slf4j(topic = "OutboxRetention")
+public class OutboxRetention implements SmartLifecycle {
+
+    private static final ObjectMapper ARCHIVE_MAPPER = new ObjectMapper();
+    private static final DateTimeFormatter ARCHIVE_FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final String table;
+    private final Settings settings;
+    private final String selectSql;
+    private final AtomicLong tableRows = new AtomicLong();
+    private final AtomicLong tableBytes = new AtomicLong();
+    private final Counter purged;
+    private final Counter archived;
+    private final Timer runTimer;
+
+    private volatile boolean running;
+    private Thread retentionThread;
+
+    public OutboxRetention(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            String table,
+            MeterRegistry meterRegistry,
+            Settings settings) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.table = OutboxRelayRepository.checkTableName(table);
+        this.settings = settings;
+        this.selectSql = """
+                SELECT %s FROM %s
+                WHERE status = 'PUBLISHED' AND published_at < ?
+                ORDER BY published_at ASC
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+                """.formatted(settings.archiveDir() == null ? "id" : "*", table);
+        Gauge.builder("outbox.table.rows", tableRows, AtomicLong::get)
+                .description("outbox 테이블 행 수(추정치)")
+                .tag("table", table)
+                .register(meterRegistry);
+        Gauge.builder("outbox.table.size", tableBytes, AtomicLong::get)
+                .description("outbox 테이블 데이터+인덱스 크기(추정치)")
+                .baseUnit("bytes")
+                .tag("table", table)
+                .register(meterRegistry);
+        this.purged = Counter.builder("outbox.retention.purged")
+                .description("보관 기간이 지나 삭제한 PUBLISHED 행 수")
+                .tag("table", table)
+                .register(meterRegistry);
+        this.archived = Counter.builder("outbox.retention.archived")
+                .description("삭제 전에 파일로 보관한 행 수")
+                .tag("table", table)
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("outbox.retention.run")
+                .description("outbox 정리 한 번의 소요 시간")
+                .tag("table", table)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        if (!settings.enabled()) {
+            return;
+        }
+        running = true;
+        retentionThread = new Thread(this::runLoop, "outbox-retention-" + table);
+        retentionThread.setDaemon(true);
+        retentionThread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (retentionThread != null) {
+            LockSupport.unpark(retentionThread);
+            try {
+                retentionThread.join(10_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * 보관 기간이 지난 행을 청크 단위로 지우고 지운 행 수를 반환한다.
+     */
+    public long purgeOnce() {
+        long startedNanos = System.nanoTime();
+        LocalDateTime cutoff = LocalDateTime.now().minus(settings.retention());
+        long deleted = 0;
+        try {
+            for (int chunk = 0; chunk < settings.maxChunksPerRun(); chunk++) {
+                int count = purgeChunk(cutoff);
+                deleted += count;
+                if (count < settings.chunkSize()) {
+                    break;
+                }
+                if (!running && retentionThread != null) {
+                    break;
+                }
+                LockSupport.parkNanos(settings.chunkPause().toNanos());
+            }
+        } finally {
+            runTimer.record(Duration.ofNanos(System.nanoTime() - startedNanos));
+            if (deleted > 0) {
+                log.info("Outbox retention purged: table={} deleted={} cutoff={}", table, deleted, cutoff);
+            }
+        }
+        refreshTableStats();
+        return deleted;
+    }
+
+    int purgeChunk(LocalDateTime cutoff) {
+        Integer deleted = transactionTemplate.execute(status -> {
+            List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                    selectSql, Timestamp.valueOf(cutoff), settings.chunkSize());
+            if (rows.isEmpty()) {
+                return 0;
+            }
+            if (settings.archiveDir() != null) {
+                archive(rows);
+            }
+            List<Object> ids = rows.stream().map(row -> row.get("id")).toList();
+            jdbcTemplate.update("DELETE FROM %s WHERE id IN (%s)".formatted(
+                    table, String.join(", ", Collections.nCopies(ids.size(), "?"))), ids.toArray());
+            return ids.size();
+        });
+        int count = deleted == null ? 0 : deleted;
+        purged.increment(count);
+        if (settings.archiveDir() != null) {
+            archived.increment(count);
+        }
+        return count;
+    }
+
+    /** 파일 쓰기가 실패하면 예외로 트랜잭션을 되돌려 보관하지 못한 행은 지우지 않는다. */
+    private void archive(List<Map<String, Object>> rows) {
+        Path dir = settings.archiveDir().resolve(table);
+        Path file = dir.resolve("%s-%s-%s.jsonl.gz".formatted(
+                table, LocalDateTime.now().format(ARCHIVE_FILE_TIME), rows.get(0).get("id")));
+        try {
+            Files.createDirectories(dir);
+            try (Writer writer = new OutputStreamWriter(
+                    new GZIPOutputStream(Files.newOutputStream(file)), StandardCharsets.UTF_8)) {
+                for (Map<String, Object> row : rows) {
+                    writer.write(ARCHIVE_MAPPER.writeValueAsString(toArchiveLine(row)));
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("outbox 보관 파일 쓰기 실패: " + file, e);
+        }
+    }
+
+    private static Map<String, Object> toArchiveLine(Map<String, Object> row) {
+        Map<String, Object> line = new LinkedHashMap<>(row.size());
+        row.forEach((column, value) -> line.put(column.toLowerCase(),
+                value instanceof Timestamp timestamp ? timestamp.toLocalDateTime().toString() : value));
+        return line;
+    }
+
+    private void refreshTableStats() {
+        try {
+            jdbcTemplate.query("""
+                            SELECT TABLE_ROWS, DATA_LENGTH + INDEX_LENGTH AS TOTAL_BYTES
+                            FROM information_schema.TABLES
+                            WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ?
+                            """,
+                    rs -> {
+                        tableRows.set(rs.getLong("TABLE_ROWS"));
+                        tableBytes.set(rs.getLong("TOTAL_BYTES"));
+                    },
+                    table);
+        } catch (Exception e) {
+            log.warn("Outbox table stats refresh failed: table={}", table, e);
+        }
+    }
+
+    private void runLoop() {
+        while (running) {
+            try {
+                purgeOnce();
+            } catch (Exception e) {
+                log.error("Outbox retention failed: table={}", table, e);
+            }
+            if (running) {
+                LockSupport.parkNanos(settings.interval().toNanos());
+            }
+        }
+    }
+
+    /**
+     * @param enabled         정리 스레드 실행 여부
+     * @param retention       PUBLISHED 행을 남겨 둘 기간(published_at 기준)
+     * @param chunkSize       트랜잭션 하나에서 지울 최대 행 수
+     * @param maxChunksPerRun 정리 한 번에 처리할 최대 청크 수
+     * @param chunkPause      청크 사이 대기 시간
+     * @param interval        정리 주기
+     * @param archiveDir      삭제 전 보관 파일 경로. null이면 보관하지 않는다
+     */
+    public record Settings(
+            boolean enabled,
+            Duration retention,
+            int chunkSize,
+            int maxChunksPerRun,
+            Duration chunkPause,
+            Duration interval,
+            Path archiveDir) {
+
+        public Settings {
+            if (chunkSize < 1 || maxChunksPerRun < 1) {
+                throw new IllegalArgumentException(
+                        "outbox 정리 청크 크기와 횟수는 1 이상이어야 합니다: size=" + chunkSize + ", chunks=" + maxChunksPerRun);
+            }
+        }
+
+        /** archiveDir가 비어 있으면 보관하지 않는다. */
+        public static Settings of(boolean enabled, long retentionHours, int chunkSize, long intervalSeconds,
+                                  String archiveDir) {
+            return new Settings(enabled, Duration.ofHours(retentionHours), chunkSize, 100, Duration.ofMillis(100),
+                    Duration.ofSeconds(intervalSeconds), archiveDir == null || archiveDir.isBlank() ? null : Path.of(archiveDir));
+        }
+    }
+}
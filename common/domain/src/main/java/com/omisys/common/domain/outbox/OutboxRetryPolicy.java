@@ -0,0 +1,28 @@
+package com.omisys.common.domain.outbox;
+
+import java.time.LocalDateTime;
+
+/**
+ * outbox 이벤트 발행 실패 시 재시도 정책. 서비스별 OutboxEvent 엔티티와 {@link OutboxRelay}가 같은 값을 쓴다.
+ */
+public final class OutboxRetryPolicy {
+
+    public static final int MAX_RETRY = 5;
+    private static final long[] BACKOFF_SECONDS = {10, 30, 60, 120, 300};
+
+    private OutboxRetryPolicy() {
+    }
+
+    /** retryCount번째 실패 이후 재시도 대기 시간(초). retryCount는 1부터 센다. */
+    public static long backoffSeconds(int retryCount) {
+        return BACKOFF_SECONDS[Math.max(0, Math.min(retryCount - 1, BACKOFF_SECONDS.length - 1))];
+    }
+
+    public static boolean exhausted(int retryCount) {
+        return retryCount >= MAX_RETRY;
+    }
+
+    public static LocalDateTime nextRetryAt(int retryCount, LocalDateTime now) {
+        return now.plusSeconds(backoffSeconds(retryCount));
+    }
+}
@@ -0,0 +1,59 @@
+package com.omisys.common.domain.jwt;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UserClaimsCodecTest {
+
+    @Test
+    void encodedClaims_roundTrip() {
+        String header = UserClaimsCodec.encode(7L, "찬호", "ROLE_USER");
+
+        UserClaims claims = UserClaimsCodec.decode(header);
+
+        assertThat(claims).isEqualTo(new UserClaims(7L, "찬호", "ROLE_USER"));
+        assertThat(UserClaimsCodec.isLegacyJson(header)).isFalse();
+    }
+
+    @Test
+    void nullValues_roundTrip() {
+        UserClaims claims = UserClaimsCodec.decode(UserClaimsCodec.encode(null, null, null));
+
+        assertThat(claims).isEqualTo(new UserClaims(null, null, null));
+    }
+
+    @Test
+    void truncatedHeader_isRejected() {
+        String header = UserClaimsCodec.encode(7L, "user", "ROLE_USER");
+
+        assertThatThrownBy(() -> UserClaimsCodec.decode(header.substring(0, 10)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void legacyJsonHeader_isDetected() {
+        String legacy = URLEncoder.encode("{\"userId\":7}", StandardCharsets.UTF_8);
+
+        assertThat(UserClaimsCodec.isLegacyJson(legacy)).isTrue();
+    }
+
+    @Test
+    void parse_acceptsBinaryAndLegacyJson() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        String legacy = URLEncoder.encode(
+                "{\"userId\":7,\"username\":\"찬호\",\"role\":\"ROLE_USER\"}", StandardCharsets.UTF_8);
+
+        assertThat(UserClaimsCodec.parse(legacy, objectMapper))
+                .isEqualTo(new UserClaims(7L, "찬호", "ROLE_USER"));
+        assertThat(UserClaimsCodec.parse(UserClaimsCodec.encode(7L, "찬호", "ROLE_USER"), objectMapper))
+                .isEqualTo(new UserClaims(7L, "찬호", "ROLE_USER"));
+        assertThatThrownBy(() -> UserClaimsCodec.parse("%7B%22userId", objectMapper))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,98 @@
+package com.omisys.common.domain.outbox;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 로컬 MySQL 컨테이너의 binlog로 OutboxBinlogRelay를 검증한다. Docker가 없으면 건너뛴다.
+ *
+ * <p>실행: {@code ./gradlew :common:domain:test --tests '*OutboxBinlogRelayIntegrationTest'}</p>
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SuppressWarnings("unchecked")
+class OutboxBinlogRelayIntegrationTest {
+
+    @Container
+    private static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0")
+            .withDatabaseName("omisys")
+            .withUsername("root")
+            .withPassword("test");
+
+    private JdbcTemplate jdbcTemplate;
+    private KafkaTemplate<String, Object> kafkaTemplate;
+    private OutboxBinlogRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(MYSQL.getJdbcUrl(), "root", "test"));
+        jdbcTemplate.execute("DROP TABLE IF EXISTS outbox_events");
+        jdbcTemplate.execute("""
+                CREATE TABLE outbox_events (
+                    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                    aggregate_id VARCHAR(100) NOT NULL,
+                    aggregate_type VARCHAR(50) NOT NULL,
+                    created_at DATETIME(6) NOT NULL,
+                    event_type VARCHAR(100) NOT NULL,
+                    message_key VARCHAR(100) NOT NULL,
+                    next_retry_at DATETIME(6),
+                    payload TEXT NOT NULL,
+                    published_at DATETIME(6),
+                    retry_count INT NOT NULL,
+                    status ENUM('FAILED','PENDING','PUBLISHED') NOT NULL
+                )
+                """);
+        kafkaTemplate = mock(KafkaTemplate.class);
+        when(kafkaTemplate.send(anyString(), anyString(), any()))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+
+        OutboxRelayRepository repository = new OutboxRelayRepository(jdbcTemplate, "outbox_events");
+        relay = new OutboxBinlogRelay(repository, kafkaTemplate, jdbcTemplate, new SimpleMeterRegistry(),
+                OutboxRelay.Settings.of(500, 1_000),
+                OutboxBinlogRelay.Settings.fromJdbcUrl(MYSQL.getJdbcUrl(), "root", "test", 0, 30, 500),
+                null);
+        relay.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        relay.stop();
+    }
+
+    @Test
+    void 커밋된_INSERT를_폴링_없이_발행한다() throws InterruptedException {
+        long start = System.nanoTime();
+        jdbcTemplate.update("""
+                INSERT INTO outbox_events (aggregate_id, aggregate_type, created_at, event_type, message_key,
+                                           payload, retry_count, status)
+                VALUES ('10', 'PreOrder', NOW(6), 'process_preorder', '777', '{"orderType":"PREORDER"}', 0, 'PENDING')
+                """);
+
+        verify(kafkaTemplate, timeout(5_000)).send("process_preorder", "777", "{\"orderType\":\"PREORDER\"}");
+        System.out.printf("[outbox-binlog] insert→send %.1fms%n", (System.nanoTime() - start) / 1e6);
+        // 연결 후 INSERT된 행이므로 sweep이 같은 행을 다시 발행하지 않는다.
+        verify(kafkaTemplate, times(1)).send(anyString(), anyString(), any());
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        String status;
+        do {
+            Thread.sleep(20);
+            status = jdbcTemplate.queryForObject("SELECT status FROM outbox_events WHERE message_key = '777'", String.class);
+        } while (!"PUBLISHED".equals(status) && System.currentTimeMillis() < deadline);
+        assertThat(status).isEqualTo("PUBLISHED");
+    }
+}
@@ -0,0 +1,170 @@
+package com.omisys.common.domain.outbox;
+
+import com.github.shyiko.mysql.binlog.event.Event;
+import com.github.shyiko.mysql.binlog.event.EventData;
+import com.github.shyiko.mysql.binlog.event.EventHeaderV4;
+import com.github.shyiko.mysql.binlog.event.EventType;
+import com.github.shyiko.mysql.binlog.event.TableMapEventData;
+import com.github.shyiko.mysql.binlog.event.WriteRowsEventData;
+import com.github.shyiko.mysql.binlog.event.XidEventData;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@SuppressWarnings("unchecked")
+class OutboxBinlogRelayTest {
+
+    private static final List<String> COLUMNS = List.of(
+            "id", "aggregate_id", "aggregate_type", "created_at", "event_type", "message_key",
+            "next_retry_at", "payload", "published_at", "retry_count", "status");
+    private static final String STATUS_TYPE = "enum('FAILED','PENDING','PUBLISHED')";
+
+    private OutboxRelayRepository repository;
+    private KafkaTemplate<String, Object> kafkaTemplate;
+    private JdbcTemplate jdbcTemplate;
+    private OutboxPartitionLease leaderLease;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        repository = mock(OutboxRelayRepository.class);
+        kafkaTemplate = mock(KafkaTemplate.class);
+        jdbcTemplate = mock(JdbcTemplate.class);
+        leaderLease = mock(OutboxPartitionLease.class);
+        when(repository.table()).thenReturn("outbox_events");
+        when(kafkaTemplate.send(anyString(), anyString(), any()))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+        when(jdbcTemplate.queryForObject("SELECT DATABASE()", String.class)).thenReturn("omisys");
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (int i = 0; i < COLUMNS.size(); i++) {
+                ResultSet rs = mock(ResultSet.class);
+                when(rs.getString("COLUMN_NAME")).thenReturn(COLUMNS.get(i));
+                when(rs.getInt("ORDINAL_POSITION")).thenReturn(i + 1);
+                when(rs.getString("COLUMN_TYPE")).thenReturn("status".equals(COLUMNS.get(i)) ? STATUS_TYPE : "varchar(100)");
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(jdbcTemplate).query(contains("information_schema.COLUMNS"), any(RowCallbackHandler.class),
+                eq("omisys"), eq("outbox_events"));
+    }
+
+    @Test
+    @DisplayName("outbox 테이블에 INSERT된 PENDING 행을 커밋(XID) 시점에 한 번에 발행한다")
+    void onEvent_publishesInsertedRowsOnCommit() {
+        OutboxBinlogRelay relay = relay(null);
+
+        relay.onEvent(event(EventType.TABLE_MAP, tableMap(42, "omisys", "outbox_events")));
+        relay.onEvent(event(EventType.TABLE_MAP, tableMap(43, "omisys", "products")));
+        relay.onEvent(event(EventType.EXT_WRITE_ROWS, writeRows(42, row(1, "key-1", 2), row(2, "key-2", 2))));
+        relay.onEvent(event(EventType.EXT_WRITE_ROWS, writeRows(43, row(3, "key-3", 2))));
+        verify(kafkaTemplate, never()).send(anyString(), anyString(), any());
+
+        relay.onEvent(event(EventType.XID, new XidEventData()));
+
+        verify(kafkaTemplate).send("process_preorder", "key-1", "{}");
+        verify(kafkaTemplate).send("process_preorder", "key-2", "{}");
+        verify(kafkaTemplate, never()).send(anyString(), eq("key-3"), any());
+        verify(repository).markPublished(eq(List.of(1L, 2L)), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("ENUM 번호로 기록된 status가 PENDING이 아니면 발행하지 않는다")
+    void onEvent_skipsRowsNotPending() {
+        OutboxBinlogRelay relay = relay(null);
+
+        relay.onEvent(event(EventType.TABLE_MAP, tableMap(42, "omisys", "outbox_events")));
+        relay.onEvent(event(EventType.EXT_WRITE_ROWS, writeRows(42, row(1, "key-1", 3))));
+        relay.onEvent(event(EventType.XID, new XidEventData()));
+
+        verify(kafkaTemplate, never()).send(anyString(), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("leader lease가 없는 인스턴스는 binlog 행을 발행하지 않는다")
+    void onEvent_standbyDoesNotPublish() {
+        when(leaderLease.currentPartitions(any(Duration.class))).thenReturn(Set.of());
+        OutboxBinlogRelay relay = relay(leaderLease);
+
+        relay.onEvent(event(EventType.TABLE_MAP, tableMap(42, "omisys", "outbox_events")));
+        relay.onEvent(event(EventType.EXT_WRITE_ROWS, writeRows(42, row(1, "key-1", 2))));
+        relay.onEvent(event(EventType.XID, new XidEventData()));
+
+        verify(kafkaTemplate, never()).send(anyString(), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("JDBC URL에서 binlog 접속 호스트와 포트를 읽는다")
+    void settings_parsesJdbcUrl() {
+        OutboxBinlogRelay.Settings settings = OutboxBinlogRelay.Settings.fromJdbcUrl(
+                "jdbc:mysql://mysql-product:3307/omisys?serverTimezone=Asia/Seoul", "repl", "pw", 0, 30, 500);
+        OutboxBinlogRelay.Settings defaultPort = OutboxBinlogRelay.Settings.fromJdbcUrl(
+                "jdbc:mysql://localhost/omisys", "repl", "pw", 7, 30, 500);
+
+        assertThat(settings.host()).isEqualTo("mysql-product");
+        assertThat(settings.port()).isEqualTo(3307);
+        assertThat(settings.serverId()).isPositive();
+        assertThat(defaultPort.port()).isEqualTo(3306);
+        assertThat(defaultPort.serverId()).isEqualTo(7);
+        assertThat(OutboxBinlogRelay.enumValues(STATUS_TYPE)).containsExactly("FAILED", "PENDING", "PUBLISHED");
+    }
+
+    private OutboxBinlogRelay relay(OutboxPartitionLease lease) {
+        OutboxBinlogRelay relay = new OutboxBinlogRelay(repository, kafkaTemplate, jdbcTemplate, new SimpleMeterRegistry(),
+                OutboxRelay.Settings.of(500, 1_000),
+                OutboxBinlogRelay.Settings.fromJdbcUrl("jdbc:mysql://localhost:3306/omisys", "root", "", 1, 30, 500),
+                lease);
+        relay.loadTableMetadata();
+        return relay;
+    }
+
+    private static Serializable[] row(long id, String messageKey, int statusIndex) {
+        long createdAtMicros = LocalDateTime.of(2026, 10, 18, 12, 0).toEpochSecond(ZoneOffset.UTC) * 1_000_000L;
+        return new Serializable[]{
+                id, bytes("10"), bytes("PreOrder"), createdAtMicros, bytes("process_preorder"), bytes(messageKey),
+                null, bytes("{}"), null, 0, statusIndex};
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static TableMapEventData tableMap(long tableId, String database, String table) {
+        TableMapEventData data = new TableMapEventData();
+        data.setTableId(tableId);
+        data.setDatabase(database);
+        data.setTable(table);
+        return data;
+    }
+
+    private static WriteRowsEventData writeRows(long tableId, Serializable[]... rows) {
+        WriteRowsEventData data = new WriteRowsEventData();
+        data.setTableId(tableId);
+        data.setRows(List.of(rows));
+        return data;
+    }
+
+    private static Event event(EventType type, EventData data) {
+        EventHeaderV4 header = new EventHeaderV4();
+        header.setEventType(type);
+        return new Event(header, data);
+    }
+}
@@ -0,0 +1,37 @@
+package com.omisys.common.domain.outbox;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OutboxPartitionLeaseTest {
+
+    @Test
+    @DisplayName("목표 개수는 파티션 수를 살아 있는 인스턴스 수로 나눠 올림한 값이다")
+    void target_splitsPartitionsAcrossMembers() {
+        assertThat(OutboxPartitionLease.target(16, 1)).isEqualTo(16);
+        assertThat(OutboxPartitionLease.target(16, 3)).isEqualTo(6);
+        assertThat(OutboxPartitionLease.target(16, 0)).isEqualTo(16);
+    }
+
+    @Test
+    @DisplayName("가진 파티션을 우선 유지하고 목표까지 빈 파티션을 채운다")
+    void assign_keepsOwnedThenFillsFree() {
+        OutboxPartitionLease.Assignment assignment = OutboxPartitionLease.assign(List.of(2), List.of(0, 5, 7), 3);
+
+        assertThat(assignment.keep()).containsExactly(2, 0, 5);
+        assertThat(assignment.release()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("인스턴스가 늘어 목표가 줄면 넘치는 파티션을 내려놓는다")
+    void assign_releasesPartitionsOverTarget() {
+        OutboxPartitionLease.Assignment assignment = OutboxPartitionLease.assign(List.of(0, 1, 2, 3), List.of(), 2);
+
+        assertThat(assignment.keep()).containsExactly(0, 1);
+        assertThat(assignment.release()).containsExactly(2, 3);
+    }
+}
@@ -0,0 +1,146 @@
+package com.omisys.common.domain.outbox;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@SuppressWarnings("unchecked")
+class OutboxRelayTest {
+
+    private OutboxRelayRepository repository;
+    private KafkaTemplate<String, Object> kafkaTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(OutboxRelayRepository.class);
+        kafkaTemplate = mock(KafkaTemplate.class);
+        meterRegistry = new SimpleMeterRegistry();
+        when(repository.table()).thenReturn("outbox_events");
+        relay = new OutboxRelay(repository, kafkaTemplate, meterRegistry,
+                new OutboxRelay.Settings(3, Duration.ofSeconds(1), Duration.ofMillis(10),
+                        Duration.ofMillis(1_000), Duration.ofSeconds(10)));
+    }
+
+    @Test
+    @DisplayName("배치 전체를 send한 뒤 성공한 행을 UPDATE 한 번으로 PUBLISHED 처리한다")
+    void relayOnce_marksSuccessesInOneUpdate() {
+        when(repository.findReady(any(LocalDateTime.class), eq(3)))
+                .thenReturn(List.of(record(1, 0), record(2, 0)));
+        when(kafkaTemplate.send(anyString(), anyString(), any()))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+
+        int relayed = relay.relayOnce();
+
+        assertThat(relayed).isEqualTo(2);
+        verify(kafkaTemplate).send("process_preorder", "key-1", "{}");
+        verify(kafkaTemplate).send("process_preorder", "key-2", "{}");
+        verify(repository, times(1)).markPublished(eq(List.of(1L, 2L)), any(LocalDateTime.class));
+        verify(repository, never()).markRetry(anyList(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("실패한 행은 새 retryCount별로 묶어 재시도 대기로 돌리고, 한도에 닿은 행은 FAILED 처리한다")
+    void relayOnce_groupsFailuresByRetryCount() {
+        when(repository.findReady(any(LocalDateTime.class), anyInt()))
+                .thenReturn(List.of(record(1, 0), record(2, 0), record(3, OutboxRetryPolicy.MAX_RETRY - 1)));
+        when(kafkaTemplate.send(anyString(), anyString(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+
+        relay.relayOnce();
+
+        verify(repository).markPublished(eq(List.of()), any(LocalDateTime.class));
+        verify(repository).markRetry(eq(List.of(1L, 2L)), eq(1), any(LocalDateTime.class));
+        verify(repository).markFailed(List.of(3L), OutboxRetryPolicy.MAX_RETRY);
+    }
+
+    @Test
+    @DisplayName("send 호출 자체가 예외를 던져도 나머지 행은 발행하고 해당 행만 재시도한다")
+    void relayOnce_synchronousSendFailure() {
+        when(repository.findReady(any(LocalDateTime.class), anyInt()))
+                .thenReturn(List.of(record(1, 0), record(2, 0)));
+        when(kafkaTemplate.send("process_preorder", "key-1", "{}"))
+                .thenThrow(new IllegalStateException("metadata timeout"));
+        when(kafkaTemplate.send("process_preorder", "key-2", "{}"))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+
+        relay.relayOnce();
+
+        verify(repository).markPublished(eq(List.of(2L)), any(LocalDateTime.class));
+        verify(repository).markRetry(eq(List.of(1L)), eq(1), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("발행 결과를 backlog·lag·published 지표에 남긴다")
+    void relayOnce_recordsMetrics() {
+        when(repository.countPending()).thenReturn(5L);
+        when(repository.findReady(any(LocalDateTime.class), anyInt()))
+                .thenReturn(List.of(record(1, 0), record(2, 0)));
+        when(kafkaTemplate.send(anyString(), eq("key-1"), any()))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+        when(kafkaTemplate.send(anyString(), eq("key-2"), any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+
+        relay.relayOnce();
+
+        assertThat(meterRegistry.get("outbox.relay.backlog").tag("table", "outbox_events").gauge().value())
+                .isEqualTo(4.0);
+        assertThat(meterRegistry.get("outbox.relay.lag").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("outbox.relay.published").tag("result", "success").counter().count())
+                .isEqualTo(1.0);
+        assertThat(meterRegistry.get("outbox.relay.published").tag("result", "failure").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("배치가 가득 차면 바로, 일부만 차면 minDelay 뒤에, 비면 maxDelay까지 두 배씩 늘려 다시 읽는다")
+    void nextDelay_adaptsToBacklog() {
+        long min = Duration.ofMillis(10).toNanos();
+        long max = Duration.ofMillis(1_000).toNanos();
+
+        assertThat(relay.nextDelayNanos(3, max)).isZero();
+        assertThat(relay.nextDelayNanos(1, max)).isEqualTo(min);
+        assertThat(relay.nextDelayNanos(0, 0)).isEqualTo(min);
+        assertThat(relay.nextDelayNanos(0, min)).isEqualTo(min * 2);
+        assertThat(relay.nextDelayNanos(0, max)).isEqualTo(max);
+    }
+
+    @Test
+    @DisplayName("파티션 임대를 쓰면 임대한 파티션의 행만 읽고, 임대한 파티션이 없으면 읽지 않는다")
+    void relayOnce_readsOnlyLeasedPartitions() {
+        OutboxPartitionLease lease = mock(OutboxPartitionLease.class);
+        when(lease.partitions()).thenReturn(16);
+        when(lease.currentPartitions(any(Duration.class))).thenReturn(Set.of(3, 7), Set.of());
+        when(repository.findReady(any(LocalDateTime.class), anyInt(), eq(16), eq(Set.of(3, 7))))
+                .thenReturn(List.of(record(1, 0)));
+        when(kafkaTemplate.send(anyString(), anyString(), any()))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+        relay = new OutboxRelay(repository, kafkaTemplate, meterRegistry,
+                OutboxRelay.Settings.of(3, 1_000), lease);
+
+        assertThat(relay.relayOnce()).isEqualTo(1);
+        assertThat(relay.relayOnce()).isZero();
+
+        verify(repository, never()).findReady(any(LocalDateTime.class), anyInt());
+        verify(repository).markPublished(eq(List.of(1L)), any(LocalDateTime.class));
+    }
+
+    private static OutboxRecord record(long id, int retryCount) {
+        return new OutboxRecord(id, "process_preorder", "key-" + id, "{}", retryCount,
+                LocalDateTime.now().minusSeconds(1));
+    }
+}
@@ -0,0 +1,113 @@
+package com.omisys.common.domain.outbox;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class OutboxRetentionTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        transactionTemplate = mock(TransactionTemplate.class);
+        meterRegistry = new SimpleMeterRegistry();
+        when(transactionTemplate.execute(any())).thenAnswer(
+                invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    @DisplayName("청크가 가득 차는 동안 이어서 지우고, 덜 찬 청크에서 멈춘다")
+    void purgeOnce_deletesInChunks() {
+        when(jdbcTemplate.queryForList(anyString(), any(Timestamp.class), eq(2)))
+                .thenReturn(rows(1, 2), rows(3));
+        OutboxRetention retention = retention(null);
+
+        long deleted = retention.purgeOnce();
+
+        assertThat(deleted).isEqualTo(3);
+        verify(jdbcTemplate).update("DELETE FROM outbox_events WHERE id IN (?, ?)", 1L, 2L);
+        verify(jdbcTemplate).update("DELETE FROM outbox_events WHERE id IN (?)", 3L);
+        verify(jdbcTemplate).query(contains("information_schema.TABLES"), any(RowCallbackHandler.class),
+                eq("outbox_events"));
+        assertThat(meterRegistry.get("outbox.retention.purged").counter().count()).isEqualTo(3.0);
+    }
+
+    @Test
+    @DisplayName("보관 경로가 있으면 지우기 전에 청크를 gzip JSON Lines 파일로 남긴다")
+    void purgeChunk_archivesBeforeDelete(@TempDir Path archiveDir) throws Exception {
+        when(jdbcTemplate.queryForList(anyString(), any(Timestamp.class), anyInt()))
+                .thenReturn(rows(7));
+        OutboxRetention retention = retention(archiveDir);
+
+        retention.purgeChunk(LocalDateTime.now());
+
+        List<Path> files;
+        try (var stream = Files.list(archiveDir.resolve("outbox_events"))) {
+            files = stream.toList();
+        }
+        assertThat(files).hasSize(1);
+        assertThat(files.get(0).getFileName().toString()).startsWith("outbox_events-").endsWith("-7.jsonl.gz");
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(files.get(0))), StandardCharsets.UTF_8))) {
+            assertThat(reader.readLine()).contains("\"id\":7", "\"published_at\":\"2026-01-01T00:00\"");
+        }
+        verify(jdbcTemplate).update("DELETE FROM outbox_events WHERE id IN (?)", 7L);
+        assertThat(meterRegistry.get("outbox.retention.archived").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("보관 파일을 쓰지 못하면 행을 지우지 않는다")
+    void purgeChunk_archiveFailure_keepsRows(@TempDir Path tempDir) throws Exception {
+        Path notADirectory = Files.createFile(tempDir.resolve("archive"));
+        when(jdbcTemplate.queryForList(anyString(), any(Timestamp.class), anyInt()))
+                .thenReturn(rows(7));
+        OutboxRetention retention = retention(notADirectory);
+
+        assertThatThrownBy(() -> retention.purgeChunk(LocalDateTime.now()))
+                .isInstanceOf(UncheckedIOException.class);
+        verify(jdbcTemplate, never()).update(startsWith("DELETE"), any(Object[].class));
+    }
+
+    private OutboxRetention retention(Path archiveDir) {
+        return new OutboxRetention(jdbcTemplate, transactionTemplate, "outbox_events", meterRegistry,
+                new OutboxRetention.Settings(true, Duration.ofDays(7), 2, 10, Duration.ZERO,
+                        Duration.ofMinutes(5), archiveDir));
+    }
+
+    private static List<Map<String, Object>> rows(long... ids) {
+        return LongStream.of(ids)
+                .mapToObj(id -> Map.<String, Object>of(
+                        "id", id,
+                        "published_at", Timestamp.valueOf(LocalDateTime.of(2026, 1, 1, 0, 0))))
+                .toList();
+    }
+}
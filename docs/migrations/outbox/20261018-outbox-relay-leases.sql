@@ -0,0 +1,14 @@
+CREATE TABLE IF NOT EXISTS outbox_relay_leases (
+    table_name VARCHAR(64) NOT NULL,
+    partition_no INT NOT NULL,
+    owner VARCHAR(128) NULL,
+    lease_until DATETIME(6) NOT NULL,
+    PRIMARY KEY (table_name, partition_no)
+);
+
+CREATE TABLE IF NOT EXISTS outbox_relay_members (
+    table_name VARCHAR(64) NOT NULL,
+    member_id VARCHAR(128) NOT NULL,
+    alive_until DATETIME(6) NOT NULL,
+    PRIMARY KEY (table_name, member_id)
+);
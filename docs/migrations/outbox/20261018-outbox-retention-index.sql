@@ -0,0 +1,5 @@
+CREATE INDEX idx_outbox_status_published ON outbox_events (status, published_at);
+
+CREATE INDEX idx_order_outbox_status_published ON order_outbox_events (status, published_at);
+
+CREATE INDEX idx_delivery_outbox_status_published ON delivery_outbox_events (status, published_at);
@@ -7,6 +7,7 @@ import com.omisys.auth.server.exception.AuthErrorCode;
 import com.omisys.auth.server.exception.AuthException;
 import com.omisys.auth.server.infrastructure.properties.JwtProperties;
 import com.omisys.auth.server.presentation.request.AuthRequest;
+import com.omisys.common.domain.entity.QueueSlotReleasePublisher;
 import com.omisys.user_dto.infrastructure.UserDto;
 import io.jsonwebtoken.Jwts;
 import lombok.extern.slf4j.Slf4j;
@@ -30,16 +31,19 @@ public class AuthService {
     private final SecretKey secretKey;
     private final PasswordEncoder passwordEncoder;
     private final RefreshTokenService refreshTokenService;
+    private final QueueSlotReleasePublisher queueSlotReleasePublisher;
 
     public AuthService(UserService userService,
                        JwtProperties jwtProperties,
                        PasswordEncoder passwordEncoder,
-                       RefreshTokenService refreshTokenService) {
+                       RefreshTokenService refreshTokenService,
+                       QueueSlotReleasePublisher queueSlotReleasePublisher) {
         this.userService = userService;
         this.jwtProperties = jwtProperties;
         this.secretKey = createSecretKey();
         this.passwordEncoder = passwordEncoder;
         this.refreshTokenService = refreshTokenService;
+        this.queueSlotReleasePublisher = queueSlotReleasePublisher;
     }
 
     public AuthResponse.TokenPair signIn(AuthRequest.SignIn request) {
@@ -82,6 +86,7 @@ public class AuthService {
 
     public void signOut(Long userId) {
         refreshTokenService.revokeAllByUserId(userId);
+        queueSlotReleasePublisher.release(userId);
     }
 
     public void revokeRefreshToken(String refreshToken) {
@@ -1,8 +1,16 @@
 package com.omisys.auth.server.infrastructure.configuration;
 
+import com.omisys.common.domain.entity.QueueSlotReleasePublisher;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
 
 @Configuration
 public class RedisConfig {
     // Spring Boot auto-configures StringRedisTemplate and ObjectMapper beans.
+
+    @Bean
+    public QueueSlotReleasePublisher queueSlotReleasePublisher(StringRedisTemplate redisTemplate) {
+        return new QueueSlotReleasePublisher(redisTemplate);
+    }
 }
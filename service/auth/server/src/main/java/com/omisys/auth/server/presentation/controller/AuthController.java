@@ -8,6 +8,7 @@ import com.omisys.auth.server.exception.AuthErrorCode;
 import com.omisys.auth.server.exception.AuthException;
 import com.omisys.auth.server.infrastructure.properties.JwtProperties;
 import com.omisys.auth.server.presentation.request.AuthRequest;
+import com.omisys.common.domain.jwt.UserClaimsCodec;
 import com.omisys.common.domain.response.ApiResponse;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletResponse;
@@ -116,6 +117,9 @@ public class AuthController {
     private Long extractUserId(String userClaimsHeader) {
         if (userClaimsHeader == null) return null;
         try {
+            if (!UserClaimsCodec.isLegacyJson(userClaimsHeader)) {
+                return UserClaimsCodec.decode(userClaimsHeader).userId();
+            }
             String decoded = URLDecoder.decode(userClaimsHeader, StandardCharsets.UTF_8);
             JwtClaim claim = objectMapper.readValue(decoded, JwtClaim.class);
             return claim.getUserId();
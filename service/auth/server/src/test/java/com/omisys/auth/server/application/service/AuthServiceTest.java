@@ -5,6 +5,7 @@ import com.omisys.auth.server.exception.AuthErrorCode;
 import com.omisys.auth.server.exception.AuthException;
 import com.omisys.auth.server.infrastructure.properties.JwtProperties;
 import com.omisys.auth.server.presentation.request.AuthRequest;
+import com.omisys.common.domain.entity.QueueSlotReleasePublisher;
 import com.omisys.user_dto.infrastructure.UserDto;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
@@ -30,6 +31,7 @@ class AuthServiceTest {
     @Mock private UserService userService;
     @Mock private PasswordEncoder passwordEncoder;
     @Mock private RefreshTokenService refreshTokenService;
+    @Mock private QueueSlotReleasePublisher queueSlotReleasePublisher;
 
     private static final String SECRET = "test-secret-key-test-secret-key-test-secret-key";
 
@@ -38,7 +40,7 @@ class AuthServiceTest {
         props.setSecretKey(SECRET);
         props.setAccessTokenExpiresIn(60000);
         props.setRefreshTokenExpiresIn(604800000);
-        return new AuthService(userService, props, passwordEncoder, refreshTokenService);
+        return new AuthService(userService, props, passwordEncoder, refreshTokenService, queueSlotReleasePublisher);
     }
 
     @Test
@@ -145,7 +147,7 @@ class AuthServiceTest {
     }
 
     @Test
-    @DisplayName("signOut 성공: userId로 RT 전체 무효화")
+    @DisplayName("signOut 성공: userId로 RT 전체 무효화 + 대기열 슬롯 반납")
     void signOut_success() {
         // given
         AuthService authService = newAuthService();
@@ -155,5 +157,6 @@ class AuthServiceTest {
 
         // then
         verify(refreshTokenService).revokeAllByUserId(1L);
+        verify(queueSlotReleasePublisher).release(1L);
     }
 }
@@ -0,0 +1,29 @@
+package com.omisys.delivery.server.infrastructure.messaging;
+
+import com.omisys.common.domain.outbox.OutboxRetention;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * delivery_outbox_events 테이블에서 보관 기간이 지난 PUBLISHED 행을 정리한다. 동작은 {@link OutboxRetention} 참고.
+ */
+@Component
+public class OutboxRetentionJob extends OutboxRetention {
+
+    public OutboxRetentionJob(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${outbox.retention.enabled:true}") boolean enabled,
+            @Value("${outbox.retention.published-hours:168}") long retentionHours,
+            @Value("${outbox.retention.chunk-size:1000}") int chunkSize,
+            @Value("${outbox.retention.interval-seconds:300}") long intervalSeconds,
+            @Value("${outbox.retention.archive-dir:}") String archiveDir) {
+        super(jdbcTemplate, new TransactionTemplate(transactionManager), "delivery_outbox_events", meterRegistry,
+                OutboxRetention.Settings.of(enabled, retentionHours, chunkSize, intervalSeconds, archiveDir));
+    }
+}
@@ -0,0 +1,112 @@
+package com.omisys.gateway.server.application;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * 대기열 처리량(초당 승격 수) 추정기와 예상 대기 시간(ETA) 계산기.
+ *
+ * <p>승격 이벤트(슬롯 반납·무활동 만료로 비워진 proceed 슬롯이 대기자로 채워진 수)를 최근 windowSeconds초 동안
+ * 1초 단위 링 버퍼에 누적하고, 그 평균으로 순번별 대기 시간을 계산한다. 이벤트는 모든 게이트웨이 인스턴스가
+ * 같은 채널로 받으므로 어느 인스턴스에서 계산해도 클러스터 전체 처리량이 반영된다.</p>
+ *
+ * <p>각 버킷은 하나의 long에 (epoch second &lt;&lt; 32 | count)로 저장된다. 기록은 CAS 한 번(경합 시 재시도),
+ * 조회는 배열 순회뿐이라 요청 경로에서 락이나 객체 할당이 없다. 지난 초의 버킷은 다음 기록 때 같은 CAS로 재사용된다.</p>
+ */
+@Component
+public class AdmissionRateEstimator {
+
+    /** 처리량을 아직 측정하지 못해 ETA를 계산할 수 없음 */
+    public static final long UNKNOWN = -1L;
+
+    private static final long COUNT_MASK = 0xffffffffL;
+
+    private final AtomicLongArray buckets;
+    private final int windowSeconds;
+    private final LongSupplier epochSecondClock;
+
+    public AdmissionRateEstimator(
+            UserQueueService userQueueService,
+            MeterRegistry meterRegistry,
+            @Value("${gateway.queue.eta.window-seconds:60}") int windowSeconds) {
+        this(windowSeconds, () -> System.currentTimeMillis() / 1000);
+        Gauge.builder("gateway.queue.admission.rate", this, AdmissionRateEstimator::admissionRate)
+                .description("최근 구간 초당 대기열 승격 수")
+                .baseUnit("users/s")
+                .register(meterRegistry);
+        Gauge.builder("gateway.queue.eta", this,
+                        estimator -> estimator.estimateWaitSeconds(userQueueService.totalWaitingUsers()))
+                .description("대기열 마지막 사용자의 예상 대기 시간(-1: 측정 불가)")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    AdmissionRateEstimator(int windowSeconds, LongSupplier epochSecondClock) {
+        if (windowSeconds < 1) {
+            throw new IllegalArgumentException("ETA 측정 구간은 1초 이상이어야 합니다: " + windowSeconds);
+        }
+        this.buckets = new AtomicLongArray(windowSeconds);
+        this.windowSeconds = windowSeconds;
+        this.epochSecondClock = epochSecondClock;
+    }
+
+    /**
+     * 승격된 사용자 수를 현재 초 버킷에 더한다.
+     *
+     * @param admitted 승격된 사용자 수
+     */
+    public void record(long admitted) {
+        if (admitted <= 0) {
+            return;
+        }
+        long second = epochSecondClock.getAsLong();
+        int index = (int) (second % windowSeconds);
+        while (true) {
+            long current = buckets.get(index);
+            long next = (current >>> 32) == second
+                    ? current + admitted
+                    : (second << 32) | admitted;
+            if (buckets.compareAndSet(index, current, next)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 최근 windowSeconds초 동안의 초당 승격 수.
+     */
+    public double admissionRate() {
+        long now = epochSecondClock.getAsLong();
+        long total = 0;
+        for (int i = 0; i < windowSeconds; i++) {
+            long bucket = buckets.get(i);
+            long age = now - (bucket >>> 32);
+            if (age >= 0 && age < windowSeconds) {
+                total += bucket & COUNT_MASK;
+            }
+        }
+        return (double) total / windowSeconds;
+    }
+
+    /**
+     * 대기 순번에 대한 예상 대기 시간(초).
+     *
+     * @param rank 전역 대기 순번
+     * @return 예상 대기 시간(초), 대기하지 않으면 0, 처리량을 측정하지 못했으면 {@link #UNKNOWN}
+     */
+    public long estimateWaitSeconds(long rank) {
+        if (rank <= 0) {
+            return 0;
+        }
+        double rate = admissionRate();
+        if (rate <= 0) {
+            return UNKNOWN;
+        }
+        return (long) Math.ceil(rank / rate);
+    }
+}
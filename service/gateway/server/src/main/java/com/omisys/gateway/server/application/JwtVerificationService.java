@@ -0,0 +1,190 @@
+package com.omisys.gateway.server.application;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.omisys.auth.server.auth_dto.jwt.JwtClaim;
+import com.omisys.gateway.server.infrastructure.exception.GatewayErrorCode;
+import com.omisys.gateway.server.infrastructure.exception.GatewayException;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+
+/**
+ * 게이트웨이 JWT 검증 서비스.
+ *
+ * <p>auth 서비스(AuthInternalService)와 동일한 HS256 키로 토큰을 프로세스 내에서 검증하고,
+ * 검증된 클레임을 토큰 해시 기준으로 캐시한다. 캐시 항목은 토큰 만료 시각에 맞춰 제거된다.</p>
+ *
+ * <p>서명 불일치(키 교체 직후 등)이거나 키가 설정되지 않은 경우에만 auth 서비스 원격 검증으로 폴백한다.
+ * 원격 호출은 블로킹 Feign이므로 boundedElastic 스케줄러에서 실행해 이벤트 루프를 막지 않는다.</p>
+ */
+@Slf4j
+@Service
+public class JwtVerificationService {
+
+    /** auth 서비스 JwtConstant와 동일한 클레임 키 */
+    private static final String USER_ID = "USER_ID";
+    private static final String USER_NAME = "USER_NAME";
+    private static final String USER_ROLE = "USER_ROLE";
+
+    private static final String CACHE_METRIC = "gateway.jwt.cache";
+    private static final String VERIFY_METRIC = "gateway.jwt.verify";
+
+    private final AuthService authService;
+    private final JwtParser jwtParser;
+    private final Duration remoteClaimTtl;
+    private final Cache<String, CachedClaim> claimCache;
+
+    private final Counter cacheHit;
+    private final Counter cacheMiss;
+    private final Timer localVerifyTimer;
+    private final Timer remoteVerifyTimer;
+
+    public JwtVerificationService(
+            @Lazy AuthService authService,
+            MeterRegistry meterRegistry,
+            @Value("${jwt.secret-key:}") String secretKey,
+            @Value("${gateway.jwt.cache.max-size:100000}") long cacheMaxSize,
+            @Value("${gateway.jwt.cache.remote-ttl-seconds:30}") long remoteTtlSeconds) {
+        this.authService = authService;
+        this.jwtParser = createParser(secretKey);
+        this.remoteClaimTtl = Duration.ofSeconds(remoteTtlSeconds);
+        this.claimCache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new ClaimExpiry())
+                .build();
+
+        this.cacheHit = Counter.builder(CACHE_METRIC).tag("result", "hit").register(meterRegistry);
+        this.cacheMiss = Counter.builder(CACHE_METRIC).tag("result", "miss").register(meterRegistry);
+        this.localVerifyTimer = Timer.builder(VERIFY_METRIC).tag("mode", "local")
+                .publishPercentileHistogram().register(meterRegistry);
+        this.remoteVerifyTimer = Timer.builder(VERIFY_METRIC).tag("mode", "remote")
+                .publishPercentileHistogram().register(meterRegistry);
+        meterRegistry.gauge("gateway.jwt.cache.size", claimCache, Cache::estimatedSize);
+    }
+
+    /**
+     * 토큰을 검증하고 클레임을 반환한다.
+     *
+     * <ul>
+     *   <li>캐시 적중: 즉시 반환</li>
+     *   <li>로컬 검증 성공: 토큰 만료 시각까지 캐시 후 반환</li>
+     *   <li>만료 토큰: TOKEN_EXPIRED, 형식 오류: INVALID_TOKEN</li>
+     *   <li>서명 불일치 또는 키 미설정: auth 서비스 원격 검증 결과를 짧은 TTL로 캐시 후 반환</li>
+     * </ul>
+     *
+     * @param token Bearer 접두사가 제거된 access token
+     * @return 검증된 JwtClaim
+     */
+    public Mono<JwtClaim> verify(String token) {
+        String cacheKey = hash(token);
+        CachedClaim cached = claimCache.getIfPresent(cacheKey);
+        if (cached != null) {
+            cacheHit.increment();
+            return Mono.just(cached.claim());
+        }
+        cacheMiss.increment();
+
+        if (jwtParser == null) {
+            return verifyRemotely(cacheKey, token);
+        }
+
+        try {
+            JwtClaim claim = localVerifyTimer.recordCallable(() -> verifyLocally(cacheKey, token));
+            return Mono.just(claim);
+        } catch (ExpiredJwtException e) {
+            return Mono.error(new GatewayException(GatewayErrorCode.TOKEN_EXPIRED));
+        } catch (SignatureException e) {
+            log.debug("로컬 서명 검증 실패 — 키 교체 가능성으로 원격 검증 폴백");
+            return verifyRemotely(cacheKey, token);
+        } catch (Exception e) {
+            return Mono.error(new GatewayException(GatewayErrorCode.INVALID_TOKEN));
+        }
+    }
+
+    private JwtClaim verifyLocally(String cacheKey, String token) {
+        Claims claims = jwtParser.parseSignedClaims(token).getPayload();
+        JwtClaim claim = JwtClaim.create(
+                claims.get(USER_ID, Long.class),
+                claims.get(USER_NAME, String.class),
+                claims.get(USER_ROLE, String.class));
+
+        long expiresAt = claims.getExpiration() != null
+                ? claims.getExpiration().getTime()
+                : System.currentTimeMillis() + remoteClaimTtl.toMillis();
+        claimCache.put(cacheKey, new CachedClaim(claim, expiresAt));
+        return claim;
+    }
+
+    private Mono<JwtClaim> verifyRemotely(String cacheKey, String token) {
+        return Mono.fromCallable(() -> remoteVerifyTimer.recordCallable(() -> authService.verifyToken(token)))
+                .subscribeOn(Schedulers.boundedElastic())
+                .doOnNext(claim -> claimCache.put(cacheKey,
+                        new CachedClaim(claim, System.currentTimeMillis() + remoteClaimTtl.toMillis())));
+    }
+
+    private static JwtParser createParser(String secretKey) {
+        if (secretKey == null || secretKey.isBlank()) {
+            log.warn("jwt.secret-key 미설정 — 모든 토큰을 auth 서비스에서 원격 검증합니다.");
+            return null;
+        }
+        return Jwts.parser()
+                .verifyWith(new SecretKeySpec(
+                        secretKey.getBytes(StandardCharsets.UTF_8),
+                        Jwts.SIG.HS256.key().build().getAlgorithm()))
+                .build();
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record CachedClaim(JwtClaim claim, long expiresAtMillis) {
+    }
+
+    /** 캐시 항목을 토큰 만료 시각(expiresAtMillis)에 맞춰 제거한다. */
+    private static class ClaimExpiry implements Expiry<String, CachedClaim> {
+
+        @Override
+        public long expireAfterCreate(String key, CachedClaim value, long currentTime) {
+            long remainingMillis = value.expiresAtMillis() - System.currentTimeMillis();
+            return Duration.ofMillis(Math.max(0, remainingMillis)).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedClaim value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedClaim value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.omisys.gateway.server.application;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 매진된 사전예약 ID의 게이트웨이 메모리 사본.
+ *
+ * <p>상품 서비스가 예약 스크립트로 매진을 확인하면 "preOrderId:1", 취소·수량 변경으로 자리가 생기면 "preOrderId:0"을 발행하고,
+ * 게이트웨이는 이를 받아 이 Set을 갱신한다. 매진된 사전예약의 예약 요청은 라우팅 전에 조회 한 번으로 거절된다.
+ * 이 사본은 거절을 앞당기는 용도일 뿐이고 정합성 기준은 상품 서비스의 예약 스크립트다.</p>
+ */
+@Slf4j
+@Component
+public class PreOrderSoldOutCache {
+
+    static final String SOLD_OUT = "1";
+    static final String SEPARATOR = ":";
+
+    private final Set<Long> soldOut = ConcurrentHashMap.newKeySet();
+
+    public PreOrderSoldOutCache(MeterRegistry meterRegistry) {
+        Gauge.builder("gateway.preorder.soldout", soldOut, Set::size)
+                .description("게이트웨이가 매진으로 알고 있는 사전예약 수")
+                .register(meterRegistry);
+    }
+
+    public boolean isSoldOut(long preOrderId) {
+        return soldOut.contains(preOrderId);
+    }
+
+    /** 기동 시 매진 Set 전체를 반영한다. */
+    public void load(Collection<String> preOrderIds) {
+        preOrderIds.forEach(id -> {
+            try {
+                soldOut.add(Long.parseLong(id));
+            } catch (NumberFormatException e) {
+                log.warn("잘못된 사전예약 매진 ID: {}", id);
+            }
+        });
+    }
+
+    /** 매진 채널 메시지("preOrderId:1" 또는 "preOrderId:0")를 반영한다. */
+    public void apply(String message) {
+        int separator = message.indexOf(SEPARATOR);
+        if (separator < 0) {
+            log.warn("잘못된 사전예약 매진 메시지: {}", message);
+            return;
+        }
+        long preOrderId;
+        try {
+            preOrderId = Long.parseLong(message.substring(0, separator));
+        } catch (NumberFormatException e) {
+            log.warn("잘못된 사전예약 매진 메시지: {}", message);
+            return;
+        }
+        if (SOLD_OUT.equals(message.substring(separator + 1))) {
+            soldOut.add(preOrderId);
+        } else {
+            soldOut.remove(preOrderId);
+        }
+    }
+}
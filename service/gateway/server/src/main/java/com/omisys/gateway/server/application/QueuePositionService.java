@@ -0,0 +1,77 @@
+package com.omisys.gateway.server.application;
+
+import com.omisys.gateway.server.application.dto.QueueAdmissionEvent;
+import com.omisys.gateway.server.application.dto.QueuePositionResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+
+/**
+ * 대기 중인 사용자에게 순번 변화를 푸시하는 서비스.
+ *
+ * <p>클라이언트가 재요청(폴링)으로 순번을 확인하는 대신, 승격 이벤트({@link UserQueueService#ADMISSION_CHANNEL})가
+ * 발생했을 때만 해당 샤드 대기자의 순번을 다시 계산해 내려준다. 이벤트는 Redis pub/sub으로 전달되므로
+ * 어느 게이트웨이 인스턴스에서 승격이 일어나도 모든 인스턴스의 구독자가 받는다.</p>
+ *
+ * <p>Redis 채널 구독은 인스턴스당 하나를 공유한다(첫 구독자가 생기면 연결, 마지막 구독자가 떠나면 해제).</p>
+ */
+@Slf4j
+@Service
+public class QueuePositionService {
+
+    private final UserQueueService userQueueService;
+    private final AdmissionRateEstimator admissionRateEstimator;
+    private final Flux<Integer> admissionEvents;
+    private final Duration minUpdateInterval;
+    private final Duration refreshInterval;
+
+    public QueuePositionService(
+            UserQueueService userQueueService,
+            AdmissionRateEstimator admissionRateEstimator,
+            ReactiveRedisTemplate<String, String> reactiveRedisTemplate,
+            @Value("${gateway.queue.stream.min-update-interval-ms:1000}") long minUpdateIntervalMillis,
+            @Value("${gateway.queue.stream.refresh-interval-ms:15000}") long refreshIntervalMillis) {
+        this.userQueueService = userQueueService;
+        this.admissionRateEstimator = admissionRateEstimator;
+        this.minUpdateInterval = Duration.ofMillis(minUpdateIntervalMillis);
+        this.refreshInterval = Duration.ofMillis(refreshIntervalMillis);
+        this.admissionEvents = reactiveRedisTemplate.listenToChannel(UserQueueService.ADMISSION_CHANNEL)
+                .map(message -> QueueAdmissionEvent.decode(message.getMessage()).shard())
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                        .maxBackoff(Duration.ofSeconds(30))
+                        .doBeforeRetry(signal -> log.warn("대기열 승격 채널 재구독", signal.failure())))
+                .share();
+    }
+
+    /**
+     * 사용자의 순번과 예상 대기 시간 변화를 스트림으로 반환한다.
+     *
+     * <ul>
+     *   <li>구독 즉시 현재 순번을 한 번 내려준다.</li>
+     *   <li>이후 사용자 샤드의 승격 이벤트가 오면 순번을 다시 조회한다(minUpdateInterval 단위로 합침).</li>
+     *   <li>이벤트 유실에 대비해 refreshInterval마다 한 번씩 재조회한다.</li>
+     *   <li>순번 또는 예상 대기 시간이 바뀐 경우에만 내려주고, 대기가 끝나면(rank 0) 마지막 응답 후 종료한다.</li>
+     * </ul>
+     *
+     * @param userId 사용자 식별자
+     * @return 순번 스트림
+     */
+    public Flux<QueuePositionResponse> stream(String userId) {
+        int shard = userQueueService.shardOf(userId);
+        Flux<Object> triggers = Flux.merge(
+                admissionEvents.filter(admittedShard -> admittedShard == shard).sample(minUpdateInterval),
+                Flux.interval(refreshInterval));
+
+        return Flux.concat(Flux.just(0L), triggers)
+                .concatMap(trigger -> userQueueService.getRank(userId))
+                .map(rank -> Math.max(rank, 0L))
+                .map(rank -> new QueuePositionResponse(rank, admissionRateEstimator.estimateWaitSeconds(rank)))
+                .distinctUntilChanged()
+                .takeUntil(position -> !position.isWaiting());
+    }
+}
@@ -0,0 +1,100 @@
+package com.omisys.gateway.server.application;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 대기열 샤드 구성.
+ *
+ * <p>userId를 Jump Consistent Hash로 N개 샤드 중 하나에 배정하고, 샤드별 Redis 키와 입장 허용치(budget)를 제공한다.
+ * 샤드의 wait/proceed/active 키는 같은 해시 태그({@code {shard}})를 공유하므로 Redis Cluster에서도
+ * 한 슬롯에 모여 Lua 스크립트로 원자 처리할 수 있고, 샤드끼리는 서로 다른 슬롯(노드)으로 분산된다.</p>
+ *
+ * <p>샤드별 허용치의 합은 항상 MAX_ACTIVE_USERS와 같다(나머지는 앞쪽 샤드에 1씩 배분).</p>
+ */
+final class QueueShards {
+
+    private static final String WAIT_KEY_PREFIX = "users:queue:wait:";
+    private static final String PROCEED_KEY_PREFIX = "users:queue:proceed:";
+    private static final String ACTIVE_KEY_PREFIX = "users:active:";
+
+    private final int count;
+    private final long[] budgets;
+    private final String[] waitKeys;
+    private final String[] proceedKeys;
+    private final String[] activeKeys;
+
+    QueueShards(int count, long maxActiveUsers) {
+        if (count < 1) {
+            throw new IllegalArgumentException("대기열 샤드 수는 1 이상이어야 합니다: " + count);
+        }
+        if (maxActiveUsers < count) {
+            throw new IllegalArgumentException(
+                    "MAX_ACTIVE_USERS(" + maxActiveUsers + ")는 샤드 수(" + count + ") 이상이어야 합니다.");
+        }
+        this.count = count;
+        this.budgets = new long[count];
+        this.waitKeys = new String[count];
+        this.proceedKeys = new String[count];
+        this.activeKeys = new String[count];
+
+        long base = maxActiveUsers / count;
+        long remainder = maxActiveUsers % count;
+        for (int shard = 0; shard < count; shard++) {
+            String hashTag = "{" + shard + "}";
+            budgets[shard] = base + (shard < remainder ? 1 : 0);
+            waitKeys[shard] = WAIT_KEY_PREFIX + hashTag;
+            proceedKeys[shard] = PROCEED_KEY_PREFIX + hashTag;
+            activeKeys[shard] = ACTIVE_KEY_PREFIX + hashTag;
+        }
+    }
+
+    int count() {
+        return count;
+    }
+
+    long budget(int shard) {
+        return budgets[shard];
+    }
+
+    String waitKey(int shard) {
+        return waitKeys[shard];
+    }
+
+    String proceedKey(int shard) {
+        return proceedKeys[shard];
+    }
+
+    String activeKey(int shard) {
+        return activeKeys[shard];
+    }
+
+    /**
+     * userId가 속한 샤드를 반환한다.
+     *
+     * <p>Jump Consistent Hash(Lamping &amp; Veach)를 사용하므로 샤드 수를 N → N+1로 늘려도
+     * 약 1/(N+1)의 사용자만 다른 샤드로 이동한다.</p>
+     */
+    int shardOf(String userId) {
+        if (count == 1) {
+            return 0;
+        }
+        long key = fnv1a64(userId);
+        long bucket = -1;
+        long next = 0;
+        while (next < count) {
+            bucket = next;
+            key = key * 2862933555777941757L + 1;
+            next = (long) ((bucket + 1) * ((double) (1L << 31) / (double) ((key >>> 33) + 1)));
+        }
+        return (int) bucket;
+    }
+
+    private static long fnv1a64(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= (b & 0xff);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+}
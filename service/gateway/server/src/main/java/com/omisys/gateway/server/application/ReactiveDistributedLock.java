@@ -0,0 +1,134 @@
+package com.omisys.gateway.server.application;
+
+import com.omisys.gateway.server.infrastructure.exception.GatewayErrorCode;
+import com.omisys.gateway.server.infrastructure.exception.GatewayException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLockReactive;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.RedissonReactiveClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Redisson 리액티브 클라이언트(RLockReactive) 기반 분산락.
+ *
+ * <p>락 획득·해제가 모두 Mono로 이어지므로 Netty 이벤트 루프를 막지 않는다. 리액티브 체인은 스레드를 옮겨 다니고
+ * 같은 이벤트 루프 스레드에서 여러 요청이 동시에 실행되므로, 스레드 id 대신 획득마다 새로 만든 소유자 id로
+ * 락을 잡고 같은 id로 해제한다(스레드 id를 쓰면 동시 요청이 재진입으로 함께 락을 얻는다).</p>
+ *
+ * <p>락을 얻을 때마다 {@code <lockName>:fencing} 카운터를 증가시켜 펜싱 토큰으로 넘긴다. 락 보유 순서대로 증가하므로
+ * 임대 시간이 지나 락을 잃은 이전 보유자의 쓰기를 하위 저장소에서 토큰 비교로 거부할 수 있다.
+ * 로직은 임대 시간 안에 끝나야 하며, 넘기면 GATEWAY_TIMEOUT으로 종료하고 락을 해제한다.</p>
+ */
+@Slf4j
+@Component
+public class ReactiveDistributedLock {
+
+    private static final String FENCING_SUFFIX = ":fencing";
+    private static final String WAIT_METRIC = "gateway.lock.wait";
+    private static final String HOLD_METRIC = "gateway.lock.hold";
+
+    private final RedissonReactiveClient redissonClient;
+    private final Duration redisTimeout;
+
+    private final Timer acquiredTimer;
+    private final Timer rejectedTimer;
+    private final Timer timedOutTimer;
+    private final Timer holdTimer;
+    private final Counter leaseExceeded;
+    private final Counter releaseFailed;
+
+    public ReactiveDistributedLock(
+            RedissonClient redissonClient,
+            MeterRegistry meterRegistry,
+            @Value("${gateway.lock.redis-timeout-ms:3000}") long redisTimeoutMs) {
+        this.redissonClient = redissonClient.reactive();
+        this.redisTimeout = Duration.ofMillis(redisTimeoutMs);
+
+        this.acquiredTimer = Timer.builder(WAIT_METRIC).tag("result", "acquired").register(meterRegistry);
+        this.rejectedTimer = Timer.builder(WAIT_METRIC).tag("result", "rejected").register(meterRegistry);
+        this.timedOutTimer = Timer.builder(WAIT_METRIC).tag("result", "timeout").register(meterRegistry);
+        this.holdTimer = Timer.builder(HOLD_METRIC).register(meterRegistry);
+        this.leaseExceeded = Counter.builder("gateway.lock.lease.exceeded").register(meterRegistry);
+        this.releaseFailed = Counter.builder("gateway.lock.release.failed").register(meterRegistry);
+    }
+
+    /**
+     * 락을 얻은 뒤 로직을 실행하고, 로직이 끝나거나(성공·오류·취소) 임대 시간을 넘기면 락을 해제한다.
+     *
+     * @param lockName  락 키
+     * @param waitTime  락 대기 최대 시간. 넘기면 LOCK_ACQUISITION_FAILED
+     * @param leaseTime 락 임대 시간. 로직이 이 시간 안에 끝나지 않으면 GATEWAY_TIMEOUT
+     * @param logic     펜싱 토큰을 받아 실행할 로직
+     * @return 로직 결과
+     */
+    public <T> Mono<T> execute(
+            String lockName, Duration waitTime, Duration leaseTime, Function<Long, Mono<T>> logic) {
+        return Mono.defer(() -> {
+            RLockReactive lock = redissonClient.getLock(lockName);
+            long ownerId = ThreadLocalRandom.current().nextLong();
+            return Mono.usingWhen(
+                    acquire(lockName, lock, ownerId, waitTime, leaseTime),
+                    held -> logic.apply(held.fencingToken())
+                            .timeout(leaseTime, Mono.defer(() -> {
+                                leaseExceeded.increment();
+                                log.warn("[{}] 락 임대 시간({}) 안에 로직이 끝나지 않았습니다.", lockName, leaseTime);
+                                return Mono.error(new GatewayException(GatewayErrorCode.GATEWAY_TIMEOUT));
+                            })),
+                    held -> release(lockName, lock, held),
+                    (held, error) -> release(lockName, lock, held),
+                    held -> release(lockName, lock, held));
+        });
+    }
+
+    private Mono<HeldLock> acquire(
+            String lockName, RLockReactive lock, long ownerId, Duration waitTime, Duration leaseTime) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return lock.tryLock(waitTime.toMillis(), leaseTime.toMillis(), TimeUnit.MILLISECONDS, ownerId)
+                    .timeout(waitTime.plus(redisTimeout))
+                    .onErrorMap(TimeoutException.class, e -> {
+                        timedOutTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                        log.warn("[{}] 락 획득 응답이 {} 안에 오지 않았습니다.", lockName, waitTime.plus(redisTimeout));
+                        return new GatewayException(GatewayErrorCode.GATEWAY_TIMEOUT);
+                    })
+                    .flatMap(locked -> {
+                        if (!locked) {
+                            rejectedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                            return Mono.error(new GatewayException(GatewayErrorCode.LOCK_ACQUISITION_FAILED));
+                        }
+                        acquiredTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                        return redissonClient.getAtomicLong(lockName + FENCING_SUFFIX).incrementAndGet()
+                                .map(token -> new HeldLock(ownerId, token, System.nanoTime()))
+                                .onErrorResume(e -> lock.unlock(ownerId)
+                                        .onErrorResume(unlockError -> Mono.empty())
+                                        .then(Mono.error(e)));
+                    });
+        });
+    }
+
+    private Mono<Void> release(String lockName, RLockReactive lock, HeldLock held) {
+        holdTimer.record(System.nanoTime() - held.acquiredAtNanos(), TimeUnit.NANOSECONDS);
+        return lock.unlock(held.ownerId())
+                .timeout(redisTimeout)
+                .onErrorResume(e -> {
+                    // 임대 시간이 지나 이미 풀린 락(IllegalMonitorStateException) 등은 결과에 영향을 주지 않는다.
+                    releaseFailed.increment();
+                    log.warn("[{}] 락 해제 실패: {}", lockName, e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private record HeldLock(long ownerId, long fencingToken, long acquiredAtNanos) {
+    }
+}
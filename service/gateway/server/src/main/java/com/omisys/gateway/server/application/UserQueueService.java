@@ -1,359 +1,359 @@
 package com.omisys.gateway.server.application;
 
+import com.omisys.gateway.server.application.dto.QueueAdmissionEvent;
 import com.omisys.gateway.server.application.dto.RegisterUserResponse;
 import com.omisys.gateway.server.infrastructure.exception.GatewayErrorCode;
 import com.omisys.gateway.server.infrastructure.exception.GatewayException;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.Range;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.time.Instant;
-import java.util.Objects;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
 
+/**
+ * 대기열(waiting room) 서비스.
+ *
+ * <p>대기열은 {@link QueueShards}에 정의된 N개 샤드로 나뉜다. 사용자는 userId 해시로 한 샤드에 고정되고,
+ * 각 샤드는 자기 wait/proceed/active 키와 입장 허용치(MAX_ACTIVE_USERS의 1/N)만으로 입장·승격을 처리한다.
+ * 샤드 키는 해시 태그를 공유하므로 Redis Cluster에서 샤드마다 다른 노드가 부하를 나눠 받는다.</p>
+ */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class UserQueueService {
 
     private final ReactiveRedisTemplate<String, String> reactiveRedisTemplate;
-    private final DistributedLockComponent lockComponent;
 
-    /** 대기 큐(Sorted Set): score = 요청 시각(Unix time), 오래 기다린 사용자부터 승격(popMin) */
-    private final String USER_QUEUE_WAIT_KEY = "users:queue:wait";
-
-    /** 진행 큐(Sorted Set): score = 마지막 활동 시각(Unix time), 일정 시간 무활동이면 제거 */
-    private final String USER_QUEUE_PROCEED_KEY = "users:queue:proceed";
-
-    /** 활성 사용자(Set): 현재 진행 큐에 “허용된 사용자 수”를 빠르게 계산하기 위한 집합 */
-    private final String USER_ACTIVE_SET_KEY  = "users:active";
+    /**
+     * 샤드 구성: 샤드별 wait 큐(Sorted Set, score = 요청 시각), proceed 큐(Sorted Set, score = 마지막 활동 시각),
+     * active set(현재 허용된 사용자 집합)과 입장 허용치.
+     */
+    private final QueueShards shards;
 
-    /** 동시에 proceed(진행) 상태로 허용할 최대 사용자 수 */
-    @Value("${MAX_ACTIVE_USERS}")
-    private long MAX_ACTIVE_USERS;
+    /** 샤드별 wait 큐 길이 스냅샷: 전역 순번 계산에 사용(요청마다 다른 샤드를 조회하지 않기 위함) */
+    private final AtomicLongArray shardWaitSizes;
 
     /** 무활동 사용자 제거 기준(초): proceed 큐에서 마지막 활동 시간이 이 값을 넘으면 제거 */
     private final long INACTIVITY_THRESHOLD = 300;
 
+    /** 정리 리스 소유자 식별값(인스턴스별) */
+    private final String instanceId = UUID.randomUUID().toString();
+
+    /** 정리 리스 TTL: 정리 주기보다 짧게 잡아 주기마다 한 인스턴스만 리스를 얻는다 */
+    private final Duration sweepLeaseTtl;
+
     /**
-     * 사용자 등록(또는 재등록) 요청을 처리한다.
+     * 대기열 입장 스크립트(Lua).
      *
-     * <p>처리 흐름:</p>
-     * <ul>
-     *   <li>이미 진행 큐(proceed)에 포함된 사용자면: 활동 시간을 갱신하고 "대기 없음(0)" 반환</li>
-     *   <li>신규 사용자면: 현재 활성 사용자 수가 허용치 미만이면 proceed로, 아니면 wait 큐로 보낸다</li>
-     * </ul>
+     * <p>proceed 확인 → (활동 시간 갱신 | 빈 슬롯이면 proceed/active 반영 | wait 등록) → 대기 순번 조회를
+     * Redis 서버에서 한 번에 원자적으로 수행한다. 분산락 없이도 active 수 초과 입장 경쟁이 발생하지 않는다.</p>
      *
-     * @param userId 사용자 식별자
-     * @return RegisterUserResponse (0이면 proceed 상태, 1 이상이면 대기 순번)
+     * <p>KEYS[1] = 샤드 wait 큐, KEYS[2] = 샤드 proceed 큐, KEYS[3] = 샤드 active set</p>
+     * <p>ARGV[1] = userId, ARGV[2] = 현재 시각(Unix time), ARGV[3] = 샤드 입장 허용치</p>
+     * <p>반환값: 0(진행 허용), 1 이상(샤드 내 대기 순번)</p>
      */
-    public Mono<RegisterUserResponse> registerUser(String userId) {
-        return reactiveRedisTemplate.opsForZSet()
-                .rank(USER_QUEUE_PROCEED_KEY, userId)
-                .defaultIfEmpty(-1L)
-                .flatMap(rank -> rank >= 0 ? handleProceedUser(userId) : handleNewUser(userId));
-    }
+    private static final RedisScript<Long> REGISTER_USER_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('ZSCORE', KEYS[2], ARGV[1]) then
+                redis.call('ZADD', KEYS[2], ARGV[2], ARGV[1])
+                return 0
+            end
+            local rank = redis.call('ZRANK', KEYS[1], ARGV[1])
+            if rank then
+                return rank + 1
+            end
+            if redis.call('SCARD', KEYS[3]) < tonumber(ARGV[3]) then
+                redis.call('ZADD', KEYS[2], ARGV[2], ARGV[1])
+                redis.call('SADD', KEYS[3], ARGV[1])
+                return 0
+            end
+            redis.call('ZADD', KEYS[1], ARGV[2], ARGV[1])
+            return redis.call('ZRANK', KEYS[1], ARGV[1]) + 1
+            """, Long.class);
 
     /**
-     * 진행 큐(proceed)에 사용자를 추가한다.
+     * 샤드 승격 Lua 조각: 슬롯을 비운 스크립트의 끝에 붙어 빈 슬롯만큼 즉시 승격한다.
      *
-     * <p>의도:</p>
-     * <ul>
-     *   <li>동시에 여러 요청이 들어올 때 proceed/active 반영 과정에서 경쟁 조건이 발생할 수 있으므로
-     *       분산락을 통해 "추가 과정"을 직렬화한다.</li>
-     *   <li>락 획득 후 addUserToQueue()를 실행하고, 결과를 sink로 전달하여 Mono를 완료시킨다.</li>
-     * </ul>
+     * <p>샤드의 빈 슬롯(허용치 - active 수)만큼 wait 큐에서 오래 기다린 사용자부터 꺼내 proceed/active에 반영하고
+     * 승격된 사용자 수를 반환한다. 슬롯 반납과 같은 스크립트 안에서 실행되므로 그 사이에 신규 입장이 끼어들 수 없다.</p>
      *
-     * @param userId 사용자 식별자
-     * @return RegisterUserResponse (성공 시 0, 실패 시 대기 순번)
+     * <p>KEYS[1] = 샤드 wait 큐, KEYS[2] = 샤드 proceed 큐, KEYS[3] = 샤드 active set</p>
+     * <p>ARGV[1] = 샤드 입장 허용치, ARGV[2] = 현재 시각(Unix time)</p>
      */
-    public Mono<RegisterUserResponse> addToProceedQueue(String userId) {
-        return Mono.create(sink -> {
-            lockComponent.execute(userId, 1000, 1000, () -> {
-                try {
-                    addUserToQueue(userId)
-                            .doOnSuccess(sink::success)
-                            .doOnError(sink::error)
-                            .subscribe();
-                } catch (Exception e) {
-                    sink.error(e);
-                }
-            });
-        });
-    }
+    private static final String PROMOTE_USERS_LUA = """
+            local slots = tonumber(ARGV[1]) - redis.call('SCARD', KEYS[3])
+            if slots <= 0 then
+                return 0
+            end
+            local users = redis.call('ZPOPMIN', KEYS[1], slots)
+            for i = 1, #users, 2 do
+                redis.call('ZADD', KEYS[2], ARGV[2], users[i])
+                redis.call('SADD', KEYS[3], users[i])
+            end
+            return #users / 2
+            """;
 
     /**
-     * 주기적으로(30초마다) 큐 상태를 정리하고, 대기 큐에서 진행 큐로 사용자를 승격시킨다.
+     * 무활동 만료 + 승격 스크립트(Lua).
      *
-     * <p>실행 내용:</p>
-     * <ol>
-     *   <li>진행 큐에서 무활동 사용자 제거</li>
-     *   <li>빈 자리가 있으면 대기 큐(wait)에서 오래 기다린 사용자부터 진행 큐(proceed)로 이동</li>
-     * </ol>
+     * <p>proceed 큐 전체를 읽지 않고 score 경계(ZRANGEBYSCORE/ZREMRANGEBYSCORE)로 만료 대상만 제거한 뒤,
+     * 비워진 슬롯만큼 바로 승격한다.</p>
      *
-     * <p>주의:</p>
-     * <ul>
-     *   <li>리액티브 체인은 subscribe()가 호출되어야 실제 수행된다.</li>
-     *   <li>스케줄러 메서드는 void이므로 내부에서 구독을 트리거한다.</li>
-     * </ul>
+     * <p>ARGV[3] = 만료 기준 score(이 값 미만의 마지막 활동 시각은 만료)</p>
+     * <p>반환값: 승격된 사용자 수</p>
      */
-    @Scheduled(fixedRate = 30000)
-    public void scheduleAllUser() {
-        removeInactiveUsers()
-                .then(allowUserTask())
-                .subscribe(
-                        movedUsers -> {},
-                        error -> log.error(GatewayErrorCode.INTERNAL_SERVER_ERROR.getMessage(), error)
-                );
-    }
+    private static final RedisScript<Long> EXPIRE_AND_PROMOTE_SCRIPT = new DefaultRedisScript<>("""
+            local expired = redis.call('ZRANGEBYSCORE', KEYS[2], '-inf', '(' .. ARGV[3])
+            if #expired > 0 then
+                for i = 1, #expired, 1000 do
+                    redis.call('SREM', KEYS[3], unpack(expired, i, math.min(i + 999, #expired)))
+                end
+                redis.call('ZREMRANGEBYSCORE', KEYS[2], '-inf', '(' .. ARGV[3])
+            end
+            """ + PROMOTE_USERS_LUA, Long.class);
 
     /**
-     * 현재 사용자가 "진행 허용(proceed)" 상태인지 확인한다.
+     * 사용자 퇴장 + 승격 스크립트(Lua).
      *
-     * <p>진행 큐에 존재하면 true이며, 이때 활동 시간을 갱신(heartbeat)한다.</p>
+     * <p>로그아웃·주문 완료 등으로 사용자가 슬롯을 반납하면 wait/proceed/active에서 제거하고,
+     * 비워진 슬롯만큼 같은 샤드의 대기자를 바로 승격한다.</p>
      *
-     * @param userId 사용자 식별자
-     * @return proceed 큐 포함 여부 (포함 시 true, 미포함 시 false)
+     * <p>ARGV[3] = userId</p>
+     * <p>반환값: 승격된 사용자 수</p>
      */
-    public Mono<Boolean> isAllowed(String userId) {
-        return reactiveRedisTemplate.opsForZSet()
-                .rank(USER_QUEUE_PROCEED_KEY, userId)
-                .defaultIfEmpty(-1L)
-                .map(rank -> rank >= 0)
-                .flatMap(isAllowed -> {
-                    if (isAllowed) {
-                        return updateUserActivityTime(userId).thenReturn(true);
-                    }
-                    return Mono.just(false);
-                });
+    private static final RedisScript<Long> RELEASE_USER_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('ZREM', KEYS[1], ARGV[3])
+            redis.call('ZREM', KEYS[2], ARGV[3])
+            if redis.call('SREM', KEYS[3], ARGV[3]) == 0 then
+                return 0
+            end
+            """ + PROMOTE_USERS_LUA, Long.class);
+
+    /** 승격 이벤트 채널: 메시지 본문은 {@link QueueAdmissionEvent}(샤드 번호, 승격 수) */
+    public static final String ADMISSION_CHANNEL = "users:queue:admission";
+
+    /** 정리 작업 리스(lease) 키: 여러 게이트웨이 인스턴스 중 리스를 잡은 한 곳만 정리 작업을 수행한다 */
+    private static final String SWEEP_LEASE_KEY = "users:queue:sweep:lease";
+
+    public UserQueueService(
+            ReactiveRedisTemplate<String, String> reactiveRedisTemplate,
+            @Value("${MAX_ACTIVE_USERS}") long maxActiveUsers,
+            @Value("${gateway.queue.shard-count:1}") int shardCount,
+            @Value("${gateway.queue.sweep-interval-ms:5000}") long sweepIntervalMillis) {
+        this.reactiveRedisTemplate = reactiveRedisTemplate;
+        this.shards = new QueueShards(shardCount, maxActiveUsers);
+        this.shardWaitSizes = new AtomicLongArray(shardCount);
+        this.sweepLeaseTtl = Duration.ofMillis(sweepIntervalMillis * 9 / 10);
     }
 
     /**
-     * 사용자의 현재 순번(대기/진행)을 조회한다.
+     * 사용자 등록(또는 재등록) 요청을 처리한다.
      *
-     * <p>현재 구현은 proceed 큐에서의 rank를 반환한다.</p>
+     * <p>처리 흐름(사용자 샤드에 REGISTER_USER_SCRIPT 1회 호출):</p>
      * <ul>
-     *   <li>rank가 0부터 시작하므로, 사용자 응답은 rank+1로 보정한다.</li>
-     *   <li>존재하지 않으면 -1을 반환한다.</li>
+     *   <li>이미 진행 큐(proceed)에 포함된 사용자면: 활동 시간을 갱신하고 "대기 없음(0)" 반환</li>
+     *   <li>이미 대기 중인 사용자면: 기존 score(최초 요청 시각)를 유지한 채 현재 순번 반환</li>
+     *   <li>신규 사용자면: 샤드 활성 사용자 수가 샤드 허용치 미만이면 proceed로, 아니면 wait 큐로 보낸다</li>
      * </ul>
      *
      * @param userId 사용자 식별자
-     * @return wait 큐에서의 순번(1부터 시작), 미존재 시 -1
+     * @return RegisterUserResponse (0이면 proceed 상태, 1 이상이면 전역 대기 순번)
      */
-    public Mono<Long> getRank(String userId) {
-        return reactiveRedisTemplate.opsForZSet().rank(USER_QUEUE_WAIT_KEY, userId)
-                .defaultIfEmpty(-1L)
-                .map(rank -> rank >= 0 ? rank + 1 : rank);
+    public Mono<RegisterUserResponse> registerUser(String userId) {
+        int shard = shards.shardOf(userId);
+        return reactiveRedisTemplate.execute(
+                        REGISTER_USER_SCRIPT,
+                        List.of(shards.waitKey(shard), shards.proceedKey(shard), shards.activeKey(shard)),
+                        List.of(userId,
+                                String.valueOf(Instant.now().getEpochSecond()),
+                                String.valueOf(shards.budget(shard))))
+                .next()
+                .switchIfEmpty(Mono.error(new GatewayException(GatewayErrorCode.TOO_MANY_REQUESTS)))
+                .map(localRank -> new RegisterUserResponse(toGlobalRank(shard, localRank)));
     }
 
     /**
-     * 진행 큐에 이미 포함된 사용자(= 통과 사용자)에 대한 처리.
+     * 사용자가 슬롯을 반납(로그아웃, 주문 완료 등)할 때 호출한다.
      *
-     * <p>활동 시간을 갱신하고 대기 없음(0)을 반환한다.</p>
+     * <p>사용자를 wait/proceed/active에서 제거하고, 비워진 슬롯만큼 같은 샤드의 대기자를 즉시 승격한다.
+     * 정리 주기를 기다리지 않으므로 빈 슬롯이 있는데 대기자가 멈춰 있는 시간이 없다.</p>
      *
      * @param userId 사용자 식별자
-     * @return RegisterUserResponse(0)
+     * @return 승격된 사용자 수
      */
-    private Mono<RegisterUserResponse> handleProceedUser(String userId) {
-        return updateUserActivityTime(userId)
-                .thenReturn(new RegisterUserResponse(0L));
+    public Mono<Long> releaseUser(String userId) {
+        int shard = shards.shardOf(userId);
+        return reactiveRedisTemplate.execute(
+                        RELEASE_USER_SCRIPT,
+                        List.of(shards.waitKey(shard), shards.proceedKey(shard), shards.activeKey(shard)),
+                        List.of(String.valueOf(shards.budget(shard)),
+                                String.valueOf(Instant.now().getEpochSecond()),
+                                userId))
+                .next()
+                .defaultIfEmpty(0L)
+                .flatMap(promoted -> publishAdmission(shard, promoted));
     }
 
     /**
-     * 신규 사용자 처리.
+     * 주기적으로 무활동 사용자를 만료시키고, 비워진 슬롯만큼 대기 큐에서 진행 큐로 사용자를 승격시킨다.
      *
-     * <p>현재 활성 사용자 수(active set)가 허용치보다 작으면 proceed로, 아니면 wait 큐로 보낸다.</p>
+     * <p>실행 내용:</p>
+     * <ol>
+     *   <li>정리 리스(SET NX PX) 획득: 실패하면 다른 게이트웨이 인스턴스가 이번 주기를 맡은 것이므로 건너뛴다</li>
+     *   <li>샤드마다 EXPIRE_AND_PROMOTE_SCRIPT 실행(만료 제거 + 즉시 승격)</li>
+     * </ol>
      *
-     * @param userId 사용자 식별자
-     * @return RegisterUserResponse (0 또는 대기 순번)
+     * <p>리스 TTL은 주기보다 짧아 보유 인스턴스가 죽더라도 다음 주기에는 다른 인스턴스가 이어받는다.</p>
+     *
+     * <p>주의:</p>
+     * <ul>
+     *   <li>리액티브 체인은 subscribe()가 호출되어야 실제 수행된다.</li>
+     *   <li>스케줄러 메서드는 void이므로 내부에서 구독을 트리거한다.</li>
+     * </ul>
      */
-    private Mono<RegisterUserResponse> handleNewUser(String userId) {
-        return reactiveRedisTemplate.opsForSet().size(USER_ACTIVE_SET_KEY)
-                .flatMap(activeUsers -> activeUsers < MAX_ACTIVE_USERS ? addToProceedQueue(userId)
-                        : checkAndAddToQueue(userId));
+    @Scheduled(fixedRateString = "${gateway.queue.sweep-interval-ms:5000}")
+    public void scheduleAllUser() {
+        reactiveRedisTemplate.opsForValue()
+                .setIfAbsent(SWEEP_LEASE_KEY, instanceId, sweepLeaseTtl)
+                .filter(Boolean::booleanValue)
+                .flatMap(acquired -> removeInactiveUsers())
+                .subscribe(
+                        movedUsers -> {},
+                        error -> log.error(GatewayErrorCode.INTERNAL_SERVER_ERROR.getMessage(), error)
+                );
     }
 
     /**
-     * 사용자의 "마지막 활동 시간"을 갱신한다.
-     *
-     * <p>활동 시간은 proceed 큐의 score로 저장되어, 무활동 사용자 제거 기준에 사용된다.</p>
+     * 샤드별 wait 큐 길이 스냅샷을 갱신한다(1초마다).
      *
-     * @param userId 사용자 식별자
-     * @return 갱신 결과 (true/false)
+     * <p>전역 순번은 요청 경로에서 사용자 샤드 하나만 조회하고, 나머지 샤드는 이 스냅샷으로 보정한다.
+     * 전체 대기자 수(ETA 지표)도 이 스냅샷으로 계산한다.</p>
      */
-    private Mono<Boolean> updateUserActivityTime(String userId) {
-        long currentTime = Instant.now().getEpochSecond();
-        return reactiveRedisTemplate.opsForZSet().add(USER_QUEUE_PROCEED_KEY, userId, currentTime);
+    @Scheduled(fixedRate = 1000)
+    public void refreshShardWaitSizes() {
+        Flux.range(0, shards.count())
+                .flatMap(shard -> reactiveRedisTemplate.opsForZSet().size(shards.waitKey(shard))
+                        .doOnNext(size -> shardWaitSizes.set(shard, size)))
+                .subscribe(
+                        size -> {},
+                        error -> log.warn("대기열 샤드 길이 갱신 실패", error)
+                );
     }
 
     /**
-     * 사용자가 이미 대기 큐에 존재하는지 확인한 뒤, 정책에 맞게 대기열에 반영한다.
+     * 사용자의 현재 대기 순번을 조회한다.
      *
      * <ul>
-     *   <li>이미 대기 중이면 score 갱신 후 최신 rank 반환</li>
-     *   <li>대기 중이 아니면 대기 큐에 추가 후 rank 반환</li>
+     *   <li>사용자 샤드의 wait 큐 rank(0부터 시작)를 1부터 시작하는 전역 순번으로 보정한다.</li>
+     *   <li>존재하지 않으면 -1을 반환한다.</li>
      * </ul>
      *
      * @param userId 사용자 식별자
-     * @return RegisterUserResponse(대기 순번)
-     */
-    private Mono<RegisterUserResponse> checkAndAddToQueue(String userId) {
-        return reactiveRedisTemplate.opsForZSet().score(USER_QUEUE_WAIT_KEY, userId)
-                .defaultIfEmpty(-1.0)
-                .flatMap(score -> {
-                    if (score >= 0) {
-                        return updateWaitQueueScore(userId);
-                    } else {
-                        return addToWaitQueue(userId);
-                    }
-                });
-    }
-
-    /**
-     * 대기 큐에 이미 존재하는 사용자의 score(우선순위/시간)를 갱신한다.
-     *
-     * <p>현재 구현은 score를 "현재 시간"으로 덮어쓴다. 이 정책은 대기열에서 순번이 변경될 수 있으므로
-     * 의도된 설계(재요청 시 뒤로 보내기 등)인지 확인이 필요하다.</p>
-     *
-     * @param userId 사용자 식별자
-     * @return RegisterUserResponse(갱신 후 대기 순번)
+     * @return 전역 대기 순번(1부터 시작), 미존재 시 -1
      */
-    private Mono<RegisterUserResponse> updateWaitQueueScore(String userId) {
-        double newScore = Instant.now().getEpochSecond();
-        return reactiveRedisTemplate.opsForZSet().score(USER_QUEUE_WAIT_KEY, userId)
-                .flatMap(oldScore ->
-                        reactiveRedisTemplate.opsForZSet().add(USER_QUEUE_WAIT_KEY, userId, newScore)
-                                .then(reactiveRedisTemplate.opsForZSet().rank(USER_QUEUE_WAIT_KEY, userId))
-                )
-                .map(rank -> new RegisterUserResponse(rank + 1));
+    public Mono<Long> getRank(String userId) {
+        int shard = shards.shardOf(userId);
+        return reactiveRedisTemplate.opsForZSet().rank(shards.waitKey(shard), userId)
+                .map(rank -> toGlobalRank(shard, rank + 1))
+                .defaultIfEmpty(-1L);
     }
 
     /**
-     * 사용자를 대기 큐(wait)에 추가한다.
-     *
-     * <p>추가에 성공하면 rank를 계산하여 대기 순번(1부터 시작)을 반환한다.</p>
-     * <p>추가에 실패하면 TOO_MANY_REQUESTS 예외를 발생시킨다.</p>
-     *
-     * @param userId 사용자 식별자
-     * @return RegisterUserResponse(대기 순번)
-     * @throws GatewayException 대기열 등록 실패 시 (TOO_MANY_REQUESTS)
+     * 전체 대기자 수(샤드별 wait 큐 길이 스냅샷의 합)를 반환한다.
      */
-    private Mono<RegisterUserResponse> addToWaitQueue(String userId) {
-        var unixTime = Instant.now().getEpochSecond();
-        return reactiveRedisTemplate.opsForZSet()
-                .add(USER_QUEUE_WAIT_KEY, userId, unixTime)
-                .filter(i -> i)
-                .switchIfEmpty(Mono.error(new GatewayException(GatewayErrorCode.TOO_MANY_REQUESTS)))
-                .flatMap(i -> reactiveRedisTemplate.opsForZSet()
-                        .rank(USER_QUEUE_WAIT_KEY, userId))
-                .map(rank -> new RegisterUserResponse(rank + 1));
+    public long totalWaitingUsers() {
+        long total = 0;
+        for (int shard = 0; shard < shards.count(); shard++) {
+            total += shardWaitSizes.get(shard);
+        }
+        return total;
     }
 
     /**
-     * 사용자를 진행 큐(proceed)에 추가하고, 성공 시 active set에도 반영한다.
-     *
-     * <p>proceed 큐 추가가 실패하면(예: 이미 존재/경쟁 조건 등) 대기열 처리(checkAndAddToQueue)로 폴백한다.</p>
-     *
-     * @param userId 사용자 식별자
-     * @return RegisterUserResponse(0 또는 대기 순번)
+     * 사용자가 속한 샤드 번호를 반환한다.
      */
-    private Mono<RegisterUserResponse> addUserToQueue(String userId) {
-        var unixTime = Instant.now().getEpochSecond();
-        return reactiveRedisTemplate.opsForZSet()
-                .add(USER_QUEUE_PROCEED_KEY, userId, unixTime)
-                .filter(success -> success)
-                .flatMap(success -> {
-                    if (success) {
-                        return addToActiveSet(userId);
-                    } else {
-                        return checkAndAddToQueue(userId);
-                    }
-                });
+    int shardOf(String userId) {
+        return shards.shardOf(userId);
     }
 
     /**
-     * 활성 사용자 집합(active set)에 사용자를 추가한다.
+     * 샤드 내 순번을 전역 순번으로 변환한다.
      *
-     * <p>active set은 현재 허용된 사용자 수를 O(1)에 가깝게 계산하기 위한 용도다.</p>
+     * <p>각 샤드는 허용치에 비례한 속도로 승격되므로, 샤드 i의 localRank번째 사용자보다 먼저 입장하는 사람은
+     * 자기 샤드 앞사람(localRank - 1)과 다른 샤드 j의 앞쪽 min(wait_j, (localRank - 1) × budget_j / budget_i)명이다.</p>
      *
-     * @param userId 사용자 식별자
-     * @return RegisterUserResponse(0)
+     * @param shard 사용자 샤드
+     * @param localRank 샤드 내 순번(0이면 진행 허용)
+     * @return 전역 순번(0이면 진행 허용)
      */
-    private Mono<RegisterUserResponse> addToActiveSet(String userId) {
-        return reactiveRedisTemplate.opsForSet()
-                .add(USER_ACTIVE_SET_KEY, userId)
-                .map(i -> new RegisterUserResponse(0L));
+    long toGlobalRank(int shard, long localRank) {
+        if (localRank <= 0 || shards.count() == 1) {
+            return localRank;
+        }
+        long ahead = localRank - 1;
+        long globalRank = localRank;
+        for (int other = 0; other < shards.count(); other++) {
+            if (other == shard) {
+                continue;
+            }
+            long proportionalAhead = ahead * shards.budget(other) / shards.budget(shard);
+            globalRank += Math.min(shardWaitSizes.get(other), proportionalAhead);
+        }
+        return globalRank;
     }
 
     /**
-     * 진행 큐(proceed)에서 일정 시간 이상 무활동인 사용자를 제거한다.
-     *
-     * <p>제거 대상:</p>
-     * <ul>
-     *   <li>현재 시간 - proceed 큐 score(마지막 활동 시간) > INACTIVITY_THRESHOLD</li>
-     * </ul>
+     * 모든 샤드에서 무활동 사용자를 만료시키고 비워진 슬롯만큼 승격한다.
      *
-     * <p>제거 작업:</p>
-     * <ul>
-     *   <li>proceed 큐에서 제거</li>
-     *   <li>active set에서도 제거</li>
-     * </ul>
+     * <p>만료 기준: 현재 시간 - proceed 큐 score(마지막 활동 시간) > INACTIVITY_THRESHOLD</p>
      *
-     * @return 완료 신호(Mono<Void>)
-     */
-    private Mono<Void> removeInactiveUsers() {
-        long currentTime = Instant.now().getEpochSecond();
-        return reactiveRedisTemplate.opsForZSet()
-                .rangeWithScores(USER_QUEUE_PROCEED_KEY, Range.closed(0L, -1L))
-                .filter(userWithScore -> currentTime - userWithScore.getScore() > INACTIVITY_THRESHOLD)
-                .flatMap(userWithScore -> {
-                    String userId = userWithScore.getValue();
-                    return reactiveRedisTemplate.opsForZSet().remove(USER_QUEUE_PROCEED_KEY, userId)
-                            .then(reactiveRedisTemplate.opsForSet().remove(USER_ACTIVE_SET_KEY, userId));
-                })
-                .then();
-    }
-
-    /**
-     * 현재 활성 사용자 수를 기준으로 빈 슬롯을 계산하고, 그 수만큼 대기열에서 진행열로 승격시킨다.
+     * <p>샤드마다 허용치가 고정돼 있으므로 한 샤드의 대기열이 길다고 다른 샤드의 슬롯을 가져가지 않는다.
+     * 사용자는 해시로 균등 분산되므로 각 샤드는 허용치에 비례한 속도로 승격되고, 전역 순번 계산도 이를 전제로 한다.</p>
      *
-     * @return 승격된 사용자 수
+     * @return 승격된 사용자 수(전체 샤드 합)
      */
-    private Mono<Long> allowUserTask() {
-        return reactiveRedisTemplate.opsForSet().size(USER_ACTIVE_SET_KEY)
-                .flatMap(activeUsers -> {
-                    long slotsAvailable = MAX_ACTIVE_USERS - activeUsers;
-                    if (slotsAvailable < 0) {
-                        return Mono.just(0L);
-                    }
-                    return moveUserToProceeds(slotsAvailable);
-                });
+    private Mono<Long> removeInactiveUsers() {
+        long now = Instant.now().getEpochSecond();
+        return Flux.range(0, shards.count())
+                .flatMap(shard -> reactiveRedisTemplate.execute(
+                                EXPIRE_AND_PROMOTE_SCRIPT,
+                                List.of(shards.waitKey(shard), shards.proceedKey(shard), shards.activeKey(shard)),
+                                List.of(String.valueOf(shards.budget(shard)),
+                                        String.valueOf(now),
+                                        String.valueOf(now - INACTIVITY_THRESHOLD)))
+                        .next()
+                        .defaultIfEmpty(0L)
+                        .flatMap(promoted -> publishAdmission(shard, promoted)))
+                .reduce(0L, Long::sum);
     }
 
     /**
-     * 대기 큐(wait)에서 오래 기다린 사용자부터(count 만큼) 꺼내 진행 상태로 승격한다.
+     * 승격이 일어난 샤드 번호와 승격 수를 ADMISSION_CHANNEL에 발행한다.
      *
-     * <p>구현 방식:</p>
-     * <ul>
-     *   <li>wait 큐에서 popMin을 사용하여 score가 작은 사용자부터 꺼낸다(공정성)</li>
-     *   <li>승격된 사용자는 활동 시간을 갱신하고(active set에 추가) "진행 허용" 상태로 만든다</li>
-     * </ul>
+     * <p>모든 게이트웨이 인스턴스의 {@link QueuePositionService}가 이 이벤트를 받아 해당 샤드 대기자들에게
+     * 새 순번을 푸시하고, {@link AdmissionRateEstimator}가 처리량을 갱신한다. 발행 실패는 순번 푸시가 늦어질 뿐이므로 승격 결과에 영향을 주지 않는다.</p>
      *
-     * @param count 승격할 사용자 수
-     * @return 실제 승격된 사용자 수
+     * @param shard 승격이 일어난 샤드
+     * @param promoted 승격된 사용자 수
+     * @return promoted 그대로
      */
-    private Mono<Long> moveUserToProceeds(long count) {
-        return reactiveRedisTemplate.opsForZSet()
-                .popMin(USER_QUEUE_WAIT_KEY, count)
-                .flatMap(user -> {
-                    String userId = Objects.requireNonNull(user.getValue());
-                    return updateUserActivityTime(userId)
-                            .then(reactiveRedisTemplate.opsForSet().add(USER_ACTIVE_SET_KEY, userId));
+    private Mono<Long> publishAdmission(int shard, long promoted) {
+        if (promoted <= 0) {
+            return Mono.just(promoted);
+        }
+        return reactiveRedisTemplate.convertAndSend(ADMISSION_CHANNEL, new QueueAdmissionEvent(shard, promoted).encode())
+                .onErrorResume(e -> {
+                    log.warn("대기열 승격 이벤트 발행 실패: shard={}", shard, e);
+                    return Mono.empty();
                 })
-                .count();
+                .thenReturn(promoted);
     }
 }
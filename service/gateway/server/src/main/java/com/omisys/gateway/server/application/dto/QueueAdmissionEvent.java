@@ -0,0 +1,26 @@
+package com.omisys.gateway.server.application.dto;
+
+/**
+ * 대기열 승격 이벤트(Redis pub/sub 메시지).
+ *
+ * <p>메시지 본문은 {@code "<shard>:<promoted>"} 형식이다.</p>
+ *
+ * @param shard 승격이 일어난 샤드
+ * @param promoted 승격된 사용자 수
+ */
+public record QueueAdmissionEvent(int shard, long promoted) {
+
+    public String encode() {
+        return shard + ":" + promoted;
+    }
+
+    public static QueueAdmissionEvent decode(String message) {
+        int separator = message.indexOf(':');
+        if (separator < 0) {
+            throw new IllegalArgumentException("잘못된 승격 이벤트: " + message);
+        }
+        return new QueueAdmissionEvent(
+                Integer.parseInt(message.substring(0, separator)),
+                Long.parseLong(message.substring(separator + 1)));
+    }
+}
@@ -0,0 +1,14 @@
+package com.omisys.gateway.server.application.dto;
+
+/**
+ * 대기열 순번 푸시 응답.
+ *
+ * @param rank 전역 대기 순번(1 이상), 0이면 대기 종료(입장 가능 — 원래 요청을 다시 보내면 된다)
+ * @param etaSeconds 예상 대기 시간(초), 처리량 측정 전이면 -1
+ */
+public record QueuePositionResponse(long rank, long etaSeconds) {
+
+    public boolean isWaiting() {
+        return rank > 0;
+    }
+}
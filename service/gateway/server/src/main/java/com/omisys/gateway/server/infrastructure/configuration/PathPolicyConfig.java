@@ -0,0 +1,10 @@
+package com.omisys.gateway.server.infrastructure.configuration;
+
+import com.omisys.gateway.server.infrastructure.properties.PathPolicyProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(PathPolicyProperties.class)
+public class PathPolicyConfig {
+}
@@ -0,0 +1,46 @@
+package com.omisys.gateway.server.infrastructure.configuration;
+
+import com.omisys.gateway.server.infrastructure.ratelimit.LocalFirstRedisRateLimiter;
+import com.omisys.gateway.server.infrastructure.ratelimit.LocalFirstRedisRateLimiter.LocalRateLimitSettings;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.ratelimit.RedisRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * RequestRateLimiter 필터가 사용하는 redisRateLimiter 빈을 로컬 버킷이 앞단에 붙은 구현으로 교체한다.
+ * (GatewayRedisAutoConfiguration의 기본 빈은 @ConditionalOnMissingBean이라 이 빈이 있으면 생성되지 않는다.)
+ */
+@Configuration
+public class RateLimiterConfig {
+
+    @Bean
+    public RedisRateLimiter redisRateLimiter(
+            ReactiveStringRedisTemplate redisTemplate,
+            @Qualifier(RedisRateLimiter.REDIS_SCRIPT_NAME) RedisScript<List<Long>> redisScript,
+            ConfigurationService configurationService,
+            MeterRegistry meterRegistry,
+            @Value("${gateway.rate-limit.local.enabled:true}") boolean enabled,
+            @Value("${gateway.rate-limit.local.slack-tokens:0}") long slackTokens,
+            @Value("${gateway.rate-limit.local.reconcile-interval-ms:1000}") long reconcileIntervalMs,
+            @Value("${gateway.rate-limit.local.max-keys:100000}") long maxKeys,
+            @Value("${gateway.rate-limit.local.idle-expire-seconds:60}") long idleExpireSeconds) {
+        LocalRateLimitSettings settings = new LocalRateLimitSettings(
+                enabled,
+                slackTokens,
+                Duration.ofMillis(reconcileIntervalMs),
+                maxKeys,
+                Duration.ofSeconds(idleExpireSeconds));
+        return new LocalFirstRedisRateLimiter(
+                redisTemplate, redisScript, configurationService, meterRegistry, settings);
+    }
+
+}
@@ -19,7 +19,8 @@ public enum GatewayErrorCode {
     RATE_LIMIT_EXCEEDED(HttpStatus.TOO_MANY_REQUESTS, "요청 한도를 초과했습니다."),
     CIRCUIT_BREAKER_OPEN(HttpStatus.SERVICE_UNAVAILABLE, "서비스 회로 차단기가 열려있습니다."),
     INVALID_ROUTE(HttpStatus.BAD_GATEWAY, "유효하지 않은 라우트입니다."),
-    REQUEST_BODY_TOO_LARGE(HttpStatus.PAYLOAD_TOO_LARGE, "요청 본문이 너무 큽니다.");
+    REQUEST_BODY_TOO_LARGE(HttpStatus.PAYLOAD_TOO_LARGE, "요청 본문이 너무 큽니다."),
+    LOCK_ACQUISITION_FAILED(HttpStatus.CONFLICT, "다른 요청을 처리 중입니다. 잠시 후 다시 시도해주세요.");
 
     private final HttpStatus status;
     private final String message;
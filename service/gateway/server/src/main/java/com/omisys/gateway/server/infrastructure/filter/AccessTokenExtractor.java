@@ -0,0 +1,36 @@
+package com.omisys.gateway.server.infrastructure.filter;
+
+import org.springframework.http.HttpCookie;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+
+import java.util.Optional;
+
+import static com.omisys.common.domain.jwt.JwtGlobalConstant.AUTHORIZATION;
+import static com.omisys.common.domain.jwt.JwtGlobalConstant.BEARER_PREFIX;
+
+/**
+ * 요청에서 access token을 꺼낸다. 게이트웨이 필터와 게이트웨이 자체 엔드포인트(대기열 스트림 등)가 함께 사용한다.
+ */
+public final class AccessTokenExtractor {
+
+    private static final String ACCESS_TOKEN_COOKIE = "accessToken";
+
+    private AccessTokenExtractor() {
+    }
+
+    public static Optional<String> extract(ServerHttpRequest request) {
+        // 1순위: Cookie에서 accessToken 추출 (브라우저 클라이언트)
+        HttpCookie accessTokenCookie = request.getCookies().getFirst(ACCESS_TOKEN_COOKIE);
+        if (accessTokenCookie != null && !accessTokenCookie.getValue().isBlank()) {
+            return Optional.of(accessTokenCookie.getValue());
+        }
+
+        // 2순위: Authorization Bearer 헤더 (서비스 간 Feign 호출)
+        String header = request.getHeaders().getFirst(AUTHORIZATION);
+        if (header != null && header.startsWith(BEARER_PREFIX)) {
+            return Optional.of(header.substring(BEARER_PREFIX.length()));
+        }
+
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,11 @@
+package com.omisys.gateway.server.infrastructure.filter;
+
+public interface GatewayExchangeAttribute {
+
+    /** JwtAuthenticationFilter가 검증한 JwtClaim. 이후 필터와 KeyResolver는 X-User-Claims 헤더를 다시 파싱하지 않는다. */
+    String USER_CLAIMS = GatewayExchangeAttribute.class.getName() + ".userClaims";
+
+    /** PathPolicyTable이 분류한 PathPolicy. 요청마다 한 번만 분류하고 이후 필터는 이 값을 읽는다. */
+    String PATH_POLICY = GatewayExchangeAttribute.class.getName() + ".pathPolicy";
+
+}
@@ -1,8 +1,7 @@
 package com.omisys.gateway.server.infrastructure.filter;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.omisys.auth.server.auth_dto.jwt.JwtClaim;
+import com.omisys.gateway.server.application.AdmissionRateEstimator;
 import com.omisys.gateway.server.application.UserQueueService;
 import com.omisys.gateway.server.infrastructure.exception.GatewayErrorCode;
 import com.omisys.gateway.server.infrastructure.exception.GatewayException;
@@ -16,25 +15,19 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
-import java.net.URLDecoder;
-import java.nio.charset.StandardCharsets;
-
-import static com.omisys.common.domain.jwt.JwtGlobalConstant.X_USER_CLAIMS;
-
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class GlobalQueueFilter implements GlobalFilter, Ordered {
 
     private final UserQueueService userQueueService;
-    private final ObjectMapper objectMapper;
+    private final AdmissionRateEstimator admissionRateEstimator;
+    private final PathPolicyTable pathPolicyTable;
 
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
 
-        String path = exchange.getRequest().getURI().getPath();
-
-        if (isPublicPath(path)) {
+        if (!pathPolicyTable.resolve(exchange).requiresQueue()) {
             return chain.filter(exchange);
         }
 
@@ -47,48 +40,33 @@ public class GlobalQueueFilter implements GlobalFilter, Ordered {
         return Ordered.LOWEST_PRECEDENCE;
     }
 
-    private boolean isPublicPath(String path) {
-        return path.startsWith("/api/auth/")
-                || path.startsWith("/api/users/sign-up")
-                || path.startsWith("/api/search")
-                || path.startsWith("/api/products/search")
-                || path.startsWith("/api/preorder/search")
-                || path.startsWith("/api/categories/search");
-    }
-
     private Mono<String> extractUserId(ServerWebExchange exchange) {
 
-        String encodedClaims = exchange.getRequest().getHeaders().getFirst(X_USER_CLAIMS);
-        if (encodedClaims == null) {
+        JwtClaim claims = exchange.getAttribute(GatewayExchangeAttribute.USER_CLAIMS);
+        if (claims == null) {
             return Mono.error(new GatewayException(GatewayErrorCode.UNAUTHORIZED));
         }
-
-        String decodedClaims = URLDecoder.decode(encodedClaims, StandardCharsets.UTF_8);
-        try {
-            JwtClaim claims = objectMapper.readValue(decodedClaims, JwtClaim.class);
-            return Mono.just(claims.getUserId().toString());
-        } catch (JsonProcessingException e) {
+        if (claims.getUserId() == null) {
             return Mono.error(new GatewayException(GatewayErrorCode.BAD_REQUEST));
         }
+        return Mono.just(claims.getUserId().toString());
     }
 
     private Mono<Void> processRequest(ServerWebExchange exchange, GatewayFilterChain chain,
                                       String userId) {
-        return userQueueService.isAllowed(userId)
-                .flatMap(allowed -> {
-                    if (allowed) {
+        return userQueueService.registerUser(userId)
+                .flatMap(response -> {
+                    if (response.getRank() == 0) {
                         return chain.filter(exchange);
                     }
-                    return userQueueService.registerUser(userId)
-                            .flatMap(response -> {
-                                if (response.getRank() == 0) {
-                                    return chain.filter(exchange);
-                                }
-                                var responseHeaders = exchange.getResponse().getHeaders();
-                                responseHeaders.add("X-Queue-Rank", String.valueOf(response.getRank()));
-                                exchange.getResponse().setStatusCode(HttpStatus.OK);
-                                return exchange.getResponse().setComplete();
-                            });
+                    var responseHeaders = exchange.getResponse().getHeaders();
+                    responseHeaders.add("X-Queue-Rank", String.valueOf(response.getRank()));
+                    long etaSeconds = admissionRateEstimator.estimateWaitSeconds(response.getRank());
+                    if (etaSeconds != AdmissionRateEstimator.UNKNOWN) {
+                        responseHeaders.add("X-Queue-ETA", String.valueOf(etaSeconds));
+                    }
+                    exchange.getResponse().setStatusCode(HttpStatus.OK);
+                    return exchange.getResponse().setComplete();
                 });
     }
 
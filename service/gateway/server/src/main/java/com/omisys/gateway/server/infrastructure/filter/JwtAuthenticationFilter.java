@@ -1,28 +1,19 @@
 package com.omisys.gateway.server.infrastructure.filter;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.omisys.auth.server.auth_dto.jwt.JwtClaim;
-import com.omisys.gateway.server.application.AuthService;
+import com.omisys.common.domain.jwt.UserClaimsCodec;
+import com.omisys.gateway.server.application.JwtVerificationService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
-import org.springframework.context.annotation.Lazy;
 import org.springframework.core.annotation.Order;
-import org.springframework.http.HttpCookie;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
-import org.springframework.util.MultiValueMap;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
-import java.net.URLEncoder;
-import java.nio.charset.StandardCharsets;
-import java.util.List;
 import java.util.Optional;
 
-import static com.omisys.common.domain.jwt.JwtGlobalConstant.AUTHORIZATION;
-import static com.omisys.common.domain.jwt.JwtGlobalConstant.BEARER_PREFIX;
 import static com.omisys.common.domain.jwt.JwtGlobalConstant.X_USER_CLAIMS;
 
 @Slf4j
@@ -30,36 +21,23 @@ import static com.omisys.common.domain.jwt.JwtGlobalConstant.X_USER_CLAIMS;
 @Order(-1)
 public class JwtAuthenticationFilter implements GlobalFilter {
 
-    private static final String ACCESS_TOKEN_COOKIE = "accessToken";
+    private final JwtVerificationService jwtVerificationService;
+    private final PathPolicyTable pathPolicyTable;
 
-    private static final List<String> PUBLIC_PATHS = List.of(
-            "/api/auth/",
-            "/oauth2/",
-            "/login/oauth2/",
-            "/api/users/sign-up",
-            "/api/search",
-            "/api/products/search",
-            "/api/preorder/search",
-            "/api/categories/search"
-    );
-
-    private final AuthService authService;
-    private final ObjectMapper objectMapper;
-
-    public JwtAuthenticationFilter(@Lazy AuthService authService, ObjectMapper objectMapper) {
-        this.authService = authService;
-        this.objectMapper = objectMapper;
+    public JwtAuthenticationFilter(JwtVerificationService jwtVerificationService, PathPolicyTable pathPolicyTable) {
+        this.jwtVerificationService = jwtVerificationService;
+        this.pathPolicyTable = pathPolicyTable;
     }
 
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
-        String path = exchange.getRequest().getURI().getPath();
-
-        if (isPublicPath(path)) {
+        if (!pathPolicyTable.resolve(exchange).requiresAuthentication()) {
             return chain.filter(exchange);
         }
 
-        Optional<String> token = extractToken(exchange);
+        String path = exchange.getRequest().getURI().getPath();
+
+        Optional<String> token = AccessTokenExtractor.extract(exchange.getRequest());
 
         if (token.isEmpty()) {
             log.debug("인증 토큰 없음: path={}", path);
@@ -67,51 +45,33 @@ public class JwtAuthenticationFilter implements GlobalFilter {
             return exchange.getResponse().setComplete();
         }
 
-        try {
-            JwtClaim claims = authService.verifyToken(token.get());
-            log.debug("토큰 검증 성공: userId={}", claims.getUserId());
-            ServerWebExchange mutated = addUserClaimsToHeaders(exchange, claims);
-            return chain.filter(mutated);
-        } catch (Exception e) {
-            log.warn("토큰 검증 실패: path={}, reason={}", path, e.getMessage());
-            exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
-            return exchange.getResponse().setComplete();
-        }
-    }
-
-    private boolean isPublicPath(String path) {
-        return PUBLIC_PATHS.stream().anyMatch(path::startsWith);
-    }
-
-    private Optional<String> extractToken(ServerWebExchange exchange) {
-        // 1순위: Cookie에서 accessToken 추출 (브라우저 클라이언트)
-        MultiValueMap<String, HttpCookie> cookies = exchange.getRequest().getCookies();
-        HttpCookie accessTokenCookie = cookies.getFirst(ACCESS_TOKEN_COOKIE);
-        if (accessTokenCookie != null && !accessTokenCookie.getValue().isBlank()) {
-            return Optional.of(accessTokenCookie.getValue());
-        }
-
-        // 2순위: Authorization Bearer 헤더 (서비스 간 Feign 호출)
-        String header = exchange.getRequest().getHeaders().getFirst(AUTHORIZATION);
-        if (header != null && header.startsWith(BEARER_PREFIX)) {
-            return Optional.of(header.substring(BEARER_PREFIX.length()));
-        }
-
-        return Optional.empty();
+        return jwtVerificationService.verify(token.get())
+                .map(Optional::of)
+                .onErrorResume(e -> {
+                    log.warn("토큰 검증 실패: path={}, reason={}", path, e.getMessage());
+                    return Mono.just(Optional.empty());
+                })
+                .flatMap(claims -> {
+                    if (claims.isEmpty()) {
+                        exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+                        return exchange.getResponse().setComplete();
+                    }
+                    log.debug("토큰 검증 성공: userId={}", claims.get().getUserId());
+                    return chain.filter(addUserClaimsToHeaders(exchange, claims.get()));
+                });
     }
 
+    /**
+     * 검증된 클레임을 exchange 속성(게이트웨이 내부용)과 X-User-Claims 헤더(하위 서비스용)에 함께 싣는다.
+     * 헤더는 UserClaimsCodec의 고정 레이아웃 바이너리(base64url)로 인코딩한다.
+     */
     private ServerWebExchange addUserClaimsToHeaders(ServerWebExchange exchange, JwtClaim claims) {
-        try {
-            String jsonClaims = objectMapper.writeValueAsString(claims);
-            String encoded = URLEncoder.encode(jsonClaims, StandardCharsets.UTF_8);
-            return exchange.mutate()
-                    .request(exchange.getRequest().mutate()
-                            .header(X_USER_CLAIMS, encoded)
-                            .build())
-                    .build();
-        } catch (JsonProcessingException e) {
-            log.error("JwtClaim 직렬화 실패: {}", e.getMessage());
-            return exchange;
-        }
+        exchange.getAttributes().put(GatewayExchangeAttribute.USER_CLAIMS, claims);
+        String encoded = UserClaimsCodec.encode(claims.getUserId(), claims.getUsername(), claims.getRole());
+        return exchange.mutate()
+                .request(exchange.getRequest().mutate()
+                        .header(X_USER_CLAIMS, encoded)
+                        .build())
+                .build();
     }
 }
@@ -0,0 +1,35 @@
+package com.omisys.gateway.server.infrastructure.filter;
+
+/**
+ * 요청 경로 분류 결과. 요청마다 한 번 {@link PathPolicyTable}로 분류해 exchange 속성에 저장한다.
+ */
+public enum PathPolicy {
+
+    /** 인증·대기열 없이 통과 */
+    PUBLIC(false, false),
+
+    /** 인증만 수행, 대기열 제외 */
+    AUTHENTICATED(true, false),
+
+    /** 인증 + 대기열(기본값) */
+    QUEUED(true, true),
+
+    /** 외부 접근 차단(서비스 간 내부 경로) */
+    INTERNAL_BLOCKED(false, false);
+
+    private final boolean requiresAuthentication;
+    private final boolean requiresQueue;
+
+    PathPolicy(boolean requiresAuthentication, boolean requiresQueue) {
+        this.requiresAuthentication = requiresAuthentication;
+        this.requiresQueue = requiresQueue;
+    }
+
+    public boolean requiresAuthentication() {
+        return requiresAuthentication;
+    }
+
+    public boolean requiresQueue() {
+        return requiresQueue;
+    }
+}
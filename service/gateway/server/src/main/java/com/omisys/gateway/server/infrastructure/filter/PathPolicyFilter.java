@@ -1,5 +1,6 @@
 package com.omisys.gateway.server.infrastructure.filter;
 
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
@@ -9,16 +10,22 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
+/**
+ * 가장 먼저 실행되어 요청 경로를 한 번 분류(PathPolicyTable)하고 exchange 속성에 저장한다.
+ * 내부 경로(INTERNAL_BLOCKED)는 라우팅 전에 403으로 차단한다.
+ */
 @Slf4j
 @Component
 @Order(-100)
-public class InternalPathBlockFilter implements GlobalFilter {
+@RequiredArgsConstructor
+public class PathPolicyFilter implements GlobalFilter {
+
+    private final PathPolicyTable pathPolicyTable;
 
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
-        String path = exchange.getRequest().getURI().getPath();
-        if (path.startsWith("/internal/")) {
-            log.warn("blocked external internal path: {}", path);
+        if (pathPolicyTable.resolve(exchange) == PathPolicy.INTERNAL_BLOCKED) {
+            log.warn("blocked external internal path: {}", exchange.getRequest().getURI().getPath());
             exchange.getResponse().setStatusCode(HttpStatus.FORBIDDEN);
             return exchange.getResponse().setComplete();
         }
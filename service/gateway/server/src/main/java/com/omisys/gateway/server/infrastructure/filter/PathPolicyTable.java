@@ -0,0 +1,154 @@
+package com.omisys.gateway.server.infrastructure.filter;
+
+import com.omisys.gateway.server.infrastructure.properties.PathPolicyProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 경로 접두사 → {@link PathPolicy} 분류 테이블.
+ *
+ * <p>{@link PathPolicyProperties}의 접두사들을 경로 압축 트라이(radix tree)로 컴파일해 두고, 경로를 한 번 훑으면서
+ * 가장 긴 일치 접두사의 정책을 고른다. 자식은 첫 글자(정렬된 char 배열 + 이진 탐색)로 찾고 간선 문자열은
+ * startsWith 한 번으로 비교하므로 조회 중 객체 할당이 없고, 비용은 등록된 접두사 수와 무관하다.</p>
+ *
+ * <p>내부 경로 접두사에 걸리면 더 긴 접두사와 관계없이 항상 차단한다(공개 목록 설정 실수로 내부 경로가 열리지 않도록).
+ * 같은 접두사가 공개·인증 목록에 모두 있으면 AUTHENTICATED를 따른다.
+ * config-server 설정이 갱신(/actuator/refresh)되면 트라이를 다시 컴파일해 교체한다.</p>
+ */
+@Slf4j
+@Component
+public class PathPolicyTable {
+
+    private final PathPolicyProperties properties;
+    private volatile Node root;
+
+    public PathPolicyTable(PathPolicyProperties properties) {
+        this.properties = properties;
+        this.root = compile(properties);
+    }
+
+    /**
+     * exchange의 경로 정책을 반환한다. 처음 호출될 때 분류해 exchange 속성에 저장하고, 이후에는 저장된 값을 쓴다.
+     */
+    public PathPolicy resolve(ServerWebExchange exchange) {
+        PathPolicy policy = exchange.getAttribute(GatewayExchangeAttribute.PATH_POLICY);
+        if (policy == null) {
+            policy = classify(exchange.getRequest().getURI().getPath());
+            exchange.getAttributes().put(GatewayExchangeAttribute.PATH_POLICY, policy);
+        }
+        return policy;
+    }
+
+    public PathPolicy classify(String path) {
+        Node node = root;
+        PathPolicy matched = PathPolicy.QUEUED;
+        int offset = 0;
+        int length = path.length();
+        while (offset < length) {
+            Node child = node.child(path.charAt(offset));
+            if (child == null || !path.startsWith(child.edge, offset)) {
+                break;
+            }
+            offset += child.edge.length();
+            node = child;
+            if (node.policy == PathPolicy.INTERNAL_BLOCKED) {
+                return PathPolicy.INTERNAL_BLOCKED;
+            }
+            if (node.policy != null) {
+                matched = node.policy;
+            }
+        }
+        return matched;
+    }
+
+    @EventListener(RefreshScopeRefreshedEvent.class)
+    public void reload() {
+        this.root = compile(properties);
+        log.info("경로 정책 테이블 갱신: public={}, unqueued={}, internal={}",
+                properties.getPublicPaths(), properties.getUnqueuedPaths(), properties.getInternalPaths());
+    }
+
+    private static Node compile(PathPolicyProperties properties) {
+        BuilderNode root = new BuilderNode();
+        // 나중에 넣은 정책이 같은 접두사의 정책을 덮어쓴다(엄격한 정책을 마지막에)
+        insertAll(root, properties.getPublicPaths(), PathPolicy.PUBLIC);
+        insertAll(root, properties.getUnqueuedPaths(), PathPolicy.AUTHENTICATED);
+        insertAll(root, properties.getInternalPaths(), PathPolicy.INTERNAL_BLOCKED);
+        return root.freeze("");
+    }
+
+    private static void insertAll(BuilderNode root, List<String> prefixes, PathPolicy policy) {
+        if (prefixes == null) {
+            return;
+        }
+        for (String prefix : prefixes) {
+            if (prefix == null || prefix.isEmpty()) {
+                continue;
+            }
+            BuilderNode node = root;
+            for (int i = 0; i < prefix.length(); i++) {
+                node = node.children.computeIfAbsent(prefix.charAt(i), c -> new BuilderNode());
+            }
+            node.policy = policy;
+        }
+    }
+
+    private static final class BuilderNode {
+
+        private final TreeMap<Character, BuilderNode> children = new TreeMap<>();
+        private PathPolicy policy;
+
+        /**
+         * 정책이 없고 자식이 하나뿐인 노드들은 하나의 간선 문자열로 압축한다(radix tree).
+         *
+         * @param edge 이 노드로 들어오는 간선 문자열(루트는 빈 문자열)
+         */
+        private Node freeze(String edge) {
+            BuilderNode node = this;
+            StringBuilder compressed = new StringBuilder(edge);
+            while (node.policy == null && node.children.size() == 1 && !compressed.isEmpty()) {
+                Map.Entry<Character, BuilderNode> only = node.children.firstEntry();
+                compressed.append(only.getKey().charValue());
+                node = only.getValue();
+            }
+
+            char[] labels = new char[node.children.size()];
+            Node[] frozen = new Node[node.children.size()];
+            int i = 0;
+            for (Map.Entry<Character, BuilderNode> entry : node.children.entrySet()) {
+                labels[i] = entry.getKey();
+                frozen[i] = entry.getValue().freeze(String.valueOf(entry.getKey().charValue()));
+                i++;
+            }
+            return new Node(compressed.toString(), labels, frozen, node.policy);
+        }
+    }
+
+    private static final class Node {
+
+        private final String edge;
+        private final char[] labels;
+        private final Node[] children;
+        private final PathPolicy policy;
+
+        private Node(String edge, char[] labels, Node[] children, PathPolicy policy) {
+            this.edge = edge;
+            this.labels = labels;
+            this.children = children;
+            this.policy = policy;
+        }
+
+        private Node child(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            return index >= 0 ? children[index] : null;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.omisys.gateway.server.infrastructure.filter;
+
+import com.omisys.gateway.server.application.PreOrderSoldOutCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * 매진된 사전예약의 예약 요청({@code POST /api/preorders/{preOrderId}/order})을 인증·대기열·라우팅 전에 409로 거절한다.
+ *
+ * <p>매진 여부는 {@link PreOrderSoldOutCache}의 메모리 조회 한 번이고, 경로에서 ID를 읽을 때도 객체를 만들지 않는다.
+ * 매진이 아직 반영되지 않은 요청은 그대로 상품 서비스로 가서 예약 스크립트가 거절한다.</p>
+ */
+@Component
+@Order(-50)
+public class PreOrderSoldOutFilter implements GlobalFilter {
+
+    static final String PREFIX = "/api/preorders/";
+    static final String SUFFIX = "/order";
+    static final long NOT_RESERVATION = -1L;
+
+    private final PreOrderSoldOutCache preOrderSoldOutCache;
+    private final Counter rejected;
+
+    public PreOrderSoldOutFilter(PreOrderSoldOutCache preOrderSoldOutCache, MeterRegistry meterRegistry) {
+        this.preOrderSoldOutCache = preOrderSoldOutCache;
+        this.rejected = Counter.builder("gateway.preorder.soldout.rejected")
+                .description("매진으로 게이트웨이에서 거절한 사전예약 요청 수")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (exchange.getRequest().getMethod() != HttpMethod.POST) {
+            return chain.filter(exchange);
+        }
+        long preOrderId = reservationPreOrderId(exchange.getRequest().getURI().getPath());
+        if (preOrderId == NOT_RESERVATION || !preOrderSoldOutCache.isSoldOut(preOrderId)) {
+            return chain.filter(exchange);
+        }
+        rejected.increment();
+        exchange.getResponse().setStatusCode(HttpStatus.CONFLICT);
+        return exchange.getResponse().setComplete();
+    }
+
+    /** 예약 경로면 preOrderId를, 아니면 {@link #NOT_RESERVATION}을 반환한다. */
+    static long reservationPreOrderId(String path) {
+        int end = path.length() - SUFFIX.length();
+        if (end <= PREFIX.length() || !path.startsWith(PREFIX) || !path.endsWith(SUFFIX)) {
+            return NOT_RESERVATION;
+        }
+        long id = 0;
+        for (int i = PREFIX.length(); i < end; i++) {
+            char c = path.charAt(i);
+            if (c < '0' || c > '9' || id > (Long.MAX_VALUE - 9) / 10) {
+                return NOT_RESERVATION;
+            }
+            id = id * 10 + (c - '0');
+        }
+        return id;
+    }
+}
@@ -0,0 +1,57 @@
+package com.omisys.gateway.server.infrastructure.messaging;
+
+import com.omisys.common.domain.entity.RedisChannelConstant;
+import com.omisys.gateway.server.application.PreOrderSoldOutCache;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+
+/**
+ * 사전예약 매진 상태 구독자.
+ *
+ * <p>{@link RedisChannelConstant#PREORDER_SOLD_OUT} 채널을 구독해 {@link PreOrderSoldOutCache}를 갱신한다.
+ * 재구독 때마다 매진 Set({@link RedisChannelConstant#PREORDER_SOLD_OUT_IDS})을 다시 읽어 끊긴 동안 놓친 매진 표시를 채운다.</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PreOrderSoldOutListener {
+
+    private final ReactiveRedisTemplate<String, String> reactiveRedisTemplate;
+    private final PreOrderSoldOutCache preOrderSoldOutCache;
+
+    private Disposable subscription;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void subscribe() {
+        subscription = reactiveRedisTemplate.opsForSet().members(RedisChannelConstant.PREORDER_SOLD_OUT_IDS)
+                .collectList()
+                .doOnNext(preOrderSoldOutCache::load)
+                .onErrorResume(e -> {
+                    log.warn("사전예약 매진 목록 로드 실패", e);
+                    return Mono.empty();
+                })
+                .thenMany(reactiveRedisTemplate.listenToChannel(RedisChannelConstant.PREORDER_SOLD_OUT))
+                .doOnNext(message -> preOrderSoldOutCache.apply(message.getMessage()))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                        .maxBackoff(Duration.ofSeconds(30))
+                        .doBeforeRetry(signal -> log.warn("사전예약 매진 채널 재구독", signal.failure())))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void unsubscribe() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.omisys.gateway.server.infrastructure.messaging;
+
+import com.omisys.gateway.server.application.AdmissionRateEstimator;
+import com.omisys.gateway.server.application.UserQueueService;
+import com.omisys.gateway.server.application.dto.QueueAdmissionEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+
+/**
+ * 대기열 승격 이벤트 구독자: 클러스터 전체 승격 수를 {@link AdmissionRateEstimator}에 기록한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QueueAdmissionListener {
+
+    private final ReactiveRedisTemplate<String, String> reactiveRedisTemplate;
+    private final AdmissionRateEstimator admissionRateEstimator;
+
+    private Disposable subscription;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void subscribe() {
+        subscription = reactiveRedisTemplate.listenToChannel(UserQueueService.ADMISSION_CHANNEL)
+                .map(message -> QueueAdmissionEvent.decode(message.getMessage()))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                        .maxBackoff(Duration.ofSeconds(30))
+                        .doBeforeRetry(signal -> log.warn("대기열 승격 채널 재구독", signal.failure())))
+                .subscribe(event -> admissionRateEstimator.record(event.promoted()));
+    }
+
+    @PreDestroy
+    public void unsubscribe() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+}
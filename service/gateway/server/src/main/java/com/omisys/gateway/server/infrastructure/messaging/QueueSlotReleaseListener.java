@@ -0,0 +1,55 @@
+package com.omisys.gateway.server.infrastructure.messaging;
+
+import com.omisys.common.domain.entity.RedisChannelConstant;
+import com.omisys.gateway.server.application.UserQueueService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+
+/**
+ * 대기열 슬롯 반납 이벤트 구독자.
+ *
+ * <p>auth(로그아웃), order(주문 완료) 등이 {@link RedisChannelConstant#QUEUE_SLOT_RELEASE} 채널에 userId를 발행하면
+ * 모든 게이트웨이 인스턴스가 수신하고, {@link UserQueueService#releaseUser(String)}로 슬롯을 반납시켜 대기자를 즉시 승격한다.
+ * 반납 스크립트는 멱등이므로 여러 인스턴스가 같은 메시지를 처리해도 결과는 같다.</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QueueSlotReleaseListener {
+
+    private final ReactiveRedisTemplate<String, String> reactiveRedisTemplate;
+    private final UserQueueService userQueueService;
+
+    private Disposable subscription;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void subscribe() {
+        subscription = reactiveRedisTemplate.listenToChannel(RedisChannelConstant.QUEUE_SLOT_RELEASE)
+                .flatMap(message -> userQueueService.releaseUser(message.getMessage())
+                        .onErrorResume(e -> {
+                            log.warn("대기열 슬롯 반납 실패: userId={}", message.getMessage(), e);
+                            return Mono.empty();
+                        }))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                        .maxBackoff(Duration.ofSeconds(30))
+                        .doBeforeRetry(signal -> log.warn("대기열 슬롯 반납 채널 재구독", signal.failure())))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void unsubscribe() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+}
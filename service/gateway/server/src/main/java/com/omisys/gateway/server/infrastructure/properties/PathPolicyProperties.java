@@ -0,0 +1,41 @@
+package com.omisys.gateway.server.infrastructure.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 게이트웨이 경로 정책 설정(config-server: gateway.path-policy.*).
+ *
+ * <p>모든 항목은 경로 접두사다. 어느 목록에도 속하지 않는 경로는 인증 + 대기열 대상(QUEUED)이다.
+ * 여러 접두사가 겹치면 가장 긴 접두사의 정책을 따른다.</p>
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "gateway.path-policy")
+public class PathPolicyProperties {
+
+    /** 인증·대기열 없이 통과시키는 경로 */
+    private List<String> publicPaths = new ArrayList<>(List.of(
+            "/api/auth/",
+            "/oauth2/",
+            "/login/oauth2/",
+            "/api/users/sign-up",
+            "/api/search",
+            "/api/products/search",
+            "/api/preorder/search",
+            "/api/categories/search"
+    ));
+
+    /** 인증은 하지만 대기열은 거치지 않는 경로 */
+    private List<String> unqueuedPaths = new ArrayList<>();
+
+    /** 외부 요청을 차단하는 서비스 간 내부 경로 */
+    private List<String> internalPaths = new ArrayList<>(List.of(
+            "/internal/"
+    ));
+
+}
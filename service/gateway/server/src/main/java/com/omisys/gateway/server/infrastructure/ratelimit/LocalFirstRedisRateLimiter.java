@@ -0,0 +1,194 @@
+package com.omisys.gateway.server.infrastructure.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.gateway.filter.ratelimit.RedisRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * 인스턴스 로컬 토큰 버킷을 앞단에 둔 Redis 요청 제한기.
+ *
+ * <p>UserOrIpKeyResolver가 만든 키(route 단위)마다 로컬 버킷을 두고, 로컬 버킷이 비어 있으면 Redis 스크립트를 호출하지 않고
+ * 즉시 429로 거절한다. 로컬 버킷에 여유가 있으면 기존 RedisRateLimiter에 위임하고, Redis 응답의 남은 토큰 수와
+ * 로컬 추정치 중 적은 쪽으로 로컬 버킷을 맞춘다. 이미 한도를 넘긴 클라이언트가 몰릴 때 Redis 호출이 초당 replenishRate 수준으로 줄어든다.</p>
+ *
+ * <p>허용 판단은 항상 Redis가 하므로 사용자가 전역 한도를 넘는 일은 없다. 로컬 버킷은 거절만 하며,
+ * slackTokens는 로컬 추정치가 그만큼 더 부족해야 거절하도록 두는 여유분(Redis와의 시계·리필 오차 흡수)이다.
+ * 로컬에서 계속 거절 중인 키도 reconcileInterval마다 한 번은 Redis에 위임하고, 그 응답으로 로컬 버킷을 덮어써
+ * 설정 변경이나 Redis 장애 동안 쌓인 로컬 추정 오차를 바로잡는다.</p>
+ *
+ * <p>버킷 상태는 GCRA(Generic Cell Rate Algorithm) 방식으로 "버킷이 다시 가득 차는 시각(TAT)" 하나의 long에 담아
+ * CAS로 갱신한다. 버킷 맵은 최대 키 수와 유휴 만료를 가진 Caffeine 캐시라 IP 스캔 같은 키 폭증에도 메모리가 제한된다.</p>
+ */
+public class LocalFirstRedisRateLimiter extends RedisRateLimiter {
+
+    private static final String METRIC = "gateway.ratelimit.local";
+    private static final long NANOS_PER_SECOND = Duration.ofSeconds(1).toNanos();
+
+    private final boolean localEnabled;
+    private final long slackTokens;
+    private final long reconcileIntervalNanos;
+    private final LongSupplier nanoClock;
+    private final Cache<String, LocalBucket> buckets;
+
+    private final Counter localRejected;
+    private final Counter forwarded;
+
+    public LocalFirstRedisRateLimiter(
+            ReactiveStringRedisTemplate redisTemplate,
+            RedisScript<List<Long>> script,
+            ConfigurationService configurationService,
+            MeterRegistry meterRegistry,
+            LocalRateLimitSettings settings) {
+        this(redisTemplate, script, configurationService, meterRegistry, settings, System::nanoTime);
+    }
+
+    LocalFirstRedisRateLimiter(
+            ReactiveStringRedisTemplate redisTemplate,
+            RedisScript<List<Long>> script,
+            ConfigurationService configurationService,
+            MeterRegistry meterRegistry,
+            LocalRateLimitSettings settings,
+            LongSupplier nanoClock) {
+        super(redisTemplate, script, configurationService);
+        if (settings.slackTokens() < 0) {
+            throw new IllegalArgumentException("로컬 요청 제한 slack은 0 이상이어야 합니다: " + settings.slackTokens());
+        }
+        this.localEnabled = settings.enabled();
+        this.slackTokens = settings.slackTokens();
+        this.reconcileIntervalNanos = settings.reconcileInterval().toNanos();
+        this.nanoClock = nanoClock;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(settings.maxKeys())
+                .expireAfterAccess(settings.idleExpiry())
+                .build();
+
+        this.localRejected = Counter.builder(METRIC).tag("decision", "rejected").register(meterRegistry);
+        this.forwarded = Counter.builder(METRIC).tag("decision", "forwarded").register(meterRegistry);
+        meterRegistry.gauge(METRIC + ".keys", buckets, Cache::estimatedSize);
+    }
+
+    @Override
+    public Mono<Response> isAllowed(String routeId, String id) {
+        Config config = getConfig().get(routeId);
+        if (!localEnabled || config == null || config.getReplenishRate() <= 0) {
+            // route 설정이 없으면 기본 설정 해석과 오류 처리를 RedisRateLimiter에 맡긴다.
+            return super.isAllowed(routeId, id);
+        }
+
+        long now = nanoClock.getAsLong();
+        LocalBucket bucket = buckets.get(routeId + ":" + id, key -> new LocalBucket(now));
+        boolean acquired = bucket.tryAcquire(config, slackTokens, now);
+        if (!acquired && now - bucket.lastSyncNanos < reconcileIntervalNanos) {
+            localRejected.increment();
+            return Mono.just(new Response(false, getHeaders(config, 0L)));
+        }
+
+        forwarded.increment();
+        return super.isAllowed(routeId, id)
+                .doOnNext(response -> reconcile(bucket, config, response, !acquired));
+    }
+
+    /**
+     * Redis 판단 결과를 로컬 버킷에 반영한다.
+     *
+     * <p>남은 토큰 헤더가 있으면 그 값으로, 없으면(헤더 비활성화) 거절된 경우에만 버킷을 비운다.
+     * Redis 오류 시 RedisRateLimiter는 -1을 돌려주며 허용하므로 이때는 로컬 상태를 건드리지 않는다.
+     * 평소에는 로컬 추정치보다 여유를 늘리지 않고(동시 요청 응답 순서 역전 대비), reconcile 요청일 때만 덮어쓴다.</p>
+     */
+    private void reconcile(LocalBucket bucket, Config config, Response response, boolean overwrite) {
+        long remaining = parseRemaining(response);
+        if (remaining < 0) {
+            if (response.isAllowed()) {
+                return;
+            }
+            remaining = 0;
+        }
+        bucket.sync(config, Math.min(remaining, config.getBurstCapacity()), nanoClock.getAsLong(), overwrite);
+    }
+
+    private long parseRemaining(Response response) {
+        String value = response.getHeaders().get(getRemainingHeader());
+        if (value == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    long localKeyCount() {
+        buckets.cleanUp();
+        return buckets.estimatedSize();
+    }
+
+    /**
+     * 로컬 요청 제한 설정.
+     *
+     * @param enabled           로컬 버킷 사용 여부(false면 항상 Redis에 위임)
+     * @param slackTokens       로컬 거절 전에 허용하는 추정 오차(토큰 수)
+     * @param reconcileInterval 로컬에서 거절 중인 키를 Redis와 다시 맞추는 주기
+     * @param maxKeys           로컬 버킷 최대 개수
+     * @param idleExpiry        접근이 없는 버킷을 제거하기까지의 시간
+     */
+    public record LocalRateLimitSettings(
+            boolean enabled,
+            long slackTokens,
+            Duration reconcileInterval,
+            long maxKeys,
+            Duration idleExpiry) {
+    }
+
+    /** TAT(버킷이 가득 차는 시각, nanoTime 기준) 하나로 표현한 토큰 버킷 */
+    private static final class LocalBucket {
+
+        private final AtomicLong theoreticalArrival = new AtomicLong();
+        private volatile long lastSyncNanos;
+
+        private LocalBucket(long now) {
+            this.theoreticalArrival.set(now);
+            this.lastSyncNanos = now;
+        }
+
+        /** 요청 토큰을 차감한다. 차감 후 부족분이 burst + slack을 넘으면 차감하지 않고 false를 반환한다. */
+        boolean tryAcquire(Config config, long slackTokens, long now) {
+            long interval = NANOS_PER_SECOND / config.getReplenishRate();
+            long cost = interval * config.getRequestedTokens();
+            long tolerance = interval * (config.getBurstCapacity() + slackTokens);
+            while (true) {
+                long current = theoreticalArrival.get();
+                long next = Math.max(current, now) + cost;
+                if (next - now > tolerance) {
+                    return false;
+                }
+                if (theoreticalArrival.compareAndSet(current, next)) {
+                    return true;
+                }
+            }
+        }
+
+        /** 남은 토큰이 remaining개가 되도록 TAT를 맞춘다. overwrite가 아니면 로컬 추정치가 더 적을 때 그대로 둔다. */
+        void sync(Config config, long remaining, long now, boolean overwrite) {
+            long interval = NANOS_PER_SECOND / config.getReplenishRate();
+            long synced = now + interval * (config.getBurstCapacity() - remaining);
+            if (overwrite) {
+                theoreticalArrival.set(synced);
+            } else {
+                theoreticalArrival.accumulateAndGet(synced, Math::max);
+            }
+            lastSyncNanos = now;
+        }
+    }
+}
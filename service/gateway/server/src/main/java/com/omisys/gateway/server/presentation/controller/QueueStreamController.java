@@ -0,0 +1,47 @@
+package com.omisys.gateway.server.presentation.controller;
+
+import com.omisys.gateway.server.application.JwtVerificationService;
+import com.omisys.gateway.server.application.QueuePositionService;
+import com.omisys.gateway.server.application.dto.QueuePositionResponse;
+import com.omisys.gateway.server.infrastructure.exception.GatewayErrorCode;
+import com.omisys.gateway.server.infrastructure.exception.GatewayException;
+import com.omisys.gateway.server.infrastructure.filter.AccessTokenExtractor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * 대기열 순번 SSE 엔드포인트.
+ *
+ * <p>게이트웨이 라우트가 아니라 게이트웨이 자체 핸들러이므로 글로벌 필터(JWT, 대기열)를 거치지 않는다.
+ * 토큰 검증은 {@link JwtVerificationService}를 직접 호출해 동일하게 수행한다.</p>
+ *
+ * <p>이벤트 이름: {@code rank}(대기 중, data.rank = 전역 순번), {@code admitted}(대기 종료 — 원래 요청을 다시 보낸다)</p>
+ */
+@RestController
+@RequestMapping("/api/queue")
+@RequiredArgsConstructor
+public class QueueStreamController {
+
+    private final JwtVerificationService jwtVerificationService;
+    private final QueuePositionService queuePositionService;
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<QueuePositionResponse>> stream(ServerHttpRequest request) {
+        return AccessTokenExtractor.extract(request)
+                .map(jwtVerificationService::verify)
+                .orElseGet(() -> Mono.error(new GatewayException(GatewayErrorCode.UNAUTHORIZED)))
+                .flatMapMany(claim -> claim.getUserId() == null
+                        ? Flux.error(new GatewayException(GatewayErrorCode.BAD_REQUEST))
+                        : queuePositionService.stream(claim.getUserId().toString()))
+                .map(position -> ServerSentEvent.builder(position)
+                        .event(position.isWaiting() ? "rank" : "admitted")
+                        .build());
+    }
+}
@@ -0,0 +1,73 @@
+package com.omisys.gateway.server.application;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdmissionRateEstimatorTest {
+
+    private final AtomicLong now = new AtomicLong(1_000L);
+
+    @Test
+    void 측정된_승격이_없으면_ETA는_UNKNOWN이다() {
+        AdmissionRateEstimator estimator = new AdmissionRateEstimator(10, now::get);
+
+        assertThat(estimator.admissionRate()).isZero();
+        assertThat(estimator.estimateWaitSeconds(5)).isEqualTo(AdmissionRateEstimator.UNKNOWN);
+        assertThat(estimator.estimateWaitSeconds(0)).isZero();
+    }
+
+    @Test
+    void 구간_평균_처리량으로_ETA를_계산한다() {
+        AdmissionRateEstimator estimator = new AdmissionRateEstimator(10, now::get);
+        for (int second = 0; second < 10; second++) {
+            estimator.record(2);
+            now.incrementAndGet();
+        }
+        now.decrementAndGet();
+
+        assertThat(estimator.admissionRate()).isEqualTo(2.0);
+        assertThat(estimator.estimateWaitSeconds(5)).isEqualTo(3);
+    }
+
+    @Test
+    void 구간을_벗어난_버킷은_재사용되고_합산에서_빠진다() {
+        AdmissionRateEstimator estimator = new AdmissionRateEstimator(10, now::get);
+        estimator.record(100);
+
+        now.addAndGet(10);
+        estimator.record(10);
+
+        assertThat(estimator.admissionRate()).isEqualTo(1.0);
+    }
+
+    @Test
+    void 동시에_기록해도_유실되지_않는다() throws Exception {
+        AdmissionRateEstimator estimator = new AdmissionRateEstimator(10, now::get);
+        int threads = 8;
+        int recordsPerThread = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < recordsPerThread; i++) {
+                    estimator.record(1);
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(estimator.admissionRate()).isEqualTo(threads * recordsPerThread / 10.0);
+    }
+}
@@ -0,0 +1,93 @@
+package com.omisys.gateway.server.application;
+
+import com.omisys.auth.server.auth_dto.jwt.JwtClaim;
+import com.omisys.gateway.server.infrastructure.exception.GatewayErrorCode;
+import com.omisys.gateway.server.infrastructure.exception.GatewayException;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class JwtVerificationServiceTest {
+
+    private static final String SECRET = "gateway-test-secret-key-must-be-32-bytes!";
+    private static final String ROTATED_SECRET = "rotated-secret-key-which-is-32-bytes-long";
+
+    private AuthService authService;
+    private SimpleMeterRegistry meterRegistry;
+    private JwtVerificationService service;
+
+    @BeforeEach
+    void setUp() {
+        authService = mock(AuthService.class);
+        meterRegistry = new SimpleMeterRegistry();
+        service = new JwtVerificationService(authService, meterRegistry, SECRET, 1000, 30);
+    }
+
+    @Test
+    void 로컬검증_결과는_캐시되고_두번째_요청은_캐시적중으로_처리된다() {
+        String token = token(SECRET, 1L, 60_000);
+
+        JwtClaim first = service.verify(token).block();
+        JwtClaim second = service.verify(token).block();
+
+        assertThat(first.getUserId()).isEqualTo(1L);
+        assertThat(second).isSameAs(first);
+        assertThat(meterRegistry.get("gateway.jwt.cache").tag("result", "miss").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("gateway.jwt.cache").tag("result", "hit").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("gateway.jwt.verify").tag("mode", "local").timer().count()).isEqualTo(1);
+        verifyNoInteractions(authService);
+    }
+
+    @Test
+    void 만료된_토큰은_TOKEN_EXPIRED로_거부된다() {
+        String token = token(SECRET, 1L, -60_000);
+
+        assertThatThrownBy(() -> service.verify(token).block())
+                .isInstanceOf(GatewayException.class)
+                .hasMessage(GatewayErrorCode.TOKEN_EXPIRED.getStatus().name());
+        verifyNoInteractions(authService);
+    }
+
+    @Test
+    void 서명이_다르면_원격검증으로_폴백하고_결과를_캐시한다() {
+        String token = token(ROTATED_SECRET, 2L, 60_000);
+        when(authService.verifyToken(token)).thenReturn(JwtClaim.create(2L, "rotated", "ROLE_USER"));
+
+        JwtClaim first = service.verify(token).block();
+        JwtClaim second = service.verify(token).block();
+
+        assertThat(first.getUserId()).isEqualTo(2L);
+        assertThat(second).isSameAs(first);
+        verify(authService, times(1)).verifyToken(token);
+        assertThat(meterRegistry.get("gateway.jwt.verify").tag("mode", "remote").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void 키가_설정되지_않으면_항상_원격검증한다() {
+        JwtVerificationService remoteOnly = new JwtVerificationService(authService, meterRegistry, "", 1000, 30);
+        when(authService.verifyToken("opaque")).thenReturn(JwtClaim.create(3L, "remote", "ROLE_USER"));
+
+        JwtClaim claim = remoteOnly.verify("opaque").block();
+
+        assertThat(claim.getUserId()).isEqualTo(3L);
+        verify(authService, times(1)).verifyToken("opaque");
+    }
+
+    private String token(String secret, Long userId, long expiresInMillis) {
+        return Jwts.builder()
+                .claims(Map.of("USER_ID", userId, "USER_NAME", "chanhoan", "USER_ROLE", "ROLE_USER"))
+                .expiration(new Date(System.currentTimeMillis() + expiresInMillis))
+                .signWith(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"))
+                .compact();
+    }
+}
@@ -0,0 +1,70 @@
+package com.omisys.gateway.server.application;
+
+import com.omisys.gateway.server.application.dto.QueuePositionResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.ReactiveSubscription;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.mockito.Mockito.*;
+
+class QueuePositionServiceTest {
+
+    private UserQueueService userQueueService;
+    private AdmissionRateEstimator admissionRateEstimator;
+    private Sinks.Many<ReactiveSubscription.Message<String, String>> admissionChannel;
+    private QueuePositionService queuePositionService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        userQueueService = mock(UserQueueService.class);
+        ReactiveRedisTemplate<String, String> reactiveRedisTemplate = mock(ReactiveRedisTemplate.class);
+        admissionChannel = Sinks.many().multicast().directBestEffort();
+        doReturn(admissionChannel.asFlux()).when(reactiveRedisTemplate).listenToChannel(UserQueueService.ADMISSION_CHANNEL);
+        when(userQueueService.shardOf("1")).thenReturn(2);
+        admissionRateEstimator = new AdmissionRateEstimator(60, () -> 1_000L);
+        admissionRateEstimator.record(60);
+
+        queuePositionService = new QueuePositionService(userQueueService, admissionRateEstimator, reactiveRedisTemplate, 10, 3_600_000);
+    }
+
+    @Test
+    void 구독하면_현재_순번과_ETA를_보내고_자기_샤드_승격_이벤트마다_갱신하다가_입장하면_종료한다() {
+        when(userQueueService.getRank("1")).thenReturn(Mono.just(5L), Mono.just(2L), Mono.just(-1L));
+
+        StepVerifier.create(queuePositionService.stream("1"))
+                .expectNext(new QueuePositionResponse(5, 5))
+                .then(() -> publish("2"))
+                .expectNext(new QueuePositionResponse(2, 2))
+                .then(() -> publish("2"))
+                .expectNext(new QueuePositionResponse(0, 0))
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void 다른_샤드의_승격_이벤트로는_순번을_다시_조회하지_않는다() {
+        when(userQueueService.getRank("1")).thenReturn(Mono.just(5L));
+
+        StepVerifier.create(queuePositionService.stream("1"))
+                .expectNext(new QueuePositionResponse(5, 5))
+                .then(() -> publish("0"))
+                .then(() -> publish("1"))
+                .expectNoEvent(Duration.ofMillis(100))
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+
+        verify(userQueueService, times(1)).getRank("1");
+    }
+
+    private void publish(String shard) {
+        admissionChannel.tryEmitNext(new ReactiveSubscription.ChannelMessage<>(
+                UserQueueService.ADMISSION_CHANNEL, shard + ":1"));
+    }
+}
@@ -0,0 +1,63 @@
+package com.omisys.gateway.server.application;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class QueueShardsTest {
+
+    @Test
+    void 샤드별_허용치의_합은_MAX_ACTIVE_USERS와_같다() {
+        QueueShards shards = new QueueShards(7, 1000);
+
+        long total = IntStream.range(0, shards.count()).mapToLong(shards::budget).sum();
+
+        assertThat(total).isEqualTo(1000);
+        assertThat(shards.budget(0)).isEqualTo(143);
+        assertThat(shards.budget(6)).isEqualTo(142);
+    }
+
+    @Test
+    void 샤드_키는_같은_해시태그를_공유한다() {
+        QueueShards shards = new QueueShards(4, 100);
+
+        assertThat(shards.waitKey(2)).isEqualTo("users:queue:wait:{2}");
+        assertThat(shards.proceedKey(2)).isEqualTo("users:queue:proceed:{2}");
+        assertThat(shards.activeKey(2)).isEqualTo("users:active:{2}");
+    }
+
+    @Test
+    void 사용자는_샤드에_고르게_분산된다() {
+        QueueShards shards = new QueueShards(8, 800);
+        int[] counts = new int[8];
+
+        for (int userId = 0; userId < 80_000; userId++) {
+            counts[shards.shardOf(String.valueOf(userId))]++;
+        }
+
+        assertThat(IntStream.of(counts)).allMatch(count -> count > 9_000 && count < 11_000);
+    }
+
+    @Test
+    void 샤드를_하나_늘려도_대부분의_사용자는_기존_샤드에_남는다() {
+        QueueShards before = new QueueShards(8, 800);
+        QueueShards after = new QueueShards(9, 900);
+
+        long moved = IntStream.range(0, 90_000)
+                .mapToObj(String::valueOf)
+                .filter(userId -> before.shardOf(userId) != after.shardOf(userId))
+                .count();
+
+        // 이상적으로 1/9(약 10,000명)만 새 샤드로 이동한다
+        assertThat(moved).isBetween(8_000L, 12_000L);
+    }
+
+    @Test
+    void 허용치가_샤드_수보다_작으면_생성할_수_없다() {
+        assertThatThrownBy(() -> new QueueShards(4, 3))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
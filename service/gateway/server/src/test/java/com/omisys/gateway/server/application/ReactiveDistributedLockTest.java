@@ -0,0 +1,136 @@
+package com.omisys.gateway.server.application;
+
+import com.omisys.gateway.server.infrastructure.exception.GatewayErrorCode;
+import com.omisys.gateway.server.infrastructure.exception.GatewayException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.redisson.api.RAtomicLongReactive;
+import org.redisson.api.RLockReactive;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.RedissonReactiveClient;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ReactiveDistributedLockTest {
+
+    private static final String LOCK_NAME = "lock:preorder:1";
+    private static final Duration WAIT = Duration.ofMillis(500);
+    private static final Duration LEASE = Duration.ofMillis(200);
+
+    private RLockReactive lock;
+    private RAtomicLongReactive fencingCounter;
+    private SimpleMeterRegistry meterRegistry;
+    private ReactiveDistributedLock distributedLock;
+
+    @BeforeEach
+    void setUp() {
+        RedissonClient redissonClient = mock(RedissonClient.class);
+        RedissonReactiveClient reactiveClient = mock(RedissonReactiveClient.class);
+        lock = mock(RLockReactive.class);
+        fencingCounter = mock(RAtomicLongReactive.class);
+        when(redissonClient.reactive()).thenReturn(reactiveClient);
+        when(reactiveClient.getLock(LOCK_NAME)).thenReturn(lock);
+        when(reactiveClient.getAtomicLong(LOCK_NAME + ":fencing")).thenReturn(fencingCounter);
+        when(lock.unlock(anyLong())).thenReturn(Mono.empty());
+
+        meterRegistry = new SimpleMeterRegistry();
+        distributedLock = new ReactiveDistributedLock(redissonClient, meterRegistry, 1000);
+    }
+
+    @Test
+    void 락을_얻으면_펜싱_토큰으로_로직을_실행하고_같은_소유자_id로_해제한다() {
+        when(lock.tryLock(eq(500L), eq(200L), eq(TimeUnit.MILLISECONDS), anyLong())).thenReturn(Mono.just(true));
+        when(fencingCounter.incrementAndGet()).thenReturn(Mono.just(42L));
+
+        StepVerifier.create(distributedLock.execute(LOCK_NAME, WAIT, LEASE, token -> Mono.just("token-" + token)))
+                .expectNext("token-42")
+                .verifyComplete();
+
+        ArgumentCaptor<Long> ownerId = ArgumentCaptor.forClass(Long.class);
+        verify(lock).tryLock(eq(500L), eq(200L), eq(TimeUnit.MILLISECONDS), ownerId.capture());
+        verify(lock).unlock(ownerId.getValue());
+        assertThat(meterRegistry.get("gateway.lock.wait").tag("result", "acquired").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("gateway.lock.hold").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void 대기_시간_안에_락을_얻지_못하면_로직을_실행하지_않고_LOCK_ACQUISITION_FAILED를_반환한다() {
+        when(lock.tryLock(anyLong(), anyLong(), any(TimeUnit.class), anyLong())).thenReturn(Mono.just(false));
+
+        StepVerifier.create(distributedLock.execute(LOCK_NAME, WAIT, LEASE,
+                        token -> Mono.error(new AssertionError("로직이 실행되면 안 됩니다."))))
+                .expectErrorSatisfies(error -> assertThat(error)
+                        .isInstanceOf(GatewayException.class)
+                        .hasMessage(GatewayErrorCode.LOCK_ACQUISITION_FAILED.getStatus().name()))
+                .verify();
+
+        verify(lock, never()).unlock(anyLong());
+        verifyNoInteractions(fencingCounter);
+        assertThat(meterRegistry.get("gateway.lock.wait").tag("result", "rejected").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void 로직이_실패해도_락은_해제된다() {
+        when(lock.tryLock(anyLong(), anyLong(), any(TimeUnit.class), anyLong())).thenReturn(Mono.just(true));
+        when(fencingCounter.incrementAndGet()).thenReturn(Mono.just(1L));
+
+        StepVerifier.create(distributedLock.execute(LOCK_NAME, WAIT, LEASE,
+                        token -> Mono.error(new IllegalStateException("boom"))))
+                .expectError(IllegalStateException.class)
+                .verify();
+
+        verify(lock).unlock(anyLong());
+    }
+
+    @Test
+    void 로직이_임대_시간을_넘기면_GATEWAY_TIMEOUT으로_끝내고_락을_해제한다() {
+        when(lock.tryLock(anyLong(), anyLong(), any(TimeUnit.class), anyLong())).thenReturn(Mono.just(true));
+        when(fencingCounter.incrementAndGet()).thenReturn(Mono.just(1L));
+
+        StepVerifier.create(distributedLock.execute(LOCK_NAME, WAIT, LEASE, token -> Mono.never()))
+                .expectErrorSatisfies(error -> assertThat(error)
+                        .isInstanceOf(GatewayException.class)
+                        .hasMessage(GatewayErrorCode.GATEWAY_TIMEOUT.getStatus().name()))
+                .verify(Duration.ofSeconds(5));
+
+        verify(lock).unlock(anyLong());
+        assertThat(meterRegistry.get("gateway.lock.lease.exceeded").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void 락_해제가_실패해도_로직_결과는_그대로_전달된다() {
+        when(lock.tryLock(anyLong(), anyLong(), any(TimeUnit.class), anyLong())).thenReturn(Mono.just(true));
+        when(fencingCounter.incrementAndGet()).thenReturn(Mono.just(7L));
+        when(lock.unlock(anyLong())).thenReturn(Mono.error(new IllegalMonitorStateException("lease expired")));
+
+        StepVerifier.create(distributedLock.execute(LOCK_NAME, WAIT, LEASE, Mono::just))
+                .expectNext(7L)
+                .verifyComplete();
+
+        assertThat(meterRegistry.get("gateway.lock.release.failed").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void 동시_획득마다_서로_다른_소유자_id를_사용한다() {
+        when(lock.tryLock(anyLong(), anyLong(), any(TimeUnit.class), anyLong())).thenReturn(Mono.just(true));
+        when(fencingCounter.incrementAndGet()).thenReturn(Mono.just(1L), Mono.just(2L));
+
+        distributedLock.execute(LOCK_NAME, WAIT, LEASE, Mono::just).block();
+        distributedLock.execute(LOCK_NAME, WAIT, LEASE, Mono::just).block();
+
+        ArgumentCaptor<Long> ownerIds = ArgumentCaptor.forClass(Long.class);
+        verify(lock, times(2)).tryLock(anyLong(), anyLong(), any(TimeUnit.class), ownerIds.capture());
+        assertThat(ownerIds.getAllValues()).doesNotHaveDuplicates();
+    }
+}
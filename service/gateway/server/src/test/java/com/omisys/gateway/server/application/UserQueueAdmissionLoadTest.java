@@ -0,0 +1,110 @@
+package com.omisys.gateway.server.application;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 대기열 입장 경로 부하 테스트 하네스.
+ *
+ * <p>기존 다중 왕복 체인(ZRANK → SCARD → ZADD/SADD 또는 ZSCORE → ZADD → ZRANK)과
+ * REGISTER_USER_SCRIPT 1회 호출 경로의 지연 분포(p50/p99)를 같은 Redis에서 비교한다.
+ * 기존 체인에는 분산락 비용을 포함하지 않았으므로 실제 차이는 출력값보다 크다.</p>
+ *
+ * <p>실행: {@code QUEUE_LOADTEST_REDIS_HOST=localhost ./gradlew :service:gateway:server:test
+ * --tests '*UserQueueAdmissionLoadTest'}</p>
+ */
+@EnabledIfEnvironmentVariable(named = "QUEUE_LOADTEST_REDIS_HOST", matches = ".+")
+class UserQueueAdmissionLoadTest {
+
+    private static final int REQUESTS = 20_000;
+    private static final int CONCURRENCY = 256;
+    private static final long MAX_ACTIVE_USERS = 1_000;
+
+    private static final String WAIT_KEY = "users:queue:wait:{0}";
+    private static final String PROCEED_KEY = "users:queue:proceed:{0}";
+    private static final String ACTIVE_KEY = "users:active:{0}";
+
+    private LettuceConnectionFactory connectionFactory;
+    private ReactiveStringRedisTemplate redisTemplate;
+    private UserQueueService userQueueService;
+
+    @BeforeEach
+    void setUp() {
+        String host = System.getenv("QUEUE_LOADTEST_REDIS_HOST");
+        int port = Integer.parseInt(System.getenv().getOrDefault("QUEUE_LOADTEST_REDIS_PORT", "6379"));
+        connectionFactory = new LettuceConnectionFactory(host, port);
+        connectionFactory.afterPropertiesSet();
+        redisTemplate = new ReactiveStringRedisTemplate(connectionFactory);
+        userQueueService = new UserQueueService(redisTemplate, MAX_ACTIVE_USERS, 1, 5000L);
+        clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        clear();
+        connectionFactory.destroy();
+    }
+
+    @Test
+    void 스크립트_입장경로와_기존_체인의_p99를_비교한다() {
+        long[] legacy = measure(this::legacyRegister);
+        clear();
+        long[] script = measure(userId -> userQueueService.registerUser(userId).map(r -> (long) r.getRank()));
+
+        System.out.printf("[queue-loadtest] legacy chain p50=%dus p99=%dus%n",
+                percentile(legacy, 50), percentile(legacy, 99));
+        System.out.printf("[queue-loadtest] lua script   p50=%dus p99=%dus%n",
+                percentile(script, 50), percentile(script, 99));
+
+        assertThat(redisTemplate.opsForSet().size(ACTIVE_KEY).block()).isEqualTo(MAX_ACTIVE_USERS);
+    }
+
+    private long[] measure(Function<String, Mono<Long>> register) {
+        long[] latencies = new long[REQUESTS];
+        Flux.range(0, REQUESTS)
+                .flatMap(i -> {
+                    long start = System.nanoTime();
+                    return register.apply("user-" + (i % (REQUESTS / 2)))
+                            .doOnNext(rank -> latencies[i] = (System.nanoTime() - start) / 1_000);
+                }, CONCURRENCY)
+                .blockLast();
+        return latencies;
+    }
+
+    private Mono<Long> legacyRegister(String userId) {
+        long now = Instant.now().getEpochSecond();
+        return redisTemplate.opsForZSet().rank(PROCEED_KEY, userId)
+                .flatMap(rank -> redisTemplate.opsForZSet().add(PROCEED_KEY, userId, now).thenReturn(0L))
+                .switchIfEmpty(Mono.defer(() -> redisTemplate.opsForSet().size(ACTIVE_KEY)
+                        .flatMap(active -> active < MAX_ACTIVE_USERS
+                                ? redisTemplate.opsForZSet().add(PROCEED_KEY, userId, now)
+                                        .then(redisTemplate.opsForSet().add(ACTIVE_KEY, userId))
+                                        .thenReturn(0L)
+                                : redisTemplate.opsForZSet().score(WAIT_KEY, userId)
+                                        .then(redisTemplate.opsForZSet().add(WAIT_KEY, userId, now))
+                                        .then(redisTemplate.opsForZSet().rank(WAIT_KEY, userId))
+                                        .map(rank -> rank + 1))));
+    }
+
+    private long percentile(long[] latencies, int percentile) {
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        return sorted[Math.min(sorted.length - 1, sorted.length * percentile / 100)];
+    }
+
+    private void clear() {
+        redisTemplate.delete(WAIT_KEY, PROCEED_KEY, ACTIVE_KEY).block();
+    }
+}
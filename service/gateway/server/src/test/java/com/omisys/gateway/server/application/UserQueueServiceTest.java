@@ -0,0 +1,176 @@
+package com.omisys.gateway.server.application;
+
+import com.omisys.gateway.server.application.dto.RegisterUserResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import org.springframework.data.redis.core.ReactiveZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class UserQueueServiceTest {
+
+    private ReactiveRedisTemplate<String, String> reactiveRedisTemplate;
+    private UserQueueService userQueueService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        reactiveRedisTemplate = mock(ReactiveRedisTemplate.class);
+        userQueueService = new UserQueueService(reactiveRedisTemplate, 100L, 1, 5000L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void registerUser는_입장_스크립트를_한번만_호출한다() {
+        when(reactiveRedisTemplate.execute(any(RedisScript.class), anyList(), anyList()))
+                .thenReturn(Flux.just(0L));
+
+        RegisterUserResponse response = userQueueService.registerUser("1").block();
+
+        assertThat(response.getRank()).isZero();
+
+        ArgumentCaptor<List<String>> keys = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<List<String>> args = ArgumentCaptor.forClass(List.class);
+        verify(reactiveRedisTemplate, times(1)).execute(any(RedisScript.class), keys.capture(), args.capture());
+        verifyNoMoreInteractions(reactiveRedisTemplate);
+
+        assertThat(keys.getValue()).containsExactly("users:queue:wait:{0}", "users:queue:proceed:{0}", "users:active:{0}");
+        assertThat(args.getValue().get(0)).isEqualTo("1");
+        assertThat(args.getValue().get(2)).isEqualTo("100");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void registerUser는_스크립트가_반환한_대기순번을_그대로_응답한다() {
+        when(reactiveRedisTemplate.execute(any(RedisScript.class), anyList(), anyList()))
+                .thenReturn(Flux.just(7L));
+
+        RegisterUserResponse response = userQueueService.registerUser("1").block();
+
+        assertThat(response.getRank()).isEqualTo(7);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void 샤드가_여러개면_사용자_샤드의_키와_샤드_허용치로_스크립트를_호출한다() {
+        UserQueueService sharded = new UserQueueService(reactiveRedisTemplate, 10L, 4, 5000L);
+        QueueShards shards = new QueueShards(4, 10L);
+        int shard = shards.shardOf("42");
+        when(reactiveRedisTemplate.execute(any(RedisScript.class), anyList(), anyList()))
+                .thenReturn(Flux.just(0L));
+
+        sharded.registerUser("42").block();
+
+        ArgumentCaptor<List<String>> keys = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<List<String>> args = ArgumentCaptor.forClass(List.class);
+        verify(reactiveRedisTemplate).execute(any(RedisScript.class), keys.capture(), args.capture());
+
+        assertThat(keys.getValue()).containsExactly(
+                shards.waitKey(shard), shards.proceedKey(shard), shards.activeKey(shard));
+        assertThat(keys.getValue()).allMatch(key -> key.endsWith("{" + shard + "}"));
+        assertThat(args.getValue().get(2)).isEqualTo(String.valueOf(shards.budget(shard)));
+    }
+
+    @Test
+    void 전역순번은_샤드내_순번에_다른_샤드의_앞선_대기자를_더한다() {
+        UserQueueService sharded = new UserQueueService(reactiveRedisTemplate, 40L, 4, 5000L);
+        AtomicLongArray waitSizes = (AtomicLongArray) ReflectionTestUtils.getField(sharded, "shardWaitSizes");
+        waitSizes.set(0, 100);
+        waitSizes.set(1, 2);
+        waitSizes.set(2, 0);
+        waitSizes.set(3, 100);
+
+        // 샤드 0의 5번째 대기자: 자기 샤드 5 + 샤드1 min(2, 4) + 샤드2 min(0, 4) + 샤드3 min(100, 4)
+        assertThat(sharded.toGlobalRank(0, 5)).isEqualTo(11);
+        assertThat(sharded.toGlobalRank(0, 0)).isZero();
+        assertThat(sharded.toGlobalRank(0, 1)).isEqualTo(1);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void getRank는_대기하지_않는_사용자에게_마이너스1을_반환한다() {
+        ReactiveZSetOperations<String, String> zSetOperations = mock(ReactiveZSetOperations.class);
+        when(reactiveRedisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(zSetOperations.rank(anyString(), any())).thenReturn(Mono.empty());
+
+        assertThat(userQueueService.getRank("1").block()).isEqualTo(-1L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void releaseUser는_반납_스크립트를_호출하고_승격이_있으면_승격_이벤트를_발행한다() {
+        when(reactiveRedisTemplate.execute(any(RedisScript.class), anyList(), anyList()))
+                .thenReturn(Flux.just(1L));
+        when(reactiveRedisTemplate.convertAndSend("users:queue:admission", "0:1")).thenReturn(Mono.just(1L));
+
+        Long promoted = userQueueService.releaseUser("1").block();
+
+        assertThat(promoted).isEqualTo(1L);
+        ArgumentCaptor<List<String>> args = ArgumentCaptor.forClass(List.class);
+        verify(reactiveRedisTemplate).execute(any(RedisScript.class), anyList(), args.capture());
+        assertThat(args.getValue().get(0)).isEqualTo("100");
+        assertThat(args.getValue().get(2)).isEqualTo("1");
+        verify(reactiveRedisTemplate).convertAndSend("users:queue:admission", "0:1");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void releaseUser는_승격이_없으면_승격_이벤트를_발행하지_않는다() {
+        when(reactiveRedisTemplate.execute(any(RedisScript.class), anyList(), anyList()))
+                .thenReturn(Flux.just(0L));
+
+        assertThat(userQueueService.releaseUser("1").block()).isZero();
+
+        verify(reactiveRedisTemplate, never()).convertAndSend(anyString(), anyString());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void 정리_리스를_얻지_못하면_정리_스크립트를_실행하지_않는다() {
+        ReactiveValueOperations<String, String> valueOperations = mock(ReactiveValueOperations.class);
+        when(reactiveRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(eq("users:queue:sweep:lease"), anyString(), any(Duration.class)))
+                .thenReturn(Mono.just(false));
+
+        userQueueService.scheduleAllUser();
+
+        verify(reactiveRedisTemplate, never()).execute(any(RedisScript.class), anyList(), anyList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void 정리_리스를_얻으면_샤드마다_만료_승격_스크립트를_실행한다() {
+        UserQueueService sharded = new UserQueueService(reactiveRedisTemplate, 40L, 4, 5000L);
+        ReactiveValueOperations<String, String> valueOperations = mock(ReactiveValueOperations.class);
+        when(reactiveRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(eq("users:queue:sweep:lease"), anyString(), eq(Duration.ofMillis(4500))))
+                .thenReturn(Mono.just(true));
+        when(reactiveRedisTemplate.execute(any(RedisScript.class), anyList(), anyList()))
+                .thenReturn(Flux.just(0L));
+
+        sharded.scheduleAllUser();
+
+        ArgumentCaptor<List<String>> keys = ArgumentCaptor.forClass(List.class);
+        verify(reactiveRedisTemplate, times(4)).execute(any(RedisScript.class), keys.capture(), anyList());
+        assertThat(keys.getAllValues()).extracting(shardKeys -> shardKeys.get(1))
+                .containsExactlyInAnyOrder(
+                        "users:queue:proceed:{0}", "users:queue:proceed:{1}",
+                        "users:queue:proceed:{2}", "users:queue:proceed:{3}");
+    }
+}
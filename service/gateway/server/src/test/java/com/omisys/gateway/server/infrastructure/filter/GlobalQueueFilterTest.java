@@ -1,11 +1,12 @@
 package com.omisys.gateway.server.infrastructure.filter;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.omisys.auth.server.auth_dto.jwt.JwtClaim;
+import com.omisys.gateway.server.application.AdmissionRateEstimator;
 import com.omisys.gateway.server.application.UserQueueService;
 import com.omisys.gateway.server.application.dto.RegisterUserResponse;
 import com.omisys.gateway.server.infrastructure.exception.GatewayErrorCode;
 import com.omisys.gateway.server.infrastructure.exception.GatewayException;
+import com.omisys.gateway.server.infrastructure.properties.PathPolicyProperties;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -14,24 +15,22 @@ import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
 import org.springframework.mock.web.server.MockServerWebExchange;
 import reactor.core.publisher.Mono;
 
-import java.net.URLEncoder;
-import java.nio.charset.StandardCharsets;
-
-import static com.omisys.common.domain.jwt.JwtGlobalConstant.X_USER_CLAIMS;
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 class GlobalQueueFilterTest {
 
     private UserQueueService userQueueService;
-    private ObjectMapper objectMapper;
+    private AdmissionRateEstimator admissionRateEstimator;
     private GlobalQueueFilter filter;
 
     @BeforeEach
     void setUp() {
         userQueueService = Mockito.mock(UserQueueService.class);
-        objectMapper = new ObjectMapper();
-        filter = new GlobalQueueFilter(userQueueService, objectMapper);
+        admissionRateEstimator = Mockito.mock(AdmissionRateEstimator.class);
+        when(admissionRateEstimator.estimateWaitSeconds(anyLong())).thenReturn(AdmissionRateEstimator.UNKNOWN);
+        filter = new GlobalQueueFilter(userQueueService, admissionRateEstimator,
+                new PathPolicyTable(new PathPolicyProperties()));
     }
 
     @Test
@@ -48,7 +47,20 @@ class GlobalQueueFilterTest {
     }
 
     @Test
-    void protectedPath인데_X_USER_CLAIMS없으면_UNAUTHORIZED예외() {
+    void oauth2_로그인_경로도_publicPath로_queue를_거치지않는다() {
+        var request = MockServerHttpRequest.get("/login/oauth2/code/google").build();
+        var exchange = MockServerWebExchange.from(request);
+
+        var chain = new CapturingGatewayFilterChain(null);
+
+        filter.filter(exchange, chain).block();
+
+        assertThat(chain.isCalled()).isTrue();
+        verifyNoInteractions(userQueueService);
+    }
+
+    @Test
+    void protectedPath인데_인증클레임_속성이_없으면_UNAUTHORIZED예외() {
         var request = MockServerHttpRequest.get("/api/orders").build();
         var exchange = MockServerWebExchange.from(request);
 
@@ -67,8 +79,8 @@ class GlobalQueueFilterTest {
     }
 
     @Test
-    void isAllowed_true면_chain통과() throws Exception {
-        when(userQueueService.isAllowed("1")).thenReturn(Mono.just(true));
+    void registerUser_rank0이면_chain통과() throws Exception {
+        when(userQueueService.registerUser("1")).thenReturn(Mono.just(new RegisterUserResponse(0L)));
 
         var exchange = exchangeWithClaimsUserId(1L);
         var chain = new CapturingGatewayFilterChain(null);
@@ -76,59 +88,45 @@ class GlobalQueueFilterTest {
         filter.filter(exchange, chain).block();
 
         assertThat(chain.isCalled()).isTrue();
-        verify(userQueueService, times(1)).isAllowed("1");
-        verify(userQueueService, never()).registerUser(anyString());
+        assertThat(exchange.getResponse().getHeaders().getFirst("X-Queue-Rank")).isNull();
+        verify(userQueueService, times(1)).registerUser("1");
     }
 
     @Test
-    void isAllowed_false이고_registerUser_rank0이면_chain통과() throws Exception {
-        when(userQueueService.isAllowed("1")).thenReturn(Mono.just(false));
-
-        // registerUser 응답 타입은 프로젝트 타입에 맞춰서 바꿔야 함.
-        // 아래는 예시: QueueRegisterResponse { long rank; }
-        var response = new RegisterUserResponse(0L);
-        when(userQueueService.registerUser("1")).thenReturn(Mono.just(response));
+    void registerUser_rank양수면_200과_X_Queue_Rank를_응답하고_chain미호출() throws Exception {
+        when(userQueueService.registerUser("1")).thenReturn(Mono.just(new RegisterUserResponse(5L)));
 
         var exchange = exchangeWithClaimsUserId(1L);
         var chain = new CapturingGatewayFilterChain(null);
 
         filter.filter(exchange, chain).block();
 
-        assertThat(chain.isCalled()).isTrue();
-        verify(userQueueService).isAllowed("1");
-        verify(userQueueService).registerUser("1");
+        assertThat(chain.isCalled()).isFalse();
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(exchange.getResponse().getHeaders().getFirst("X-Queue-Rank")).isEqualTo("5");
+        assertThat(exchange.getResponse().getHeaders().getFirst("X-Queue-ETA")).isNull();
+
+        verify(userQueueService, times(1)).registerUser("1");
     }
 
     @Test
-    void isAllowed_false이고_registerUser_rank양수면_200과_X_Queue_Rank를_응답하고_chain미호출() throws Exception {
-        when(userQueueService.isAllowed("1")).thenReturn(Mono.just(false));
-
-        var response = new RegisterUserResponse(5L);
-        when(userQueueService.registerUser("1")).thenReturn(Mono.just(response));
+    void 처리량이_측정되면_X_Queue_ETA를_함께_응답한다() throws Exception {
+        when(userQueueService.registerUser("1")).thenReturn(Mono.just(new RegisterUserResponse(5L)));
+        when(admissionRateEstimator.estimateWaitSeconds(5L)).thenReturn(3L);
 
         var exchange = exchangeWithClaimsUserId(1L);
         var chain = new CapturingGatewayFilterChain(null);
 
         filter.filter(exchange, chain).block();
 
-        assertThat(chain.isCalled()).isFalse();
-        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
-        assertThat(exchange.getResponse().getHeaders().getFirst("X-Queue-Rank")).isEqualTo("5");
-
-        verify(userQueueService).isAllowed("1");
-        verify(userQueueService).registerUser("1");
+        assertThat(exchange.getResponse().getHeaders().getFirst("X-Queue-ETA")).isEqualTo("3");
     }
 
-    private MockServerWebExchange exchangeWithClaimsUserId(Long userId) throws Exception {
-        JwtClaim claim = new JwtClaim(userId, "u", "ROLE_USER");
-        String json = objectMapper.writeValueAsString(claim);
-        String encoded = URLEncoder.encode(json, StandardCharsets.UTF_8);
-
-        var request = MockServerHttpRequest.get("/api/orders")
-                .header(X_USER_CLAIMS, encoded)
-                .build();
-
-        return MockServerWebExchange.from(request);
+    private MockServerWebExchange exchangeWithClaimsUserId(Long userId) {
+        var request = MockServerHttpRequest.get("/api/orders").build();
+        var exchange = MockServerWebExchange.from(request);
+        exchange.getAttributes().put(GatewayExchangeAttribute.USER_CLAIMS, new JwtClaim(userId, "u", "ROLE_USER"));
+        return exchange;
     }
 
 }
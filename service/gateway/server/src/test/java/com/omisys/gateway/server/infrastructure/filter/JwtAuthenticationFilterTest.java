@@ -1,9 +1,13 @@
 package com.omisys.gateway.server.infrastructure.filter;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.omisys.auth.server.auth_dto.jwt.JwtClaim;
+import com.omisys.common.domain.jwt.UserClaims;
+import com.omisys.common.domain.jwt.UserClaimsCodec;
 import com.omisys.gateway.server.application.AuthService;
+import com.omisys.gateway.server.application.JwtVerificationService;
+import com.omisys.gateway.server.infrastructure.properties.PathPolicyProperties;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -11,8 +15,10 @@ import org.springframework.http.HttpStatus;
 import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
 import org.springframework.mock.web.server.MockServerWebExchange;
 
-import java.net.URLDecoder;
+import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Map;
 
 import static com.omisys.common.domain.jwt.JwtGlobalConstant.AUTHORIZATION;
 import static com.omisys.common.domain.jwt.JwtGlobalConstant.BEARER_PREFIX;
@@ -22,15 +28,17 @@ import static org.mockito.Mockito.*;
 
 class JwtAuthenticationFilterTest {
 
+    private static final String SECRET = "gateway-test-secret-key-must-be-32-bytes!";
+
     private AuthService authService;
-    private ObjectMapper objectMapper;
     private JwtAuthenticationFilter filter;
 
     @BeforeEach
     void setUp() {
         authService = Mockito.mock(AuthService.class);
-        objectMapper = new ObjectMapper();
-        filter = new JwtAuthenticationFilter(authService, objectMapper);
+        JwtVerificationService jwtVerificationService =
+                new JwtVerificationService(authService, new SimpleMeterRegistry(), SECRET, 1000, 30);
+        filter = new JwtAuthenticationFilter(jwtVerificationService, new PathPolicyTable(new PathPolicyProperties()));
     }
 
     @Test
@@ -65,9 +73,7 @@ class JwtAuthenticationFilterTest {
     }
 
     @Test
-    void protectedPath_토큰검증실패면_401이고_chain호출되지않음() {
-        when(authService.verifyToken("invalid")).thenThrow(new RuntimeException("boom"));
-
+    void protectedPath_형식이_잘못된_토큰이면_원격검증없이_401() {
         var request = MockServerHttpRequest.get("/api/orders")
                 .header(AUTHORIZATION, BEARER_PREFIX + "invalid")
                 .build();
@@ -79,16 +85,32 @@ class JwtAuthenticationFilterTest {
 
         assertThat(chain.isCalled()).isFalse();
         assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
-        verify(authService, times(1)).verifyToken("invalid");
+        verifyNoInteractions(authService);
     }
 
     @Test
-    void protectedPath_유효토큰이면_chain호출되고_X_USER_CLAIMS가_추가된다() throws Exception {
-        JwtClaim claim = new JwtClaim(1L, "chanhoan", "ROLE_USER");
-        when(authService.verifyToken("valid")).thenReturn(claim);
+    void protectedPath_다른키로_서명된_토큰은_원격검증으로_폴백하고_실패하면_401() {
+        String foreignToken = token("another-secret-key-that-is-also-32-bytes!!", 1L);
+        when(authService.verifyToken(foreignToken)).thenThrow(new RuntimeException("boom"));
+
+        var request = MockServerHttpRequest.get("/api/orders")
+                .header(AUTHORIZATION, BEARER_PREFIX + foreignToken)
+                .build();
+        var exchange = MockServerWebExchange.from(request);
+
+        var chain = new CapturingGatewayFilterChain(null);
+
+        filter.filter(exchange, chain).block();
+
+        assertThat(chain.isCalled()).isFalse();
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        verify(authService, times(1)).verifyToken(foreignToken);
+    }
 
+    @Test
+    void protectedPath_유효토큰이면_chain호출되고_X_USER_CLAIMS와_exchange속성이_추가된다() {
         var request = MockServerHttpRequest.get("/api/orders")
-                .header(AUTHORIZATION, BEARER_PREFIX + "valid")
+                .header(AUTHORIZATION, BEARER_PREFIX + token(SECRET, 1L))
                 .build();
         var exchange = MockServerWebExchange.from(request);
 
@@ -96,17 +118,11 @@ class JwtAuthenticationFilterTest {
             String encoded = ex.getRequest().getHeaders().getFirst(X_USER_CLAIMS);
             assertThat(encoded).isNotBlank();
 
-            String decoded = URLDecoder.decode(encoded, StandardCharsets.UTF_8);
-            JwtClaim parsed = null;
-            try {
-                parsed = objectMapper.readValue(decoded, JwtClaim.class);
-            } catch (JsonProcessingException e) {
-                throw new RuntimeException(e);
-            }
-
-            assertThat(parsed.getUserId()).isEqualTo(1L);
-            assertThat(parsed.getUsername()).isEqualTo("chanhoan");
-            assertThat(parsed.getRole()).isEqualTo("ROLE_USER");
+            UserClaims parsed = UserClaimsCodec.decode(encoded);
+            assertThat(parsed).isEqualTo(new UserClaims(1L, "chanhoan", "ROLE_USER"));
+
+            JwtClaim attribute = ex.getAttribute(GatewayExchangeAttribute.USER_CLAIMS);
+            assertThat(attribute.getUserId()).isEqualTo(1L);
         });
 
         filter.filter(exchange, chain).block();
@@ -115,6 +131,14 @@ class JwtAuthenticationFilterTest {
         // 성공 케이스에서 응답 status를 직접 세팅하지 않음
         assertThat(exchange.getResponse().getStatusCode()).isNull();
 
-        verify(authService, times(1)).verifyToken("valid");
+        verifyNoInteractions(authService);
+    }
+
+    private String token(String secret, Long userId) {
+        return Jwts.builder()
+                .claims(Map.of("USER_ID", userId, "USER_NAME", "chanhoan", "USER_ROLE", "ROLE_USER"))
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"))
+                .compact();
     }
 }
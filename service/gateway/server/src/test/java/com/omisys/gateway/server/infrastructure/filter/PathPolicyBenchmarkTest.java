@@ -0,0 +1,109 @@
+package com.omisys.gateway.server.infrastructure.filter;
+
+import com.omisys.gateway.server.infrastructure.properties.PathPolicyProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 경로 분류 마이크로벤치마크 하네스.
+ *
+ * <p>기존 필터별 검사(InternalPathBlockFilter startsWith → JwtAuthenticationFilter stream().anyMatch →
+ * GlobalQueueFilter startsWith 체인)를 요청마다 모두 수행하는 비용과 PathPolicyTable 1회 분류 비용을 비교한다.
+ * JMH 의존성이 없으므로 워밍업 후 반복 측정하는 방식으로 대신한다.</p>
+ *
+ * <p>실행: {@code GATEWAY_BENCHMARK=true ./gradlew :service:gateway:server:test --tests '*PathPolicyBenchmarkTest'}</p>
+ */
+@EnabledIfEnvironmentVariable(named = "GATEWAY_BENCHMARK", matches = "true")
+class PathPolicyBenchmarkTest {
+
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURE_ROUNDS = 10;
+    private static final int ITERATIONS = 1_000_000;
+
+    private static final String[] PATHS = {
+            "/api/orders/123",
+            "/api/products/search?keyword=shoes",
+            "/api/auth/sign-in",
+            "/api/preorder/42/reserve",
+            "/internal/users/1",
+            "/api/categories/search",
+            "/api/carts",
+            "/api/reviews/products/9",
+    };
+
+    private static final List<String> LEGACY_JWT_PUBLIC_PATHS = List.of(
+            "/api/auth/",
+            "/oauth2/",
+            "/login/oauth2/",
+            "/api/users/sign-up",
+            "/api/search",
+            "/api/products/search",
+            "/api/preorder/search",
+            "/api/categories/search"
+    );
+
+    private final PathPolicyTable table = new PathPolicyTable(new PathPolicyProperties());
+
+    @Test
+    void 경로_정책_테이블과_기존_필터별_검사를_비교한다() {
+        long legacyNanos = measure(this::legacyClassify);
+        long tableNanos = measure(path -> table.classify(path).ordinal());
+
+        System.out.printf("[path-policy-bench] legacy per-filter checks: %.1f ns/op%n", (double) legacyNanos / ITERATIONS);
+        System.out.printf("[path-policy-bench] path policy table       : %.1f ns/op%n", (double) tableNanos / ITERATIONS);
+
+        for (String path : PATHS) {
+            assertThat(table.classify(path).ordinal()).isEqualTo(legacyClassify(path));
+        }
+    }
+
+    private long measure(PathClassifier classifier) {
+        long blackhole = 0;
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            blackhole += run(classifier);
+        }
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < MEASURE_ROUNDS; round++) {
+            long start = System.nanoTime();
+            blackhole += run(classifier);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        assertThat(blackhole).isNotNegative();
+        return best;
+    }
+
+    private long run(PathClassifier classifier) {
+        long sum = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            sum += classifier.classify(PATHS[i & (PATHS.length - 1)]);
+        }
+        return sum;
+    }
+
+    /** 기존 세 필터가 요청마다 수행하던 경로 검사를 그대로 재현하고, 결과를 PathPolicy ordinal로 환산한다. */
+    private int legacyClassify(String path) {
+        if (path.startsWith("/internal/")) {
+            return PathPolicy.INTERNAL_BLOCKED.ordinal();
+        }
+        boolean jwtPublic = LEGACY_JWT_PUBLIC_PATHS.stream().anyMatch(path::startsWith);
+        boolean queuePublic = path.startsWith("/api/auth/")
+                || path.startsWith("/api/users/sign-up")
+                || path.startsWith("/api/search")
+                || path.startsWith("/api/products/search")
+                || path.startsWith("/api/preorder/search")
+                || path.startsWith("/api/categories/search");
+        if (jwtPublic && queuePublic) {
+            return PathPolicy.PUBLIC.ordinal();
+        }
+        return PathPolicy.QUEUED.ordinal();
+    }
+
+    @FunctionalInterface
+    private interface PathClassifier {
+        int classify(String path);
+    }
+}
@@ -1,5 +1,6 @@
 package com.omisys.gateway.server.infrastructure.filter;
 
+import com.omisys.gateway.server.infrastructure.properties.PathPolicyProperties;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpStatus;
 import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
@@ -7,11 +8,12 @@ import org.springframework.mock.web.server.MockServerWebExchange;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
-class InternalPathBlockFilterTest {
+class PathPolicyFilterTest {
+
+    private final PathPolicyFilter filter = new PathPolicyFilter(new PathPolicyTable(new PathPolicyProperties()));
 
     @Test
     void internalPath_isForbidden_beforeRouting() {
-        InternalPathBlockFilter filter = new InternalPathBlockFilter();
         MockServerWebExchange exchange = MockServerWebExchange.from(
                 MockServerHttpRequest.get("/internal/orders").build());
         CapturingGatewayFilterChain chain = new CapturingGatewayFilterChain(null);
@@ -24,7 +26,6 @@ class InternalPathBlockFilterTest {
 
     @Test
     void apiPath_passes() {
-        InternalPathBlockFilter filter = new InternalPathBlockFilter();
         MockServerWebExchange exchange = MockServerWebExchange.from(
                 MockServerHttpRequest.get("/api/orders").build());
         CapturingGatewayFilterChain chain = new CapturingGatewayFilterChain(null);
@@ -34,4 +35,14 @@ class InternalPathBlockFilterTest {
         assertThat(exchange.getResponse().getStatusCode()).isNull();
         assertThat(chain.isCalled()).isTrue();
     }
+
+    @Test
+    void 분류_결과를_exchange_속성에_저장한다() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.get("/api/search/products").build());
+
+        filter.filter(exchange, new CapturingGatewayFilterChain(null)).block();
+
+        assertThat((PathPolicy) exchange.getAttribute(GatewayExchangeAttribute.PATH_POLICY)).isEqualTo(PathPolicy.PUBLIC);
+    }
 }
@@ -0,0 +1,58 @@
+package com.omisys.gateway.server.infrastructure.filter;
+
+import com.omisys.gateway.server.infrastructure.properties.PathPolicyProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PathPolicyTableTest {
+
+    @Test
+    void 기본_설정은_기존_필터들의_경로_규칙과_같다() {
+        PathPolicyTable table = new PathPolicyTable(new PathPolicyProperties());
+
+        assertThat(table.classify("/api/auth/sign-in")).isEqualTo(PathPolicy.PUBLIC);
+        assertThat(table.classify("/oauth2/authorization/google")).isEqualTo(PathPolicy.PUBLIC);
+        assertThat(table.classify("/api/users/sign-up")).isEqualTo(PathPolicy.PUBLIC);
+        assertThat(table.classify("/api/products/search?keyword=a")).isEqualTo(PathPolicy.PUBLIC);
+        assertThat(table.classify("/internal/users/1")).isEqualTo(PathPolicy.INTERNAL_BLOCKED);
+        assertThat(table.classify("/api/orders")).isEqualTo(PathPolicy.QUEUED);
+        assertThat(table.classify("/api/products/1")).isEqualTo(PathPolicy.QUEUED);
+        assertThat(table.classify("/")).isEqualTo(PathPolicy.QUEUED);
+        assertThat(table.classify("")).isEqualTo(PathPolicy.QUEUED);
+    }
+
+    @Test
+    void 가장_긴_일치_접두사의_정책을_따른다() {
+        PathPolicyProperties properties = new PathPolicyProperties();
+        properties.setUnqueuedPaths(List.of("/api/auth/sign-out"));
+        PathPolicyTable table = new PathPolicyTable(properties);
+
+        assertThat(table.classify("/api/auth/sign-in")).isEqualTo(PathPolicy.PUBLIC);
+        assertThat(table.classify("/api/auth/sign-out")).isEqualTo(PathPolicy.AUTHENTICATED);
+    }
+
+    @Test
+    void 내부_경로_접두사는_더_긴_공개_접두사보다_우선한다() {
+        PathPolicyProperties properties = new PathPolicyProperties();
+        properties.setPublicPaths(List.of("/internal/health"));
+        PathPolicyTable table = new PathPolicyTable(properties);
+
+        assertThat(table.classify("/internal/health")).isEqualTo(PathPolicy.INTERNAL_BLOCKED);
+    }
+
+    @Test
+    void 설정이_갱신되면_다시_컴파일한다() {
+        PathPolicyProperties properties = new PathPolicyProperties();
+        PathPolicyTable table = new PathPolicyTable(properties);
+        assertThat(table.classify("/api/notices")).isEqualTo(PathPolicy.QUEUED);
+
+        properties.setPublicPaths(List.of("/api/notices"));
+        table.reload();
+
+        assertThat(table.classify("/api/notices")).isEqualTo(PathPolicy.PUBLIC);
+        assertThat(table.classify("/api/auth/sign-in")).isEqualTo(PathPolicy.QUEUED);
+    }
+}
@@ -0,0 +1,81 @@
+package com.omisys.gateway.server.infrastructure.filter;
+
+import com.omisys.gateway.server.application.PreOrderSoldOutCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PreOrderSoldOutFilterTest {
+
+    private PreOrderSoldOutCache cache;
+    private PreOrderSoldOutFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        cache = new PreOrderSoldOutCache(new SimpleMeterRegistry());
+        filter = new PreOrderSoldOutFilter(cache, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void 매진된_사전예약의_예약_요청은_라우팅_전에_409로_거절한다() {
+        cache.apply("10:1");
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.post("/api/preorders/10/order").build());
+        CapturingGatewayFilterChain chain = new CapturingGatewayFilterChain(null);
+
+        filter.filter(exchange, chain).block();
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(chain.isCalled()).isFalse();
+    }
+
+    @Test
+    void 매진_해제_메시지를_받으면_다시_통과시킨다() {
+        cache.apply("10:1");
+        cache.apply("10:0");
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.post("/api/preorders/10/order").build());
+        CapturingGatewayFilterChain chain = new CapturingGatewayFilterChain(null);
+
+        filter.filter(exchange, chain).block();
+
+        assertThat(chain.isCalled()).isTrue();
+    }
+
+    @Test
+    void 예약_요청이_아니면_매진이어도_통과시킨다() {
+        cache.load(List.of("10"));
+
+        CapturingGatewayFilterChain getChain = new CapturingGatewayFilterChain(null);
+        filter.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/api/preorders/10").build()), getChain)
+                .block();
+        CapturingGatewayFilterChain otherChain = new CapturingGatewayFilterChain(null);
+        filter.filter(MockServerWebExchange.from(MockServerHttpRequest.post("/api/preorders/11/order").build()),
+                otherChain).block();
+
+        assertThat(getChain.isCalled()).isTrue();
+        assertThat(otherChain.isCalled()).isTrue();
+    }
+
+    @Test
+    void 경로에서_사전예약_ID를_읽는다() {
+        assertThat(PreOrderSoldOutFilter.reservationPreOrderId("/api/preorders/123/order")).isEqualTo(123L);
+        assertThat(PreOrderSoldOutFilter.reservationPreOrderId("/api/preorders//order"))
+                .isEqualTo(PreOrderSoldOutFilter.NOT_RESERVATION);
+        assertThat(PreOrderSoldOutFilter.reservationPreOrderId("/api/preorders/abc/order"))
+                .isEqualTo(PreOrderSoldOutFilter.NOT_RESERVATION);
+        assertThat(PreOrderSoldOutFilter.reservationPreOrderId("/api/preorders/1/2/order"))
+                .isEqualTo(PreOrderSoldOutFilter.NOT_RESERVATION);
+        assertThat(PreOrderSoldOutFilter.reservationPreOrderId("/api/preorders/99999999999999999999/order"))
+                .isEqualTo(PreOrderSoldOutFilter.NOT_RESERVATION);
+        assertThat(PreOrderSoldOutFilter.reservationPreOrderId("/api/preorders"))
+                .isEqualTo(PreOrderSoldOutFilter.NOT_RESERVATION);
+    }
+}
@@ -0,0 +1,164 @@
+package com.omisys.gateway.server.infrastructure.ratelimit;
+
+import com.omisys.gateway.server.infrastructure.ratelimit.LocalFirstRedisRateLimiter.LocalRateLimitSettings;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.ratelimit.RateLimiter.Response;
+import org.springframework.cloud.gateway.filter.ratelimit.RedisRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class LocalFirstRedisRateLimiterTest {
+
+    private static final String ROUTE = "order-service";
+    private static final String KEY = "user:7";
+    private static final long NANOS_PER_SECOND = Duration.ofSeconds(1).toNanos();
+
+    private ReactiveStringRedisTemplate redisTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicLong clock;
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = mock(ReactiveStringRedisTemplate.class);
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new AtomicLong(1_000 * NANOS_PER_SECOND);
+    }
+
+    @Test
+    void Redis가_거절한_키는_리필_전까지_Redis를_호출하지_않고_로컬에서_거절한다() {
+        LocalFirstRedisRateLimiter limiter = limiter(0, 10_000);
+        redisReplies(List.of(0L, 0L));
+
+        Response first = limiter.isAllowed(ROUTE, KEY).block();
+        Response second = limiter.isAllowed(ROUTE, KEY).block();
+        Response third = limiter.isAllowed(ROUTE, KEY).block();
+
+        assertThat(first.isAllowed()).isFalse();
+        assertThat(second.isAllowed()).isFalse();
+        assertThat(third.isAllowed()).isFalse();
+        assertThat(second.getHeaders()).containsEntry(RedisRateLimiter.REMAINING_HEADER, "0");
+        verifyRedisCalls(1);
+        assertThat(meterRegistry.get("gateway.ratelimit.local").tag("decision", "rejected").counter().count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void 리필_시간이_지나면_다시_Redis에_위임한다() {
+        LocalFirstRedisRateLimiter limiter = limiter(0, 10_000);
+        redisReplies(List.of(0L, 0L), List.of(1L, 0L));
+
+        limiter.isAllowed(ROUTE, KEY).block();
+        clock.addAndGet(NANOS_PER_SECOND / 10);
+        Response afterRefill = limiter.isAllowed(ROUTE, KEY).block();
+
+        assertThat(afterRefill.isAllowed()).isTrue();
+        verifyRedisCalls(2);
+    }
+
+    @Test
+    void 로컬에서_거절_중인_키도_reconcile_주기마다_Redis와_다시_맞춘다() {
+        LocalFirstRedisRateLimiter limiter = limiter(0, 50);
+        limiter.getConfig().get(ROUTE).setReplenishRate(1).setBurstCapacity(1);
+        redisReplies(List.of(0L, 0L), List.of(1L, 0L));
+
+        limiter.isAllowed(ROUTE, KEY).block();
+        limiter.isAllowed(ROUTE, KEY).block();
+        clock.addAndGet(Duration.ofMillis(50).toNanos());
+        Response reconciled = limiter.isAllowed(ROUTE, KEY).block();
+
+        assertThat(reconciled.isAllowed()).isTrue();
+        verifyRedisCalls(2);
+    }
+
+    @Test
+    void Redis가_알려준_남은_토큰으로_로컬_버킷을_맞춘다() {
+        LocalFirstRedisRateLimiter limiter = limiter(0, 10_000);
+        redisReplies(List.of(1L, 0L));
+
+        Response allowed = limiter.isAllowed(ROUTE, KEY).block();
+        Response next = limiter.isAllowed(ROUTE, KEY).block();
+
+        assertThat(allowed.isAllowed()).isTrue();
+        assertThat(next.isAllowed()).isFalse();
+        verifyRedisCalls(1);
+    }
+
+    @Test
+    void slack만큼은_로컬_추정이_부족해도_Redis에_위임한다() {
+        LocalFirstRedisRateLimiter limiter = limiter(2, 10_000);
+        redisReplies(List.of(0L, 0L));
+
+        for (int i = 0; i < 5; i++) {
+            limiter.isAllowed(ROUTE, KEY).block();
+        }
+
+        verifyRedisCalls(3);
+    }
+
+    @Test
+    void Redis_오류로_허용된_응답은_로컬_버킷을_바꾸지_않는다() {
+        LocalFirstRedisRateLimiter limiter = limiter(0, 10_000);
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), anyList()))
+                .thenReturn(Flux.error(new IllegalStateException("redis down")));
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.isAllowed(ROUTE, KEY).block().isAllowed()).isTrue();
+        }
+
+        verifyRedisCalls(3);
+    }
+
+    @Test
+    void 로컬_버킷_수는_최대_키_수로_제한된다() {
+        LocalFirstRedisRateLimiter limiter = new LocalFirstRedisRateLimiter(
+                redisTemplate, mock(RedisScript.class), mock(ConfigurationService.class), meterRegistry,
+                new LocalRateLimitSettings(true, 0, Duration.ofSeconds(10), 16, Duration.ofMinutes(1)),
+                clock::get);
+        limiter.getConfig().put(ROUTE, new RedisRateLimiter.Config().setReplenishRate(10).setBurstCapacity(20));
+        redisReplies(List.of(1L, 19L));
+
+        for (int i = 0; i < 1_000; i++) {
+            limiter.isAllowed(ROUTE, "ip:10.0." + (i / 256) + "." + (i % 256)).block();
+        }
+
+        assertThat(limiter.localKeyCount()).isLessThanOrEqualTo(16);
+    }
+
+    private LocalFirstRedisRateLimiter limiter(long slackTokens, long reconcileIntervalMs) {
+        LocalFirstRedisRateLimiter limiter = new LocalFirstRedisRateLimiter(
+                redisTemplate, mock(RedisScript.class), mock(ConfigurationService.class), meterRegistry,
+                new LocalRateLimitSettings(true, slackTokens, Duration.ofMillis(reconcileIntervalMs),
+                        1_000, Duration.ofMinutes(1)),
+                clock::get);
+        limiter.getConfig().put(ROUTE, new RedisRateLimiter.Config().setReplenishRate(10).setBurstCapacity(20));
+        return limiter;
+    }
+
+    /** Redis 스크립트 응답을 순서대로 돌려주고, 마지막 응답은 이후 호출에도 반복한다. */
+    @SafeVarargs
+    @SuppressWarnings("unchecked")
+    private void redisReplies(List<Long>... replies) {
+        AtomicInteger calls = new AtomicInteger();
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), anyList()))
+                .thenAnswer(invocation -> Flux.just(replies[Math.min(calls.getAndIncrement(), replies.length - 1)]));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void verifyRedisCalls(int times) {
+        verify(redisTemplate, times(times)).execute(any(RedisScript.class), anyList(), anyList());
+    }
+}
@@ -3,6 +3,7 @@ package com.omisys.order.server.application.service;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.omisys.common.domain.entity.KafkaTopicConstant;
+import com.omisys.common.domain.entity.QueueSlotReleasePublisher;
 import com.omisys.order.order_dto.dto.NotificationOrderDto;
 import com.omisys.order.server.domain.model.Order;
 import com.omisys.order.server.domain.model.outbox.OutboxEvent;
@@ -25,6 +26,7 @@ public class OrderEventHandler {
     private final ObjectMapper objectMapper;
     private final OrderService orderService;
     private final OutboxEventRepository outboxEventRepository;
+    private final QueueSlotReleasePublisher queueSlotReleasePublisher;
 
     @Transactional
     @KafkaListener(topics = KafkaTopicConstant.PAYMENT_COMPLETED, groupId = "order-service-group")
@@ -40,6 +42,7 @@ public class OrderEventHandler {
                 order.complete();
                 order.setPaymentId(paymentCompletedEvent.getOrderId());
                 saveCompletedOutboxEvent(order, paymentCompletedEvent.getUserId());
+                queueSlotReleasePublisher.release(paymentCompletedEvent.getUserId());
             } else {
                 log.info("===== Payment complete event fail =====");
                 orderService.cancelOrder(paymentCompletedEvent.getUserId(),
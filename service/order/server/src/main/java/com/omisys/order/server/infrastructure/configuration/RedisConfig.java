@@ -1,9 +1,11 @@
 package com.omisys.order.server.infrastructure.configuration;
 
+import com.omisys.common.domain.entity.QueueSlotReleasePublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.GenericToStringSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
@@ -28,4 +30,9 @@ public class RedisConfig {
         return template;
     }
 
+    @Bean
+    public QueueSlotReleasePublisher queueSlotReleasePublisher(StringRedisTemplate redisTemplate) {
+        return new QueueSlotReleasePublisher(redisTemplate);
+    }
+
 }
\ No newline at end of file
@@ -1,15 +1,20 @@
 package com.omisys.order.server.application.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.omisys.common.domain.entity.QueueSlotReleasePublisher;
 import com.omisys.order.server.domain.model.Order;
+import com.omisys.order.server.domain.model.OrderProduct;
 import com.omisys.order.server.exception.OrderException;
 import com.omisys.order.server.infrastructure.event.PaymentCompletedEvent;
+import com.omisys.order.server.infrastructure.repository.OutboxEventRepository;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -17,13 +22,16 @@ import static org.mockito.Mockito.*;
 class OrderEventHandlerTest {
 
     @Mock private OrderService orderService;
+    @Mock private OutboxEventRepository outboxEventRepository;
+    @Mock private QueueSlotReleasePublisher queueSlotReleasePublisher;
+    @Spy private ObjectMapper handlerObjectMapper = new ObjectMapper();
 
     @InjectMocks private OrderEventHandler orderEventHandler;
 
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     @Test
-    @DisplayName("handlePaymentCompleteEvent: success=true면 주문 상태를 COMPLETE로 전이한다")
+    @DisplayName("handlePaymentCompleteEvent: success=true면 주문 상태를 COMPLETE로 전이하고 대기열 슬롯을 반납한다")
     void handlePaymentCompleteEvent_success() throws Exception {
         // given
         PaymentCompletedEvent event = new PaymentCompletedEvent();
@@ -35,12 +43,15 @@ class OrderEventHandlerTest {
 
         Order order = mock(Order.class);
         when(orderService.validateOrderExists(10L)).thenReturn(order);
+        OrderProduct orderProduct = mock(OrderProduct.class);
+        when(order.getOrderProducts()).thenReturn(List.of(orderProduct));
 
         // when
         orderEventHandler.handlePaymentCompleteEvent(json);
 
         // then
         verify(order).complete();
+        verify(queueSlotReleasePublisher).release(1L);
         // 성공 케이스에서는 cancelOrder가 호출되면 안 된다.
         verify(orderService, never()).cancelOrder(anyLong(), anyLong());
     }
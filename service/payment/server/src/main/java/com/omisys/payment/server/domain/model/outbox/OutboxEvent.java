@@ -1,5 +1,6 @@
 package com.omisys.payment.server.domain.model.outbox;
 
+import com.omisys.common.domain.outbox.OutboxRetryPolicy;
 import jakarta.persistence.*;
 import lombok.AccessLevel;
 import lombok.Getter;
@@ -12,15 +13,15 @@ import java.time.LocalDateTime;
 @Table(
     name = "outbox_events",
     indexes = {
-        @Index(name = "idx_outbox_status_retry", columnList = "status, next_retry_at, created_at")
+        @Index(name = "idx_outbox_status_retry", columnList = "status, next_retry_at, created_at"),
+        @Index(name = "idx_outbox_status_published", columnList = "status, published_at")
     }
 )
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class OutboxEvent {
 
-    public static final int MAX_RETRY = 5;
-    private static final long[] BACKOFF_SECONDS = {10, 30, 60, 120, 300};
+    public static final int MAX_RETRY = OutboxRetryPolicy.MAX_RETRY;
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -78,12 +79,11 @@ public class OutboxEvent {
 
     public void markRetryOrFailed() {
         this.retryCount++;
-        if (this.retryCount >= MAX_RETRY) {
+        if (OutboxRetryPolicy.exhausted(this.retryCount)) {
             this.status = OutboxStatus.FAILED;
             this.nextRetryAt = null;
         } else {
-            long backoff = BACKOFF_SECONDS[Math.min(retryCount - 1, BACKOFF_SECONDS.length - 1)];
-            this.nextRetryAt = LocalDateTime.now().plusSeconds(backoff);
+            this.nextRetryAt = OutboxRetryPolicy.nextRetryAt(this.retryCount, LocalDateTime.now());
         }
     }
 }
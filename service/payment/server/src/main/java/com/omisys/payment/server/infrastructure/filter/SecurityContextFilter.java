@@ -1,8 +1,9 @@
 package com.omisys.payment.server.infrastructure.filter;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.omisys.auth.server.auth_dto.jwt.JwtClaim;
+import com.omisys.common.domain.jwt.UserClaims;
+import com.omisys.common.domain.jwt.UserClaimsCodec;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -14,8 +15,6 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.net.URLDecoder;
-import java.nio.charset.StandardCharsets;
 
 import static com.omisys.common.domain.jwt.JwtGlobalConstant.X_USER_CLAIMS;
 
@@ -34,15 +33,14 @@ public class SecurityContextFilter extends OncePerRequestFilter {
 
         if (userClaimsHeader != null) {
             try {
-                String decodedClaims = URLDecoder.decode(userClaimsHeader, StandardCharsets.UTF_8);
-                JwtClaim jwtClaim = objectMapper.readValue(decodedClaims, JwtClaim.class);
+                UserClaims claims = UserClaimsCodec.parse(userClaimsHeader, objectMapper);
+                JwtClaim jwtClaim = JwtClaim.create(claims.userId(), claims.username(), claims.role());
                 SecurityContextHolder.getContext().setAuthentication(JwtAuthentication.create(jwtClaim));
-            } catch (JsonProcessingException e) {
+            } catch (IllegalArgumentException e) {
                 log.error("Failed to parse X-User-Claims header", e);
             }
         }
 
         filterChain.doFilter(request, response);
     }
-
 }
@@ -7,10 +7,10 @@ import com.omisys.order.order_dto.dto.OrderCreateRequest;
 import com.omisys.order.order_dto.dto.OrderProductInfo;
 import com.omisys.product.domain.model.outbox.OutboxEvent;
 import com.omisys.product.domain.repository.jpa.OutboxEventRepository;
+import com.omisys.product.infrastructure.outbox.OutboxBatchWriter;
 import com.omisys.product.infrastructure.utils.PreOrderRedisDto;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -19,26 +19,39 @@ import java.util.List;
 @RequiredArgsConstructor
 public class PreOrderFacadeService {
 
-    private final PreOrderLockService preOrderLockService;
+    private final PreOrderReservationService preOrderReservationService;
     private final OutboxEventRepository outboxEventRepository;
+    private final OutboxBatchWriter outboxBatchWriter;
     private final ObjectMapper objectMapper;
 
     /**
      * 사전예약 처리.
-     * reservation()과 OutboxEvent 저장을 같은 트랜잭션 내에서 원자적으로 수행한다.
+     * Redis 예약에 성공하면 OutboxEvent를 저장하고, 저장에 실패하면 예약을 취소해 자리(와 매진 표시)를 되돌린다.
      * Kafka 발행은 OutboxEventPoller가 별도로 담당한다.
+     *
+     * <p>OutboxBatchWriter가 켜져 있으면 여러 요청의 이벤트를 모아 커밋 한 번으로 저장하고 자기 배치의 커밋을 기다린다.
+     * 이 메서드는 트랜잭션을 열지 않는다. 커밋을 기다리는 동안 DB 커넥션을 잡고 있지 않기 위해서다.</p>
      */
-    @Transactional
     public void preOrder(long preOrderId, long addressId, long userId) {
-        PreOrderRedisDto cachedData = preOrderLockService.reservation(preOrderId, userId);
-        OrderCreateRequest request = toDto(cachedData.productId(), addressId);
-        outboxEventRepository.save(OutboxEvent.pending(
-                "PreOrder",
-                String.valueOf(preOrderId),
-                KafkaTopicConstant.PROCESS_PREORDER,
-                Long.toString(userId),
-                toJson(request)
-        ));
+        PreOrderRedisDto cachedData = preOrderReservationService.reservation(preOrderId, userId);
+        try {
+            OrderCreateRequest request = toDto(cachedData.productId(), addressId);
+            OutboxEvent event = OutboxEvent.pending(
+                    "PreOrder",
+                    String.valueOf(preOrderId),
+                    KafkaTopicConstant.PROCESS_PREORDER,
+                    Long.toString(userId),
+                    toJson(request)
+            );
+            if (outboxBatchWriter.isEnabled()) {
+                outboxBatchWriter.write(event);
+            } else {
+                outboxEventRepository.save(event);
+            }
+        } catch (RuntimeException e) {
+            preOrderReservationService.cancel(preOrderId, userId);
+            throw e;
+        }
     }
 
     private OrderCreateRequest toDto(String productId, Long addressId) {
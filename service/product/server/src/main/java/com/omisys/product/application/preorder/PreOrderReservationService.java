@@ -0,0 +1,155 @@
+package com.omisys.product.application.preorder;
+
+import com.omisys.product.domain.repository.redis.RedisRepository;
+import com.omisys.product.exception.ProductErrorCode;
+import com.omisys.product.exception.ProductException;
+import com.omisys.product.infrastructure.cache.PreOrderSoldOutRegistry;
+import com.omisys.product.infrastructure.utils.PreOrderRedisDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.stream.IntStream;
+
+import static com.omisys.product.infrastructure.utils.RedisUtils.getRedisKeyOfPreOrder;
+
+/**
+ * 사전예약 접수.
+ *
+ * <p>중복 예약 확인, 잔여 수량 확인, 예약 등록을 Redis Lua 스크립트 한 번으로 원자 처리한다.
+ * 분산락 없이 Redis 단일 스레드 실행으로 직렬화되므로 같은 사전예약에 요청이 몰려도 락 대기 없이 초과 예약이 생기지 않는다.</p>
+ *
+ * <p>shard-count가 2 이상이면 분할 예약 모드로 동작한다. 수량을 해시 슬롯이 다른 버킷들에 나눠 한 사전예약의 트래픽이
+ * 여러 Redis 노드로 퍼지게 하고, 홈 버킷이 소진되면 형제 버킷에서 슬롯을 가져온다. 사용자는 항상 홈 버킷 인덱스에 먼저
+ * 선점되므로 어느 버킷에서 슬롯을 얻든 중복 예약은 생기지 않는다.</p>
+ *
+ * <p>스크립트가 수량 소진을 반환하면 {@link PreOrderSoldOutRegistry}로 매진을 알린다. 이후 요청은 게이트웨이와 각 인스턴스의
+ * 메모리에서 거절되고, 예약 취소로 자리가 생기면 매진 표시가 해제된다.</p>
+ */
+@Service
+public class PreOrderReservationService {
+
+    private final PreOrderCacheService preOrderCacheService;
+    private final RedisRepository redisRepository;
+    private final PreOrderSoldOutRegistry soldOutRegistry;
+    private final int shardCount;
+
+    public PreOrderReservationService(
+            PreOrderCacheService preOrderCacheService,
+            RedisRepository redisRepository,
+            PreOrderSoldOutRegistry soldOutRegistry,
+            @Value("${product.preorder.reservation.shard-count:1}") int shardCount) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("사전예약 버킷 수는 1 이상이어야 합니다: " + shardCount);
+        }
+        this.preOrderCacheService = preOrderCacheService;
+        this.redisRepository = redisRepository;
+        this.soldOutRegistry = soldOutRegistry;
+        this.shardCount = shardCount;
+    }
+
+    public PreOrderRedisDto reservation(long preOrderId, long userId) {
+        if (soldOutRegistry.isSoldOut(preOrderId)) {
+            throw new ProductException(ProductErrorCode.EXCEED_PREORDER_QUANTITY);
+        }
+        PreOrderRedisDto cachedPreOrder = preOrderCacheService.getPreOrderCache(preOrderId);
+        cachedPreOrder.validateReservationDate();
+
+        long result = shardCount == 1
+                ? redisRepository.reserve(
+                        getRedisKeyOfPreOrder(preOrderId),
+                        Long.toString(userId),
+                        cachedPreOrder.availableQuantity())
+                : reserveSharded(
+                        new PreOrderReservationShards(preOrderId, shardCount, cachedPreOrder.availableQuantity()),
+                        userId);
+        if (result == RedisRepository.ALREADY_RESERVED) {
+            throw new ProductException(ProductErrorCode.ALREADY_PREORDER);
+        }
+        if (result == RedisRepository.SOLD_OUT) {
+            markSoldOut(preOrderId, cachedPreOrder.availableQuantity());
+            throw new ProductException(ProductErrorCode.EXCEED_PREORDER_QUANTITY);
+        }
+        return cachedPreOrder;
+    }
+
+    /**
+     * 사용자의 예약을 취소해 자리를 돌려주고 매진 표시를 해제한다. 예약이 없으면 아무것도 하지 않는다.
+     */
+    public void cancel(long preOrderId, long userId) {
+        PreOrderRedisDto cachedPreOrder = preOrderCacheService.getPreOrderCache(preOrderId);
+        boolean released = shardCount == 1
+                ? redisRepository.sRem(getRedisKeyOfPreOrder(preOrderId), Long.toString(userId))
+                : cancelSharded(
+                        new PreOrderReservationShards(preOrderId, shardCount, cachedPreOrder.availableQuantity()),
+                        userId);
+        if (released) {
+            soldOutRegistry.rearm(preOrderId);
+        }
+    }
+
+    /**
+     * 매진을 알린 뒤 예약 수를 다시 확인한다. 표시 직전에 취소가 끝나 해제 메시지가 먼저 나갔다면
+     * 자리가 남아 있는데 매진으로 남게 되므로 곧바로 해제한다.
+     */
+    private void markSoldOut(long preOrderId, int availableQuantity) {
+        soldOutRegistry.markSoldOut(preOrderId);
+        if (reservedCount(preOrderId, availableQuantity) < availableQuantity) {
+            soldOutRegistry.rearm(preOrderId);
+        }
+    }
+
+    private long reservedCount(long preOrderId, int availableQuantity) {
+        if (shardCount == 1) {
+            Long count = redisRepository.sCard(getRedisKeyOfPreOrder(preOrderId));
+            return count == null ? 0L : count;
+        }
+        PreOrderReservationShards shards = new PreOrderReservationShards(preOrderId, shardCount, availableQuantity);
+        return redisRepository.sumCounters(IntStream.range(0, shards.count()).mapToObj(shards::countKey).toList());
+    }
+
+    /** 홈 인덱스에서 사용자를 지우는 데 성공한 경우에만 슬롯을 얻었던 버킷 카운터를 돌려준다. */
+    private boolean cancelSharded(PreOrderReservationShards shards, long userId) {
+        String user = Long.toString(userId);
+        String homeUsersKey = shards.usersKey(shards.homeShard(userId));
+        String slot = redisRepository.getShardSlot(homeUsersKey, user);
+        if (slot == null || RedisRepository.PENDING_SHARD.equals(slot)
+                || !redisRepository.releaseShardClaim(homeUsersKey, user)) {
+            return false;
+        }
+        redisRepository.returnShardSlot(shards.countKey(Integer.parseInt(slot)));
+        return true;
+    }
+
+    /**
+     * 홈 버킷에서 사용자 선점과 슬롯 획득을 한 번에 시도하고, 홈 버킷이 소진됐으면 다음 버킷부터 차례로 슬롯을 가져온다.
+     * 모든 버킷이 소진됐으면 선점을 해제하고 SOLD_OUT을 반환한다.
+     */
+    private long reserveSharded(PreOrderReservationShards shards, long userId) {
+        String user = Long.toString(userId);
+        int home = shards.homeShard(userId);
+        String homeUsersKey = shards.usersKey(home);
+
+        long result = redisRepository.reserveHomeShard(
+                shards.countKey(home), homeUsersKey, user, shards.quota(home), home);
+        if (result != RedisRepository.SOLD_OUT) {
+            return result;
+        }
+
+        try {
+            for (int offset = 1; offset < shards.count(); offset++) {
+                int sibling = (home + offset) % shards.count();
+                if (shards.quota(sibling) > 0
+                        && redisRepository.takeShardSlot(shards.countKey(sibling), shards.quota(sibling))) {
+                    redisRepository.recordShardSlot(homeUsersKey, user, sibling);
+                    return RedisRepository.RESERVED;
+                }
+            }
+        } catch (RuntimeException e) {
+            // 선점만 남으면 사용자가 재시도해도 ALREADY_PREORDER가 되므로 해제 후 전파한다.
+            redisRepository.releaseShardClaim(homeUsersKey, user);
+            throw e;
+        }
+        redisRepository.releaseShardClaim(homeUsersKey, user);
+        return RedisRepository.SOLD_OUT;
+    }
+}
@@ -0,0 +1,58 @@
+package com.omisys.product.application.preorder;
+
+import static com.omisys.product.infrastructure.utils.RedisUtils.getRedisKeyOfPreOrderShardCount;
+import static com.omisys.product.infrastructure.utils.RedisUtils.getRedisKeyOfPreOrderShardUsers;
+
+/**
+ * 분할 예약 모드의 버킷 구성.
+ *
+ * <p>사전예약 availableQuantity를 count개 버킷에 나눈다(나머지는 앞쪽 버킷에 1씩). 사용자의 홈 버킷은 userId 해시로 정해지며,
+ * 홈 버킷의 사용자 인덱스가 그 사용자의 중복 예약 방지 기준이 된다.</p>
+ */
+final class PreOrderReservationShards {
+
+    private final long preOrderId;
+    private final int count;
+    private final long base;
+    private final long remainder;
+
+    PreOrderReservationShards(long preOrderId, int count, int availableQuantity) {
+        if (count < 1) {
+            throw new IllegalArgumentException("사전예약 버킷 수는 1 이상이어야 합니다: " + count);
+        }
+        this.preOrderId = preOrderId;
+        this.count = count;
+        this.base = availableQuantity / count;
+        this.remainder = availableQuantity % count;
+    }
+
+    int count() {
+        return count;
+    }
+
+    long quota(int shard) {
+        return base + (shard < remainder ? 1 : 0);
+    }
+
+    int homeShard(long userId) {
+        return (int) Long.remainderUnsigned(mix(userId), count);
+    }
+
+    String countKey(int shard) {
+        return getRedisKeyOfPreOrderShardCount(preOrderId, shard);
+    }
+
+    String usersKey(int shard) {
+        return getRedisKeyOfPreOrderShardUsers(preOrderId, shard);
+    }
+
+    /** 연속된 userId가 한 버킷에 몰리지 않도록 섞는다(MurmurHash3 fmix64). */
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -7,6 +7,7 @@ import com.omisys.product.domain.repository.cassandra.ProductRepository;
 import com.omisys.product.domain.repository.jpa.PreOrderRepository;
 import com.omisys.product.exception.ProductErrorCode;
 import com.omisys.product.exception.ProductException;
+import com.omisys.product.infrastructure.cache.PreOrderSoldOutRegistry;
 import com.omisys.product.presentation.request.PreOrderRequest;
 import com.omisys.product.presentation.response.PreOrderResponse;
 import lombok.RequiredArgsConstructor;
@@ -30,6 +31,7 @@ public class PreOrderService {
 
     private final PreOrderRepository preOrderRepository;
     private final ProductRepository productRepository;
+    private final PreOrderSoldOutRegistry preOrderSoldOutRegistry;
 
     public void createPreOrder(PreOrderRequest.Create request) {
         Product product = getProductByProductId(request.getProductId());
@@ -38,7 +40,7 @@ public class PreOrderService {
         preOrderRepository.save(preOrder);
     }
 
-    @CacheEvict(cacheNames = "preOrder", key = "#request.preOrderId()")
+    @CacheEvict(cacheNames = "preOrder", key = "#request.preOrderId")
     public void updatePreOrder(PreOrderRequest.Update request) {
         PreOrder preOrder = getPreOrderByPreOrderId(request.getPreOrderId());
         if (!Objects.equals(preOrder.getPreOrderId(), request.getPreOrderId())) {
@@ -46,6 +48,8 @@ public class PreOrderService {
             validateStock(product.getStock(), request.getAvailableQuantity());
         }
         preOrder.update(request);
+        // 수량이 늘었을 수 있으므로 매진 표시를 해제한다. 여전히 소진 상태면 다음 예약 시도에서 다시 표시된다.
+        preOrderSoldOutRegistry.rearm(request.getPreOrderId());
     }
 
     @Transactional(readOnly = true)
@@ -62,8 +66,12 @@ public class PreOrderService {
     @CacheEvict(cacheNames = "preOrder", key = "#preOrderId")
     public PreOrderResponse updateState(Long preOrderId, PreOrderState state) {
         PreOrder preOrder = getPreOrderByPreOrderId(preOrderId);
-        if (state == PreOrderState.OPEN_FOR_ORDER) preOrder.open();
-        else if (state == PreOrderState.CANCELED) preOrder.cancel();
+        if (state == PreOrderState.OPEN_FOR_ORDER) {
+            preOrder.open();
+            preOrderSoldOutRegistry.rearm(preOrderId);
+        } else if (state == PreOrderState.CANCELED) {
+            preOrder.cancel();
+        }
         return PreOrderResponse.of(preOrder);
     }
 
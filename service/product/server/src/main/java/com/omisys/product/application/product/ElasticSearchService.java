@@ -1,20 +1,20 @@
 package com.omisys.product.application.product;
 
+import co.elastic.clients.elasticsearch._types.FieldValue;
 import com.omisys.product.domain.model.SortOption;
 import com.omisys.product.domain.repository.ElasticSearchRepository;
 import com.omisys.product.domain.repository.ElasticsearchCustomRepository;
 import com.omisys.product.infrastructure.utils.ProductSearchDto;
+import com.omisys.product.presentation.response.CursorPageResponse;
 import com.omisys.product.presentation.response.ProductResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
@@ -45,7 +45,12 @@ public class ElasticSearchService {
         log.info("delete product in elastic search {}", product.getProductId());
     }
 
-    public Page<ProductSearchDto> getProductList(
+    /**
+     * cursor가 있으면 search_after로 이어 읽고, 없으면 page 번째(0부터) 페이지를 from/size로 읽는다.
+     * from/size는 깊은 페이지일수록 앞의 결과를 모두 정렬해야 하므로 첫 페이지 이후에는 nextCursor를 쓰는 것이 좋다.
+     */
+    public CursorPageResponse<ProductSearchDto> getProductList(
+            String cursor,
             int page,
             int size,
             Long categoryId,
@@ -56,8 +61,11 @@ public class ElasticSearchService {
             String mainColor,
             String sortOption) throws IOException {
         SortOption sort = SortOption.valueOf(sortOption.toUpperCase());
-        Pageable pageable = PageRequest.of(page, size, Sort.by(sort.getField()));
-        return elasticsearchCustomRepository.searchProductList(
+        // enum의 hashCode는 JVM마다 다르므로 이름으로 해시한다
+        int queryHash = Objects.hash(categoryId, brandName, minPrice, maxPrice, productSize, mainColor, sort.name());
+        // 정렬 필드 + productId 보조 정렬 두 값
+        List<FieldValue> searchAfter = cursor == null ? null : ProductSearchCursor.decode(cursor, queryHash, 2);
+        ElasticsearchCustomRepository.SearchResult result = elasticsearchCustomRepository.searchProductList(
                 categoryId,
                 brandName,
                 minPrice,
@@ -66,7 +74,11 @@ public class ElasticSearchService {
                 mainColor,
                 page,
                 size,
-                pageable,
-                sort);
+                sort,
+                searchAfter);
+        String nextCursor = result.nextSearchAfter() == null
+                ? null
+                : ProductSearchCursor.encode(queryHash, result.nextSearchAfter());
+        return CursorPageResponse.of(result.products(), size, nextCursor, result.totalHits());
     }
 }
@@ -26,6 +26,7 @@ public class ProductFacadeService {
     private final CategoryService categoryService;
     private final ElasticSearchService elasticSearchService;
     private final S3ImageService imageService;
+    private final ProductStockLedger stockLedger;
 
     @Transactional
     public String createProduct(
@@ -52,6 +53,7 @@ public class ProductFacadeService {
         Product product = productService.getSavedProduct(request.getProductId());
         ImgDto imgData = fetchImgUrls(product, productImg, detailImg);
         ProductResponse newProduct = productService.updateProduct(request, product, imgData);
+        stockLedger.reset(product.getProductId(), product.getStock());
         elasticSearchService.updateProduct(newProduct);
         return newProduct;
     }
@@ -66,6 +68,7 @@ public class ProductFacadeService {
     @Transactional
     public boolean deleteProduct(UUID productId) {
         ProductResponse product = productService.deleteProduct(productId);
+        stockLedger.evict(productId);
         elasticSearchService.deleteProduct(product);
         Optional.ofNullable(product.getOriginImgUrl()).ifPresent(imageService::deleteImage);
         Optional.ofNullable(product.getDetailImgUrl()).ifPresent(imageService::deleteImage);
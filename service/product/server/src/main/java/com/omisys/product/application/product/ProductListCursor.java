@@ -0,0 +1,73 @@
+package com.omisys.product.application.product;
+
+import com.omisys.product.exception.ProductErrorCode;
+import com.omisys.product.exception.ProductException;
+import org.springframework.data.cassandra.core.query.CassandraPageRequest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+/**
+ * 상품 목록 다음 페이지의 시작 위치. 클라이언트에는 URL-safe Base64 문자열로만 보인다.
+ *
+ * <p>목록 테이블은 행을 애플리케이션에서 거르므로 페이지 경계가 Cassandra 조각 경계와 맞지 않는다.
+ * 그래서 다음 상품이 들어 있는 조각의 paging state와 그 조각 안에서 건너뛸 행 수를 함께 담는다.
+ * 이어 읽을 때는 그 조각 하나만 다시 읽으므로 몇 번째 페이지든 첫 페이지와 비용이 같다.
+ * 조건이 다른 요청에 커서를 붙여 다른 파티션의 paging state가 Cassandra로 가지 않도록 조건 해시를 함께 검사한다.</p>
+ */
+record ProductListCursor(int queryHash, int fetchSize, int skip, ByteBuffer pagingState) {
+
+    private static final byte VERSION = 1;
+    private static final int HEADER_BYTES = 1 + Integer.BYTES * 3;
+
+    static ProductListCursor first(int queryHash, int fetchSize) {
+        return new ProductListCursor(queryHash, fetchSize, 0, null);
+    }
+
+    /** 이 위치의 조각을 읽을 페이지 요청. 첫 조각이면 paging state가 없다. */
+    Pageable pageable() {
+        return pagingState == null
+                ? CassandraPageRequest.first(fetchSize)
+                : CassandraPageRequest.of(PageRequest.of(0, fetchSize), pagingState.duplicate());
+    }
+
+    String encode() {
+        int stateBytes = pagingState == null ? 0 : pagingState.remaining();
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + stateBytes)
+                .put(VERSION)
+                .putInt(queryHash)
+                .putInt(fetchSize)
+                .putInt(skip);
+        if (pagingState != null) {
+            buffer.put(pagingState.duplicate());
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    /**
+     * 커서를 풀고 이번 요청의 조건으로 만든 것인지 확인한다. 형식이 틀렸거나 조건이 다르면 INVALID_CURSOR.
+     */
+    static ProductListCursor decode(String cursor, int queryHash, int minFetchSize, int maxFetchSize) {
+        ByteBuffer buffer;
+        try {
+            buffer = ByteBuffer.wrap(Base64.getUrlDecoder().decode(cursor));
+        } catch (IllegalArgumentException e) {
+            throw new ProductException(ProductErrorCode.INVALID_CURSOR);
+        }
+        if (buffer.remaining() < HEADER_BYTES || buffer.get() != VERSION) {
+            throw new ProductException(ProductErrorCode.INVALID_CURSOR);
+        }
+        int hash = buffer.getInt();
+        int fetchSize = buffer.getInt();
+        int skip = buffer.getInt();
+        if (hash != queryHash
+                || fetchSize < minFetchSize || fetchSize > maxFetchSize
+                || skip < 0 || skip >= fetchSize) {
+            throw new ProductException(ProductErrorCode.INVALID_CURSOR);
+        }
+        ByteBuffer pagingState = buffer.hasRemaining() ? buffer.slice() : null;
+        return new ProductListCursor(queryHash, fetchSize, skip, pagingState);
+    }
+}
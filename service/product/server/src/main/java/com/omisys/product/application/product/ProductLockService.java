@@ -9,6 +9,12 @@ import org.springframework.transaction.annotation.Transactional;
 import java.util.Map;
 import java.util.Set;
 
+/**
+ * 주문 재고 차감·복구 진입점.
+ *
+ * <p>기본은 {@link ProductStockLedger}의 Redis 원장으로 장바구니 전체를 한 번에 처리한다.
+ * product.stock.ledger.enabled=false면 예전처럼 상품별 분산락을 잡고 Cassandra 재고를 직접 고친다.</p>
+ */
 @Service
 @Slf4j
 @RequiredArgsConstructor
@@ -16,9 +22,14 @@ public class ProductLockService {
 
     private final DistributedLockComponent lockComponent;
     private final ProductService productService;
+    private final ProductStockLedger stockLedger;
 
     @Transactional
     public void reduceStock(Map<String, Integer> productQuantities) {
+        if (stockLedger.isEnabled()) {
+            stockLedger.reduceStock(productQuantities);
+            return;
+        }
 
         Set<String> productIds = productQuantities.keySet();
         lockComponent.executeForMultipleProducts(
@@ -34,6 +45,11 @@ public class ProductLockService {
 
     @Transactional
     public void rollbackStock(Map<String, Integer> productQuantities) {
+        if (stockLedger.isEnabled()) {
+            stockLedger.rollbackStock(productQuantities);
+            return;
+        }
+
         Set<String> productIds = productQuantities.keySet();
         lockComponent.executeForMultipleProducts(
                 productIds.stream().map("stockLock_%s"::formatted).toList(),
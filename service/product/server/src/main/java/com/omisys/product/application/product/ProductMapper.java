@@ -8,6 +8,10 @@ import com.omisys.product.product_dto.ProductDto;
 public class ProductMapper {
 
     public static ProductDto fromEntity(Product product) {
+        return fromEntity(product, product.getStock());
+    }
+
+    public static ProductDto fromEntity(Product product, int stock) {
         return ProductDto.builder()
                 .productId(product.getProductId())
                 .productName(product.getProductName())
@@ -15,7 +19,7 @@ public class ProductMapper {
                 .originalPrice(product.getOriginalPrice())
                 .discountPercent(product.getDiscountPercent())
                 .discountedPrice(product.getDiscountedPrice())
-                .stock(product.getStock())
+                .stock(stock)
                 .tags(product.getTags())
                 .build();
     }
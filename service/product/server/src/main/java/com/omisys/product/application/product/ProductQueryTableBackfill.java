@@ -0,0 +1,131 @@
+package com.omisys.product.application.product;
+
+import com.omisys.product.domain.model.Product;
+import com.omisys.product.domain.model.ProductQueryRow;
+import com.omisys.product.domain.repository.cassandra.ProductLookupRepository;
+import com.omisys.product.domain.repository.cassandra.ProductQueryTableRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.cassandra.core.CassandraOperations;
+import org.springframework.data.cassandra.core.query.CassandraPageRequest;
+import org.springframework.data.cassandra.core.query.Query;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * P_PRODUCT와 카테고리별·브랜드별 목록 테이블을 맞춘다.
+ *
+ * <p>먼저 P_PRODUCT 전체를 훑어 삭제되지 않은 상품의 현재 행을 쓰고, 이어서 두 목록 테이블을 훑어
+ * {@link ProductQueryRow#of(Product)}가 더 이상 만들지 않는 행(카테고리·브랜드·정렬 값이 바뀌기 전의 행,
+ * 삭제됐거나 없는 상품의 행)을 지운다. 목록 테이블을 처음 만들었을 때나 이중 쓰기가 실패해 어긋났을 때
+ * product.query-tables.backfill-on-startup=true로 한 번 띄우면 된다. 행 쓰기는 덮어쓰기이고 지우는 행은 매번
+ * 상품을 다시 읽어 판단하므로 여러 인스턴스가 동시에 돌거나 중간에 끊겨 다시 돌아도 결과가 같다.
+ * 서비스 기동을 막지 않도록 별도 스레드에서 돈다.</p>
+ */
+@Slf4j
+@Component
+public class ProductQueryTableBackfill {
+
+    private final CassandraOperations cassandraOperations;
+    private final ProductQueryTableRepository productQueryTableRepository;
+    private final ProductLookupRepository productLookupRepository;
+    private final boolean onStartup;
+    private final int pageSize;
+
+    public ProductQueryTableBackfill(
+            CassandraOperations cassandraOperations,
+            ProductQueryTableRepository productQueryTableRepository,
+            ProductLookupRepository productLookupRepository,
+            @Value("${product.query-tables.backfill-on-startup:false}") boolean onStartup,
+            @Value("${product.query-tables.backfill-page-size:500}") int pageSize) {
+        this.cassandraOperations = cassandraOperations;
+        this.productQueryTableRepository = productQueryTableRepository;
+        this.productLookupRepository = productLookupRepository;
+        this.onStartup = onStartup;
+        this.pageSize = pageSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (!onStartup) {
+            return;
+        }
+        Thread thread = new Thread(() -> {
+            try {
+                backfill();
+            } catch (Exception e) {
+                log.error("상품 목록 테이블 백필 실패", e);
+            }
+        }, "product-query-table-backfill");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /** 현재 행을 모두 쓰고 어긋난 행을 지운 뒤 쓴 상품 수를 반환한다. */
+    public long backfill() {
+        long written = writeCurrentRows();
+        long removed = removeStaleRows(productQueryTableRepository::scanCategoryRows)
+                + removeStaleRows(productQueryTableRepository::scanBrandRows);
+        log.info("상품 목록 테이블 백필 완료: {}건 기록, 어긋난 행 {}건 삭제", written, removed);
+        return written;
+    }
+
+    private long writeCurrentRows() {
+        long written = 0;
+        Query query = Query.empty().pageRequest(CassandraPageRequest.first(pageSize));
+        while (true) {
+            Slice<Product> slice = cassandraOperations.slice(query, Product.class);
+            for (Product product : slice) {
+                List<ProductQueryRow> rows = ProductQueryRow.of(product);
+                if (!rows.isEmpty()) {
+                    productQueryTableRepository.replace(List.of(), rows);
+                    written++;
+                }
+            }
+            if (!slice.hasNext()) {
+                break;
+            }
+            query = query.pageRequest(slice.nextPageable());
+        }
+        return written;
+    }
+
+    /** 목록 테이블 하나를 훑어 상품의 현재 행과 키가 다른 행을 지우고 지운 행 수를 반환한다. */
+    private long removeStaleRows(Function<Pageable, Slice<? extends ProductQueryRow>> scan) {
+        long removed = 0;
+        Pageable pageable = CassandraPageRequest.first(pageSize);
+        while (true) {
+            Slice<? extends ProductQueryRow> slice = scan.apply(pageable);
+            List<? extends ProductQueryRow> rows = slice.getContent();
+            // 삭제됐거나 없는 상품은 결과에 없으므로 그 상품의 행은 모두 지울 대상이 된다
+            Map<UUID, Product> products = productLookupRepository.findAllByIds(
+                    rows.stream().map(ProductQueryRow::getProductId).distinct().toList());
+            Set<ProductQueryRow.Key> current = products.values().stream()
+                    .flatMap(product -> ProductQueryRow.of(product).stream())
+                    .map(ProductQueryRow::key)
+                    .collect(Collectors.toSet());
+            List<? extends ProductQueryRow> stale = rows.stream()
+                    .filter(row -> !current.contains(row.key()))
+                    .toList();
+            if (!stale.isEmpty()) {
+                productQueryTableRepository.delete(stale);
+                removed += stale.size();
+            }
+            if (!slice.hasNext()) {
+                break;
+            }
+            pageable = slice.nextPageable();
+        }
+        return removed;
+    }
+}
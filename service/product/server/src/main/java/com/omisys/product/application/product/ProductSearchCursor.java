@@ -0,0 +1,71 @@
+package com.omisys.product.application.product;
+
+import co.elastic.clients.elasticsearch._types.FieldValue;
+import com.omisys.product.exception.ProductErrorCode;
+import com.omisys.product.exception.ProductException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * 검색 결과 마지막 상품의 정렬 값(정렬 필드, productId)을 search_after 커서로 주고받는다.
+ *
+ * <p>첫 줄에 검색 조건 해시를 두고, 이어서 값마다 타입 한 글자를 앞에 붙여 줄바꿈으로 잇고 URL-safe Base64로 감싼다.
+ * 정렬 값은 long·double·문자열만 나오므로 그 밖의 값은 만들지도 받지도 않는다. 다른 정렬·조건으로 만든 커서는
+ * 정렬 값의 타입이나 의미가 달라 Elasticsearch 오류나 엉뚱한 페이지가 되므로 {@link ProductListCursor}처럼
+ * 조건 해시가 다르면 거절한다.</p>
+ */
+final class ProductSearchCursor {
+
+    private ProductSearchCursor() {
+    }
+
+    static String encode(int queryHash, List<FieldValue> sortValues) {
+        StringBuilder builder = new StringBuilder().append('h').append(queryHash);
+        for (FieldValue value : sortValues) {
+            builder.append('\n');
+            if (value.isLong()) {
+                builder.append('l').append(value.longValue());
+            } else if (value.isDouble()) {
+                builder.append('d').append(value.doubleValue());
+            } else if (value.isString()) {
+                builder.append('s').append(value.stringValue());
+            } else {
+                throw new IllegalStateException("커서로 쓸 수 없는 정렬 값: " + value._kind());
+            }
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(builder.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** 커서를 풀고 이번 요청의 조건으로 만든 것인지 확인한다. 형식이 틀렸거나 조건이 다르면 INVALID_CURSOR. */
+    static List<FieldValue> decode(String cursor, int queryHash, int expectedSize) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\n", -1);
+            if (parts.length != expectedSize + 1
+                    || !parts[0].startsWith("h")
+                    || Integer.parseInt(parts[0].substring(1)) != queryHash) {
+                throw new ProductException(ProductErrorCode.INVALID_CURSOR);
+            }
+            List<FieldValue> values = new ArrayList<>(expectedSize);
+            for (String part : List.of(parts).subList(1, parts.length)) {
+                if (part.isEmpty()) {
+                    throw new ProductException(ProductErrorCode.INVALID_CURSOR);
+                }
+                String raw = part.substring(1);
+                values.add(switch (part.charAt(0)) {
+                    case 'l' -> FieldValue.of(Long.parseLong(raw));
+                    case 'd' -> FieldValue.of(Double.parseDouble(raw));
+                    case 's' -> FieldValue.of(raw);
+                    default -> throw new ProductException(ProductErrorCode.INVALID_CURSOR);
+                });
+            }
+            return values;
+        } catch (IllegalArgumentException e) {
+            // 잘못된 Base64와 숫자 파싱 실패(NumberFormatException) 모두 여기로 온다
+            throw new ProductException(ProductErrorCode.INVALID_CURSOR);
+        }
+    }
+}
@@ -2,32 +2,56 @@ package com.omisys.product.application.product;
 
 import com.omisys.product.application.dto.ImgDto;
 import com.omisys.product.domain.model.Product;
+import com.omisys.product.domain.model.ProductQueryRow;
 import com.omisys.product.domain.model.SortOption;
+import com.omisys.product.domain.repository.cassandra.ProductColumnRepository;
+import com.omisys.product.domain.repository.cassandra.ProductLookupRepository;
+import com.omisys.product.domain.repository.cassandra.ProductQueryTableRepository;
 import com.omisys.product.domain.repository.cassandra.ProductRepository;
 import com.omisys.product.exception.ProductErrorCode;
 import com.omisys.product.exception.ProductException;
+import com.omisys.product.infrastructure.cache.ProductLocalCache;
 import com.omisys.product.infrastructure.client.ReviewClient;
 import com.omisys.product.presentation.request.ProductRequest;
+import com.omisys.product.presentation.response.CursorPageResponse;
 import com.omisys.product.presentation.response.ProductDetailResponse;
 import com.omisys.product.presentation.response.ProductResponse;
 import com.omisys.product.product_dto.ProductDto;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.cassandra.core.query.CassandraPageRequest;
 import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Predicate;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j(topic = "ProductService")
 public class ProductService {
 
+    private static final int MIN_LIST_FETCH_SIZE = 50;
+    private static final int MAX_LIST_FETCH_SIZE = 500;
+    private static final int MAX_STOCK_WRITE_ATTEMPTS = 3;
+
     private final ProductRepository productRepository;
+    private final ProductQueryTableRepository productQueryTableRepository;
+    private final ProductLookupRepository productLookupRepository;
+    private final ProductColumnRepository productColumnRepository;
+    private final ProductLocalCache productLocalCache;
     private final ReviewClient reviewClient;
 
     @Transactional
@@ -35,6 +59,7 @@ public class ProductService {
         Product newProduct = ProductMapper.toEntity(request, imgDto);
         newProduct.setIsNew(true);
         Product savedProduct = productRepository.save(newProduct);
+        syncQueryTables(List.of(), savedProduct);
         return ProductResponse.fromEntity(savedProduct);
     }
 
@@ -43,7 +68,12 @@ public class ProductService {
             ProductRequest.Update request,
             Product savedProduct,
             ImgDto imgDto) {
+        List<ProductQueryRow> before = ProductQueryRow.of(savedProduct);
         ProductMapper.updateProduct(request, savedProduct, imgDto);
+        // 재고는 ProductStockLedger.reset이 따로 쓰므로 행 전체가 아니라 수정된 컬럼만 쓴다
+        productColumnRepository.updateDetails(savedProduct).join();
+        productLocalCache.invalidate(savedProduct.getProductId());
+        syncQueryTables(before, savedProduct);
         return ProductResponse.fromEntity(savedProduct);
     }
 
@@ -51,53 +81,110 @@ public class ProductService {
     public ProductResponse updateStatus(UUID productId, boolean status) {
         Product product = getSavedProduct(productId);
         product.setSoldout(status);
-        productRepository.save(product);
+        // 원장이 켜져 있으면 읽어 온 재고가 원장보다 늦으므로 행 전체가 아니라 soldout 컬럼만 쓴다
+        productColumnRepository.updateSoldout(productId, status).join();
+        productLocalCache.invalidate(productId);
         return ProductResponse.fromEntity(product);
     }
 
     @Transactional
     public ProductResponse deleteProduct(UUID productId) {
         Product product = getSavedProduct(productId);
+        List<ProductQueryRow> before = ProductQueryRow.of(product);
         product.isDelete();
-        productRepository.save(product);
+        productColumnRepository.markDeleted(productId).join();
+        productLocalCache.invalidate(productId);
+        syncQueryTables(before, product);
         return ProductResponse.fromEntity(product);
     }
 
+    /**
+     * 재고 원장이 꺼진 락 경로의 재고 차감. 상품을 동시에 읽어 모두 검증한 뒤 재고 컬럼만 조건부로 동시에 바꾼다.
+     * 락이 만료돼 다른 쓰기가 끼어든 상품이 있으면 이미 바꾼 상품을 되돌리고 STOCK_NOT_AVAILABLE로 거절한다.
+     */
     @Transactional
     public void reduceStock(Map<String, Integer> productQuantities) {
         log.info(productQuantities.toString());
-        productQuantities.forEach((productId, value) -> {
-            log.info(productId, value);
-            int reduceCount = value;
-            Product product = getSavedProduct(UUID.fromString(productId));
-            validateProductStock(product, reduceCount);
-            product.updateStock(reduceCount);
-            productRepository.save(product);
+        Map<UUID, Integer> quantities = toQuantities(productQuantities);
+        Map<UUID, Product> products = getSavedProducts(quantities.keySet());
+        quantities.forEach((productId, quantity) -> validateProductStock(products.get(productId), quantity));
+
+        Map<UUID, Integer> expected = new LinkedHashMap<>();
+        Map<UUID, Integer> reduced = new LinkedHashMap<>();
+        quantities.forEach((productId, quantity) -> {
+            int stock = products.get(productId).getStock();
+            expected.put(productId, stock);
+            reduced.put(productId, stock - quantity);
         });
+        Set<UUID> applied = compareAndSetStocks(expected, reduced);
+        if (applied.size() < quantities.size()) {
+            Set<UUID> reverted = compareAndSetStocks(
+                    filterKeys(reduced, applied), filterKeys(expected, applied));
+            if (reverted.size() < applied.size()) {
+                log.error("재고 차감 되돌리기 실패: productIds={}", applied.stream().filter(id -> !reverted.contains(id)).toList());
+            }
+            throw new ProductException(ProductErrorCode.STOCK_NOT_AVAILABLE);
+        }
+    }
+
+    /**
+     * 재고 원장이 꺼졌을 때의 관리자 재고 수정. 락 경로의 조건부 쓰기와 섞이지 않도록 같은 방식으로,
+     * 읽은 재고가 그대로일 때만 stock으로 바꾸고 그 사이 주문이 끼어들었으면 다시 읽어 재시도한다.
+     */
+    public void resetStock(UUID productId, int stock) {
+        for (int attempt = 0; attempt < MAX_STOCK_WRITE_ATTEMPTS; attempt++) {
+            int current = getSavedProduct(productId).getStock();
+            if (!compareAndSetStocks(Map.of(productId, current), Map.of(productId, stock)).isEmpty()) {
+                return;
+            }
+        }
+        log.error("관리자 재고 수정 실패: productId={}", productId);
+        throw new ProductException(ProductErrorCode.INTERNAL_SERVER_ERROR);
     }
 
+    /**
+     * 재고 원장이 꺼진 락 경로의 재고 복구. 주문 취소가 재고를 잃지 않도록 조건부 쓰기가 밀린 상품은 다시 읽어 재시도한다.
+     */
     @Transactional
     public void rollbackStock(Map<String, Integer> productQuantities) {
-        productQuantities.forEach((productId, value) -> {
-            int rollbackCount = value;
-            Product product = getSavedProduct(UUID.fromString(productId));
-            product.rollbackStock(rollbackCount);
-            productRepository.save(product);
-        });
+        Map<UUID, Integer> pending = toQuantities(productQuantities);
+        for (int attempt = 0; attempt < MAX_STOCK_WRITE_ATTEMPTS && !pending.isEmpty(); attempt++) {
+            Map<UUID, Product> products = getSavedProducts(pending.keySet());
+            Map<UUID, Integer> expected = new LinkedHashMap<>();
+            Map<UUID, Integer> restored = new LinkedHashMap<>();
+            pending.forEach((productId, quantity) -> {
+                int stock = products.get(productId).getStock();
+                expected.put(productId, stock);
+                restored.put(productId, stock + quantity);
+            });
+            Set<UUID> applied = compareAndSetStocks(expected, restored);
+            pending = new LinkedHashMap<>(pending);
+            pending.keySet().removeAll(applied);
+        }
+        if (!pending.isEmpty()) {
+            log.error("재고 복구 실패: productIds={}", pending.keySet());
+            throw new ProductException(ProductErrorCode.INTERNAL_SERVER_ERROR);
+        }
     }
 
     public ProductDetailResponse getProductDetail(UUID productId) {
-        ProductResponse product = ProductResponse.fromEntity(getSavedProduct(productId));
+        Product cached = getCachedProduct(productId);
+        ProductResponse product = ProductResponse.fromEntity(cached, productLocalCache.currentStock(cached));
         var reviews = reviewClient.getReviews(productId.toString(), 0, 10);
         return ProductDetailResponse.of(product, reviews);
     }
 
     public ProductResponse getProduct(UUID productId) {
-        return ProductResponse.fromEntity(getSavedProduct(productId));
+        Product cached = getCachedProduct(productId);
+        return ProductResponse.fromEntity(cached, productLocalCache.currentStock(cached));
     }
 
-    public Page<ProductResponse> getProductList(
-            int page,
+    /**
+     * 관리자 상품 목록. cursor가 없으면 첫 페이지, 있으면 그 커서가 가리키는 위치부터 size개를 읽는다.
+     * 다음 페이지가 있는지는 조건에 맞는 상품을 하나 더 찾아 확인한다.
+     */
+    public CursorPageResponse<ProductResponse> getProductList(
+            String cursor,
             int size,
             Long categoryId,
             String brandName,
@@ -109,36 +196,166 @@ public class ProductService {
         SortOption sort = SortOption.valueOf(sortOption.toUpperCase());
         Sort.Direction direction =
                 sort.getOrder().name().contains("Asc") ? Sort.Direction.ASC : Sort.Direction.DESC;
-        Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sort.getField()));
-        List<ProductResponse> result =
-                productRepository
-                        .findAllByFilters(
-                                categoryId,
-                                brandName,
-                                BigDecimal.valueOf(minPrice),
-                                BigDecimal.valueOf(maxPrice),
-                                productSize,
-                                mainColor,
-                                pageable)
-                        .stream()
-                        .map(ProductResponse::fromEntity)
-                        .toList();
-        return new PageImpl<>(result, pageable, result.size());
+        Predicate<ProductQueryRow> filter = listFilter(
+                categoryId, brandName, minPrice, maxPrice, productSize, mainColor);
+        // enum의 hashCode는 JVM마다 다르므로 이름으로 해시한다
+        int queryHash = Objects.hash(categoryId, brandName, minPrice, maxPrice, productSize, mainColor, sort.name());
+        ProductListCursor position = cursor == null
+                ? ProductListCursor.first(
+                        queryHash, Math.min(Math.max(size * 2, MIN_LIST_FETCH_SIZE), MAX_LIST_FETCH_SIZE))
+                : ProductListCursor.decode(cursor, queryHash, MIN_LIST_FETCH_SIZE, MAX_LIST_FETCH_SIZE);
+
+        // 브랜드가 있으면 보통 더 작은 브랜드 파티션을 읽고 카테고리는 행에서 거른다
+        List<UUID> productIds = new ArrayList<>(size);
+        Set<UUID> seen = new HashSet<>();
+        ProductListCursor next = null;
+        while (true) {
+            Slice<? extends ProductQueryRow> slice = brandName != null
+                    ? productQueryTableRepository.findByBrand(brandName, sort.getField(), direction, position.pageable())
+                    : productQueryTableRepository.findByCategory(categoryId, sort.getField(), direction, position.pageable());
+            int index = 0;
+            for (ProductQueryRow row : slice) {
+                if (index++ < position.skip()) {
+                    continue;
+                }
+                // 반영이 한 번 실패해 옛 정렬 값의 행이 남아 있어도 한 페이지 안에서는 상품을 한 번만 보여준다
+                if (!filter.test(row) || !seen.add(row.getProductId())) {
+                    continue;
+                }
+                if (productIds.size() == size) {
+                    next = new ProductListCursor(queryHash, position.fetchSize(), index - 1, position.pagingState());
+                    break;
+                }
+                productIds.add(row.getProductId());
+            }
+            if (next != null || !slice.hasNext()) {
+                break;
+            }
+            position = new ProductListCursor(queryHash, position.fetchSize(), 0,
+                    ((CassandraPageRequest) slice.nextPageable()).getPagingState());
+        }
+
+        Map<UUID, Product> products = productLookupRepository.findAllByIds(productIds);
+        List<ProductResponse> result = productIds.stream()
+                .map(products::get)
+                .filter(Objects::nonNull)
+                .map(ProductResponse::fromEntity)
+                .toList();
+        return CursorPageResponse.of(result, size, next == null ? null : next.encode());
     }
 
+    /**
+     * 장바구니·주문용 일괄 조회. 상품을 동시에 읽어 입력 순서대로 돌려주고, 없거나 삭제된 상품이 있으면
+     * 그 ID를 모두 담아 NOT_FOUND_PRODUCTS로 거절한다.
+     */
     public List<ProductDto> getProductList(List<String> productIds) {
-        return productIds.stream()
-                .map(productId -> getSavedProduct(UUID.fromString(productId)))
-                .map(ProductMapper::fromEntity)
+        List<UUID> ids = productIds.stream().map(UUID::fromString).toList();
+        Map<UUID, Product> found = productLocalCache.getAll(ids, productLookupRepository::findAllByIds);
+        List<String> missing = ids.stream()
+                .filter(id -> !found.containsKey(id))
+                .distinct()
+                .map(UUID::toString)
+                .toList();
+        if (!missing.isEmpty()) {
+            throw new ProductException(ProductErrorCode.NOT_FOUND_PRODUCTS, String.join(", ", missing));
+        }
+        Map<UUID, Integer> stocks = productLocalCache.currentStocks(found.values());
+        return ids.stream()
+                .map(found::get)
+                .map(product -> ProductMapper.fromEntity(product, stocks.get(product.getProductId())))
                 .toList();
     }
 
+    /**
+     * 읽기 전용 조회. 여러 요청이 같은 인스턴스를 공유하므로 수정하는 경로는 {@link #getSavedProduct}를 써야 한다.
+     */
+    private Product getCachedProduct(UUID productId) {
+        return productLocalCache
+                .get(productId, productRepository::findByProductIdAndIsDeletedFalse)
+                .orElseThrow(() -> new ProductException(ProductErrorCode.NOT_FOUND_PRODUCT));
+    }
+
     public Product getSavedProduct(UUID productId) {
         return productRepository
                 .findByProductIdAndIsDeletedFalse(productId)
                 .orElseThrow(() -> new ProductException(ProductErrorCode.NOT_FOUND_PRODUCT));
     }
 
+    /** 락 경로용 일괄 조회. 캐시를 거치지 않고, 없거나 삭제된 상품이 하나라도 있으면 NOT_FOUND_PRODUCT. */
+    private Map<UUID, Product> getSavedProducts(Set<UUID> productIds) {
+        Map<UUID, Product> products = productLookupRepository.findAllByIds(productIds);
+        if (products.size() < productIds.size()) {
+            throw new ProductException(ProductErrorCode.NOT_FOUND_PRODUCT);
+        }
+        return products;
+    }
+
+    /**
+     * 재고가 expected 그대로인 상품만 stocks 값으로 바꾸고 바뀐 상품 ID를 돌려준다. 쓰기는 모두 동시에 보낸다.
+     */
+    private Set<UUID> compareAndSetStocks(Map<UUID, Integer> expected, Map<UUID, Integer> stocks) {
+        Map<UUID, CompletableFuture<Boolean>> writes = new LinkedHashMap<>();
+        stocks.forEach((productId, stock) ->
+                writes.put(productId, productColumnRepository.compareAndSetStock(productId, expected.get(productId), stock)));
+        try {
+            CompletableFuture.allOf(writes.values().toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        } finally {
+            writes.keySet().forEach(productLocalCache::invalidate);
+        }
+        Set<UUID> applied = new LinkedHashSet<>();
+        writes.forEach((productId, write) -> {
+            if (write.join()) {
+                applied.add(productId);
+            }
+        });
+        return applied;
+    }
+
+    private static Map<UUID, Integer> toQuantities(Map<String, Integer> productQuantities) {
+        Map<UUID, Integer> quantities = new LinkedHashMap<>();
+        productQuantities.forEach((productId, quantity) -> quantities.merge(UUID.fromString(productId), quantity, Integer::sum));
+        return quantities;
+    }
+
+    private static Map<UUID, Integer> filterKeys(Map<UUID, Integer> values, Set<UUID> keys) {
+        Map<UUID, Integer> filtered = new LinkedHashMap<>();
+        keys.forEach(key -> filtered.put(key, values.get(key)));
+        return filtered;
+    }
+
+    /** 목록 테이블의 행에 나머지 조건(카테고리·브랜드·정가 범위·사이즈·색상)을 적용한다. null인 조건은 건너뛴다. */
+    private static Predicate<ProductQueryRow> listFilter(
+            Long categoryId,
+            String brandName,
+            Long minPrice,
+            Long maxPrice,
+            String productSize,
+            String mainColor) {
+        BigDecimal min = minPrice == null ? null : BigDecimal.valueOf(minPrice);
+        BigDecimal max = maxPrice == null ? null : BigDecimal.valueOf(maxPrice);
+        return row -> (categoryId == null || categoryId.equals(row.getCategoryId()))
+                && (brandName == null || brandName.equals(row.getBrandName()))
+                && (min == null || (row.getOriginalPrice() != null && row.getOriginalPrice().compareTo(min) >= 0))
+                && (max == null || (row.getOriginalPrice() != null && row.getOriginalPrice().compareTo(max) <= 0))
+                && (productSize == null || productSize.equals(row.getSize()))
+                && (mainColor == null || mainColor.equals(row.getMainColor()));
+    }
+
+    /**
+     * P_PRODUCT 저장 뒤 목록 테이블을 맞춘다. 실패해도 원본은 이미 저장됐으므로 요청은 성공시키고,
+     * 어긋난 행은 ProductQueryTableBackfill을 다시 돌려 맞춘다. 백필은 현재 행을 다시 쓰고,
+     * 키가 바뀌어 남은 옛 행(예전 카테고리·브랜드·정렬 값)과 삭제된 상품의 행을 지운다.
+     */
+    private void syncQueryTables(List<ProductQueryRow> before, Product product) {
+        try {
+            productQueryTableRepository.replace(before, ProductQueryRow.of(product));
+        } catch (Exception e) {
+            log.error("상품 목록 테이블 반영 실패: productId={}", product.getProductId(), e);
+        }
+    }
+
     private void validateProductStock(Product product, int reduceCount) {
         if (product.getStock() < reduceCount) {
             throw new ProductException(ProductErrorCode.STOCK_NOT_AVAILABLE);
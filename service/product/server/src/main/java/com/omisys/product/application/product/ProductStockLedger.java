@@ -0,0 +1,110 @@
+package com.omisys.product.application.product;
+
+import com.omisys.product.domain.repository.redis.StockLedgerRepository;
+import com.omisys.product.exception.ProductErrorCode;
+import com.omisys.product.exception.ProductException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 일반 주문 재고 차감·복구.
+ *
+ * <p>장바구니의 모든 상품을 Lua 스크립트 한 번으로 전부 차감하거나 하나도 차감하지 않으므로 상품별 분산락이 필요 없다.
+ * Redis 원장이 재고의 기준이고, Cassandra에는 StockWriteBehind가 변경 스트림을 읽어 비동기로 반영한다.</p>
+ *
+ * <p>원장에 없는 상품은 처음 주문될 때 Cassandra 재고로 채운다(HSETNX라 여러 인스턴스가 동시에 채워도 먼저 넣은 값이 남는다).
+ * 한 번 들어간 값은 만료되지 않으며 관리자 수정은 {@link #reset}, 삭제는 {@link #evict}로 원장에 반영한다.</p>
+ */
+@Service
+@Slf4j(topic = "ProductStockLedger")
+public class ProductStockLedger {
+
+    private final StockLedgerRepository stockLedgerRepository;
+    private final ProductService productService;
+    private final boolean enabled;
+
+    public ProductStockLedger(
+            StockLedgerRepository stockLedgerRepository,
+            ProductService productService,
+            @Value("${product.stock.ledger.enabled:true}") boolean enabled) {
+        this.stockLedgerRepository = stockLedgerRepository;
+        this.productService = productService;
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void reduceStock(Map<String, Integer> productQuantities) {
+        apply(productQuantities, true);
+    }
+
+    public void rollbackStock(Map<String, Integer> productQuantities) {
+        apply(productQuantities, false);
+    }
+
+    /**
+     * 관리자가 재고를 고치면 원장 값을 덮어쓰고 write-behind로 Cassandra에 반영한다.
+     * 원장을 끄면 락 경로와 같은 조건부 쓰기로 Cassandra 재고를 바꾼다.
+     */
+    public void reset(UUID productId, int stock) {
+        if (!enabled) {
+            productService.resetStock(productId, stock);
+            return;
+        }
+        stockLedgerRepository.reset(productId.toString(), stock);
+    }
+
+    /** 삭제된 상품을 원장에서 뺀다. 이후 주문은 NOT_FOUND_PRODUCT로 거절된다. */
+    public void evict(UUID productId) {
+        stockLedgerRepository.evict(productId.toString());
+    }
+
+    private void apply(Map<String, Integer> productQuantities, boolean reduce) {
+        if (productQuantities.isEmpty()) {
+            return;
+        }
+        List<String> productIds = new ArrayList<>(productQuantities.keySet());
+        List<Integer> quantities = productIds.stream().map(productQuantities::get).toList();
+
+        long result = execute(productIds, quantities, reduce);
+        if (result < 0) {
+            seedMissing(productIds);
+            result = execute(productIds, quantities, reduce);
+        }
+        if (result < 0) {
+            // 채운 직후에 상품이 삭제되어 원장에서 빠진 경우
+            throw new ProductException(ProductErrorCode.NOT_FOUND_PRODUCT);
+        }
+        if (result > 0) {
+            log.info("재고 부족: productId={} 요청 수량={}",
+                    productIds.get((int) result - 1), quantities.get((int) result - 1));
+            throw new ProductException(ProductErrorCode.STOCK_NOT_AVAILABLE);
+        }
+    }
+
+    private long execute(List<String> productIds, List<Integer> quantities, boolean reduce) {
+        return reduce
+                ? stockLedgerRepository.reduce(productIds, quantities)
+                : stockLedgerRepository.restore(productIds, quantities);
+    }
+
+    /** 원장에 없는 상품을 Cassandra 재고로 채운다. 삭제되었거나 없는 상품이면 NOT_FOUND_PRODUCT. */
+    private void seedMissing(List<String> productIds) {
+        List<Integer> stocks = stockLedgerRepository.currentStocks(productIds);
+        for (int i = 0; i < productIds.size(); i++) {
+            if (stocks.get(i) == null) {
+                String productId = productIds.get(i);
+                int stock = productService.getSavedProduct(UUID.fromString(productId)).getStock();
+                stockLedgerRepository.seed(productId, stock);
+            }
+        }
+    }
+}
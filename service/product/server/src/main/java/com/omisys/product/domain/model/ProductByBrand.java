@@ -0,0 +1,53 @@
+package com.omisys.product.domain.model;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.cassandra.core.cql.Ordering;
+import org.springframework.data.cassandra.core.cql.PrimaryKeyType;
+import org.springframework.data.cassandra.core.mapping.Column;
+import org.springframework.data.cassandra.core.mapping.PrimaryKeyColumn;
+import org.springframework.data.cassandra.core.mapping.Table;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/** 브랜드별 상품 목록 테이블. 파티션 = (brandName, sortType). */
+@Table("P_PRODUCT_BY_BRAND")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ProductByBrand implements ProductQueryRow {
+
+    @PrimaryKeyColumn(ordinal = 0, type = PrimaryKeyType.PARTITIONED)
+    private String brandName;
+
+    @PrimaryKeyColumn(ordinal = 1, type = PrimaryKeyType.PARTITIONED)
+    private String sortType;
+
+    @PrimaryKeyColumn(ordinal = 2, type = PrimaryKeyType.CLUSTERED, ordering = Ordering.DESCENDING)
+    private BigDecimal sortValue;
+
+    @PrimaryKeyColumn(ordinal = 3, type = PrimaryKeyType.CLUSTERED)
+    private UUID productId;
+
+    @Column private Long categoryId;
+    @Column private String mainColor;
+    @Column private String size;
+    @Column private BigDecimal originalPrice;
+
+    ProductByBrand(Product product, String sortType, BigDecimal sortValue) {
+        this.brandName = product.getBrandName();
+        this.sortType = sortType;
+        this.sortValue = sortValue;
+        this.productId = product.getProductId();
+        this.categoryId = product.getCategoryId();
+        this.mainColor = product.getMainColor();
+        this.size = product.getSize();
+        this.originalPrice = product.getOriginalPrice();
+    }
+
+    @Override
+    public Key key() {
+        return new Key("P_PRODUCT_BY_BRAND", brandName, sortType, sortValue, productId);
+    }
+}
@@ -0,0 +1,53 @@
+package com.omisys.product.domain.model;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.cassandra.core.cql.Ordering;
+import org.springframework.data.cassandra.core.cql.PrimaryKeyType;
+import org.springframework.data.cassandra.core.mapping.Column;
+import org.springframework.data.cassandra.core.mapping.PrimaryKeyColumn;
+import org.springframework.data.cassandra.core.mapping.Table;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/** 카테고리별 상품 목록 테이블. 파티션 = (categoryId, sortType). */
+@Table("P_PRODUCT_BY_CATEGORY")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ProductByCategory implements ProductQueryRow {
+
+    @PrimaryKeyColumn(ordinal = 0, type = PrimaryKeyType.PARTITIONED)
+    private Long categoryId;
+
+    @PrimaryKeyColumn(ordinal = 1, type = PrimaryKeyType.PARTITIONED)
+    private String sortType;
+
+    @PrimaryKeyColumn(ordinal = 2, type = PrimaryKeyType.CLUSTERED, ordering = Ordering.DESCENDING)
+    private BigDecimal sortValue;
+
+    @PrimaryKeyColumn(ordinal = 3, type = PrimaryKeyType.CLUSTERED)
+    private UUID productId;
+
+    @Column private String brandName;
+    @Column private String mainColor;
+    @Column private String size;
+    @Column private BigDecimal originalPrice;
+
+    ProductByCategory(Product product, String sortType, BigDecimal sortValue) {
+        this.categoryId = product.getCategoryId();
+        this.sortType = sortType;
+        this.sortValue = sortValue;
+        this.productId = product.getProductId();
+        this.brandName = product.getBrandName();
+        this.mainColor = product.getMainColor();
+        this.size = product.getSize();
+        this.originalPrice = product.getOriginalPrice();
+    }
+
+    @Override
+    public Key key() {
+        return new Key("P_PRODUCT_BY_CATEGORY", categoryId, sortType, sortValue, productId);
+    }
+}
@@ -0,0 +1,75 @@
+package com.omisys.product.domain.model;
+
+import java.math.BigDecimal;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 목록 조회 전용 테이블의 행. 상품 하나는 정렬 기준마다 한 행씩 카테고리별·브랜드별 테이블에 들어간다.
+ *
+ * <p>파티션은 (카테고리 또는 브랜드, 정렬 기준)이고 그 안에서 정렬 값 내림차순으로 모여 있으므로
+ * 목록 한 페이지는 파티션 하나를 순서대로 읽는 것으로 끝난다. 오름차순(최저가)은 같은 파티션을 거꾸로 읽는다.</p>
+ */
+public interface ProductQueryRow {
+
+    /** 정렬 기준 = {@link SortOption#getField()}. MAX_PRICE·MIN_PRICE는 같은 파티션을 쓴다. */
+    List<String> SORT_TYPES = Arrays.stream(SortOption.values()).map(SortOption::getField).distinct().toList();
+
+    Key key();
+
+    UUID getProductId();
+
+    Long getCategoryId();
+
+    String getBrandName();
+
+    /** 가격 범위 조건은 기존 목록 조회와 같이 정가 기준이다. */
+    BigDecimal getOriginalPrice();
+
+    String getSize();
+
+    String getMainColor();
+
+    /** 삭제된 상품은 목록 테이블에 넣지 않는다. 브랜드가 없으면 브랜드별 테이블에도 넣지 않는다. */
+    static List<ProductQueryRow> of(Product product) {
+        if (product.isDeleted()) {
+            return List.of();
+        }
+        List<ProductQueryRow> rows = new ArrayList<>(SORT_TYPES.size() * 2);
+        for (String sortType : SORT_TYPES) {
+            BigDecimal sortValue = sortValue(product, sortType);
+            if (product.getCategoryId() != null) {
+                rows.add(new ProductByCategory(product, sortType, sortValue));
+            }
+            if (product.getBrandName() != null) {
+                rows.add(new ProductByBrand(product, sortType, sortValue));
+            }
+        }
+        return rows;
+    }
+
+    static BigDecimal sortValue(Product product, String sortType) {
+        return switch (sortType) {
+            case "discountedPrice" -> product.getDiscountedPrice() == null ? BigDecimal.ZERO : product.getDiscountedPrice();
+            case "salesCount" -> BigDecimal.valueOf(product.getSalesCount());
+            case "reviewCount" -> BigDecimal.valueOf(product.getReviewCount());
+            case "createdAt" -> product.getCreatedAt() == null
+                    ? BigDecimal.ZERO
+                    : BigDecimal.valueOf(product.getCreatedAt().toInstant(ZoneOffset.UTC).toEpochMilli());
+            default -> throw new IllegalArgumentException("알 수 없는 정렬 기준: " + sortType);
+        };
+    }
+
+    /**
+     * 행의 기본 키. Cassandra decimal은 크기로 비교하므로(1.0 = 1.00) 정렬 값은 끝자리 0을 떼고 비교한다.
+     */
+    record Key(String table, Object partition, String sortType, BigDecimal sortValue, UUID productId) {
+
+        public Key {
+            sortValue = sortValue.stripTrailingZeros();
+        }
+    }
+}
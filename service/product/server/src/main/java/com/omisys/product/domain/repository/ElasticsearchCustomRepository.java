@@ -1,6 +1,8 @@
 package com.omisys.product.domain.repository;
 
 import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.FieldValue;
+import co.elastic.clients.elasticsearch._types.SortOrder;
 import co.elastic.clients.elasticsearch._types.query_dsl.MatchQuery;
 import co.elastic.clients.elasticsearch._types.query_dsl.Query;
 import co.elastic.clients.elasticsearch._types.query_dsl.RangeQuery;
@@ -17,21 +19,26 @@ import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Repository;
 
 @Repository
 @RequiredArgsConstructor
 @Slf4j(topic = "ElasticsearchCustomRepository")
 public class ElasticsearchCustomRepository {
+
+    /** 정렬 값이 같은 상품 사이의 순서를 고정해 search_after가 건너뛰거나 겹치지 않게 하는 보조 정렬. */
+    private static final String TIEBREAKER_FIELD = "productId.keyword";
+
     private final ElasticsearchClient esClient;
 
     @Value("${product.search-index}")
     private String searchIndex;
 
-    public Page<ProductSearchDto> searchProductList(
+    /**
+     * searchAfter가 있으면 그 정렬 값 다음부터, 없으면 page * pageSize 위치부터 pageSize개를 찾는다.
+     * 다음 페이지가 있는지 알기 위해 한 건을 더 읽고, 있으면 마지막으로 돌려준 상품의 정렬 값을 함께 돌려준다.
+     */
+    public SearchResult searchProductList(
             Long categoryId,
             String brandName,
             Long minPrice,
@@ -40,8 +47,8 @@ public class ElasticsearchCustomRepository {
             String mainColor,
             int page,
             int pageSize,
-            Pageable pageable,
-            SortOption sortOption)
+            SortOption sortOption,
+            List<FieldValue> searchAfter)
             throws IOException {
 
         List<Query> mustQueries = new ArrayList<>();
@@ -70,24 +77,33 @@ public class ElasticsearchCustomRepository {
 
         SearchResponse<ProductSearchDto> response =
                 esClient.search(
-                        s ->
-                                s.index(searchIndex)
-                                        .query(q -> q.bool(b -> b.must(mustQueries)))
-                                        .from(Math.max(0, (page - 1) * pageSize))
-                                        .size(pageSize)
-                                        .sort(
-                                                option ->
-                                                        option.field(
-                                                                f -> f.field(sortOption.getField()).order(sortOption.getOrder()))),
+                        s -> {
+                            s.index(searchIndex)
+                                    .query(q -> q.bool(b -> b.must(mustQueries)))
+                                    .size(pageSize + 1)
+                                    .sort(
+                                            option ->
+                                                    option.field(
+                                                            f -> f.field(sortOption.getField()).order(sortOption.getOrder())))
+                                    .sort(option -> option.field(f -> f.field(TIEBREAKER_FIELD).order(SortOrder.Asc)));
+                            return searchAfter == null
+                                    ? s.from(Math.max(0, page * pageSize))
+                                    : s.searchAfter(searchAfter);
+                        },
                         ProductSearchDto.class);
 
         TotalHits totalHits = response.hits().total();
         List<Hit<ProductSearchDto>> hits = response.hits().hits();
         List<ProductSearchDto> products = new ArrayList<>();
-        for (Hit<ProductSearchDto> hit : hits) {
+        for (Hit<ProductSearchDto> hit : hits.subList(0, Math.min(pageSize, hits.size()))) {
             ProductSearchDto product = hit.source();
             products.add(product);
         }
-        return new PageImpl<>(products, pageable, totalHits.value());
+        List<FieldValue> nextSearchAfter = hits.size() > pageSize ? hits.get(pageSize - 1).sort() : null;
+        return new SearchResult(products, totalHits == null ? products.size() : totalHits.value(), nextSearchAfter);
+    }
+
+    /** nextSearchAfter가 null이면 마지막 페이지다. */
+    public record SearchResult(List<ProductSearchDto> products, long totalHits, List<FieldValue> nextSearchAfter) {
     }
 }
\ No newline at end of file
@@ -0,0 +1,134 @@
+package com.omisys.product.domain.repository.cassandra;
+
+import com.omisys.product.domain.model.Product;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.cassandra.core.AsyncCassandraOperations;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * 상품 행 전체를 다시 쓰지 않고 바뀌는 컬럼만 고치는 CQL 접근. 행 전체 저장({@code save})은 상품 생성 때만 쓴다.
+ *
+ * <p>{@code save(product)}는 설명·이미지 URL·태그까지 모든 컬럼을 다시 쓰지만 여기서는 바뀌는 컬럼만 보낸다.
+ * 쓰기는 비동기로 보내고 결과를 future로 돌려준다. 인스턴스 전체에서 동시에 진행 중인 쓰기는 max-in-flight로 제한하며,
+ * 한도에 닿으면 호출 스레드가 앞선 쓰기가 끝날 때까지 기다린다.</p>
+ *
+ * <p>재고 원장이 켜져 있으면 재고는 원장 값을 덮어쓰기만 하므로({@link #updateStock}) 경량 트랜잭션이 필요 없다.
+ * 원장이 꺼지면 락 경로의 차감·복구와 관리자 재고 수정이 모두 {@link #compareAndSetStock}으로 읽은 값이 그대로일 때만 쓴다.
+ * 같은 컬럼에 LWT와 일반 쓰기를 섞으면 LWT가 보장하지 못하므로, 관리자 수정({@link #updateDetails})·판매 상태·삭제는
+ * 재고 컬럼을 쓰지 않는다.</p>
+ */
+@Repository
+public class ProductColumnRepository {
+
+    private static final String UPDATE_STOCK_CQL =
+            "UPDATE \"P_PRODUCT\" USING TIMESTAMP ? SET stock = ? WHERE productid = ?";
+    private static final String COMPARE_AND_SET_STOCK_CQL =
+            "UPDATE \"P_PRODUCT\" SET stock = ? WHERE productid = ? IF stock = ?";
+    private static final String UPDATE_RATING_CQL =
+            "UPDATE \"P_PRODUCT\" SET averagerating = ?, reviewcount = ? WHERE productid = ?";
+    private static final String UPDATE_SOLDOUT_CQL =
+            "UPDATE \"P_PRODUCT\" SET soldout = ? WHERE productid = ?";
+    private static final String MARK_DELETED_CQL =
+            "UPDATE \"P_PRODUCT\" SET isdeleted = true WHERE productid = ?";
+    private static final String UPDATE_DETAILS_CQL = """
+            UPDATE "P_PRODUCT" SET categoryid = ?, productname = ?, brandname = ?, maincolor = ?, size = ?,
+            description = ?, originalprice = ?, discountedprice = ?, discountpercent = ?,
+            originimgurl = ?, thumbnailimgurl = ?, detailimgurl = ?, limitcountperuser = ?, ispublic = ?, tags = ?
+            WHERE productid = ?""";
+
+    private final AsyncCassandraOperations asyncCassandraOperations;
+    private final Semaphore permits;
+
+    public ProductColumnRepository(
+            AsyncCassandraOperations asyncCassandraOperations,
+            @Value("${product.write.max-in-flight:64}") int maxInFlight) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("상품 동시 쓰기 수는 1 이상이어야 합니다: " + maxInFlight);
+        }
+        this.asyncCassandraOperations = asyncCassandraOperations;
+        this.permits = new Semaphore(maxInFlight);
+    }
+
+    /**
+     * 재고를 stock으로 덮어쓴다. 쓰기 시각을 timestampMicros로 지정하므로 여러 인스턴스의 쓰기가 늦게 도착해도
+     * 더 나중에 읽은 값이 남는다(Cassandra last-write-wins).
+     */
+    public CompletableFuture<Void> updateStock(UUID productId, int stock, long timestampMicros) {
+        return submit(() -> asyncCassandraOperations.getAsyncCqlOperations()
+                .execute(UPDATE_STOCK_CQL, timestampMicros, stock, productId))
+                .thenApply(applied -> null);
+    }
+
+    /** 재고가 아직 expected일 때만 stock으로 바꾼다. 바뀌었으면 false. */
+    public CompletableFuture<Boolean> compareAndSetStock(UUID productId, int expected, int stock) {
+        return submit(() -> asyncCassandraOperations.getAsyncCqlOperations()
+                .execute(COMPARE_AND_SET_STOCK_CQL, stock, productId, expected));
+    }
+
+    /** 리뷰 서비스가 보낸 집계 값을 그대로 쓴다. 같은 이벤트를 다시 받아도 결과가 같다. */
+    public CompletableFuture<Void> updateRating(UUID productId, double averageRating, long reviewCount) {
+        return submit(() -> asyncCassandraOperations.getAsyncCqlOperations()
+                .execute(UPDATE_RATING_CQL, averageRating, reviewCount, productId))
+                .thenApply(applied -> null);
+    }
+
+    /** 판매 상태만 바꾼다. 원장보다 늦을 수 있는 재고를 행 저장으로 다시 쓰지 않기 위해 따로 둔다. */
+    public CompletableFuture<Void> updateSoldout(UUID productId, boolean soldout) {
+        return submit(() -> asyncCassandraOperations.getAsyncCqlOperations()
+                .execute(UPDATE_SOLDOUT_CQL, soldout, productId))
+                .thenApply(applied -> null);
+    }
+
+    /** 상품을 삭제 상태로 바꾼다. */
+    public CompletableFuture<Void> markDeleted(UUID productId) {
+        return submit(() -> asyncCassandraOperations.getAsyncCqlOperations()
+                .execute(MARK_DELETED_CQL, productId))
+                .thenApply(applied -> null);
+    }
+
+    /**
+     * 관리자 상품 수정으로 바뀌는 컬럼만 쓴다. 재고·평점·판매 상태·삭제 여부는 각자의 경로가 쓰므로 건드리지 않는다.
+     */
+    public CompletableFuture<Void> updateDetails(Product product) {
+        return submit(() -> asyncCassandraOperations.getAsyncCqlOperations().execute(UPDATE_DETAILS_CQL,
+                        product.getCategoryId(),
+                        product.getProductName(),
+                        product.getBrandName(),
+                        product.getMainColor(),
+                        product.getSize(),
+                        product.getDescription(),
+                        product.getOriginalPrice(),
+                        product.getDiscountedPrice(),
+                        product.getDiscountPercent(),
+                        product.getOriginImgUrl(),
+                        product.getThumbnailImgUrl(),
+                        product.getDetailImgUrl(),
+                        product.getLimitCountPerUser(),
+                        product.isPublic(),
+                        product.getTags(),
+                        product.getProductId()))
+                .thenApply(applied -> null);
+    }
+
+    private CompletableFuture<Boolean> submit(Supplier<CompletableFuture<Boolean>> write) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("상품 쓰기 대기 중 인터럽트", e);
+        }
+        CompletableFuture<Boolean> future;
+        try {
+            future = write.get();
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+        return future.whenComplete((applied, error) -> permits.release());
+    }
+}
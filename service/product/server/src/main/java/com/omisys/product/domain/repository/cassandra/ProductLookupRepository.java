@@ -0,0 +1,77 @@
+package com.omisys.product.domain.repository.cassandra;
+
+import com.omisys.product.domain.model.Product;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.cassandra.core.AsyncCassandraOperations;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * 여러 상품을 한 번에 읽는 조회. 상품마다 파티션 키 단건 조회를 비동기로 동시에 보내고 모두 끝날 때까지 기다린다.
+ *
+ * <p>{@code IN} 한 문장은 코디네이터 하나가 모든 파티션을 모으느라 가장 느린 복제본에 묶이지만, 단건 조회를 나눠 보내면
+ * 드라이버의 토큰 인식 라우팅으로 각 요청이 해당 파티션을 가진 노드로 바로 가고 응답 시간은 가장 느린 한 건에 가까워진다.
+ * 한 요청이 동시에 보내는 조회 수는 max-in-flight로 제한한다.</p>
+ */
+@Repository
+public class ProductLookupRepository {
+
+    private final AsyncCassandraOperations asyncCassandraOperations;
+    private final int maxInFlight;
+
+    public ProductLookupRepository(
+            AsyncCassandraOperations asyncCassandraOperations,
+            @Value("${product.lookup.max-in-flight:32}") int maxInFlight) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("상품 동시 조회 수는 1 이상이어야 합니다: " + maxInFlight);
+        }
+        this.asyncCassandraOperations = asyncCassandraOperations;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * productIds 중 삭제되지 않은 상품을 productId 순서(입력 순서)로 담아 돌려준다. 없는 상품은 결과에서 빠진다.
+     */
+    public Map<UUID, Product> findAllByIds(Collection<UUID> productIds) {
+        Semaphore permits = new Semaphore(maxInFlight);
+        Map<UUID, CompletableFuture<Product>> futures = new LinkedHashMap<>();
+        try {
+            for (UUID productId : productIds) {
+                if (futures.containsKey(productId)) {
+                    continue;
+                }
+                permits.acquire();
+                CompletableFuture<Product> future;
+                try {
+                    future = asyncCassandraOperations.selectOneById(productId, Product.class);
+                } catch (RuntimeException e) {
+                    permits.release();
+                    throw e;
+                }
+                futures.put(productId, future.whenComplete((product, error) -> permits.release()));
+            }
+            CompletableFuture.allOf(futures.values().toArray(CompletableFuture[]::new)).join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("상품 조회 대기 중 인터럽트", e);
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+
+        Map<UUID, Product> found = new LinkedHashMap<>(futures.size());
+        futures.forEach((productId, future) -> {
+            Product product = future.join();
+            if (product != null && !product.isDeleted()) {
+                found.put(productId, product);
+            }
+        });
+        return found;
+    }
+}
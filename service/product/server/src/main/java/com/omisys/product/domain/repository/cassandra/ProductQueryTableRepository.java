@@ -0,0 +1,94 @@
+package com.omisys.product.domain.repository.cassandra;
+
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import com.omisys.product.domain.model.ProductByBrand;
+import com.omisys.product.domain.model.ProductByCategory;
+import com.omisys.product.domain.model.ProductQueryRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.cassandra.core.CassandraBatchOperations;
+import org.springframework.data.cassandra.core.CassandraOperations;
+import org.springframework.data.cassandra.core.query.CassandraPageRequest;
+import org.springframework.data.cassandra.core.query.Query;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 카테고리별·브랜드별 목록 테이블 접근.
+ *
+ * <p>읽기는 (카테고리 또는 브랜드, 정렬 기준) 파티션 하나를 정렬 값 순서로 읽고, 다음 조각은 Cassandra paging state로 이어 읽는다.
+ * 쓰기는 P_PRODUCT 저장 뒤에 바뀐 행만 logged batch 하나로 반영해 두 테이블이 함께 바뀌거나 함께 재시도되게 한다.</p>
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProductQueryTableRepository {
+
+    private static final String SELECT_BY_CATEGORY =
+            "SELECT * FROM \"P_PRODUCT_BY_CATEGORY\" WHERE categoryid = ? AND sorttype = ? ORDER BY sortvalue %s";
+    private static final String SELECT_BY_BRAND =
+            "SELECT * FROM \"P_PRODUCT_BY_BRAND\" WHERE brandname = ? AND sorttype = ? ORDER BY sortvalue %s";
+
+    private final CassandraOperations cassandraOperations;
+
+    /**
+     * before 행을 after 행으로 바꾼다. 키가 그대로인 행은 덮어쓰기만 하고 지우지 않는다
+     * (같은 배치 안의 삭제와 삽입은 타임스탬프가 같아 삭제가 이긴다).
+     */
+    public void replace(List<ProductQueryRow> before, List<ProductQueryRow> after) {
+        Set<ProductQueryRow.Key> kept = after.stream().map(ProductQueryRow::key).collect(Collectors.toSet());
+        List<ProductQueryRow> removed = before.stream().filter(row -> !kept.contains(row.key())).toList();
+        if (removed.isEmpty() && after.isEmpty()) {
+            return;
+        }
+        CassandraBatchOperations batch = cassandraOperations.batchOps();
+        if (!removed.isEmpty()) {
+            batch.delete(removed);
+        }
+        if (!after.isEmpty()) {
+            batch.insert(after);
+        }
+        batch.execute();
+    }
+
+    /** 키가 어긋난 행을 지운다. 드물게 생기므로 배치 크기 제한에 걸리지 않게 한 행씩 지운다. */
+    public void delete(List<? extends ProductQueryRow> rows) {
+        rows.forEach(cassandraOperations::delete);
+    }
+
+    /** 카테고리별 테이블 전체를 파티션 구분 없이 순서대로 읽는다. 백필의 정리 단계용이다. */
+    public Slice<ProductByCategory> scanCategoryRows(Pageable pageable) {
+        return cassandraOperations.slice(Query.empty().pageRequest(pageable), ProductByCategory.class);
+    }
+
+    /** 브랜드별 테이블 전체를 파티션 구분 없이 순서대로 읽는다. 백필의 정리 단계용이다. */
+    public Slice<ProductByBrand> scanBrandRows(Pageable pageable) {
+        return cassandraOperations.slice(Query.empty().pageRequest(pageable), ProductByBrand.class);
+    }
+
+    public Slice<ProductByCategory> findByCategory(
+            Long categoryId, String sortType, Sort.Direction direction, Pageable pageable) {
+        return cassandraOperations.slice(
+                statement(SELECT_BY_CATEGORY.formatted(direction.name()), pageable, categoryId, sortType),
+                ProductByCategory.class);
+    }
+
+    public Slice<ProductByBrand> findByBrand(
+            String brandName, String sortType, Sort.Direction direction, Pageable pageable) {
+        return cassandraOperations.slice(
+                statement(SELECT_BY_BRAND.formatted(direction.name()), pageable, brandName, sortType),
+                ProductByBrand.class);
+    }
+
+    private static SimpleStatement statement(String cql, Pageable pageable, Object... values) {
+        SimpleStatement statement = SimpleStatement.newInstance(cql, values).setPageSize(pageable.getPageSize());
+        if (pageable instanceof CassandraPageRequest request && request.getPagingState() != null) {
+            statement = statement.setPagingState(request.getPagingState());
+        }
+        return statement;
+    }
+}
@@ -2,35 +2,19 @@ package com.omisys.product.domain.repository.cassandra;
 
 import com.omisys.product.domain.model.Product;
 import org.springframework.data.cassandra.repository.CassandraRepository;
-import org.springframework.data.cassandra.repository.Query;
-import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Repository;
 
-import java.math.BigDecimal;
-import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+/**
+ * 상품 원본 테이블(P_PRODUCT). 목록 조회는 {@link ProductQueryTableRepository}의 목록 테이블로 한다.
+ */
 @Repository
 public interface ProductRepository extends CassandraRepository<Product, UUID> {
 
-    @Query("SELECT * FROM \"P_PRODUCT\" WHERE productid = ?0 AND isdeleted = false ALLOW FILTERING")
-    Optional<Product> findByProductIdAndIsDeletedFalse(UUID productId);
-
-    @Query(
-            "SELECT * FROM \"P_PRODUCT\" WHERE "
-                    + "(categoryId = ?0) AND "
-                    + "(brandName = ?1) AND "
-                    + "(originalPrice >= ?2) AND "
-                    + "(originalPrice <= ?3) AND "
-                    + "(size = ?4) AND "
-                    + "(mainColor = ?5) ALLOW FILTERING")
-    List<Product> findAllByFilters(
-            Long categoryId,
-            String brandName,
-            BigDecimal minPrice,
-            BigDecimal maxPrice,
-            String productSize,
-            String mainColor,
-            Pageable pageable);
+    /** 파티션 키로 한 행만 읽고 삭제 여부는 애플리케이션에서 거른다(ALLOW FILTERING 없음). */
+    default Optional<Product> findByProductIdAndIsDeletedFalse(UUID productId) {
+        return findById(productId).filter(product -> !product.isDeleted());
+    }
 }
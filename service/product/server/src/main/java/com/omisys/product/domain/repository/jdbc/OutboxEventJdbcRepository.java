@@ -0,0 +1,70 @@
+package com.omisys.product.domain.repository.jdbc;
+
+import com.omisys.product.domain.model.outbox.OutboxEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JPA를 거치지 않는 outbox_events 일괄 저장.
+ *
+ * <p>IDENTITY 키 전략에서는 Hibernate가 INSERT를 배치로 묶지 못하므로 여러 행을 VALUES 한 문장으로 만들어 보낸다.
+ * 한 문장은 자동 커밋 한 번으로 원자 적용된다.</p>
+ */
+@Repository
+@RequiredArgsConstructor
+public class OutboxEventJdbcRepository {
+
+    private static final String INSERT_PREFIX = """
+            INSERT INTO outbox_events
+                (aggregate_type, aggregate_id, event_type, message_key, payload, status, retry_count, created_at)
+            VALUES\s""";
+    private static final String ROW = "(?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int COLUMNS = 8;
+
+    private static final String EXISTS = """
+            SELECT COUNT(*) FROM outbox_events
+            WHERE aggregate_type = ? AND aggregate_id = ? AND event_type = ? AND message_key = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /** 이벤트들을 INSERT 한 문장으로 저장한다. */
+    public void insertAll(List<OutboxEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + events.size() * (ROW.length() + 2))
+                .append(INSERT_PREFIX);
+        List<Object> args = new ArrayList<>(events.size() * COLUMNS);
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+        for (int i = 0; i < events.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(ROW);
+            OutboxEvent event = events.get(i);
+            args.add(event.getAggregateType());
+            args.add(event.getAggregateId());
+            args.add(event.getEventType());
+            args.add(event.getMessageKey());
+            args.add(event.getPayload());
+            args.add(event.getStatus().name());
+            args.add(event.getRetryCount());
+            args.add(createdAt);
+        }
+        jdbcTemplate.update(sql.toString(), args.toArray());
+    }
+
+    /** 같은 집계·이벤트 타입·메시지 키의 이벤트가 이미 저장돼 있는지 확인한다(저널 복구 시 중복 저장 방지). */
+    public boolean exists(OutboxEvent event) {
+        Integer count = jdbcTemplate.queryForObject(EXISTS, Integer.class,
+                event.getAggregateType(), event.getAggregateId(), event.getEventType(), event.getMessageKey());
+        return count != null && count > 0;
+    }
+}
@@ -2,12 +2,65 @@ package com.omisys.product.domain.repository.redis;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Objects;
+
 @Repository
 @RequiredArgsConstructor
 public class RedisRepository {
 
+    /** 예약 완료 */
+    public static final long RESERVED = 1L;
+    /** 이미 예약한 사용자 */
+    public static final long ALREADY_RESERVED = 0L;
+    /** 예약 가능 수량 소진 */
+    public static final long SOLD_OUT = -1L;
+
+    /**
+     * 사전예약 원자 처리 Lua 스크립트(중복 확인 → 잔여 수량 확인 → 등록).
+     * KEYS[1] = 사전예약 Set 키, ARGV[1] = userId, ARGV[2] = 예약 가능 수량
+     * 반환값: 1(예약 완료), 0(이미 예약), -1(수량 소진)
+     */
+    private static final DefaultRedisScript<Long> RESERVE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('SISMEMBER', KEYS[1], ARGV[1]) == 1 then return 0 end
+            if redis.call('SCARD', KEYS[1]) >= tonumber(ARGV[2]) then return -1 end
+            redis.call('SADD', KEYS[1], ARGV[1])
+            return 1
+            """, Long.class);
+
+    /** 분할 예약에서 홈 버킷 슬롯이 없어 형제 버킷 슬롯을 찾는 중인 사용자 표시 */
+    public static final String PENDING_SHARD = "-1";
+
+    /**
+     * 분할 예약 홈 버킷 Lua 스크립트(사용자 선점 → 홈 버킷 잔여 확인 → 카운터 증가).
+     * KEYS[1] = 홈 버킷 카운터, KEYS[2] = 홈 버킷 사용자 인덱스
+     * ARGV[1] = userId, ARGV[2] = 홈 버킷 할당량, ARGV[3] = 홈 버킷 번호, ARGV[4] = PENDING_SHARD
+     * 반환값: 1(예약 완료), 0(이미 예약), -1(홈 버킷 소진 — 사용자는 PENDING_SHARD로 선점된 상태)
+     */
+    private static final DefaultRedisScript<Long> RESERVE_HOME_SHARD_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('HSETNX', KEYS[2], ARGV[1], ARGV[3]) == 0 then return 0 end
+            if tonumber(redis.call('GET', KEYS[1]) or '0') >= tonumber(ARGV[2]) then
+                redis.call('HSET', KEYS[2], ARGV[1], ARGV[4])
+                return -1
+            end
+            redis.call('INCR', KEYS[1])
+            return 1
+            """, Long.class);
+
+    /**
+     * 형제 버킷 슬롯 가져오기 Lua 스크립트.
+     * KEYS[1] = 버킷 카운터, ARGV[1] = 버킷 할당량
+     * 반환값: 1(슬롯 획득), 0(버킷 소진)
+     */
+    private static final DefaultRedisScript<Long> TAKE_SHARD_SLOT_SCRIPT = new DefaultRedisScript<>("""
+            if tonumber(redis.call('GET', KEYS[1]) or '0') >= tonumber(ARGV[1]) then return 0 end
+            redis.call('INCR', KEYS[1])
+            return 1
+            """, Long.class);
+
     private final RedisTemplate<String, String> redisTemplate;
 
     public Long sAdd(String key, String value) {
@@ -21,4 +74,78 @@ public class RedisRepository {
     public Boolean sIsMember(String key, String value) {
         return redisTemplate.opsForSet().isMember(key, value);
     }
+
+    /**
+     * Set 크기가 limit 미만이고 value가 아직 없을 때만 value를 추가한다.
+     *
+     * @return {@link #RESERVED}, {@link #ALREADY_RESERVED}, {@link #SOLD_OUT} 중 하나
+     */
+    public long reserve(String key, String value, int limit) {
+        Long result = redisTemplate.execute(RESERVE_SCRIPT, List.of(key), value, Integer.toString(limit));
+        if (result == null) {
+            throw new IllegalStateException("사전예약 스크립트 결과가 없습니다: " + key);
+        }
+        return result;
+    }
+
+    /**
+     * 분할 예약 홈 버킷에서 사용자를 선점하고 슬롯을 가져온다.
+     *
+     * @return {@link #RESERVED}, {@link #ALREADY_RESERVED}, {@link #SOLD_OUT}(홈 버킷 소진) 중 하나
+     */
+    public long reserveHomeShard(String countKey, String usersKey, String userId, long quota, int shard) {
+        Long result = redisTemplate.execute(RESERVE_HOME_SHARD_SCRIPT, List.of(countKey, usersKey),
+                userId, Long.toString(quota), Integer.toString(shard), PENDING_SHARD);
+        if (result == null) {
+            throw new IllegalStateException("사전예약 스크립트 결과가 없습니다: " + countKey);
+        }
+        return result;
+    }
+
+    /** 버킷 카운터가 할당량 미만이면 1 증가시키고 true를 반환한다. */
+    public boolean takeShardSlot(String countKey, long quota) {
+        Long result = redisTemplate.execute(TAKE_SHARD_SLOT_SCRIPT, List.of(countKey), Long.toString(quota));
+        return Long.valueOf(1L).equals(result);
+    }
+
+    /** 홈 버킷 사용자 인덱스에 실제로 슬롯을 얻은 버킷 번호를 기록한다. */
+    public void recordShardSlot(String usersKey, String userId, int shard) {
+        redisTemplate.opsForHash().put(usersKey, userId, Integer.toString(shard));
+    }
+
+    /**
+     * 어느 버킷에서도 슬롯을 얻지 못한 사용자의 선점, 또는 취소된 사용자의 인덱스 항목을 해제한다.
+     *
+     * @return 실제로 항목을 지웠으면 true — 동시에 들어온 취소 중 하나만 true를 받는다
+     */
+    public boolean releaseShardClaim(String usersKey, String userId) {
+        Long removed = redisTemplate.opsForHash().delete(usersKey, userId);
+        return removed != null && removed > 0;
+    }
+
+    /** 홈 버킷 사용자 인덱스에서 사용자가 슬롯을 얻은 버킷 번호를 조회한다. 없으면 null, 슬롯을 찾는 중이면 {@link #PENDING_SHARD}. */
+    public String getShardSlot(String usersKey, String userId) {
+        Object shard = redisTemplate.opsForHash().get(usersKey, userId);
+        return shard == null ? null : shard.toString();
+    }
+
+    /** 취소된 예약의 슬롯을 버킷 카운터에 돌려준다. */
+    public void returnShardSlot(String countKey) {
+        redisTemplate.opsForValue().decrement(countKey);
+    }
+
+    /** 버킷 카운터들의 합(전체 예약 수). */
+    public long sumCounters(List<String> countKeys) {
+        List<String> values = redisTemplate.opsForValue().multiGet(countKeys);
+        if (values == null) {
+            return 0L;
+        }
+        return values.stream().filter(Objects::nonNull).mapToLong(Long::parseLong).sum();
+    }
+
+    /** Set에서 value를 제거한다. 실제로 제거했으면 true. */
+    public boolean sRem(String key, String value) {
+        Long removed = redisTemplate.opsForSet().remove(key, value);
+        return removed != null && removed > 0;
+    }
 }
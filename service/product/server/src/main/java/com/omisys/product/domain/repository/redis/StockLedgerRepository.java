@@ -0,0 +1,119 @@
+package com.omisys.product.domain.repository.redis;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 일반 주문 재고 원장. 상품별 재고를 Redis Hash 하나({@link #LEDGER_KEY})에 두고 Lua 스크립트로 원자 처리한다.
+ *
+ * <p>재고가 바뀔 때마다 같은 스크립트 안에서 바뀐 상품 ID를 {@link #CHANGES_KEY} 스트림에 남기고,
+ * 이 스트림을 읽어 Cassandra에 반영하는 쪽은 StockWriteBehind다. 두 키는 같은 해시 태그를 써서
+ * 클러스터에서도 한 슬롯에 놓인다.</p>
+ */
+@Repository
+@RequiredArgsConstructor
+public class StockLedgerRepository {
+
+    public static final String LEDGER_KEY = "product:stock:{ledger}";
+    public static final String CHANGES_KEY = "product:stock:{ledger}:changes";
+    /** 스트림 항목에서 바뀐 상품 ID 목록(쉼표 구분) 필드 */
+    public static final String CHANGED_IDS = "ids";
+
+    /**
+     * 재고 일괄 차감 Lua 스크립트. 모든 상품의 재고를 먼저 확인하고 하나라도 모자라면 아무것도 바꾸지 않는다.
+     * KEYS[1] = 원장 Hash, KEYS[2] = 변경 스트림, ARGV = productId1, 수량1, productId2, 수량2, ...
+     * 반환값: 0(차감 완료), i(i번째 상품 재고 부족), -i(i번째 상품이 원장에 없음)
+     */
+    private static final DefaultRedisScript<Long> REDUCE_SCRIPT = new DefaultRedisScript<>("""
+            local ids = {}
+            for i = 1, #ARGV, 2 do
+                local stock = redis.call('HGET', KEYS[1], ARGV[i])
+                if not stock then return -((i + 1) / 2) end
+                if tonumber(stock) < tonumber(ARGV[i + 1]) then return (i + 1) / 2 end
+                ids[#ids + 1] = ARGV[i]
+            end
+            for i = 1, #ARGV, 2 do
+                redis.call('HINCRBY', KEYS[1], ARGV[i], -tonumber(ARGV[i + 1]))
+            end
+            redis.call('XADD', KEYS[2], '*', 'ids', table.concat(ids, ','))
+            return 0
+            """, Long.class);
+
+    /**
+     * 재고 일괄 복구 Lua 스크립트. 원장에 없는 상품이 있으면 아무것도 바꾸지 않는다.
+     * KEYS, ARGV는 차감과 같다. 반환값: 0(복구 완료), -i(i번째 상품이 원장에 없음)
+     */
+    private static final DefaultRedisScript<Long> RESTORE_SCRIPT = new DefaultRedisScript<>("""
+            local ids = {}
+            for i = 1, #ARGV, 2 do
+                if redis.call('HEXISTS', KEYS[1], ARGV[i]) == 0 then return -((i + 1) / 2) end
+                ids[#ids + 1] = ARGV[i]
+            end
+            for i = 1, #ARGV, 2 do
+                redis.call('HINCRBY', KEYS[1], ARGV[i], tonumber(ARGV[i + 1]))
+            end
+            redis.call('XADD', KEYS[2], '*', 'ids', table.concat(ids, ','))
+            return 0
+            """, Long.class);
+
+    /**
+     * 재고 덮어쓰기 Lua 스크립트(관리자 수정). KEYS는 차감과 같다. ARGV[1] = productId, ARGV[2] = 재고
+     */
+    private static final DefaultRedisScript<Long> RESET_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('HSET', KEYS[1], ARGV[1], ARGV[2])
+            redis.call('XADD', KEYS[2], '*', 'ids', ARGV[1])
+            return 0
+            """, Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    /** 모든 상품을 한 번에 차감하거나 하나도 차감하지 않는다. 반환값은 {@link #REDUCE_SCRIPT} 참고. */
+    public long reduce(List<String> productIds, List<Integer> quantities) {
+        return execute(REDUCE_SCRIPT, productIds, quantities);
+    }
+
+    /** 모든 상품을 한 번에 복구하거나 하나도 복구하지 않는다. 반환값은 {@link #RESTORE_SCRIPT} 참고. */
+    public long restore(List<String> productIds, List<Integer> quantities) {
+        return execute(RESTORE_SCRIPT, productIds, quantities);
+    }
+
+    /** 원장에 없을 때만 재고를 넣는다. 다른 인스턴스가 먼저 넣었으면 false. */
+    public boolean seed(String productId, int stock) {
+        return Boolean.TRUE.equals(
+                redisTemplate.opsForHash().putIfAbsent(LEDGER_KEY, productId, Integer.toString(stock)));
+    }
+
+    public void reset(String productId, int stock) {
+        redisTemplate.execute(RESET_SCRIPT, List.of(LEDGER_KEY, CHANGES_KEY), productId, Integer.toString(stock));
+    }
+
+    public void evict(String productId) {
+        redisTemplate.opsForHash().delete(LEDGER_KEY, productId);
+    }
+
+    /** productIds 순서대로 현재 재고를 돌려준다. 원장에 없는 상품은 null. */
+    public List<Integer> currentStocks(List<String> productIds) {
+        List<Object> values = redisTemplate.opsForHash().multiGet(LEDGER_KEY, new ArrayList<>(productIds));
+        return values.stream()
+                .map(value -> value == null ? null : Integer.valueOf(value.toString()))
+                .toList();
+    }
+
+    private long execute(DefaultRedisScript<Long> script, List<String> productIds, List<Integer> quantities) {
+        Object[] args = new Object[productIds.size() * 2];
+        for (int i = 0; i < productIds.size(); i++) {
+            args[i * 2] = productIds.get(i);
+            args[i * 2 + 1] = Integer.toString(quantities.get(i));
+        }
+        Long result = redisTemplate.execute(script, List.of(LEDGER_KEY, CHANGES_KEY), args);
+        if (result == null) {
+            throw new IllegalStateException("재고 원장 스크립트 결과가 없습니다: " + productIds);
+        }
+        return result;
+    }
+}
@@ -8,6 +8,7 @@ import org.springframework.http.HttpStatus;
 @RequiredArgsConstructor
 public enum ProductErrorCode {
     NOT_FOUND_PRODUCT(HttpStatus.NOT_FOUND, "상품이 존재하지 않습니다"),
+    NOT_FOUND_PRODUCTS(HttpStatus.NOT_FOUND, "상품이 존재하지 않습니다: %s"),
     NOT_FOUND_CATEGORY(HttpStatus.NOT_FOUND, "카테고리가 존재하지 않습니다"),
     NOT_FOUND_PREORDER(HttpStatus.NOT_FOUND, "사전예약정보가 존재하지 않습니다"),
 
@@ -19,6 +20,7 @@ public enum ProductErrorCode {
     EXCEED_PREORDER_QUANTITY(HttpStatus.CONFLICT, "사전예약가능 수량을 초과하였습니다"),
 
     INVALID_PERMISSION(HttpStatus.FORBIDDEN, "요청 권한이 없습니다"),
+    INVALID_CURSOR(HttpStatus.BAD_REQUEST, "잘못된 페이지 커서입니다"),
     INTERNAL_SERVER_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "내부 서버 오류입니다"),
 
     STOCK_NOT_AVAILABLE(HttpStatus.CONFLICT, "재고가 부족합니다.");
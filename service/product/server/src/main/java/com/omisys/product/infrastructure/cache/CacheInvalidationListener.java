@@ -0,0 +1,51 @@
+package com.omisys.product.infrastructure.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 다른 인스턴스가 보낸 캐시 무효화 메시지를 받아 자기 L1에서 해당 항목을 제거한다.
+ * 자기 인스턴스가 보낸 메시지는 이미 L1에 반영됐으므로 무시한다.
+ * 인기 상품 캐시({@link ProductLocalCache#CACHE_NAME})는 캐시 매니저 밖에 있으므로 따로 보낸다.
+ */
+@Slf4j
+public class CacheInvalidationListener implements MessageListener {
+
+    private final TwoLevelCacheManager cacheManager;
+    private final ProductLocalCache productLocalCache;
+    private final String instanceId;
+
+    public CacheInvalidationListener(
+            TwoLevelCacheManager cacheManager, ProductLocalCache productLocalCache, String instanceId) {
+        this.cacheManager = cacheManager;
+        this.productLocalCache = productLocalCache;
+        this.instanceId = instanceId;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        handle(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    void handle(String body) {
+        int first = body.indexOf(CacheInvalidationPublisher.SEPARATOR);
+        if (first < 0) {
+            log.warn("잘못된 캐시 무효화 메시지: {}", body);
+            return;
+        }
+        if (body.substring(0, first).equals(instanceId)) {
+            return;
+        }
+        int second = body.indexOf(CacheInvalidationPublisher.SEPARATOR, first + 1);
+        String cacheName = second < 0 ? body.substring(first + 1) : body.substring(first + 1, second);
+        String key = second < 0 ? null : body.substring(second + 1);
+        if (ProductLocalCache.CACHE_NAME.equals(cacheName)) {
+            productLocalCache.evictLocal(key);
+        } else {
+            cacheManager.evictLocal(cacheName, key);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.omisys.product.infrastructure.cache;
+
+import com.omisys.common.domain.entity.RedisChannelConstant;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * 다른 인스턴스에 L1 캐시 무효화를 알린다.
+ *
+ * <p>메시지 본문은 {@code instanceId|cacheName|key}이며 key가 없으면 캐시 전체 무효화다.
+ * 발행 실패는 로그만 남긴다. 다른 인스턴스의 L1은 TTL이 지나면 L2 값으로 돌아온다.</p>
+ */
+@Slf4j
+public class CacheInvalidationPublisher {
+
+    static final char SEPARATOR = '|';
+
+    private final StringRedisTemplate redisTemplate;
+    private final String instanceId;
+
+    public CacheInvalidationPublisher(StringRedisTemplate redisTemplate, String instanceId) {
+        this.redisTemplate = redisTemplate;
+        this.instanceId = instanceId;
+    }
+
+    public void evict(String cacheName, String key) {
+        publish(instanceId + SEPARATOR + cacheName + SEPARATOR + key);
+    }
+
+    public void clear(String cacheName) {
+        publish(instanceId + SEPARATOR + cacheName);
+    }
+
+    String instanceId() {
+        return instanceId;
+    }
+
+    private void publish(String message) {
+        try {
+            redisTemplate.convertAndSend(RedisChannelConstant.PRODUCT_CACHE_INVALIDATION, message);
+        } catch (Exception e) {
+            log.warn("캐시 무효화 이벤트 발행 실패: {}", message, e);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.omisys.product.infrastructure.cache;
+
+import com.omisys.common.domain.entity.RedisChannelConstant;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 매진된 사전예약 ID를 프로세스 메모리에 들고 있는 레지스트리.
+ *
+ * <p>매진을 확인한 인스턴스가 Redis Set({@link RedisChannelConstant#PREORDER_SOLD_OUT_IDS})에 기록하고
+ * {@link RedisChannelConstant#PREORDER_SOLD_OUT} 채널로 알리면, 모든 상품 서비스 인스턴스와 게이트웨이가 자기 메모리에 반영한다.
+ * 이후 같은 사전예약 요청은 예약 스크립트까지 가지 않고 메모리 조회만으로 거절된다.</p>
+ *
+ * <p>메모리 상태는 거절을 앞당기는 용도일 뿐 정합성 기준은 예약 스크립트다. 메시지가 유실돼 매진이 늦게 반영되면 스크립트가 거절하고,
+ * 매진 해제가 늦게 반영되면 해제 메시지가 다시 올 때까지 일부 요청이 먼저 거절될 수 있다.</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PreOrderSoldOutRegistry implements MessageListener {
+
+    static final String SOLD_OUT = "1";
+    static final String AVAILABLE = "0";
+    static final String SEPARATOR = ":";
+
+    private final StringRedisTemplate redisTemplate;
+    private final Set<Long> soldOut = ConcurrentHashMap.newKeySet();
+
+    public boolean isSoldOut(long preOrderId) {
+        return soldOut.contains(preOrderId);
+    }
+
+    /** 매진을 기록하고 다른 인스턴스에 알린다. Redis 오류는 로그만 남긴다. 예약 스크립트가 계속 거절하므로 정합성에는 영향이 없다. */
+    public void markSoldOut(long preOrderId) {
+        soldOut.add(preOrderId);
+        try {
+            redisTemplate.opsForSet().add(RedisChannelConstant.PREORDER_SOLD_OUT_IDS, Long.toString(preOrderId));
+            redisTemplate.convertAndSend(RedisChannelConstant.PREORDER_SOLD_OUT, preOrderId + SEPARATOR + SOLD_OUT);
+        } catch (Exception e) {
+            log.warn("사전예약 매진 표시 발행 실패: preOrderId={}", preOrderId, e);
+        }
+    }
+
+    /**
+     * 취소나 수량 변경으로 자리가 생긴 사전예약의 매진 표시를 해제한다.
+     * 다른 인스턴스가 메시지를 놓쳤을 수 있으므로 Set에 없더라도 해제 메시지는 항상 보낸다.
+     */
+    public void rearm(long preOrderId) {
+        soldOut.remove(preOrderId);
+        try {
+            redisTemplate.opsForSet().remove(RedisChannelConstant.PREORDER_SOLD_OUT_IDS, Long.toString(preOrderId));
+            redisTemplate.convertAndSend(RedisChannelConstant.PREORDER_SOLD_OUT, preOrderId + SEPARATOR + AVAILABLE);
+        } catch (Exception e) {
+            log.warn("사전예약 매진 해제 발행 실패: preOrderId={}", preOrderId, e);
+        }
+    }
+
+    /** 기동 전에 발행된 매진 상태를 Set에서 읽어 온다. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        try {
+            Set<String> members = redisTemplate.opsForSet().members(RedisChannelConstant.PREORDER_SOLD_OUT_IDS);
+            if (members != null) {
+                members.forEach(member -> soldOut.add(Long.parseLong(member)));
+            }
+        } catch (Exception e) {
+            log.warn("사전예약 매진 목록 로드 실패", e);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        handle(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    void handle(String body) {
+        int separator = body.indexOf(SEPARATOR);
+        if (separator < 0) {
+            log.warn("잘못된 사전예약 매진 메시지: {}", body);
+            return;
+        }
+        long preOrderId;
+        try {
+            preOrderId = Long.parseLong(body.substring(0, separator));
+        } catch (NumberFormatException e) {
+            log.warn("잘못된 사전예약 매진 메시지: {}", body);
+            return;
+        }
+        if (SOLD_OUT.equals(body.substring(separator + 1))) {
+            soldOut.add(preOrderId);
+        } else {
+            soldOut.remove(preOrderId);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.omisys.product.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.omisys.product.domain.model.Product;
+import com.omisys.product.domain.repository.redis.StockLedgerRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * 인기 상품 스냅샷을 인스턴스 메모리에 두는 L1 캐시.
+ *
+ * <p>Caffeine의 W-TinyLFU는 새 항목을 자주 쓰이던 항목과 빈도로 비교해 받아들이므로, 목록을 한 번 훑는 조회가
+ * 세일 중 몰리는 상품을 밀어내지 못한다. 항목 수와 추정 바이트 수를 함께 제한한다.
+ * 캐시된 {@link Product}는 여러 요청이 공유하므로 읽기 경로에서만 쓰고 절대 수정하지 않는다.</p>
+ *
+ * <p>재고는 스냅샷 값을 그대로 믿지 않는다. 재고 원장이 켜져 있으면 {@link #currentStocks}가 원장 값을 매번 읽어 덮어쓰고,
+ * 꺼져 있으면 항목 자체를 stock-ttl-millis 뒤에 만료시킨다. 쓰기 경로는 {@link #invalidate}로 자기 L1을 지우고
+ * Redis pub/sub으로 다른 인스턴스에 알린다.</p>
+ */
+@Component
+public class ProductLocalCache {
+
+    public static final String CACHE_NAME = "product-hot";
+
+    /** 상품 하나의 고정 비용(객체 헤더·숫자 필드·UUID·맵 엔트리) 추정치. */
+    private static final int BASE_WEIGHT_BYTES = 512;
+
+    private final Cache<UUID, Product> cache;
+    private final CacheInvalidationPublisher publisher;
+    private final StockLedgerRepository stockLedgerRepository;
+    private final boolean ledgerEnabled;
+
+    public ProductLocalCache(
+            CacheInvalidationPublisher publisher,
+            StockLedgerRepository stockLedgerRepository,
+            MeterRegistry meterRegistry,
+            @Value("${product.cache.hot.max-size:10000}") long maxSize,
+            @Value("${product.cache.hot.max-weight-mb:64}") long maxWeightMb,
+            @Value("${product.cache.hot.ttl-seconds:60}") long ttlSeconds,
+            @Value("${product.cache.hot.stock-ttl-millis:1000}") long stockTtlMillis,
+            @Value("${product.stock.ledger.enabled:true}") boolean ledgerEnabled) {
+        this.publisher = publisher;
+        this.stockLedgerRepository = stockLedgerRepository;
+        this.ledgerEnabled = ledgerEnabled;
+
+        long maxWeight = maxWeightMb * 1024 * 1024;
+        // 항목당 최소 가중치를 두어 작은 상품만 모여도 max-size를 넘지 않게 한다
+        int minWeight = (int) Math.min(Integer.MAX_VALUE, Math.max(1, maxWeight / maxSize));
+        // 원장이 없으면 스냅샷의 재고가 곧 응답 재고이므로 항목 수명을 재고 TTL로 줄인다
+        Duration ttl = ledgerEnabled
+                ? Duration.ofSeconds(ttlSeconds)
+                : Duration.ofMillis(Math.min(ttlSeconds * 1000, stockTtlMillis));
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxWeight)
+                .weigher((UUID productId, Product product) -> Math.max(minWeight, weigh(product)))
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /** 캐시된 상품을 돌려주고, 없으면 loader로 읽어 채운다. loader가 빈 값을 주면 캐시하지 않는다. */
+    public Optional<Product> get(UUID productId, Function<UUID, Optional<Product>> loader) {
+        return Optional.ofNullable(cache.get(productId, id -> loader.apply(id).orElse(null)));
+    }
+
+    /** productIds 중 캐시에 없는 것만 loader 한 번으로 읽어 채운다. 없는 상품은 결과에서 빠진다. */
+    public Map<UUID, Product> getAll(
+            Collection<UUID> productIds, Function<Set<UUID>, Map<UUID, Product>> loader) {
+        return cache.getAll(productIds, missing -> loader.apply(Set.copyOf(missing)));
+    }
+
+    /**
+     * 응답에 실을 재고. 원장이 켜져 있으면 원장 값을 한 번의 HMGET으로 읽고, 원장에 아직 없는 상품만 스냅샷 값을 쓴다.
+     */
+    public Map<UUID, Integer> currentStocks(Collection<Product> products) {
+        Map<UUID, Integer> stocks = new LinkedHashMap<>();
+        products.forEach(product -> stocks.put(product.getProductId(), product.getStock()));
+        if (!ledgerEnabled || stocks.isEmpty()) {
+            return stocks;
+        }
+        List<UUID> productIds = List.copyOf(stocks.keySet());
+        List<Integer> ledger = stockLedgerRepository.currentStocks(
+                productIds.stream().map(UUID::toString).toList());
+        for (int i = 0; i < productIds.size(); i++) {
+            if (ledger.get(i) != null) {
+                stocks.put(productIds.get(i), ledger.get(i));
+            }
+        }
+        return stocks;
+    }
+
+    public int currentStock(Product product) {
+        return currentStocks(List.of(product)).get(product.getProductId());
+    }
+
+    /** 자기 L1에서 지우고 다른 인스턴스에 무효화를 발행한다. */
+    public void invalidate(UUID productId) {
+        cache.invalidate(productId);
+        publisher.evict(CACHE_NAME, productId.toString());
+    }
+
+    /** 다른 인스턴스가 보낸 무효화를 반영한다. key가 없으면 전체를 비운다. */
+    public void evictLocal(String key) {
+        if (key == null) {
+            cache.invalidateAll();
+        } else {
+            cache.invalidate(UUID.fromString(key));
+        }
+    }
+
+    /** 문자열 필드는 UTF-16 기준 2바이트로 센다. */
+    static int weigh(Product product) {
+        long chars = length(product.getProductName())
+                + length(product.getBrandName())
+                + length(product.getMainColor())
+                + length(product.getSize())
+                + length(product.getDescription())
+                + length(product.getOriginImgUrl())
+                + length(product.getThumbnailImgUrl())
+                + length(product.getDetailImgUrl());
+        if (product.getTags() != null) {
+            for (String tag : product.getTags()) {
+                chars += length(tag) + 16;
+            }
+        }
+        return (int) Math.min(Integer.MAX_VALUE, BASE_WEIGHT_BYTES + chars * 2);
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+}
@@ -0,0 +1,124 @@
+package com.omisys.product.infrastructure.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.concurrent.Callable;
+
+/**
+ * 프로세스 내 Caffeine(L1) + Redis(L2) 2단 캐시.
+ *
+ * <p>조회는 L1 → L2 순으로 하고, L2 적중 값은 L1에 채운다. L1 적중 시에는 네트워크 I/O와 JSON 역직렬화가 없다.
+ * 쓰기·무효화는 L2에 먼저 반영한 뒤 자기 L1을 갱신하고, 다른 인스턴스의 L1은 Redis pub/sub 무효화 메시지로 제거한다.
+ * 메시지가 유실되더라도 L1 TTL이 지나면 L2 값으로 돌아온다.</p>
+ *
+ * <p>L1 키는 {@code String.valueOf(key)}로 정규화한다. 무효화 메시지로 받은 문자열 키와 같은 항목을 가리키게 하기 위해서다.</p>
+ */
+public class TwoLevelCache implements Cache {
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<String, ValueWrapper> local;
+    private final Cache remote;
+    private final CacheInvalidationPublisher invalidationPublisher;
+
+    public TwoLevelCache(
+            String name,
+            com.github.benmanes.caffeine.cache.Cache<String, ValueWrapper> local,
+            Cache remote,
+            CacheInvalidationPublisher invalidationPublisher) {
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+        this.invalidationPublisher = invalidationPublisher;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remote.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String localKey = localKey(key);
+        ValueWrapper cached = local.getIfPresent(localKey);
+        if (cached != null) {
+            return cached;
+        }
+        ValueWrapper loaded = remote.get(key);
+        if (loaded != null) {
+            local.put(localKey, new SimpleValueWrapper(loaded.get()));
+        }
+        return loaded;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper == null) {
+            return null;
+        }
+        Object value = wrapper.get();
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                    "Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+        T value = remote.get(key, valueLoader);
+        local.put(localKey(key), new SimpleValueWrapper(value));
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        remote.put(key, value);
+        local.put(localKey(key), new SimpleValueWrapper(value));
+        invalidationPublisher.evict(name, localKey(key));
+    }
+
+    @Override
+    public void evict(Object key) {
+        remote.evict(key);
+        local.invalidate(localKey(key));
+        invalidationPublisher.evict(name, localKey(key));
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        local.invalidateAll();
+        invalidationPublisher.clear(name);
+    }
+
+    /** 다른 인스턴스의 무효화 메시지를 받아 L1에서만 제거한다. */
+    void evictLocal(String key) {
+        local.invalidate(key);
+    }
+
+    /** 다른 인스턴스의 무효화 메시지를 받아 L1을 비운다. */
+    void clearLocal() {
+        local.invalidateAll();
+    }
+
+    long localSize() {
+        return local.estimatedSize();
+    }
+
+    private static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+}
@@ -1,23 +1,79 @@
 package com.omisys.product.infrastructure.configuration;
 
+import com.omisys.common.domain.entity.RedisChannelConstant;
+import com.omisys.product.infrastructure.cache.CacheInvalidationListener;
+import com.omisys.product.infrastructure.cache.CacheInvalidationPublisher;
+import com.omisys.product.infrastructure.cache.PreOrderSoldOutRegistry;
+import com.omisys.product.infrastructure.cache.ProductLocalCache;
+import com.omisys.product.infrastructure.cache.TwoLevelCacheManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import java.time.Duration;
+import java.util.UUID;
 
 @Configuration
 @EnableCaching
 public class RedisConfig {
 
+    /** 인스턴스 식별자 — 자기가 보낸 L1 무효화 메시지를 구분한다. */
+    private final String instanceId = UUID.randomUUID().toString();
+
+    /**
+     * Caffeine L1 + Redis L2 캐시 매니저.
+     * 사전예약 메타데이터처럼 읽기가 몰리는 캐시를 네트워크 I/O 없이 읽도록 L1을 짧은 TTL로 둔다.
+     */
     @Bean
-    public RedisCacheManager cacheManager(RedisConnectionFactory redisConnectionFactory) {
+    public TwoLevelCacheManager cacheManager(
+            RedisConnectionFactory redisConnectionFactory,
+            CacheInvalidationPublisher cacheInvalidationPublisher,
+            MeterRegistry meterRegistry,
+            @Value("${product.cache.local.max-size:10000}") long localMaxSize,
+            @Value("${product.cache.local.ttl-seconds:5}") long localTtlSeconds) {
+        return new TwoLevelCacheManager(
+                redisCacheManager(redisConnectionFactory),
+                cacheInvalidationPublisher,
+                meterRegistry,
+                localMaxSize,
+                Duration.ofSeconds(localTtlSeconds));
+    }
+
+    @Bean
+    public CacheInvalidationPublisher cacheInvalidationPublisher(StringRedisTemplate stringRedisTemplate) {
+        return new CacheInvalidationPublisher(stringRedisTemplate, instanceId);
+    }
+
+    /** L1 캐시 무효화와 사전예약 매진 상태를 같은 구독 연결로 받는다. */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(
+            RedisConnectionFactory redisConnectionFactory,
+            TwoLevelCacheManager cacheManager,
+            ProductLocalCache productLocalCache,
+            PreOrderSoldOutRegistry preOrderSoldOutRegistry) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener(
+                new CacheInvalidationListener(cacheManager, productLocalCache, instanceId),
+                new ChannelTopic(RedisChannelConstant.PRODUCT_CACHE_INVALIDATION));
+        container.addMessageListener(
+                preOrderSoldOutRegistry,
+                new ChannelTopic(RedisChannelConstant.PREORDER_SOLD_OUT));
+        return container;
+    }
+
+    private RedisCacheManager redisCacheManager(RedisConnectionFactory redisConnectionFactory) {
         RedisCacheConfiguration redisCacheConfiguration =
                 RedisCacheConfiguration.defaultCacheConfig()
                         .serializeKeysWith(
@@ -27,8 +83,11 @@ public class RedisConfig {
                                 RedisSerializationContext.SerializationPair.fromSerializer(
                                         new GenericJackson2JsonRedisSerializer()))
                         .entryTtl(Duration.ofMinutes(30));
-        return RedisCacheManager.RedisCacheManagerBuilder.fromConnectionFactory(redisConnectionFactory)
+        RedisCacheManager redisCacheManager = RedisCacheManager.RedisCacheManagerBuilder
+                .fromConnectionFactory(redisConnectionFactory)
                 .cacheDefaults(redisCacheConfiguration)
                 .build();
+        redisCacheManager.afterPropertiesSet();
+        return redisCacheManager;
     }
 }
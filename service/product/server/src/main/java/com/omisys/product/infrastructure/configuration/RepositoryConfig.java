@@ -1,8 +1,11 @@
 package com.omisys.product.infrastructure.configuration;
 
+import com.datastax.oss.driver.api.core.CqlSession;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.cassandra.config.EnableCassandraAuditing;
+import org.springframework.data.cassandra.core.AsyncCassandraTemplate;
+import org.springframework.data.cassandra.core.convert.CassandraConverter;
 import org.springframework.data.cassandra.repository.config.EnableCassandraRepositories;
 import org.springframework.data.domain.AuditorAware;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
@@ -18,4 +21,10 @@ public class RepositoryConfig {
     public AuditorAware<String> auditorProvider() {
         return new AuditAwareImpl();
     }
+
+    /** 여러 상품 동시 조회(ProductLookupRepository)용. Boot는 동기 CassandraTemplate만 만든다. */
+    @Bean
+    public AsyncCassandraTemplate asyncCassandraTemplate(CqlSession session, CassandraConverter converter) {
+        return new AsyncCassandraTemplate(session, converter);
+    }
 }
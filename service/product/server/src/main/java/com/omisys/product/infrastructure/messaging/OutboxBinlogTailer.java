@@ -0,0 +1,56 @@
+package com.omisys.product.infrastructure.messaging;
+
+import com.omisys.common.domain.outbox.OutboxBinlogRelay;
+import com.omisys.common.domain.outbox.OutboxPartitionLease;
+import com.omisys.common.domain.outbox.OutboxRelay;
+import com.omisys.common.domain.outbox.OutboxRelayRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+
+/**
+ * outbox.relay.mode=binlog일 때 OutboxEventPoller 대신 outbox_events INSERT를 binlog로 받아 발행한다.
+ * 동작과 MySQL 요구 사항(binlog_format=ROW, 복제 권한)은 {@link OutboxBinlogRelay} 참고.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.relay.mode", havingValue = "binlog")
+public class OutboxBinlogTailer extends OutboxBinlogRelay {
+
+    private static final String TABLE = "outbox_events";
+
+    public OutboxBinlogTailer(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            KafkaProperties kafkaProperties,
+            MeterRegistry meterRegistry,
+            @Value("${spring.datasource.url}") String jdbcUrl,
+            @Value("${outbox.relay.binlog.username:${spring.datasource.username}}") String username,
+            @Value("${outbox.relay.binlog.password:${spring.datasource.password}}") String password,
+            @Value("${outbox.relay.binlog.server-id:0}") long serverId,
+            @Value("${outbox.relay.binlog.sweep-interval-seconds:30}") long sweepIntervalSeconds,
+            @Value("${outbox.relay.batch-size:500}") int batchSize,
+            @Value("${outbox.relay.linger-ms:5}") int lingerMs,
+            @Value("${outbox.relay.batch-size-bytes:65536}") int batchSizeBytes,
+            @Value("${outbox.relay.partitioned:false}") boolean partitioned,
+            @Value("${outbox.relay.lease-seconds:30}") long leaseSeconds) {
+        super(new OutboxRelayRepository(jdbcTemplate, TABLE),
+                OutboxRelay.batchingKafkaTemplate(kafkaProperties, lingerMs, batchSizeBytes),
+                jdbcTemplate,
+                meterRegistry,
+                OutboxRelay.Settings.of(batchSize, 1_000),
+                OutboxBinlogRelay.Settings.fromJdbcUrl(jdbcUrl, username, password, serverId,
+                        sweepIntervalSeconds, batchSize),
+                // binlog는 한 인스턴스만 발행하므로 파티션 1개짜리 lease를 leader 선출에 쓴다.
+                partitioned
+                        ? new OutboxPartitionLease(jdbcTemplate, new TransactionTemplate(transactionManager),
+                                TABLE, 1, Duration.ofSeconds(leaseSeconds))
+                        : null);
+    }
+}
@@ -1,52 +1,49 @@
 package com.omisys.product.infrastructure.messaging;
 
-import com.omisys.product.domain.model.outbox.OutboxEvent;
-import com.omisys.product.domain.model.outbox.OutboxStatus;
-import com.omisys.product.domain.repository.jpa.OutboxEventRepository;
-import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.scheduling.annotation.Scheduled;
+import com.omisys.common.domain.outbox.OutboxPartitionLease;
+import com.omisys.common.domain.outbox.OutboxRelay;
+import com.omisys.common.domain.outbox.OutboxRelayRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.time.LocalDateTime;
-import java.util.List;
-import java.util.concurrent.TimeUnit;
+import java.time.Duration;
 
+/**
+ * outbox_events 테이블 릴레이. 배치 발행·적응형 폴링·재시도는 {@link OutboxRelay},
+ * 여러 인스턴스로 나눠 발행하는 파티션 임대(outbox.relay.partitioned)는 {@link OutboxPartitionLease} 참고.
+ * outbox.relay.mode=binlog이면 이 폴러 대신 OutboxBinlogTailer가 발행한다.
+ */
 @Component
-@RequiredArgsConstructor
-@Slf4j(topic = "OutboxEventPoller")
-public class OutboxEventPoller {
+@ConditionalOnProperty(name = "outbox.relay.mode", havingValue = "polling", matchIfMissing = true)
+public class OutboxEventPoller extends OutboxRelay {
 
-    private static final int BATCH_SIZE = 100;
+    private static final String TABLE = "outbox_events";
 
-    private final OutboxEventRepository outboxRepo;
-    private final KafkaTemplate<String, Object> kafkaTemplate;
-
-    @Scheduled(fixedDelay = 1_000)
-    @Transactional
-    public void publish() {
-        List<OutboxEvent> pending = outboxRepo.findPendingReadyToPublish(
-                LocalDateTime.now(), PageRequest.of(0, BATCH_SIZE));
-
-        for (OutboxEvent event : pending) {
-            try {
-                kafkaTemplate.send(event.getEventType(), event.getMessageKey(), event.getPayload())
-                        .get(5, TimeUnit.SECONDS);
-                event.markPublished();
-                log.info("Outbox published: id={} topic={}", event.getId(), event.getEventType());
-            } catch (Exception e) {
-                event.markRetryOrFailed();
-                if (event.getStatus() == OutboxStatus.FAILED) {
-                    log.error("Outbox max retry exceeded, FAILED permanently: id={} retryCount={}",
-                            event.getId(), event.getRetryCount(), e);
-                } else {
-                    log.warn("Outbox publish failed, will retry at {}: id={} retryCount={}",
-                            event.getNextRetryAt(), event.getId(), event.getRetryCount());
-                }
-            }
-        }
+    public OutboxEventPoller(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            KafkaProperties kafkaProperties,
+            MeterRegistry meterRegistry,
+            @Value("${outbox.relay.batch-size:500}") int batchSize,
+            @Value("${outbox.relay.linger-ms:5}") int lingerMs,
+            @Value("${outbox.relay.batch-size-bytes:65536}") int batchSizeBytes,
+            @Value("${outbox.relay.max-idle-delay-ms:1000}") long maxIdleDelayMillis,
+            @Value("${outbox.relay.partitioned:false}") boolean partitioned,
+            @Value("${outbox.relay.partitions:16}") int partitions,
+            @Value("${outbox.relay.lease-seconds:30}") long leaseSeconds) {
+        super(new OutboxRelayRepository(jdbcTemplate, TABLE),
+                OutboxRelay.batchingKafkaTemplate(kafkaProperties, lingerMs, batchSizeBytes),
+                meterRegistry,
+                OutboxRelay.Settings.of(batchSize, maxIdleDelayMillis),
+                partitioned
+                        ? new OutboxPartitionLease(jdbcTemplate, new TransactionTemplate(transactionManager),
+                                TABLE, partitions, Duration.ofSeconds(leaseSeconds))
+                        : null);
     }
 }
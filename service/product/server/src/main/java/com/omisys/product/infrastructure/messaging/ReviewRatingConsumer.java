@@ -1,15 +1,20 @@
 package com.omisys.product.infrastructure.messaging;
 
 import com.omisys.common.domain.entity.KafkaTopicConstant;
-import com.omisys.product.domain.model.Product;
+import com.omisys.product.domain.model.ProductQueryRow;
+import com.omisys.product.domain.repository.cassandra.ProductColumnRepository;
+import com.omisys.product.domain.repository.cassandra.ProductQueryTableRepository;
 import com.omisys.product.domain.repository.cassandra.ProductRepository;
+import com.omisys.product.infrastructure.cache.ProductLocalCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @Component
@@ -17,6 +22,9 @@ import java.util.UUID;
 public class ReviewRatingConsumer {
 
     private final ProductRepository productRepository;
+    private final ProductColumnRepository productColumnRepository;
+    private final ProductQueryTableRepository productQueryTableRepository;
+    private final ProductLocalCache productLocalCache;
 
     @KafkaListener(topics = KafkaTopicConstant.REVIEW_RATING, groupId = "product-review-rating-group", concurrency = "1")
     public void consume(Map<String, Object> payload) {
@@ -26,8 +34,13 @@ public class ReviewRatingConsumer {
             long reviewCount = Long.parseLong(payload.get("reviewCount").toString());
 
             productRepository.findByProductIdAndIsDeletedFalse(productId).ifPresent(product -> {
+                List<ProductQueryRow> before = ProductQueryRow.of(product);
                 product.updateRating(avgRating, reviewCount);
-                productRepository.save(product);
+                // 평점 컬럼만 쓰고, 그동안 리뷰 수 정렬 행을 바꾼다
+                CompletableFuture<Void> ratingWrite = productColumnRepository.updateRating(productId, avgRating, reviewCount);
+                productQueryTableRepository.replace(before, ProductQueryRow.of(product));
+                ratingWrite.join();
+                productLocalCache.invalidate(productId);
                 log.info("Updated product rating: productId={}, avgRating={}, reviewCount={}", productId, avgRating, reviewCount);
             });
         } catch (Exception e) {
@@ -0,0 +1,283 @@
+package com.omisys.product.infrastructure.outbox;
+
+import com.omisys.product.domain.model.outbox.OutboxEvent;
+import com.omisys.product.domain.repository.jdbc.OutboxEventJdbcRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * outbox 이벤트 그룹 커밋 writer.
+ *
+ * <p>호출 스레드는 이벤트를 메모리 큐에 넣고 자기 배치의 커밋을 기다린다. 전용 writer 스레드는 첫 이벤트를 받은 뒤
+ * max-delay 동안 또는 batch-size개가 찰 때까지 모아 {@link OutboxEventJdbcRepository#insertAll} 한 문장(커밋 한 번)으로 저장하고,
+ * 배치에 속한 호출자들을 한꺼번에 깨운다. 이벤트마다 JPA 트랜잭션을 열던 방식에 비해 커밋 수가 배치 크기만큼 줄어든다.</p>
+ *
+ * <p>호출자는 커밋이 끝난 뒤에만 성공을 받으므로 응답 의미는 기존과 같다. 저장 실패·대기 시간 초과는 예외로 전달되고,
+ * 호출자가 Redis 예약을 되돌린다. 큐에 있는 동안 인스턴스가 죽는 경우에 대비해 {@link OutboxJournal}을 켜면
+ * 큐에 넣기 전에 Redis Stream에 남기고, 남은 항목은 {@link #recoverOrphans()}가 저장한다.</p>
+ */
+@Slf4j
+@Component
+public class OutboxBatchWriter {
+
+    private static final long STOP_CHECK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private final OutboxEventJdbcRepository outboxEventJdbcRepository;
+    private final OutboxJournal journal;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long maxDelayNanos;
+    private final long waitTimeoutMillis;
+    private final Duration orphanAfter;
+    private final BlockingQueue<PendingEvent> queue;
+    private final Timer flushTimer;
+    private final DistributionSummary batchSizeSummary;
+
+    private volatile boolean running;
+    private Thread writerThread;
+
+    public OutboxBatchWriter(
+            OutboxEventJdbcRepository outboxEventJdbcRepository,
+            OutboxJournal journal,
+            MeterRegistry meterRegistry,
+            @Value("${product.outbox.batch.enabled:false}") boolean enabled,
+            @Value("${product.outbox.batch.size:200}") int batchSize,
+            @Value("${product.outbox.batch.max-delay-ms:5}") long maxDelayMillis,
+            @Value("${product.outbox.batch.queue-capacity:10000}") int queueCapacity,
+            @Value("${product.outbox.batch.wait-timeout-ms:3000}") long waitTimeoutMillis,
+            @Value("${product.outbox.batch.journal-orphan-seconds:60}") long orphanSeconds) {
+        if (batchSize < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException(
+                    "Outbox 배치 크기와 대기열 용량은 1 이상이어야 합니다: size=" + batchSize + ", capacity=" + queueCapacity);
+        }
+        this.outboxEventJdbcRepository = outboxEventJdbcRepository;
+        this.journal = journal;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+        this.waitTimeoutMillis = waitTimeoutMillis;
+        this.orphanAfter = Duration.ofSeconds(orphanSeconds);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.flushTimer = Timer.builder("product.outbox.batch.flush")
+                .description("Outbox 일괄 INSERT(커밋 한 번) 소요 시간")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.batchSizeSummary = DistributionSummary.builder("product.outbox.batch.size")
+                .description("커밋 한 번에 저장한 Outbox 이벤트 수")
+                .register(meterRegistry);
+        Gauge.builder("product.outbox.batch.queue", queue, BlockingQueue::size)
+                .description("커밋을 기다리는 Outbox 이벤트 수")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        writerThread = new Thread(this::runLoop, "outbox-batch-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /** 새 이벤트를 받지 않고, 큐에 남은 이벤트를 모두 저장한 뒤 종료한다. */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (writerThread != null) {
+            writerThread.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    /**
+     * 이벤트를 다음 배치에 넣고 커밋될 때까지 기다린다.
+     *
+     * @throws IllegalStateException 저장 실패, 대기열 포화, 대기 시간 초과
+     */
+    public void write(OutboxEvent event) {
+        PendingEvent pending = submit(event);
+        try {
+            try {
+                pending.future.get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                // 아직 배치에 들어가지 않았으면 포기시켜 저장되지 않게 한다. 이미 저장 중이면 결과를 끝까지 기다린다.
+                if (pending.abandon()) {
+                    throw new IllegalStateException("Outbox 일괄 저장 대기 시간 초과", e);
+                }
+                pending.future.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Outbox 일괄 저장 실패", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Outbox 일괄 저장 대기 중 인터럽트", e);
+        }
+    }
+
+    PendingEvent submit(OutboxEvent event) {
+        if (!running) {
+            return PendingEvent.rejected(event, new RejectedExecutionException("Outbox writer가 동작 중이 아닙니다"));
+        }
+        PendingEvent pending = new PendingEvent(event, journal.append(event));
+        if (!queue.offer(pending)) {
+            if (pending.journalId != null) {
+                journal.remove(List.of(pending.journalId));
+            }
+            pending.future.completeExceptionally(new RejectedExecutionException("Outbox 대기열이 가득 찼습니다"));
+        }
+        return pending;
+    }
+
+    /** 저널에 남은 지 orphan-seconds가 지난 항목(죽은 인스턴스가 저장하지 못한 이벤트)을 저장한다. */
+    @Scheduled(fixedDelayString = "${product.outbox.batch.journal-recover-interval-ms:30000}")
+    public void recoverOrphans() {
+        if (!enabled || !journal.isEnabled()) {
+            return;
+        }
+        for (MapRecord<String, Object, Object> record : journal.findOrphans(orphanAfter, batchSize)) {
+            if (!journal.claim(record.getId())) {
+                continue;
+            }
+            OutboxEvent event = OutboxJournal.toEvent(record);
+            try {
+                // 커밋 직후 저널 삭제 전에 죽은 경우라면 이미 저장돼 있다.
+                if (!outboxEventJdbcRepository.exists(event)) {
+                    outboxEventJdbcRepository.insertAll(List.of(event));
+                    log.info("Outbox 저널 복구: aggregateId={} messageKey={}",
+                            event.getAggregateId(), event.getMessageKey());
+                }
+            } catch (Exception e) {
+                log.error("Outbox 저널 복구 실패: aggregateId={} messageKey={}",
+                        event.getAggregateId(), event.getMessageKey(), e);
+            }
+        }
+    }
+
+    private void runLoop() {
+        List<PendingEvent> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                collect(batch);
+            } catch (InterruptedException e) {
+                // 인터럽트 플래그를 되살리면 poll이 계속 즉시 실패하므로, 종료 상태로만 바꾸고 남은 이벤트를 마저 저장한다.
+                running = false;
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    /** 첫 이벤트를 기다린 뒤 max-delay 안에 batch-size개까지 모은다. */
+    private void collect(List<PendingEvent> batch) throws InterruptedException {
+        PendingEvent first = queue.poll(100, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + maxDelayNanos;
+        while (batch.size() < batchSize) {
+            if (queue.drainTo(batch, batchSize - batch.size()) > 0) {
+                continue;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0 || !running) {
+                return;
+            }
+            // 종료 요청을 늦게 알아채지 않도록 긴 max-delay도 잘게 나눠 기다린다.
+            PendingEvent next = queue.poll(Math.min(remaining, STOP_CHECK_NANOS), TimeUnit.NANOSECONDS);
+            if (next != null) {
+                batch.add(next);
+            }
+        }
+    }
+
+    private void flush(List<PendingEvent> batch) {
+        List<PendingEvent> claimed = new ArrayList<>(batch.size());
+        List<OutboxEvent> events = new ArrayList<>(batch.size());
+        List<RecordId> journalIds = new ArrayList<>(batch.size());
+        for (PendingEvent pending : batch) {
+            if (pending.journalId != null) {
+                journalIds.add(pending.journalId);
+            }
+            if (pending.claim()) {
+                claimed.add(pending);
+                events.add(pending.event);
+            }
+        }
+        try {
+            if (!events.isEmpty()) {
+                flushTimer.record(() -> outboxEventJdbcRepository.insertAll(events));
+                batchSizeSummary.record(events.size());
+            }
+            claimed.forEach(pending -> pending.future.complete(null));
+        } catch (Exception e) {
+            log.error("Outbox 일괄 저장 실패: {}건", events.size(), e);
+            claimed.forEach(pending -> pending.future.completeExceptionally(e));
+        } finally {
+            // 실패·포기한 이벤트는 호출자가 예약을 되돌리므로 저널에서도 지운다.
+            journal.remove(journalIds);
+        }
+    }
+
+    /** 큐에 들어간 이벤트. writer가 배치에 넣는 것(claim)과 호출자가 대기를 포기하는 것(abandon) 중 먼저 된 쪽만 성공한다. */
+    static final class PendingEvent {
+
+        private static final int QUEUED = 0;
+        private static final int CLAIMED = 1;
+        private static final int ABANDONED = 2;
+
+        final OutboxEvent event;
+        final RecordId journalId;
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+        private final AtomicInteger state = new AtomicInteger(QUEUED);
+
+        PendingEvent(OutboxEvent event, RecordId journalId) {
+            this.event = event;
+            this.journalId = journalId;
+        }
+
+        static PendingEvent rejected(OutboxEvent event, Exception cause) {
+            PendingEvent pending = new PendingEvent(event, null);
+            pending.state.set(ABANDONED);
+            pending.future.completeExceptionally(cause);
+            return pending;
+        }
+
+        boolean claim() {
+            return state.compareAndSet(QUEUED, CLAIMED);
+        }
+
+        boolean abandon() {
+            return state.compareAndSet(QUEUED, ABANDONED);
+        }
+    }
+}
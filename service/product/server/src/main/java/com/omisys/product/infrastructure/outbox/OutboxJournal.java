@@ -0,0 +1,102 @@
+package com.omisys.product.infrastructure.outbox;
+
+import com.omisys.product.domain.model.outbox.OutboxEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 일괄 저장 대기 중인 outbox 이벤트의 Redis Stream 저널.
+ *
+ * <p>메모리 큐에 넣기 전에 XADD로 남기고, DB 저장(또는 실패 처리)이 끝나면 XDEL로 지운다.
+ * 인스턴스가 큐를 비우지 못하고 죽으면 항목이 스트림에 남고, {@link OutboxBatchWriter}가 일정 시간이 지난 항목을 복구한다.
+ * 비활성화(기본값)면 모든 메서드가 아무것도 하지 않는다.</p>
+ */
+@Slf4j
+@Component
+public class OutboxJournal {
+
+    static final String STREAM_KEY = "product:outbox:journal";
+
+    private static final String AGGREGATE_TYPE = "aggregateType";
+    private static final String AGGREGATE_ID = "aggregateId";
+    private static final String EVENT_TYPE = "eventType";
+    private static final String MESSAGE_KEY = "messageKey";
+    private static final String PAYLOAD = "payload";
+
+    private final StringRedisTemplate redisTemplate;
+    private final boolean enabled;
+
+    public OutboxJournal(
+            StringRedisTemplate redisTemplate,
+            @Value("${product.outbox.batch.journal-enabled:false}") boolean enabled) {
+        this.redisTemplate = redisTemplate;
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** 이벤트를 저널에 남긴다. 비활성화면 null. */
+    public RecordId append(OutboxEvent event) {
+        if (!enabled) {
+            return null;
+        }
+        return redisTemplate.opsForStream().add(StreamRecords.string(Map.of(
+                AGGREGATE_TYPE, event.getAggregateType(),
+                AGGREGATE_ID, event.getAggregateId(),
+                EVENT_TYPE, event.getEventType(),
+                MESSAGE_KEY, event.getMessageKey(),
+                PAYLOAD, event.getPayload())).withStreamKey(STREAM_KEY));
+    }
+
+    /** 처리가 끝난 항목을 지운다. 실패해도 복구 시 중복 확인을 거치므로 로그만 남긴다. */
+    public void remove(List<RecordId> ids) {
+        if (!enabled || ids.isEmpty()) {
+            return;
+        }
+        try {
+            redisTemplate.opsForStream().delete(STREAM_KEY, ids.toArray(RecordId[]::new));
+        } catch (Exception e) {
+            log.warn("Outbox 저널 항목 삭제 실패: {}건", ids.size(), e);
+        }
+    }
+
+    /** olderThan보다 먼저 기록된 항목을 읽는다. 정상 경로라면 이미 지워졌어야 할 항목이다. */
+    public List<MapRecord<String, Object, Object>> findOrphans(Duration olderThan, int limit) {
+        if (!enabled) {
+            return List.of();
+        }
+        long cutoff = System.currentTimeMillis() - olderThan.toMillis();
+        List<MapRecord<String, Object, Object>> records = redisTemplate.opsForStream()
+                .range(STREAM_KEY, Range.closed("-", Long.toString(cutoff)), Limit.limit().count(limit));
+        return records == null ? List.of() : records;
+    }
+
+    /** 항목을 지우는 데 성공한 인스턴스만 복구를 진행한다. 여러 인스턴스가 같은 항목을 중복 복구하지 않게 한다. */
+    public boolean claim(RecordId id) {
+        Long deleted = redisTemplate.opsForStream().delete(STREAM_KEY, id);
+        return deleted != null && deleted > 0;
+    }
+
+    public static OutboxEvent toEvent(MapRecord<String, Object, Object> record) {
+        Map<Object, Object> fields = record.getValue();
+        return OutboxEvent.pending(
+                (String) fields.get(AGGREGATE_TYPE),
+                (String) fields.get(AGGREGATE_ID),
+                (String) fields.get(EVENT_TYPE),
+                (String) fields.get(MESSAGE_KEY),
+                (String) fields.get(PAYLOAD));
+    }
+}
@@ -0,0 +1,250 @@
+package com.omisys.product.infrastructure.stock;
+
+import com.omisys.product.domain.repository.cassandra.ProductColumnRepository;
+import com.omisys.product.domain.repository.redis.StockLedgerRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.omisys.product.domain.repository.redis.StockLedgerRepository.CHANGED_IDS;
+import static com.omisys.product.domain.repository.redis.StockLedgerRepository.CHANGES_KEY;
+
+/**
+ * 재고 원장 변경 스트림을 Cassandra에 반영하는 write-behind.
+ *
+ * <p>컨슈머 그룹으로 스트림을 batch-size개씩 읽어 바뀐 상품 ID를 모으고, 원장의 현재 재고를 HMGET으로 읽어
+ * 재고 컬럼만 비동기로 동시에 덮어쓴다. 증감분이 아니라 절대값을 쓰므로 같은 항목을 두 번 처리해도 결과가 같고, 한 배치 안에서
+ * 같은 상품이 여러 번 바뀌었어도 한 번만 쓴다. Cassandra 반영이 끝난 항목만 XACK·XDEL 한다.</p>
+ *
+ * <p>반영에 실패했거나 처리 중 인스턴스가 죽어 claim-idle-seconds 이상 확인되지 않은 항목은 다른 인스턴스(또는 자신)가
+ * XCLAIM으로 가져가 다시 처리한다. Cassandra 값은 이만큼 늦을 수 있지만 재고 판단은 항상 원장으로 한다.</p>
+ */
+@Slf4j
+@Component
+public class StockWriteBehind {
+
+    static final String GROUP = "stock-write-behind";
+
+    private static final long CLAIM_CHECK_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private final StringRedisTemplate redisTemplate;
+    private final StockLedgerRepository stockLedgerRepository;
+    private final ProductColumnRepository productColumnRepository;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration block;
+    private final Duration claimIdle;
+    private final String consumerName;
+    private final AtomicLong streamLength = new AtomicLong();
+    private final Counter written;
+
+    private volatile boolean running;
+    private Thread writerThread;
+    private long nextClaimNanos = System.nanoTime();
+    private boolean groupReady;
+
+    public StockWriteBehind(
+            StringRedisTemplate redisTemplate,
+            StockLedgerRepository stockLedgerRepository,
+            ProductColumnRepository productColumnRepository,
+            MeterRegistry meterRegistry,
+            @Value("${product.stock.ledger.enabled:true}") boolean enabled,
+            @Value("${product.stock.write-behind.batch-size:500}") int batchSize,
+            @Value("${product.stock.write-behind.block-ms:1000}") long blockMillis,
+            @Value("${product.stock.write-behind.claim-idle-seconds:60}") long claimIdleSeconds) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("재고 write-behind 배치 크기는 1 이상이어야 합니다: " + batchSize);
+        }
+        this.redisTemplate = redisTemplate;
+        this.stockLedgerRepository = stockLedgerRepository;
+        this.productColumnRepository = productColumnRepository;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.block = Duration.ofMillis(blockMillis);
+        this.claimIdle = Duration.ofSeconds(claimIdleSeconds);
+        this.consumerName = System.getenv().getOrDefault("HOSTNAME", "product") + "-"
+                + UUID.randomUUID().toString().substring(0, 8);
+        Gauge.builder("product.stock.write-behind.backlog", streamLength, AtomicLong::get)
+                .description("Cassandra에 아직 반영하지 않은 재고 변경 수")
+                .register(meterRegistry);
+        this.written = Counter.builder("product.stock.write-behind.written")
+                .description("Cassandra에 반영한 상품 재고 수")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        writerThread = new Thread(this::runLoop, "stock-write-behind");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (writerThread != null) {
+            writerThread.join(block.toMillis() + TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    /** 새 변경을 한 번 읽어 반영하고 처리한 항목 수를 반환한다. */
+    int pollOnce() {
+        List<MapRecord<String, Object, Object>> records = redisTemplate.opsForStream().read(
+                Consumer.from(GROUP, consumerName),
+                StreamReadOptions.empty().count(batchSize).block(block),
+                StreamOffset.create(CHANGES_KEY, ReadOffset.lastConsumed()));
+        if (records == null || records.isEmpty()) {
+            return 0;
+        }
+        flush(records);
+        return records.size();
+    }
+
+    /** claim-idle-seconds 넘게 확인되지 않은 항목을 가져와 다시 반영한다. */
+    int reclaimOnce() {
+        PendingMessages pending = redisTemplate.opsForStream().pending(CHANGES_KEY, GROUP, Range.unbounded(), batchSize);
+        RecordId[] idle = pending.stream()
+                .filter(message -> message.getElapsedTimeSinceLastDelivery().compareTo(claimIdle) >= 0)
+                .map(PendingMessage::getId)
+                .toArray(RecordId[]::new);
+        if (idle.length == 0) {
+            return 0;
+        }
+        List<MapRecord<String, Object, Object>> claimed =
+                redisTemplate.opsForStream().claim(CHANGES_KEY, GROUP, consumerName, claimIdle, idle);
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+        log.info("재고 write-behind 미확인 항목 재처리: {}건", claimed.size());
+        flush(claimed);
+        return claimed.size();
+    }
+
+    void flush(List<MapRecord<String, Object, Object>> records) {
+        Set<String> changed = new LinkedHashSet<>();
+        for (MapRecord<String, Object, Object> record : records) {
+            Object ids = record.getValue().get(CHANGED_IDS);
+            if (ids != null) {
+                changed.addAll(List.of(ids.toString().split(",")));
+            }
+        }
+        List<String> productIds = new ArrayList<>(changed);
+        long timestampMicros = TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis());
+        List<Integer> stocks = productIds.isEmpty() ? List.of() : stockLedgerRepository.currentStocks(productIds);
+        List<CompletableFuture<Void>> writes = new ArrayList<>(productIds.size());
+        for (int i = 0; i < productIds.size(); i++) {
+            // 원장에서 빠진 상품(삭제)은 건너뛴다
+            if (stocks.get(i) != null) {
+                writes.add(productColumnRepository.updateStock(
+                        UUID.fromString(productIds.get(i)), stocks.get(i), timestampMicros));
+            }
+        }
+        try {
+            CompletableFuture.allOf(writes.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+        written.increment(writes.size());
+        RecordId[] done = records.stream().map(MapRecord::getId).toArray(RecordId[]::new);
+        redisTemplate.opsForStream().acknowledge(CHANGES_KEY, GROUP, done);
+        redisTemplate.opsForStream().delete(CHANGES_KEY, done);
+    }
+
+    /** 컨슈머 그룹이 없으면 만든다. 스트림이 아직 없어도 MKSTREAM으로 함께 만든다. */
+    void ensureGroup() {
+        try {
+            redisTemplate.execute((RedisCallback<String>) connection -> createGroup(connection));
+        } catch (RuntimeException e) {
+            if (!isRedisError(e, "BUSYGROUP")) {
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * 루프 한 번. 실패하면 false를 돌려 호출한 쪽이 잠시 쉬게 한다.
+     *
+     * <p>페일오버·재시작·FLUSHDB 등으로 스트림이나 컨슈머 그룹이 사라지면 읽기가 NOGROUP으로 실패한다.
+     * 이때는 다음 번에 그룹을 다시 만들도록 표시한다. 그러지 않으면 재시작 전까지 Cassandra 반영이 멈춘다.</p>
+     */
+    boolean runOnce() {
+        try {
+            if (!groupReady) {
+                ensureGroup();
+                groupReady = true;
+            }
+            pollOnce();
+            if (System.nanoTime() - nextClaimNanos >= 0) {
+                nextClaimNanos = System.nanoTime() + CLAIM_CHECK_NANOS;
+                reclaimOnce();
+                Long size = redisTemplate.opsForStream().size(CHANGES_KEY);
+                streamLength.set(size == null ? 0 : size);
+            }
+            return true;
+        } catch (RuntimeException e) {
+            if (isRedisError(e, "NOGROUP")) {
+                groupReady = false;
+                log.warn("재고 write-behind 컨슈머 그룹이 사라져 다시 만듭니다");
+            }
+            log.error("재고 write-behind 실패", e);
+            return false;
+        }
+    }
+
+    /** Redis 오류 코드는 스프링 예외(RedisSystemException)의 원인 메시지에만 들어 있다. */
+    private static boolean isRedisError(RuntimeException e, String code) {
+        return String.valueOf(NestedExceptionUtils.getMostSpecificCause(e).getMessage()).contains(code);
+    }
+
+    private static String createGroup(RedisConnection connection) {
+        return connection.streamCommands().xGroupCreate(
+                CHANGES_KEY.getBytes(StandardCharsets.UTF_8), GROUP, ReadOffset.from("0"), true);
+    }
+
+    private void runLoop() {
+        while (running) {
+            if (!runOnce()) {
+                try {
+                    TimeUnit.SECONDS.sleep(1);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -6,4 +6,14 @@ public class RedisUtils {
         return "preorder.request.%s".formatted(preOrderId);
     }
 
+    /** 분할 예약 모드의 버킷별 예약 수 카운터 키. 버킷마다 해시 태그가 달라 Redis Cluster에서 서로 다른 슬롯에 놓인다. */
+    public static String getRedisKeyOfPreOrderShardCount(long preOrderId, int shard) {
+        return "preorder.request.{%s:%s}.count".formatted(preOrderId, shard);
+    }
+
+    /** 분할 예약 모드의 버킷별 사용자 인덱스(userId → 예약 슬롯을 얻은 버킷) 키. 카운터와 같은 슬롯이다. */
+    public static String getRedisKeyOfPreOrderShardUsers(long preOrderId, int shard) {
+        return "preorder.request.{%s:%s}.users".formatted(preOrderId, shard);
+    }
+
 }
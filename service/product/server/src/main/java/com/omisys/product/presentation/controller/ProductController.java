@@ -4,6 +4,7 @@ import com.omisys.common.domain.response.ApiResponse;
 import com.omisys.product.application.product.ProductFacadeService;
 import com.omisys.product.application.product.ProductService;
 import com.omisys.product.presentation.request.ProductRequest;
+import com.omisys.product.presentation.response.CursorPageResponse;
 import com.omisys.product.presentation.response.ProductDetailResponse;
 import com.omisys.product.presentation.response.ProductResponse;
 import jakarta.validation.Valid;
@@ -11,7 +12,6 @@ import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.http.MediaType;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
@@ -81,8 +81,8 @@ public class ProductController {
 
     @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_MANAGER')")
     @GetMapping
-    public ApiResponse<Page<ProductResponse>> getProductList(
-            @RequestParam(defaultValue = "0") @Min(0) int page,
+    public ApiResponse<CursorPageResponse<ProductResponse>> getProductList(
+            @RequestParam(value = "cursor", required = false) String cursor,
             @RequestParam(defaultValue = "30") @Min(1) @Max(100) int size,
             @RequestParam("categoryId") Long categoryId,
             @RequestParam(value = "brandName", required = false) String brandName,
@@ -93,7 +93,7 @@ public class ProductController {
             @RequestParam(value = "sort", defaultValue = "newest") String sortOption) {
         return ApiResponse.ok(
                 productService.getProductList(
-                        page,
+                        cursor,
                         size,
                         categoryId,
                         brandName,
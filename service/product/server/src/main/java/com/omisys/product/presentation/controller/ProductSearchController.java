@@ -3,10 +3,10 @@ package com.omisys.product.presentation.controller;
 import com.omisys.common.domain.response.ApiResponse;
 import com.omisys.product.application.product.ElasticSearchService;
 import com.omisys.product.infrastructure.utils.ProductSearchDto;
+import com.omisys.product.presentation.response.CursorPageResponse;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -22,7 +22,8 @@ public class ProductSearchController {
     private final ElasticSearchService elasticSearchService;
 
     @GetMapping("/api/products/search")
-    public ApiResponse<Page<ProductSearchDto>> getProductList(
+    public ApiResponse<CursorPageResponse<ProductSearchDto>> getProductList(
+            @RequestParam(value = "cursor", required = false) String cursor,
             @RequestParam(defaultValue = "0") @Min(0) int page,
             @RequestParam(defaultValue = "30") @Min(1) @Max(100) int size,
             @RequestParam(value = "categoryId", required = false) Long categoryId,
@@ -35,6 +36,7 @@ public class ProductSearchController {
             throws IOException {
         return ApiResponse.ok(
                 elasticSearchService.getProductList(
+                        cursor,
                         page,
                         size,
                         categoryId,
@@ -0,0 +1,34 @@
+package com.omisys.product.presentation.response;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 커서 기반 페이지. nextCursor를 그대로 다음 요청의 cursor로 넘기면 이어서 읽는다.
+ * 전체 개수를 싸게 알 수 없는 저장소(Cassandra 목록 테이블)에서는 totalElements가 null이다.
+ */
+@Getter
+public class CursorPageResponse<T> {
+    private final List<T> content;
+    private final int size;
+    private final boolean hasNext;
+    private final String nextCursor;
+    private final Long totalElements;
+
+    private CursorPageResponse(List<T> content, int size, String nextCursor, Long totalElements) {
+        this.content = content;
+        this.size = size;
+        this.hasNext = nextCursor != null;
+        this.nextCursor = nextCursor;
+        this.totalElements = totalElements;
+    }
+
+    public static <T> CursorPageResponse<T> of(List<T> content, int size, String nextCursor) {
+        return new CursorPageResponse<>(content, size, nextCursor, null);
+    }
+
+    public static <T> CursorPageResponse<T> of(List<T> content, int size, String nextCursor, long totalElements) {
+        return new CursorPageResponse<>(content, size, nextCursor, totalElements);
+    }
+}
@@ -88,6 +88,11 @@ public class ProductResponse {
     }
 
     public static ProductResponse fromEntity(Product product) {
+        return fromEntity(product, product.getStock());
+    }
+
+    /** 캐시된 스냅샷 대신 재고 원장 값 등 따로 읽은 재고를 싣는다. */
+    public static ProductResponse fromEntity(Product product, int stock) {
         return ProductResponse.builder()
                 .productId(product.getProductId())
                 .categoryId(product.getCategoryId())
@@ -102,7 +107,7 @@ public class ProductResponse {
                 .originalPrice(product.getOriginalPrice())
                 .discountPercent(product.getDiscountPercent())
                 .discountedPrice(product.getDiscountedPrice())
-                .stock(product.getStock())
+                .stock(stock)
                 .limitCountPerUser(product.getLimitCountPerUser())
                 .reviewCount(product.getReviewCount())
                 .salesCount(product.getSalesCount())
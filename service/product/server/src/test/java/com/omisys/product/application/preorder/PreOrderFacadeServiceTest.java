@@ -5,6 +5,7 @@ import com.omisys.common.domain.entity.KafkaTopicConstant;
 import com.omisys.product.domain.model.outbox.OutboxEvent;
 import com.omisys.product.domain.model.outbox.OutboxStatus;
 import com.omisys.product.domain.repository.jpa.OutboxEventRepository;
+import com.omisys.product.infrastructure.outbox.OutboxBatchWriter;
 import com.omisys.product.infrastructure.utils.PreOrderRedisDto;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -17,20 +18,22 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.time.LocalDateTime;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class PreOrderFacadeServiceTest {
 
-    @Mock private PreOrderLockService preOrderLockService;
+    @Mock private PreOrderReservationService preOrderReservationService;
     @Mock private OutboxEventRepository outboxEventRepository;
+    @Mock private OutboxBatchWriter outboxBatchWriter;
 
     private PreOrderFacadeService preOrderFacadeService;
 
     @BeforeEach
     void setUp() {
         preOrderFacadeService = new PreOrderFacadeService(
-                preOrderLockService, outboxEventRepository, new ObjectMapper());
+                preOrderReservationService, outboxEventRepository, outboxBatchWriter, new ObjectMapper());
     }
 
     @Test
@@ -48,7 +51,7 @@ class PreOrderFacadeServiceTest {
                 LocalDateTime.now().minusDays(1),
                 LocalDateTime.now().plusDays(1)
         );
-        when(preOrderLockService.reservation(preOrderId, userId)).thenReturn(cached);
+        when(preOrderReservationService.reservation(preOrderId, userId)).thenReturn(cached);
 
         // when
         preOrderFacadeService.preOrder(preOrderId, addressId, userId);
@@ -76,7 +79,7 @@ class PreOrderFacadeServiceTest {
                 preOrderId, "product-uuid-string", 100,
                 LocalDateTime.now().minusDays(1), LocalDateTime.now().plusDays(1)
         );
-        when(preOrderLockService.reservation(preOrderId, userId)).thenReturn(cached);
+        when(preOrderReservationService.reservation(preOrderId, userId)).thenReturn(cached);
 
         // when
         preOrderFacadeService.preOrder(preOrderId, addressId, userId);
@@ -90,6 +93,79 @@ class PreOrderFacadeServiceTest {
         assertThat(payload).contains("product-uuid-string");
     }
 
+    @Test
+    @DisplayName("preOrder: OutboxEvent 저장에 실패하면 Redis 예약을 취소하고 예외를 그대로 던진다")
+    void preOrder_rollback_cancelsReservation() {
+        // given
+        long preOrderId = 10L;
+        long addressId = 99L;
+        long userId = 777L;
+
+        PreOrderRedisDto cached = new PreOrderRedisDto(
+                preOrderId, "product-uuid-string", 100,
+                LocalDateTime.now().minusDays(1), LocalDateTime.now().plusDays(1)
+        );
+        when(preOrderReservationService.reservation(preOrderId, userId)).thenReturn(cached);
+        when(outboxEventRepository.save(any(OutboxEvent.class))).thenThrow(new IllegalStateException("db down"));
+
+        // when
+        assertThatThrownBy(() -> preOrderFacadeService.preOrder(preOrderId, addressId, userId))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("db down");
+
+        // then
+        verify(preOrderReservationService).cancel(preOrderId, userId);
+    }
+
+    @Test
+    @DisplayName("preOrder: 일괄 저장이 켜져 있으면 OutboxBatchWriter로 저장하고 JPA 저장은 하지 않는다")
+    void preOrder_batchEnabled_writesThroughBatchWriter() {
+        // given
+        long preOrderId = 10L;
+        long addressId = 99L;
+        long userId = 777L;
+
+        PreOrderRedisDto cached = new PreOrderRedisDto(
+                preOrderId, "product-uuid-string", 100,
+                LocalDateTime.now().minusDays(1), LocalDateTime.now().plusDays(1)
+        );
+        when(preOrderReservationService.reservation(preOrderId, userId)).thenReturn(cached);
+        when(outboxBatchWriter.isEnabled()).thenReturn(true);
+
+        // when
+        preOrderFacadeService.preOrder(preOrderId, addressId, userId);
+
+        // then
+        ArgumentCaptor<OutboxEvent> captor = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxBatchWriter).write(captor.capture());
+        assertThat(captor.getValue().getMessageKey()).isEqualTo(Long.toString(userId));
+        verifyNoInteractions(outboxEventRepository);
+        verify(preOrderReservationService, never()).cancel(anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("preOrder: 일괄 저장이 실패(대기 시간 초과 포함)하면 Redis 예약을 취소한다")
+    void preOrder_batchFailure_cancelsReservation() {
+        // given
+        long preOrderId = 10L;
+        long addressId = 99L;
+        long userId = 777L;
+
+        PreOrderRedisDto cached = new PreOrderRedisDto(
+                preOrderId, "product-uuid-string", 100,
+                LocalDateTime.now().minusDays(1), LocalDateTime.now().plusDays(1)
+        );
+        when(preOrderReservationService.reservation(preOrderId, userId)).thenReturn(cached);
+        when(outboxBatchWriter.isEnabled()).thenReturn(true);
+        doThrow(new IllegalStateException("Outbox 일괄 저장 대기 시간 초과"))
+                .when(outboxBatchWriter).write(any(OutboxEvent.class));
+
+        // when & then
+        assertThatThrownBy(() -> preOrderFacadeService.preOrder(preOrderId, addressId, userId))
+                .isInstanceOf(IllegalStateException.class);
+        verify(preOrderReservationService).cancel(preOrderId, userId);
+    }
+
     @Test
     @DisplayName("preOrder: Kafka를 직접 호출하지 않는다 (OutboxPoller에 위임)")
     void preOrder_doesNotCallKafkaDirectly() {
@@ -102,7 +178,7 @@ class PreOrderFacadeServiceTest {
                 preOrderId, "product-uuid-string", 100,
                 LocalDateTime.now().minusDays(1), LocalDateTime.now().plusDays(1)
         );
-        when(preOrderLockService.reservation(preOrderId, userId)).thenReturn(cached);
+        when(preOrderReservationService.reservation(preOrderId, userId)).thenReturn(cached);
 
         // when & then — KafkaTemplate 주입 없이도 예외 없이 동작해야 함
         preOrderFacadeService.preOrder(preOrderId, addressId, userId);
@@ -0,0 +1,113 @@
+package com.omisys.product.application.preorder;
+
+import com.omisys.product.domain.repository.redis.RedisRepository;
+import com.omisys.product.exception.ProductException;
+import com.omisys.product.infrastructure.cache.PreOrderSoldOutRegistry;
+import com.omisys.product.infrastructure.utils.PreOrderRedisDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 사전예약 단일 키 경로와 분할 예약 경로의 처리량 비교 하네스.
+ *
+ * <p>같은 사용자가 두 번씩 요청하는 부하를 보내고 처리량(req/s)과 초과 예약 여부를 확인한다.
+ * 단일 Redis 노드에서는 분할의 이점(노드 분산)이 드러나지 않으므로 Redis Cluster에서 함께 비교해야 한다.</p>
+ *
+ * <p>실행: {@code PREORDER_BENCHMARK_REDIS_HOST=localhost ./gradlew :service:product:server:test
+ * --tests '*PreOrderReservationBenchmarkTest'}</p>
+ */
+@EnabledIfEnvironmentVariable(named = "PREORDER_BENCHMARK_REDIS_HOST", matches = ".+")
+class PreOrderReservationBenchmarkTest {
+
+    private static final long PRE_ORDER_ID = 9_999_999L;
+    private static final int AVAILABLE_QUANTITY = 20_000;
+    private static final int USERS = 40_000;
+    private static final int THREADS = 64;
+    private static final int SHARDS = 8;
+
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate redisTemplate;
+    private RedisRepository redisRepository;
+    private PreOrderCacheService preOrderCacheService;
+
+    @BeforeEach
+    void setUp() {
+        String host = System.getenv("PREORDER_BENCHMARK_REDIS_HOST");
+        int port = Integer.parseInt(System.getenv().getOrDefault("PREORDER_BENCHMARK_REDIS_PORT", "6379"));
+        connectionFactory = new LettuceConnectionFactory(host, port);
+        connectionFactory.afterPropertiesSet();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        redisTemplate.afterPropertiesSet();
+        redisRepository = new RedisRepository(redisTemplate);
+
+        preOrderCacheService = mock(PreOrderCacheService.class);
+        when(preOrderCacheService.getPreOrderCache(PRE_ORDER_ID)).thenReturn(new PreOrderRedisDto(
+                PRE_ORDER_ID, "product-uuid-string", AVAILABLE_QUANTITY,
+                LocalDateTime.now().minusHours(1), LocalDateTime.now().plusHours(1)));
+        clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        clear();
+        connectionFactory.destroy();
+    }
+
+    @Test
+    void 단일_키_경로와_분할_경로의_처리량을_비교한다() throws InterruptedException {
+        // 매진 후 메모리 거절은 두 경로에 똑같이 적용되므로 스크립트 처리량만 비교하도록 레지스트리는 목으로 둔다.
+        PreOrderSoldOutRegistry soldOutRegistry = mock(PreOrderSoldOutRegistry.class);
+        int single = run(new PreOrderReservationService(preOrderCacheService, redisRepository, soldOutRegistry, 1),
+                "single key");
+        clear();
+        int sharded = run(new PreOrderReservationService(preOrderCacheService, redisRepository, soldOutRegistry, SHARDS),
+                "sharded x" + SHARDS);
+
+        assertThat(single).isEqualTo(AVAILABLE_QUANTITY);
+        assertThat(sharded).isEqualTo(AVAILABLE_QUANTITY);
+    }
+
+    private int run(PreOrderReservationService service, String label) throws InterruptedException {
+        AtomicInteger reserved = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < USERS * 2; i++) {
+            long userId = i % USERS;
+            executor.execute(() -> {
+                try {
+                    service.reservation(PRE_ORDER_ID, userId);
+                    reserved.incrementAndGet();
+                } catch (ProductException e) {
+                    rejected.incrementAndGet();
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.MINUTES);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("[preorder-benchmark] %-11s %,8.0f req/s reserved=%d rejected=%d%n",
+                label, USERS * 2 / seconds, reserved.get(), rejected.get());
+        return reserved.get();
+    }
+
+    private void clear() {
+        redisTemplate.delete(redisTemplate.keys("preorder.request.*" + PRE_ORDER_ID + "*"));
+    }
+}
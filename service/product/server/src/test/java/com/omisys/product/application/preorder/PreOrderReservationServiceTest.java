@@ -0,0 +1,303 @@
+package com.omisys.product.application.preorder;
+
+import com.omisys.product.domain.repository.redis.RedisRepository;
+import com.omisys.product.exception.ProductErrorCode;
+import com.omisys.product.exception.ProductException;
+import com.omisys.product.infrastructure.cache.PreOrderSoldOutRegistry;
+import com.omisys.product.infrastructure.utils.PreOrderRedisDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.omisys.product.infrastructure.utils.RedisUtils.getRedisKeyOfPreOrder;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PreOrderReservationServiceTest {
+
+    private static final long PRE_ORDER_ID = 10L;
+    private static final long USER_ID = 777L;
+
+    @Mock private PreOrderCacheService preOrderCacheService;
+    @Mock private RedisRepository redisRepository;
+    @Mock private PreOrderSoldOutRegistry soldOutRegistry;
+
+    private PreOrderReservationService preOrderReservationService;
+
+    @BeforeEach
+    void setUp() {
+        preOrderReservationService = new PreOrderReservationService(preOrderCacheService, redisRepository, soldOutRegistry, 1);
+    }
+
+    @Test
+    @DisplayName("reservation: 예약 스크립트를 사전예약 키/userId/예약가능수량으로 한 번 호출하고 캐시 정보를 반환한다")
+    void reservation_success() {
+        // given
+        PreOrderRedisDto cached = openPreOrder();
+        when(preOrderCacheService.getPreOrderCache(PRE_ORDER_ID)).thenReturn(cached);
+        when(redisRepository.reserve(getRedisKeyOfPreOrder(PRE_ORDER_ID), "777", 100))
+                .thenReturn(RedisRepository.RESERVED);
+
+        // when
+        PreOrderRedisDto result = preOrderReservationService.reservation(PRE_ORDER_ID, USER_ID);
+
+        // then
+        assertThat(result).isSameAs(cached);
+        verify(redisRepository).reserve(getRedisKeyOfPreOrder(PRE_ORDER_ID), "777", 100);
+        verifyNoMoreInteractions(redisRepository);
+    }
+
+    @Test
+    @DisplayName("reservation: 이미 예약한 사용자 → ALREADY_PREORDER 예외")
+    void reservation_duplicate_throws() {
+        // given
+        when(preOrderCacheService.getPreOrderCache(PRE_ORDER_ID)).thenReturn(openPreOrder());
+        when(redisRepository.reserve(anyString(), anyString(), anyInt())).thenReturn(RedisRepository.ALREADY_RESERVED);
+
+        // when & then
+        assertThatThrownBy(() -> preOrderReservationService.reservation(PRE_ORDER_ID, USER_ID))
+                .isInstanceOf(ProductException.class)
+                .extracting(ex -> ((ProductException) ex).getErrorCode())
+                .isEqualTo(ProductErrorCode.ALREADY_PREORDER);
+    }
+
+    @Test
+    @DisplayName("reservation: 예약 가능 수량 소진 → EXCEED_PREORDER_QUANTITY 예외")
+    void reservation_soldOut_throws() {
+        // given
+        when(preOrderCacheService.getPreOrderCache(PRE_ORDER_ID)).thenReturn(openPreOrder());
+        when(redisRepository.reserve(anyString(), anyString(), anyInt())).thenReturn(RedisRepository.SOLD_OUT);
+
+        // when & then
+        assertThatThrownBy(() -> preOrderReservationService.reservation(PRE_ORDER_ID, USER_ID))
+                .isInstanceOf(ProductException.class)
+                .extracting(ex -> ((ProductException) ex).getErrorCode())
+                .isEqualTo(ProductErrorCode.EXCEED_PREORDER_QUANTITY);
+    }
+
+    @Test
+    @DisplayName("reservation: 수량 소진 시 매진을 알리고, 예약 수가 수량에 찬 상태면 해제하지 않는다")
+    void reservation_soldOut_marksSoldOut() {
+        // given
+        when(preOrderCacheService.getPreOrderCache(PRE_ORDER_ID)).thenReturn(openPreOrder());
+        when(redisRepository.reserve(anyString(), anyString(), anyInt())).thenReturn(RedisRepository.SOLD_OUT);
+        when(redisRepository.sCard(getRedisKeyOfPreOrder(PRE_ORDER_ID))).thenReturn(100L);
+
+        // when
+        assertThatThrownBy(() -> preOrderReservationService.reservation(PRE_ORDER_ID, USER_ID))
+                .isInstanceOf(ProductException.class);
+
+        // then
+        verify(soldOutRegistry).markSoldOut(PRE_ORDER_ID);
+        verify(soldOutRegistry, never()).rearm(anyLong());
+    }
+
+    @Test
+    @DisplayName("reservation: 매진 표시 직후 취소로 자리가 생겼으면 곧바로 매진을 해제한다")
+    void reservation_soldOut_rearmsWhenCapacityFreed() {
+        // given
+        when(preOrderCacheService.getPreOrderCache(PRE_ORDER_ID)).thenReturn(openPreOrder());
+        when(redisRepository.reserve(anyString(), anyString(), anyInt())).thenReturn(RedisRepository.SOLD_OUT);
+        when(redisRepository.sCard(getRedisKeyOfPreOrder(PRE_ORDER_ID))).thenReturn(99L);
+
+        // when
+        assertThatThrownBy(() -> preOrderReservationService.reservation(PRE_ORDER_ID, USER_ID))
+                .isInstanceOf(ProductException.class);
+
+        // then
+        verify(soldOutRegistry).markSoldOut(PRE_ORDER_ID);
+        verify(soldOutRegistry).rearm(PRE_ORDER_ID);
+    }
+
+    @Test
+    @DisplayName("reservation: 매진으로 알려진 사전예약은 캐시·Redis 조회 없이 EXCEED_PREORDER_QUANTITY 예외")
+    void reservation_knownSoldOut_rejectedInMemory() {
+        // given
+        when(soldOutRegistry.isSoldOut(PRE_ORDER_ID)).thenReturn(true);
+
+        // when & then
+        assertThatThrownBy(() -> preOrderReservationService.reservation(PRE_ORDER_ID, USER_ID))
+                .isInstanceOf(ProductException.class)
+                .extracting(ex -> ((ProductException) ex).getErrorCode())
+                .isEqualTo(ProductErrorCode.EXCEED_PREORDER_QUANTITY);
+        verifyNoInteractions(preOrderCacheService, redisRepository);
+    }
+
+    @Test
+    @DisplayName("cancel: 예약을 지웠으면 매진을 해제하고, 예약이 없었으면 해제하지 않는다")
+    void cancel_rearmsOnlyWhenReleased() {
+        // given
+        when(preOrderCacheService.getPreOrderCache(PRE_ORDER_ID)).thenReturn(openPreOrder());
+        when(redisRepository.sRem(getRedisKeyOfPreOrder(PRE_ORDER_ID), "777")).thenReturn(true, false);
+
+        // when
+        preOrderReservationService.cancel(PRE_ORDER_ID, USER_ID);
+        preOrderReservationService.cancel(PRE_ORDER_ID, USER_ID);
+
+        // then
+        verify(soldOutRegistry, times(1)).rearm(PRE_ORDER_ID);
+    }
+
+    @Test
+    @DisplayName("reservation: 예약 가능 시간이 아니면 즉시 예외 → Redis 스크립트는 호출되지 않는다")
+    void reservation_invalidDate_throws_and_doesNotCall_redis() {
+        // given
+        PreOrderRedisDto cached = new PreOrderRedisDto(
+                PRE_ORDER_ID,
+                "product-uuid-string",
+                100,
+                LocalDateTime.now().plusMinutes(10),
+                LocalDateTime.now().plusMinutes(20)
+        );
+        when(preOrderCacheService.getPreOrderCache(PRE_ORDER_ID)).thenReturn(cached);
+
+        // when & then
+        assertThatThrownBy(() -> preOrderReservationService.reservation(PRE_ORDER_ID, USER_ID))
+                .isInstanceOf(ProductException.class);
+        verifyNoInteractions(redisRepository);
+    }
+
+    @Test
+    @DisplayName("reservation(분할): 홈 버킷에 슬롯이 있으면 홈 버킷 스크립트 한 번으로 끝난다")
+    void shardedReservation_homeShard_success() {
+        // given
+        PreOrderReservationService sharded = shardedService();
+        PreOrderReservationShards shards = new PreOrderReservationShards(PRE_ORDER_ID, 4, 100);
+        int home = shards.homeShard(USER_ID);
+        when(preOrderCacheService.getPreOrderCache(PRE_ORDER_ID)).thenReturn(openPreOrder());
+        when(redisRepository.reserveHomeShard(shards.countKey(home), shards.usersKey(home), "777", 25, home))
+                .thenReturn(RedisRepository.RESERVED);
+
+        // when
+        sharded.reservation(PRE_ORDER_ID, USER_ID);
+
+        // then
+        verify(redisRepository).reserveHomeShard(shards.countKey(home), shards.usersKey(home), "777", 25, home);
+        verifyNoMoreInteractions(redisRepository);
+    }
+
+    @Test
+    @DisplayName("reservation(분할): 홈 버킷이 소진되면 다음 버킷에서 슬롯을 가져오고 홈 인덱스에 기록한다")
+    void shardedReservation_stealsFromSibling() {
+        // given
+        PreOrderReservationService sharded = shardedService();
+        PreOrderReservationShards shards = new PreOrderReservationShards(PRE_ORDER_ID, 4, 100);
+        int home = shards.homeShard(USER_ID);
+        int first = (home + 1) % 4;
+        int second = (home + 2) % 4;
+        when(preOrderCacheService.getPreOrderCache(PRE_ORDER_ID)).thenReturn(openPreOrder());
+        when(redisRepository.reserveHomeShard(anyString(), anyString(), anyString(), anyLong(), anyInt()))
+                .thenReturn(RedisRepository.SOLD_OUT);
+        when(redisRepository.takeShardSlot(shards.countKey(first), 25)).thenReturn(false);
+        when(redisRepository.takeShardSlot(shards.countKey(second), 25)).thenReturn(true);
+
+        // when
+        sharded.reservation(PRE_ORDER_ID, USER_ID);
+
+        // then
+        verify(redisRepository).recordShardSlot(shards.usersKey(home), "777", second);
+        verify(redisRepository, never()).releaseShardClaim(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("reservation(분할): 모든 버킷이 소진되면 선점을 해제하고 EXCEED_PREORDER_QUANTITY 예외")
+    void shardedReservation_allShardsSoldOut_releasesClaim() {
+        // given
+        PreOrderReservationService sharded = shardedService();
+        PreOrderReservationShards shards = new PreOrderReservationShards(PRE_ORDER_ID, 4, 100);
+        int home = shards.homeShard(USER_ID);
+        when(preOrderCacheService.getPreOrderCache(PRE_ORDER_ID)).thenReturn(openPreOrder());
+        when(redisRepository.reserveHomeShard(anyString(), anyString(), anyString(), anyLong(), anyInt()))
+                .thenReturn(RedisRepository.SOLD_OUT);
+        when(redisRepository.takeShardSlot(anyString(), anyLong())).thenReturn(false);
+
+        // when & then
+        assertThatThrownBy(() -> sharded.reservation(PRE_ORDER_ID, USER_ID))
+                .isInstanceOf(ProductException.class)
+                .extracting(ex -> ((ProductException) ex).getErrorCode())
+                .isEqualTo(ProductErrorCode.EXCEED_PREORDER_QUANTITY);
+        verify(redisRepository, times(3)).takeShardSlot(anyString(), anyLong());
+        verify(redisRepository).releaseShardClaim(shards.usersKey(home), "777");
+    }
+
+    @Test
+    @DisplayName("reservation(분할): 홈 인덱스에 이미 있는 사용자 → ALREADY_PREORDER 예외, 다른 버킷은 조회하지 않는다")
+    void shardedReservation_duplicate_throws() {
+        // given
+        PreOrderReservationService sharded = shardedService();
+        when(preOrderCacheService.getPreOrderCache(PRE_ORDER_ID)).thenReturn(openPreOrder());
+        when(redisRepository.reserveHomeShard(anyString(), anyString(), anyString(), anyLong(), anyInt()))
+                .thenReturn(RedisRepository.ALREADY_RESERVED);
+
+        // when & then
+        assertThatThrownBy(() -> sharded.reservation(PRE_ORDER_ID, USER_ID))
+                .isInstanceOf(ProductException.class)
+                .extracting(ex -> ((ProductException) ex).getErrorCode())
+                .isEqualTo(ProductErrorCode.ALREADY_PREORDER);
+        verify(redisRepository, never()).takeShardSlot(anyString(), anyLong());
+    }
+
+    @Test
+    @DisplayName("cancel(분할): 홈 인덱스의 버킷 번호를 읽어 해당 버킷 카운터를 돌려주고 매진을 해제한다")
+    void shardedCancel_returnsSlotToRecordedShard() {
+        // given
+        PreOrderReservationService sharded = shardedService();
+        PreOrderReservationShards shards = new PreOrderReservationShards(PRE_ORDER_ID, 4, 100);
+        int home = shards.homeShard(USER_ID);
+        int slot = (home + 2) % 4;
+        when(preOrderCacheService.getPreOrderCache(PRE_ORDER_ID)).thenReturn(openPreOrder());
+        when(redisRepository.getShardSlot(shards.usersKey(home), "777")).thenReturn(Integer.toString(slot));
+        when(redisRepository.releaseShardClaim(shards.usersKey(home), "777")).thenReturn(true);
+
+        // when
+        sharded.cancel(PRE_ORDER_ID, USER_ID);
+
+        // then
+        verify(redisRepository).returnShardSlot(shards.countKey(slot));
+        verify(soldOutRegistry).rearm(PRE_ORDER_ID);
+    }
+
+    @Test
+    @DisplayName("reservation(분할): 수량 소진 후 재확인은 모든 버킷 카운터의 합으로 한다")
+    void shardedReservation_soldOut_checksAllCounters() {
+        // given
+        PreOrderReservationService sharded = shardedService();
+        PreOrderReservationShards shards = new PreOrderReservationShards(PRE_ORDER_ID, 4, 100);
+        when(preOrderCacheService.getPreOrderCache(PRE_ORDER_ID)).thenReturn(openPreOrder());
+        when(redisRepository.reserveHomeShard(anyString(), anyString(), anyString(), anyLong(), anyInt()))
+                .thenReturn(RedisRepository.SOLD_OUT);
+        when(redisRepository.takeShardSlot(anyString(), anyLong())).thenReturn(false);
+        when(redisRepository.sumCounters(List.of(
+                shards.countKey(0), shards.countKey(1), shards.countKey(2), shards.countKey(3))))
+                .thenReturn(100L);
+
+        // when
+        assertThatThrownBy(() -> sharded.reservation(PRE_ORDER_ID, USER_ID))
+                .isInstanceOf(ProductException.class);
+
+        // then
+        verify(soldOutRegistry).markSoldOut(PRE_ORDER_ID);
+        verify(soldOutRegistry, never()).rearm(anyLong());
+    }
+
+    private PreOrderReservationService shardedService() {
+        return new PreOrderReservationService(preOrderCacheService, redisRepository, soldOutRegistry, 4);
+    }
+
+    private PreOrderRedisDto openPreOrder() {
+        return new PreOrderRedisDto(
+                PRE_ORDER_ID,
+                "product-uuid-string",
+                100,
+                LocalDateTime.now().minusMinutes(10),
+                LocalDateTime.now().plusMinutes(10)
+        );
+    }
+}
@@ -0,0 +1,54 @@
+package com.omisys.product.application.preorder;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PreOrderReservationShardsTest {
+
+    @Test
+    @DisplayName("버킷 할당량의 합은 availableQuantity와 같고 차이는 최대 1이다")
+    void quotas_sumToAvailableQuantity() {
+        PreOrderReservationShards shards = new PreOrderReservationShards(1L, 8, 1_003);
+
+        long[] quotas = IntStream.range(0, 8).mapToLong(shards::quota).toArray();
+
+        assertThat(LongStream.of(quotas).sum()).isEqualTo(1_003);
+        assertThat(LongStream.of(quotas).max().getAsLong() - LongStream.of(quotas).min().getAsLong())
+                .isLessThanOrEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("연속된 userId도 모든 버킷에 고르게 배정된다")
+    void homeShard_spreadsSequentialUserIds() {
+        PreOrderReservationShards shards = new PreOrderReservationShards(1L, 8, 1_000);
+        int[] counts = new int[8];
+
+        for (long userId = 1; userId <= 80_000; userId++) {
+            counts[shards.homeShard(userId)]++;
+        }
+
+        assertThat(IntStream.of(counts)).allMatch(count -> count > 9_000 && count < 11_000);
+    }
+
+    @Test
+    @DisplayName("버킷마다 다른 해시 태그 키를 사용한다")
+    void keys_useDistinctHashTags() {
+        PreOrderReservationShards shards = new PreOrderReservationShards(42L, 2, 10);
+
+        assertThat(shards.countKey(0)).isEqualTo("preorder.request.{42:0}.count");
+        assertThat(shards.usersKey(1)).isEqualTo("preorder.request.{42:1}.users");
+    }
+
+    @Test
+    @DisplayName("버킷 수가 1 미만이면 예외")
+    void invalidShardCount_throws() {
+        assertThatThrownBy(() -> new PreOrderReservationShards(1L, 0, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -31,6 +31,7 @@ class ProductFacadeServiceTest {
     @Mock private CategoryService categoryService;
     @Mock private ElasticSearchService elasticSearchService;
     @Mock private S3ImageService imageService;
+    @Mock private ProductStockLedger stockLedger;
 
     @InjectMocks
     private ProductFacadeService productFacadeService;
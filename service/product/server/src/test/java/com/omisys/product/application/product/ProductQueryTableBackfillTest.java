@@ -0,0 +1,83 @@
+package com.omisys.product.application.product;
+
+import com.omisys.product.domain.model.Product;
+import com.omisys.product.domain.model.ProductByBrand;
+import com.omisys.product.domain.model.ProductByCategory;
+import com.omisys.product.domain.model.ProductQueryRow;
+import com.omisys.product.domain.repository.cassandra.ProductLookupRepository;
+import com.omisys.product.domain.repository.cassandra.ProductQueryTableRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.cassandra.core.CassandraOperations;
+import org.springframework.data.cassandra.core.query.Query;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductQueryTableBackfillTest {
+
+    @Mock private CassandraOperations cassandraOperations;
+    @Mock private ProductQueryTableRepository productQueryTableRepository;
+    @Mock private ProductLookupRepository productLookupRepository;
+
+    @Test
+    @DisplayName("backfill: 현재 행을 다시 쓰고, 카테고리가 바뀌기 전의 행과 삭제된 상품의 행을 지운다")
+    void backfill_removesStaleRows() {
+        // given: moved는 카테고리 1 → 2로 옮겨졌지만 카테고리 1 행이 남아 있다
+        Product moved = product(1L);
+        List<ProductQueryRow> oldRows = ProductQueryRow.of(moved);
+        ProductByCategory oldCategoryRow = categoryRows(oldRows).get(0);
+        ReflectionTestUtils.setField(moved, "categoryId", 2L);
+        ProductByCategory currentCategoryRow = categoryRows(ProductQueryRow.of(moved)).get(0);
+        Product deleted = product(1L);
+        ProductByCategory deletedRow = categoryRows(ProductQueryRow.of(deleted)).get(0);
+
+        when(cassandraOperations.slice(any(Query.class), eq(Product.class)))
+                .thenReturn(new SliceImpl<>(List.of(moved)));
+        when(productQueryTableRepository.scanCategoryRows(any()))
+                .thenReturn(new SliceImpl<>(List.of(oldCategoryRow, currentCategoryRow, deletedRow)));
+        when(productQueryTableRepository.scanBrandRows(any())).thenReturn(new SliceImpl<ProductByBrand>(List.of()));
+        when(productLookupRepository.findAllByIds(List.of(moved.getProductId(), deleted.getProductId())))
+                .thenReturn(Map.of(moved.getProductId(), moved));
+
+        // when
+        long written = new ProductQueryTableBackfill(
+                cassandraOperations, productQueryTableRepository, productLookupRepository, false, 100).backfill();
+
+        // then
+        assertThat(written).isEqualTo(1);
+        verify(productQueryTableRepository).replace(eq(List.of()), anyList());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ProductQueryRow>> removed = ArgumentCaptor.forClass(List.class);
+        verify(productQueryTableRepository).delete(removed.capture());
+        assertThat(removed.getValue()).containsExactly(oldCategoryRow, deletedRow);
+    }
+
+    private static List<ProductByCategory> categoryRows(List<ProductQueryRow> rows) {
+        return rows.stream()
+                .filter(ProductByCategory.class::isInstance)
+                .map(ProductByCategory.class::cast)
+                .toList();
+    }
+
+    private static Product product(Long categoryId) {
+        return Product.builder()
+                .categoryId(categoryId)
+                .productName("p")
+                .brandName("b")
+                .originalPrice(BigDecimal.valueOf(1000))
+                .stock(1)
+                .build();
+    }
+}
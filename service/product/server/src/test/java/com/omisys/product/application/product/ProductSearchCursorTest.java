@@ -0,0 +1,53 @@
+package com.omisys.product.application.product;
+
+import co.elastic.clients.elasticsearch._types.FieldValue;
+import com.omisys.product.exception.ProductErrorCode;
+import com.omisys.product.exception.ProductException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ProductSearchCursorTest {
+
+    @Test
+    @DisplayName("정렬 값(숫자·문자열)은 커서로 감쌌다 풀어도 타입과 값이 그대로다")
+    void encodeDecode_roundTrip() {
+        List<FieldValue> sortValues = List.of(FieldValue.of(1_700_000_000_000L), FieldValue.of("a|b\tc"));
+
+        List<FieldValue> decoded = ProductSearchCursor.decode(ProductSearchCursor.encode(42, sortValues), 42, 2);
+
+        assertThat(decoded).hasSize(2);
+        assertThat(decoded.get(0).isLong()).isTrue();
+        assertThat(decoded.get(0).longValue()).isEqualTo(1_700_000_000_000L);
+        assertThat(decoded.get(1).stringValue()).isEqualTo("a|b\tc");
+    }
+
+    @Test
+    @DisplayName("값 개수가 다르거나 형식이 틀린 커서는 INVALID_CURSOR")
+    void decode_invalid_throws() {
+        String single = ProductSearchCursor.encode(42, List.of(FieldValue.of(1.5)));
+
+        assertThatThrownBy(() -> ProductSearchCursor.decode(single, 42, 2))
+                .isInstanceOf(ProductException.class)
+                .extracting(ex -> ((ProductException) ex).getErrorCode())
+                .isEqualTo(ProductErrorCode.INVALID_CURSOR);
+        assertThatThrownBy(() -> ProductSearchCursor.decode("bFhY", 42, 1))
+                .isInstanceOf(ProductException.class)
+                .extracting(ex -> ((ProductException) ex).getErrorCode())
+                .isEqualTo(ProductErrorCode.INVALID_CURSOR);
+    }
+
+    @Test
+    @DisplayName("다른 정렬·조건으로 만든 커서는 INVALID_CURSOR")
+    void decode_otherQuery_throws() {
+        String cursor = ProductSearchCursor.encode(42, List.of(FieldValue.of(1L), FieldValue.of("p")));
+
+        assertThatThrownBy(() -> ProductSearchCursor.decode(cursor, 43, 2))
+                .isInstanceOf(ProductException.class)
+                .extracting(ex -> ((ProductException) ex).getErrorCode())
+                .isEqualTo(ProductErrorCode.INVALID_CURSOR);
+    }
+}
@@ -2,24 +2,47 @@ package com.omisys.product.application.product;
 
 import com.omisys.product.application.dto.ImgDto;
 import com.omisys.product.domain.model.Product;
+import com.omisys.product.domain.model.ProductByCategory;
+import com.omisys.product.domain.model.ProductQueryRow;
+import com.omisys.product.domain.repository.cassandra.ProductColumnRepository;
+import com.omisys.product.domain.repository.cassandra.ProductLookupRepository;
+import com.omisys.product.domain.repository.cassandra.ProductQueryTableRepository;
 import com.omisys.product.domain.repository.cassandra.ProductRepository;
+import com.omisys.product.domain.repository.redis.StockLedgerRepository;
 import com.omisys.product.exception.ProductErrorCode;
 import com.omisys.product.exception.ProductException;
+import com.omisys.product.infrastructure.cache.CacheInvalidationPublisher;
+import com.omisys.product.infrastructure.cache.ProductLocalCache;
 import com.omisys.product.presentation.request.ProductRequest;
+import com.omisys.product.presentation.response.CursorPageResponse;
 import com.omisys.product.presentation.response.ProductResponse;
+import com.omisys.product.product_dto.ProductDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.cassandra.core.query.CassandraPageRequest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -30,6 +53,20 @@ class ProductServiceTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private ProductQueryTableRepository productQueryTableRepository;
+
+    @Mock
+    private ProductLookupRepository productLookupRepository;
+
+    @Mock
+    private ProductColumnRepository productColumnRepository;
+
+    @Spy
+    private ProductLocalCache productLocalCache = new ProductLocalCache(
+            mock(CacheInvalidationPublisher.class), mock(StockLedgerRepository.class), new SimpleMeterRegistry(),
+            100, 16, 60, 60_000, false);
+
     @InjectMocks
     private ProductService productService;
 
@@ -102,7 +139,7 @@ class ProductServiceTest {
     }
 
     @Test
-    @DisplayName("updateStatus: soldout 상태 변경 후 저장")
+    @DisplayName("updateStatus: 행 전체 저장 없이 soldout 컬럼만 쓴다")
     void updateStatus_success() {
         // given
         UUID productId = UUID.randomUUID();
@@ -124,19 +161,20 @@ class ProductServiceTest {
                 .build();
 
         when(productRepository.findByProductIdAndIsDeletedFalse(productId)).thenReturn(Optional.of(product));
-        when(productRepository.save(any(Product.class))).thenAnswer(inv -> inv.getArgument(0, Product.class));
+        when(productColumnRepository.updateSoldout(productId, true)).thenReturn(CompletableFuture.completedFuture(null));
 
         // when
         ProductResponse response = productService.updateStatus(productId, true);
 
         // then
-        verify(productRepository).save(product);
+        verify(productColumnRepository).updateSoldout(productId, true);
+        verify(productRepository, never()).save(any(Product.class));
         assertThat(product.isSoldout()).isTrue();
         assertThat(response.isSoldout()).isTrue();
     }
 
     @Test
-    @DisplayName("deleteProduct: isDeleted=true 변경 후 저장")
+    @DisplayName("deleteProduct: 행 전체 저장 없이 삭제 여부 컬럼만 쓴다")
     void deleteProduct_success() {
         // given
         UUID productId = UUID.randomUUID();
@@ -158,19 +196,20 @@ class ProductServiceTest {
                 .build();
 
         when(productRepository.findByProductIdAndIsDeletedFalse(productId)).thenReturn(Optional.of(product));
-        when(productRepository.save(any(Product.class))).thenAnswer(inv -> inv.getArgument(0, Product.class));
+        when(productColumnRepository.markDeleted(productId)).thenReturn(CompletableFuture.completedFuture(null));
 
         // when
         ProductResponse response = productService.deleteProduct(productId);
 
         // then
-        verify(productRepository).save(product);
+        verify(productColumnRepository).markDeleted(productId);
+        verify(productRepository, never()).save(any(Product.class));
         assertThat(product.isDeleted()).isTrue();
         assertThat(response.isDeleted()).isTrue();
     }
 
     @Test
-    @DisplayName("reduceStock: 재고 충분 → stock 감소 후 저장")
+    @DisplayName("reduceStock: 재고 충분 → 행 전체 저장 없이 재고 컬럼만 조건부로 감소")
     void reduceStock_success() {
         // given
         UUID productId = UUID.randomUUID();
@@ -191,8 +230,9 @@ class ProductServiceTest {
                 .tags(List.of("tag"))
                 .build();
 
-        when(productRepository.findByProductIdAndIsDeletedFalse(productId)).thenReturn(Optional.of(product));
-        when(productRepository.save(any(Product.class))).thenAnswer(inv -> inv.getArgument(0, Product.class));
+        when(productLookupRepository.findAllByIds(Set.of(productId))).thenReturn(Map.of(productId, product));
+        when(productColumnRepository.compareAndSetStock(productId, 10, 7))
+                .thenReturn(CompletableFuture.completedFuture(true));
 
         LinkedHashMap<String, Integer> req = new LinkedHashMap<>();
         req.put(productId.toString(), 3);
@@ -201,12 +241,12 @@ class ProductServiceTest {
         productService.reduceStock(req);
 
         // then
-        verify(productRepository, times(1)).save(product);
-        assertThat(product.getStock()).isEqualTo(7);
+        verify(productColumnRepository, times(1)).compareAndSetStock(productId, 10, 7);
+        verify(productRepository, never()).save(any());
     }
 
     @Test
-    @DisplayName("reduceStock: 재고 부족 → STOCK_NOT_AVAILABLE 예외, 저장 호출 없음")
+    @DisplayName("reduceStock: 재고 부족 → STOCK_NOT_AVAILABLE 예외, 쓰기 호출 없음")
     void reduceStock_insufficient_throws() {
         // given
         UUID productId = UUID.randomUUID();
@@ -227,7 +267,7 @@ class ProductServiceTest {
                 .tags(List.of("tag"))
                 .build();
 
-        when(productRepository.findByProductIdAndIsDeletedFalse(productId)).thenReturn(Optional.of(product));
+        when(productLookupRepository.findAllByIds(Set.of(productId))).thenReturn(Map.of(productId, product));
 
         LinkedHashMap<String, Integer> req = new LinkedHashMap<>();
         req.put(productId.toString(), 3);
@@ -239,10 +279,41 @@ class ProductServiceTest {
                 .isEqualTo(ProductErrorCode.STOCK_NOT_AVAILABLE);
 
         verify(productRepository, never()).save(any());
+        verifyNoInteractions(productColumnRepository);
     }
 
     @Test
-    @DisplayName("rollbackStock: stock 복구 후 저장")
+    @DisplayName("reduceStock: 다른 쓰기가 끼어든 상품이 있으면 이미 줄인 상품을 되돌리고 STOCK_NOT_AVAILABLE")
+    void reduceStock_conflict_revertsApplied() {
+        // given
+        Product applied = listProduct("c1", 1000);
+        Product conflicted = listProduct("c2", 1000);
+        UUID appliedId = applied.getProductId();
+        UUID conflictedId = conflicted.getProductId();
+        when(productLookupRepository.findAllByIds(Set.of(appliedId, conflictedId)))
+                .thenReturn(Map.of(appliedId, applied, conflictedId, conflicted));
+        when(productColumnRepository.compareAndSetStock(appliedId, 10, 8))
+                .thenReturn(CompletableFuture.completedFuture(true));
+        when(productColumnRepository.compareAndSetStock(conflictedId, 10, 9))
+                .thenReturn(CompletableFuture.completedFuture(false));
+        when(productColumnRepository.compareAndSetStock(appliedId, 8, 10))
+                .thenReturn(CompletableFuture.completedFuture(true));
+
+        LinkedHashMap<String, Integer> req = new LinkedHashMap<>();
+        req.put(appliedId.toString(), 2);
+        req.put(conflictedId.toString(), 1);
+
+        // when & then
+        assertThatThrownBy(() -> productService.reduceStock(req))
+                .isInstanceOf(ProductException.class)
+                .extracting(ex -> ((ProductException) ex).getErrorCode())
+                .isEqualTo(ProductErrorCode.STOCK_NOT_AVAILABLE);
+        verify(productColumnRepository).compareAndSetStock(appliedId, 8, 10);
+        verify(productColumnRepository, never()).compareAndSetStock(eq(conflictedId), eq(9), anyInt());
+    }
+
+    @Test
+    @DisplayName("rollbackStock: 조건부 쓰기가 밀리면 다시 읽어 재시도해 재고를 복구")
     void rollbackStock_success() {
         // given
         UUID productId = UUID.randomUUID();
@@ -263,8 +334,13 @@ class ProductServiceTest {
                 .tags(List.of("tag"))
                 .build();
 
-        when(productRepository.findByProductIdAndIsDeletedFalse(productId)).thenReturn(Optional.of(product));
-        when(productRepository.save(any(Product.class))).thenAnswer(inv -> inv.getArgument(0, Product.class));
+        Product changed = listProduct("c1", 1000);
+        when(productLookupRepository.findAllByIds(Set.of(productId)))
+                .thenReturn(Map.of(productId, product), Map.of(productId, changed));
+        when(productColumnRepository.compareAndSetStock(productId, 7, 10))
+                .thenReturn(CompletableFuture.completedFuture(false));
+        when(productColumnRepository.compareAndSetStock(productId, 10, 13))
+                .thenReturn(CompletableFuture.completedFuture(true));
 
         LinkedHashMap<String, Integer> req = new LinkedHashMap<>();
         req.put(productId.toString(), 3);
@@ -272,8 +348,226 @@ class ProductServiceTest {
         // when
         productService.rollbackStock(req);
 
+        // then: 처음 읽은 7에서 복구하려다 밀리고, 다시 읽은 10에서 13으로 복구
+        verify(productColumnRepository).compareAndSetStock(productId, 10, 13);
+        verify(productRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("getProductList: 카테고리 파티션을 paging state로 이어 읽고, 다음 커서는 다음 상품이 있는 조각에서 이어진다")
+    void getProductList_readsCategoryPartitionSlices() {
+        // given
+        Product first1 = listProduct("c1", 5000);
+        Product first2 = listProduct("c1", 4000);
+        Product red = listProduct("red", 3500);
+        Product second1 = listProduct("c1", 3000);
+        Product second2 = listProduct("c1", 2000);
+        CassandraPageRequest firstPage = CassandraPageRequest.of(PageRequest.of(0, 50), ByteBuffer.wrap(new byte[]{1}));
+        Slice<ProductQueryRow> first = new SliceImpl<>(
+                List.of(categoryRow(first1), categoryRow(first2), categoryRow(red), categoryRow(second1)), firstPage, true);
+        Slice<ProductQueryRow> last = new SliceImpl<>(List.of(categoryRow(second2)), firstPage, false);
+        doReturn(first, first, last).when(productQueryTableRepository)
+                .findByCategory(eq(1L), eq("discountedPrice"), eq(Sort.Direction.DESC), any());
+        when(productLookupRepository.findAllByIds(List.of(first1.getProductId(), first2.getProductId())))
+                .thenReturn(Map.of(first1.getProductId(), first1, first2.getProductId(), first2));
+        when(productLookupRepository.findAllByIds(List.of(second1.getProductId(), second2.getProductId())))
+                .thenReturn(Map.of(second2.getProductId(), second2, second1.getProductId(), second1));
+
+        // when: c1 상품을 2개씩 두 페이지
+        CursorPageResponse<ProductResponse> page1 = productService.getProductList(
+                null, 2, 1L, null, 1000L, null, null, "c1", "max_price");
+        CursorPageResponse<ProductResponse> page2 = productService.getProductList(
+                page1.getNextCursor(), 2, 1L, null, 1000L, null, null, "c1", "max_price");
+
+        // then: 두 번째 페이지는 첫 조각을 다시 읽되 앞의 3행(first1, first2, red)을 건너뛴다
+        assertThat(page1.getContent())
+                .extracting(ProductResponse::getProductId)
+                .containsExactly(first1.getProductId().toString(), first2.getProductId().toString());
+        assertThat(page1.isHasNext()).isTrue();
+        assertThat(page2.getContent())
+                .extracting(ProductResponse::getProductId)
+                .containsExactly(second1.getProductId().toString(), second2.getProductId().toString());
+        assertThat(page2.isHasNext()).isFalse();
+        assertThat(page2.getNextCursor()).isNull();
+        assertThat(page2.getTotalElements()).isNull();
+        verify(productQueryTableRepository, times(3))
+                .findByCategory(eq(1L), eq("discountedPrice"), eq(Sort.Direction.DESC), any());
+        verify(productQueryTableRepository, never()).findByBrand(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("getProductList: 다른 조건으로 만든 커서나 깨진 커서는 INVALID_CURSOR로 거절한다")
+    void getProductList_foreignCursor_rejected() {
+        // given
+        String otherQuery = ProductListCursor.first(
+                Objects.hash(2L, null, 1000L, null, null, null, "MAX_PRICE"), 50).encode();
+
+        // when & then
+        assertThatThrownBy(() -> productService.getProductList(
+                otherQuery, 2, 1L, null, 1000L, null, null, null, "max_price"))
+                .isInstanceOf(ProductException.class)
+                .extracting(ex -> ((ProductException) ex).getErrorCode())
+                .isEqualTo(ProductErrorCode.INVALID_CURSOR);
+        assertThatThrownBy(() -> productService.getProductList(
+                "not*base64", 2, 1L, null, 1000L, null, null, null, "max_price"))
+                .isInstanceOf(ProductException.class)
+                .extracting(ex -> ((ProductException) ex).getErrorCode())
+                .isEqualTo(ProductErrorCode.INVALID_CURSOR);
+        verifyNoInteractions(productQueryTableRepository);
+    }
+
+    @Test
+    @DisplayName("updateProduct: 정렬 값이 바뀐 목록 행을 이전 행과 함께 넘겨 교체한다")
+    void updateProduct_replacesQueryRows() {
+        // given
+        Product product = listProduct("c1", 1000);
+        List<ProductQueryRow> before = ProductQueryRow.of(product);
+        ProductRequest.Update request = mock(ProductRequest.Update.class);
+        when(request.getCategoryId()).thenReturn(1L);
+        when(request.getBrandName()).thenReturn("b1");
+        when(request.getIsPublic()).thenReturn(true);
+        when(request.getOriginalPrice()).thenReturn(BigDecimal.valueOf(5000));
+        when(request.getStock()).thenReturn(10);
+        when(request.getLimitCountPerUser()).thenReturn(1);
+        when(productColumnRepository.updateDetails(product)).thenReturn(CompletableFuture.completedFuture(null));
+
+        // when
+        productService.updateProduct(request, product, new ImgDto("o", "d", "t"));
+
+        // then: 재고 컬럼을 쓰는 행 전체 저장은 하지 않는다
+        verify(productColumnRepository).updateDetails(product);
+        verify(productRepository, never()).save(any(Product.class));
+        ArgumentCaptor<List<ProductQueryRow>> beforeCaptor = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<List<ProductQueryRow>> afterCaptor = ArgumentCaptor.forClass(List.class);
+        verify(productQueryTableRepository).replace(beforeCaptor.capture(), afterCaptor.capture());
+        assertThat(beforeCaptor.getValue()).extracting(ProductQueryRow::key)
+                .containsExactlyElementsOf(before.stream().map(ProductQueryRow::key).toList());
+        assertThat(afterCaptor.getValue()).extracting(ProductQueryRow::getOriginalPrice)
+                .containsOnly(BigDecimal.valueOf(5000));
+    }
+
+    @Test
+    @DisplayName("resetStock: 조건부 쓰기가 주문에 밀리면 재고를 다시 읽어 재시도한다")
+    void resetStock_retriesWhenStockChanged() {
+        // given: 처음 읽은 재고 10은 그사이 주문으로 8이 되어 조건부 쓰기가 실패한다
+        Product product = listProduct("c1", 1000);
+        UUID productId = product.getProductId();
+        Product afterOrder = listProduct("c1", 1000);
+        ReflectionTestUtils.setField(afterOrder, "stock", 8);
+        when(productRepository.findByProductIdAndIsDeletedFalse(productId))
+                .thenReturn(Optional.of(product), Optional.of(afterOrder));
+        when(productColumnRepository.compareAndSetStock(productId, product.getStock(), 50))
+                .thenReturn(CompletableFuture.completedFuture(false));
+        when(productColumnRepository.compareAndSetStock(productId, 8, 50))
+                .thenReturn(CompletableFuture.completedFuture(true));
+
+        // when
+        productService.resetStock(productId, 50);
+
         // then
-        verify(productRepository, times(1)).save(product);
-        assertThat(product.getStock()).isEqualTo(10);
+        verify(productColumnRepository, times(2)).compareAndSetStock(eq(productId), anyInt(), eq(50));
+        verify(productRepository, never()).save(any(Product.class));
+    }
+
+    @Test
+    @DisplayName("getProductList(ids): 일괄 조회 결과를 입력 순서(중복 포함)대로 반환")
+    void getProductListByIds_preservesInputOrder() {
+        // given
+        Product first = listProduct("c1", 1000);
+        Product second = listProduct("c2", 2000);
+        List<String> ids = List.of(
+                second.getProductId().toString(), first.getProductId().toString(), second.getProductId().toString());
+        when(productLookupRepository.findAllByIds(anyCollection()))
+                .thenReturn(Map.of(first.getProductId(), first, second.getProductId(), second));
+
+        // when
+        List<ProductDto> result = productService.getProductList(ids);
+
+        // then
+        assertThat(result).extracting(ProductDto::getProductId)
+                .containsExactly(second.getProductId(), first.getProductId(), second.getProductId());
+        verify(productRepository, never()).findByProductIdAndIsDeletedFalse(any());
+    }
+
+    @Test
+    @DisplayName("getProductList(ids): 없는 상품이 있으면 그 ID를 모두 담아 NOT_FOUND_PRODUCTS 예외")
+    void getProductListByIds_missing_reportsIds() {
+        // given
+        Product found = listProduct("c1", 1000);
+        String missing1 = UUID.randomUUID().toString();
+        String missing2 = UUID.randomUUID().toString();
+        when(productLookupRepository.findAllByIds(anyCollection())).thenReturn(Map.of(found.getProductId(), found));
+
+        // when & then
+        assertThatThrownBy(() -> productService.getProductList(
+                List.of(missing1, found.getProductId().toString(), missing2)))
+                .isInstanceOf(ProductException.class)
+                .hasMessageContaining(missing1)
+                .hasMessageContaining(missing2)
+                .extracting(ex -> ((ProductException) ex).getErrorCode())
+                .isEqualTo(ProductErrorCode.NOT_FOUND_PRODUCTS);
+    }
+
+    @Test
+    @DisplayName("getProduct: 두 번째 조회는 L1에서 읽고, updateStatus 뒤에는 Cassandra에서 다시 읽는다")
+    void getProduct_cachedUntilStatusChange() {
+        // given
+        Product product = listProduct("c1", 1000);
+        UUID productId = product.getProductId();
+        when(productRepository.findByProductIdAndIsDeletedFalse(productId))
+                .thenReturn(Optional.of(product));
+        when(productColumnRepository.updateSoldout(productId, true)).thenReturn(CompletableFuture.completedFuture(null));
+
+        // when
+        productService.getProduct(productId);
+        productService.getProduct(productId);
+        productService.updateStatus(productId, true);
+        ProductResponse afterUpdate = productService.getProduct(productId);
+
+        // then: 캐시 적재 1번 + updateStatus 1번 + 무효화 뒤 재적재 1번
+        verify(productRepository, times(3)).findByProductIdAndIsDeletedFalse(productId);
+        verify(productLocalCache).invalidate(productId);
+        assertThat(afterUpdate.getProductId()).isEqualTo(productId.toString());
+    }
+
+    @Test
+    @DisplayName("getProductList(ids): L1에 있는 상품은 빼고 나머지만 일괄 조회한다")
+    void getProductListByIds_fetchesOnlyMisses() {
+        // given
+        Product cached = listProduct("c1", 1000);
+        Product loaded = listProduct("c2", 2000);
+        when(productRepository.findByProductIdAndIsDeletedFalse(cached.getProductId())).thenReturn(Optional.of(cached));
+        productService.getProduct(cached.getProductId());
+        when(productLookupRepository.findAllByIds(Set.of(loaded.getProductId())))
+                .thenReturn(Map.of(loaded.getProductId(), loaded));
+
+        // when
+        List<ProductDto> result = productService.getProductList(
+                List.of(cached.getProductId().toString(), loaded.getProductId().toString()));
+
+        // then
+        assertThat(result).extracting(ProductDto::getProductId)
+                .containsExactly(cached.getProductId(), loaded.getProductId());
+        verify(productLookupRepository, times(1)).findAllByIds(any());
+    }
+
+    private static Product listProduct(String mainColor, long price) {
+        return Product.builder()
+                .categoryId(1L)
+                .productName("p")
+                .brandName("b1")
+                .mainColor(mainColor)
+                .size("s1")
+                .originalPrice(BigDecimal.valueOf(price))
+                .stock(10)
+                .limitCountPerUser(1)
+                .build();
+    }
+
+    private static ProductQueryRow categoryRow(Product product) {
+        return ProductQueryRow.of(product).stream()
+                .filter(row -> row instanceof ProductByCategory && row.key().sortType().equals("discountedPrice"))
+                .findFirst()
+                .orElseThrow();
     }
 }
@@ -0,0 +1,121 @@
+package com.omisys.product.application.product;
+
+import com.omisys.product.domain.model.Product;
+import com.omisys.product.domain.repository.redis.StockLedgerRepository;
+import com.omisys.product.exception.ProductErrorCode;
+import com.omisys.product.exception.ProductException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductStockLedgerTest {
+
+    private static final String FIRST = UUID.randomUUID().toString();
+    private static final String SECOND = UUID.randomUUID().toString();
+
+    @Mock private StockLedgerRepository stockLedgerRepository;
+    @Mock private ProductService productService;
+
+    private ProductStockLedger stockLedger;
+
+    @BeforeEach
+    void setUp() {
+        stockLedger = new ProductStockLedger(stockLedgerRepository, productService, true);
+    }
+
+    @Test
+    @DisplayName("reduceStock: 장바구니 전체를 차감 스크립트 한 번으로 처리하고 Cassandra는 읽지 않는다")
+    void reduceStock_success() {
+        // given
+        when(stockLedgerRepository.reduce(List.of(FIRST, SECOND), List.of(2, 1))).thenReturn(0L);
+
+        // when
+        stockLedger.reduceStock(cart());
+
+        // then
+        verify(stockLedgerRepository).reduce(List.of(FIRST, SECOND), List.of(2, 1));
+        verifyNoMoreInteractions(stockLedgerRepository);
+        verifyNoInteractions(productService);
+    }
+
+    @Test
+    @DisplayName("reduceStock: 한 상품이라도 재고가 모자라면 STOCK_NOT_AVAILABLE 예외")
+    void reduceStock_insufficient_throws() {
+        // given
+        when(stockLedgerRepository.reduce(anyList(), anyList())).thenReturn(2L);
+
+        // when & then
+        assertThatThrownBy(() -> stockLedger.reduceStock(cart()))
+                .isInstanceOf(ProductException.class)
+                .extracting(ex -> ((ProductException) ex).getErrorCode())
+                .isEqualTo(ProductErrorCode.STOCK_NOT_AVAILABLE);
+        verify(stockLedgerRepository, times(1)).reduce(anyList(), anyList());
+    }
+
+    @Test
+    @DisplayName("reduceStock: 원장에 없는 상품만 Cassandra 재고로 채운 뒤 한 번 더 차감한다")
+    void reduceStock_missing_seedsAndRetries() {
+        // given
+        when(stockLedgerRepository.reduce(anyList(), anyList())).thenReturn(-2L, 0L);
+        when(stockLedgerRepository.currentStocks(List.of(FIRST, SECOND))).thenReturn(Arrays.asList(5, null));
+        when(productService.getSavedProduct(UUID.fromString(SECOND))).thenReturn(Product.builder().stock(7).build());
+
+        // when
+        stockLedger.reduceStock(cart());
+
+        // then
+        verify(stockLedgerRepository).seed(SECOND, 7);
+        verify(stockLedgerRepository, never()).seed(eq(FIRST), anyInt());
+        verify(stockLedgerRepository, times(2)).reduce(List.of(FIRST, SECOND), List.of(2, 1));
+    }
+
+    @Test
+    @DisplayName("rollbackStock: 채운 뒤에도 원장에 없으면(삭제된 상품) NOT_FOUND_PRODUCT 예외")
+    void rollbackStock_stillMissing_throws() {
+        // given
+        when(stockLedgerRepository.restore(anyList(), anyList())).thenReturn(-1L);
+        when(stockLedgerRepository.currentStocks(anyList())).thenReturn(List.of(3, 4));
+
+        // when & then
+        assertThatThrownBy(() -> stockLedger.rollbackStock(cart()))
+                .isInstanceOf(ProductException.class)
+                .extracting(ex -> ((ProductException) ex).getErrorCode())
+                .isEqualTo(ProductErrorCode.NOT_FOUND_PRODUCT);
+        verify(stockLedgerRepository, times(2)).restore(anyList(), anyList());
+        verify(stockLedgerRepository, never()).reduce(anyList(), anyList());
+    }
+
+    @Test
+    @DisplayName("reset: 원장을 끄면 관리자 재고 수정을 원장 대신 Cassandra 조건부 쓰기로 보낸다")
+    void reset_disabled_usesCompareAndSet() {
+        // given
+        ProductStockLedger disabled = new ProductStockLedger(stockLedgerRepository, productService, false);
+
+        // when
+        disabled.reset(UUID.fromString(FIRST), 10);
+
+        // then
+        verify(productService).resetStock(UUID.fromString(FIRST), 10);
+        verifyNoInteractions(stockLedgerRepository);
+    }
+
+    private static Map<String, Integer> cart() {
+        Map<String, Integer> cart = new LinkedHashMap<>();
+        cart.put(FIRST, 2);
+        cart.put(SECOND, 1);
+        return cart;
+    }
+}
@@ -0,0 +1,110 @@
+package com.omisys.product.domain.repository.cassandra;
+
+import com.omisys.product.domain.model.Product;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.cassandra.core.AsyncCassandraOperations;
+import org.springframework.data.cassandra.core.cql.AsyncCqlOperations;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductColumnRepositoryTest {
+
+    @Mock private AsyncCassandraOperations asyncCassandraOperations;
+    @Mock private AsyncCqlOperations asyncCqlOperations;
+
+    @Test
+    @DisplayName("updateRating/updateSoldout/compareAndSetStock: 바뀌는 컬럼만 쓰고, 조건부 쓰기는 LWT 적용 여부를 돌려준다")
+    void writesOnlyChangedColumns() {
+        // given
+        UUID productId = UUID.randomUUID();
+        when(asyncCassandraOperations.getAsyncCqlOperations()).thenReturn(asyncCqlOperations);
+        when(asyncCqlOperations.execute(anyString(), any(Object[].class)))
+                .thenReturn(CompletableFuture.completedFuture(true), CompletableFuture.completedFuture(true),
+                        CompletableFuture.completedFuture(false));
+        ProductColumnRepository repository = new ProductColumnRepository(asyncCassandraOperations, 4);
+
+        // when
+        repository.updateRating(productId, 4.5, 12L).join();
+        repository.updateSoldout(productId, true).join();
+        boolean applied = repository.compareAndSetStock(productId, 10, 7).join();
+
+        // then
+        assertThat(applied).isFalse();
+        verify(asyncCqlOperations).execute(
+                "UPDATE \"P_PRODUCT\" SET averagerating = ?, reviewcount = ? WHERE productid = ?", 4.5, 12L, productId);
+        verify(asyncCqlOperations).execute(
+                "UPDATE \"P_PRODUCT\" SET soldout = ? WHERE productid = ?", true, productId);
+        verify(asyncCqlOperations).execute(
+                "UPDATE \"P_PRODUCT\" SET stock = ? WHERE productid = ? IF stock = ?", 7, productId, 10);
+    }
+
+    @Test
+    @DisplayName("updateDetails: 관리자 수정 컬럼만 쓰고 재고·평점·판매 상태는 쓰지 않는다")
+    void updateDetails_skipsStock() {
+        // given
+        Product product = Product.builder()
+                .categoryId(1L)
+                .productName("p")
+                .brandName("b")
+                .originalPrice(BigDecimal.valueOf(1000))
+                .stock(10)
+                .build();
+        when(asyncCassandraOperations.getAsyncCqlOperations()).thenReturn(asyncCqlOperations);
+        when(asyncCqlOperations.execute(anyString(), any(Object[].class)))
+                .thenReturn(CompletableFuture.completedFuture(true));
+        ProductColumnRepository repository = new ProductColumnRepository(asyncCassandraOperations, 4);
+
+        // when
+        repository.updateDetails(product).join();
+
+        // then
+        ArgumentCaptor<String> cql = ArgumentCaptor.forClass(String.class);
+        verify(asyncCqlOperations).execute(cql.capture(), any(Object[].class));
+        assertThat(cql.getValue()).contains("productname = ?", "tags = ?")
+                .doesNotContain("stock", "averagerating", "soldout", "isdeleted");
+    }
+
+    @Test
+    @DisplayName("updateStock: 동시에 진행 중인 쓰기는 max-in-flight를 넘지 않는다")
+    void updateStock_boundsInFlight() {
+        // given: 쓰기마다 10ms 뒤에 끝난다
+        int maxInFlight = 2;
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        when(asyncCassandraOperations.getAsyncCqlOperations()).thenReturn(asyncCqlOperations);
+        when(asyncCqlOperations.execute(anyString(), any(Object[].class))).thenAnswer(invocation -> {
+            peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            return CompletableFuture.supplyAsync(() -> {
+                inFlight.decrementAndGet();
+                return true;
+            }, CompletableFuture.delayedExecutor(10, TimeUnit.MILLISECONDS));
+        });
+        ProductColumnRepository repository = new ProductColumnRepository(asyncCassandraOperations, maxInFlight);
+
+        // when
+        List<CompletableFuture<Void>> writes = IntStream.range(0, 8)
+                .mapToObj(i -> repository.updateStock(UUID.randomUUID(), i, 1L))
+                .toList();
+        CompletableFuture.allOf(writes.toArray(CompletableFuture[]::new)).join();
+
+        // then
+        assertThat(peak.get()).isEqualTo(maxInFlight);
+        verify(asyncCqlOperations, times(8)).execute(anyString(), any(Object[].class));
+    }
+}
@@ -0,0 +1,131 @@
+package com.omisys.product.domain.repository.cassandra;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.omisys.product.domain.model.Product;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.data.cassandra.core.AsyncCassandraTemplate;
+import org.springframework.data.cassandra.core.CassandraAdminTemplate;
+import org.springframework.data.cassandra.core.CassandraTemplate;
+import org.springframework.data.cassandra.core.convert.MappingCassandraConverter;
+import org.springframework.data.cassandra.core.mapping.CassandraMappingContext;
+import org.springframework.data.cassandra.core.query.Query;
+
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.data.cassandra.core.query.Criteria.where;
+
+/**
+ * 장바구니 크기(1~100)별 상품 일괄 조회 지연 비교 하네스.
+ *
+ * <p>상품마다 동기 조회(기존 방식), 파티션 키 {@code IN} 한 문장, {@link ProductLookupRepository}의 비동기 동시 조회를
+ * 같은 상품 집합으로 반복해 p50/p99 지연을 출력한다. 단일 노드에서는 IN과 동시 조회의 차이가 작으므로
+ * 복제본이 여러 개인 클러스터에서 함께 비교해야 한다.</p>
+ *
+ * <p>실행: {@code PRODUCT_BENCHMARK_CASSANDRA_HOST=localhost ./gradlew :service:product:server:test
+ * --tests '*ProductLookupBenchmarkTest'}</p>
+ */
+@EnabledIfEnvironmentVariable(named = "PRODUCT_BENCHMARK_CASSANDRA_HOST", matches = ".+")
+class ProductLookupBenchmarkTest {
+
+    private static final String KEYSPACE = "product_lookup_benchmark";
+    private static final int[] CART_SIZES = {1, 5, 10, 20, 50, 100};
+    private static final int WARMUP = 50;
+    private static final int ITERATIONS = 300;
+
+    private CqlSession session;
+    private CassandraTemplate template;
+    private ProductLookupRepository lookupRepository;
+    private List<UUID> productIds;
+
+    @BeforeEach
+    void setUp() {
+        String host = System.getenv("PRODUCT_BENCHMARK_CASSANDRA_HOST");
+        int port = Integer.parseInt(System.getenv().getOrDefault("PRODUCT_BENCHMARK_CASSANDRA_PORT", "9042"));
+        String datacenter = System.getenv().getOrDefault("PRODUCT_BENCHMARK_CASSANDRA_DC", "datacenter1");
+        try (CqlSession admin = CqlSession.builder()
+                .addContactPoint(new InetSocketAddress(host, port))
+                .withLocalDatacenter(datacenter)
+                .build()) {
+            admin.execute("CREATE KEYSPACE IF NOT EXISTS " + KEYSPACE
+                    + " WITH replication = {'class': 'SimpleStrategy', 'replication_factor': 1}");
+        }
+        session = CqlSession.builder()
+                .addContactPoint(new InetSocketAddress(host, port))
+                .withLocalDatacenter(datacenter)
+                .withKeyspace(KEYSPACE)
+                .build();
+
+        MappingCassandraConverter converter = new MappingCassandraConverter(new CassandraMappingContext());
+        converter.afterPropertiesSet();
+        new CassandraAdminTemplate(session, converter).createTable(true, Product.class);
+        template = new CassandraTemplate(session, converter);
+        lookupRepository = new ProductLookupRepository(new AsyncCassandraTemplate(session, converter), 32);
+
+        productIds = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Product product = Product.builder()
+                    .categoryId(1L)
+                    .productName("benchmark-" + i)
+                    .brandName("brand")
+                    .mainColor("black")
+                    .size("M")
+                    .originalPrice(BigDecimal.valueOf(10_000))
+                    .stock(100)
+                    .description("d".repeat(500))
+                    .tags(List.of("benchmark"))
+                    .build();
+            template.insert(product);
+            productIds.add(product.getProductId());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (session != null) {
+            session.execute("DROP KEYSPACE IF EXISTS " + KEYSPACE);
+            session.close();
+        }
+    }
+
+    @Test
+    void 장바구니_크기별_일괄_조회_지연을_비교한다() {
+        for (int cartSize : CART_SIZES) {
+            List<UUID> cart = productIds.subList(0, cartSize);
+            run("sequential", cartSize, () -> cart.stream()
+                    .map(id -> template.selectOneById(id, Product.class))
+                    .toList()
+                    .size());
+            run("in", cartSize, () -> template.select(
+                    Query.query(where("productId").in(cart)), Product.class).size());
+            run("fan-out", cartSize, () -> lookupRepository.findAllByIds(cart).size());
+        }
+    }
+
+    private void run(String label, int cartSize, IntSupplier lookup) {
+        for (int i = 0; i < WARMUP; i++) {
+            lookup.getAsInt();
+        }
+        long[] nanos = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            int found = lookup.getAsInt();
+            nanos[i] = System.nanoTime() - start;
+            assertThat(found).isEqualTo(cartSize);
+        }
+        Arrays.sort(nanos);
+        Function<Double, Double> percentileMillis = p -> nanos[(int) Math.min(nanos.length - 1, nanos.length * p)] / 1e6;
+        System.out.printf("[lookup-benchmark] cart=%3d %-10s p50=%7.2fms p99=%7.2fms%n",
+                cartSize, label, percentileMillis.apply(0.50), percentileMillis.apply(0.99));
+    }
+}
@@ -0,0 +1,86 @@
+package com.omisys.product.domain.repository.cassandra;
+
+import com.omisys.product.domain.model.Product;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.cassandra.core.AsyncCassandraOperations;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductLookupRepositoryTest {
+
+    @Mock private AsyncCassandraOperations asyncCassandraOperations;
+
+    @Test
+    @DisplayName("findAllByIds: 같은 ID는 한 번만 조회하고 없는 상품·삭제된 상품은 결과에서 뺀다")
+    void findAllByIds_dedupesAndSkipsMissing() {
+        // given
+        Product live = product();
+        Product deleted = product();
+        deleted.isDelete();
+        UUID missing = UUID.randomUUID();
+        when(asyncCassandraOperations.selectOneById(live.getProductId(), Product.class))
+                .thenReturn(CompletableFuture.completedFuture(live));
+        when(asyncCassandraOperations.selectOneById(deleted.getProductId(), Product.class))
+                .thenReturn(CompletableFuture.completedFuture(deleted));
+        when(asyncCassandraOperations.selectOneById(missing, Product.class))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        // when
+        Map<UUID, Product> found = new ProductLookupRepository(asyncCassandraOperations, 8).findAllByIds(
+                List.of(live.getProductId(), missing, deleted.getProductId(), live.getProductId()));
+
+        // then
+        assertThat(found).containsOnlyKeys(live.getProductId());
+        verify(asyncCassandraOperations, times(1)).selectOneById(live.getProductId(), Product.class);
+    }
+
+    @Test
+    @DisplayName("findAllByIds: 동시에 보내는 조회 수는 max-in-flight를 넘지 않는다")
+    void findAllByIds_boundsInFlight() {
+        // given: 조회마다 10ms 뒤에 끝난다
+        int maxInFlight = 2;
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        when(asyncCassandraOperations.selectOneById(any(), eq(Product.class))).thenAnswer(invocation -> {
+            peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            return CompletableFuture.supplyAsync(() -> {
+                inFlight.decrementAndGet();
+                return (Product) null;
+            }, CompletableFuture.delayedExecutor(10, TimeUnit.MILLISECONDS));
+        });
+        List<UUID> ids = IntStream.range(0, 8).mapToObj(i -> UUID.randomUUID()).toList();
+
+        // when
+        Map<UUID, Product> found = new ProductLookupRepository(asyncCassandraOperations, maxInFlight).findAllByIds(ids);
+
+        // then
+        assertThat(found).isEmpty();
+        assertThat(peak.get()).isEqualTo(maxInFlight);
+        verify(asyncCassandraOperations, times(ids.size())).selectOneById(any(), eq(Product.class));
+    }
+
+    private static Product product() {
+        return Product.builder()
+                .categoryId(1L)
+                .productName("p")
+                .brandName("b")
+                .originalPrice(BigDecimal.valueOf(1000))
+                .stock(1)
+                .build();
+    }
+}
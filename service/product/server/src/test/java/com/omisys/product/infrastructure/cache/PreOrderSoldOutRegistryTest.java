@@ -0,0 +1,86 @@
+package com.omisys.product.infrastructure.cache;
+
+import com.omisys.common.domain.entity.RedisChannelConstant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class PreOrderSoldOutRegistryTest {
+
+    private StringRedisTemplate redisTemplate;
+    private SetOperations<String, String> setOperations;
+    private PreOrderSoldOutRegistry registry;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        setOperations = mock(SetOperations.class);
+        when(redisTemplate.opsForSet()).thenReturn(setOperations);
+        registry = new PreOrderSoldOutRegistry(redisTemplate);
+    }
+
+    @Test
+    @DisplayName("markSoldOut: 매진 Set에 기록하고 매진 메시지를 발행하며 자기 메모리에도 바로 반영한다")
+    void markSoldOut_recordsAndPublishes() {
+        registry.markSoldOut(10L);
+
+        assertThat(registry.isSoldOut(10L)).isTrue();
+        verify(setOperations).add(RedisChannelConstant.PREORDER_SOLD_OUT_IDS, "10");
+        verify(redisTemplate).convertAndSend(RedisChannelConstant.PREORDER_SOLD_OUT, "10:1");
+    }
+
+    @Test
+    @DisplayName("rearm: 매진 Set에서 지우고 해제 메시지를 발행한다")
+    void rearm_removesAndPublishes() {
+        registry.markSoldOut(10L);
+
+        registry.rearm(10L);
+
+        assertThat(registry.isSoldOut(10L)).isFalse();
+        verify(setOperations).remove(RedisChannelConstant.PREORDER_SOLD_OUT_IDS, "10");
+        verify(redisTemplate).convertAndSend(RedisChannelConstant.PREORDER_SOLD_OUT, "10:0");
+    }
+
+    @Test
+    @DisplayName("Redis 오류가 나도 예외를 던지지 않고 자기 메모리 상태는 바뀐다")
+    void redisFailure_isSwallowed() {
+        when(setOperations.add(anyString(), any(String[].class))).thenThrow(new IllegalStateException("redis down"));
+
+        registry.markSoldOut(10L);
+
+        assertThat(registry.isSoldOut(10L)).isTrue();
+    }
+
+    @Test
+    @DisplayName("다른 인스턴스의 매진/해제 메시지를 메모리에 반영하고, 잘못된 메시지는 무시한다")
+    void handle_appliesMessages() {
+        registry.handle("10:1");
+        registry.handle("11:1");
+        registry.handle("11:0");
+        registry.handle("broken");
+        registry.handle("x:1");
+
+        assertThat(registry.isSoldOut(10L)).isTrue();
+        assertThat(registry.isSoldOut(11L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("load: 기동 시 매진 Set을 읽어 메모리를 채운다")
+    void load_readsSoldOutSet() {
+        when(setOperations.members(RedisChannelConstant.PREORDER_SOLD_OUT_IDS)).thenReturn(Set.of("10", "12"));
+
+        registry.load();
+
+        assertThat(registry.isSoldOut(10L)).isTrue();
+        assertThat(registry.isSoldOut(12L)).isTrue();
+        assertThat(registry.isSoldOut(11L)).isFalse();
+    }
+}
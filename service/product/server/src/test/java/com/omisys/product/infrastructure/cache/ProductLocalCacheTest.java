@@ -0,0 +1,114 @@
+package com.omisys.product.infrastructure.cache;
+
+import com.omisys.product.domain.model.Product;
+import com.omisys.product.domain.repository.redis.StockLedgerRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class ProductLocalCacheTest {
+
+    private CacheInvalidationPublisher publisher;
+    private StockLedgerRepository stockLedgerRepository;
+
+    @BeforeEach
+    void setUp() {
+        publisher = mock(CacheInvalidationPublisher.class);
+        stockLedgerRepository = mock(StockLedgerRepository.class);
+    }
+
+    @Test
+    @DisplayName("currentStocks: 원장이 켜져 있으면 원장 값을 싣고, 원장에 없는 상품만 스냅샷 재고를 쓴다")
+    void currentStocks_prefersLedger() {
+        // given
+        ProductLocalCache cache = cache(true);
+        Product seeded = product(10);
+        Product unseeded = product(7);
+        when(stockLedgerRepository.currentStocks(
+                List.of(seeded.getProductId().toString(), unseeded.getProductId().toString())))
+                .thenReturn(Arrays.asList(3, null));
+
+        // when
+        Map<UUID, Integer> stocks = cache.currentStocks(List.of(seeded, unseeded));
+
+        // then
+        assertThat(stocks).containsEntry(seeded.getProductId(), 3)
+                .containsEntry(unseeded.getProductId(), 7);
+    }
+
+    @Test
+    @DisplayName("currentStocks: 원장이 꺼져 있으면 Redis를 읽지 않고 스냅샷 재고를 쓴다")
+    void currentStocks_ledgerDisabled_usesSnapshot() {
+        // given
+        ProductLocalCache cache = cache(false);
+        Product product = product(5);
+
+        // when & then
+        assertThat(cache.currentStock(product)).isEqualTo(5);
+        verifyNoInteractions(stockLedgerRepository);
+    }
+
+    @Test
+    @DisplayName("invalidate는 자기 L1을 지우고 발행하며, 다른 인스턴스의 메시지는 리스너를 거쳐 L1만 지운다")
+    void invalidation_localAndRemote() {
+        // given
+        ProductLocalCache cache = cache(true);
+        CacheInvalidationListener listener = new CacheInvalidationListener(
+                mock(TwoLevelCacheManager.class), cache, "me");
+        Product product = product(1);
+        AtomicInteger loads = new AtomicInteger();
+        UUID productId = product.getProductId();
+
+        // when
+        cache.get(productId, id -> { loads.incrementAndGet(); return Optional.of(product); });
+        cache.get(productId, id -> { loads.incrementAndGet(); return Optional.of(product); });
+        cache.invalidate(productId);
+        cache.get(productId, id -> { loads.incrementAndGet(); return Optional.of(product); });
+        listener.handle("other|" + ProductLocalCache.CACHE_NAME + "|" + productId);
+        cache.get(productId, id -> { loads.incrementAndGet(); return Optional.of(product); });
+
+        // then
+        assertThat(loads).hasValue(3);
+        verify(publisher).evict(ProductLocalCache.CACHE_NAME, productId.toString());
+    }
+
+    @Test
+    @DisplayName("weigh: 설명·이미지 URL이 긴 상품일수록 무겁게 센다")
+    void weigh_growsWithContent() {
+        Product small = product(1);
+        Product large = Product.builder()
+                .productName("p")
+                .description("d".repeat(10_000))
+                .originalPrice(BigDecimal.valueOf(1000))
+                .build();
+
+        assertThat(ProductLocalCache.weigh(large)).isGreaterThan(ProductLocalCache.weigh(small) + 19_000);
+    }
+
+    private ProductLocalCache cache(boolean ledgerEnabled) {
+        return new ProductLocalCache(
+                publisher, stockLedgerRepository, new SimpleMeterRegistry(), 100, 16, 60, 1000, ledgerEnabled);
+    }
+
+    private static Product product(int stock) {
+        return Product.builder()
+                .categoryId(1L)
+                .productName("p")
+                .brandName("b")
+                .originalPrice(BigDecimal.valueOf(1000))
+                .stock(stock)
+                .build();
+    }
+}
@@ -0,0 +1,120 @@
+package com.omisys.product.infrastructure.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class TwoLevelCacheManagerTest {
+
+    private static final String CACHE = "preOrder";
+
+    private ConcurrentMapCache remote;
+    private CacheInvalidationPublisher publisher;
+    private TwoLevelCacheManager cacheManager;
+    private CacheInvalidationListener listener;
+
+    @BeforeEach
+    void setUp() {
+        remote = spy(new ConcurrentMapCache(CACHE));
+        ConcurrentMapCacheManager remoteManager = spy(new ConcurrentMapCacheManager());
+        doReturn(remote).when(remoteManager).getCache(CACHE);
+        publisher = mock(CacheInvalidationPublisher.class);
+        cacheManager = new TwoLevelCacheManager(
+                remoteManager, publisher, new SimpleMeterRegistry(), 100, Duration.ofMinutes(1));
+        listener = new CacheInvalidationListener(cacheManager, mock(ProductLocalCache.class), "me");
+    }
+
+    @Test
+    @DisplayName("L2 적중 값은 L1에 채워지고, 이후 조회는 Redis(L2)를 거치지 않는다")
+    void localHit_skipsRemote() {
+        remote.put(10L, "pre-order-10");
+        Cache cache = cacheManager.getCache(CACHE);
+
+        assertThat(cache.get(10L).get()).isEqualTo("pre-order-10");
+        assertThat(cache.get(10L).get()).isEqualTo("pre-order-10");
+        assertThat(cache.get(10L, String.class)).isEqualTo("pre-order-10");
+
+        verify(remote, times(1)).get(10L);
+    }
+
+    @Test
+    @DisplayName("evict: L2와 자기 L1을 지우고 다른 인스턴스에 무효화를 발행한다")
+    void evict_removesBothLevelsAndPublishes() {
+        Cache cache = cacheManager.getCache(CACHE);
+        remote.put(10L, "pre-order-10");
+        cache.get(10L);
+
+        cache.evict(10L);
+
+        assertThat(remote.get(10L)).isNull();
+        assertThat(cache.get(10L)).isNull();
+        verify(publisher).evict(CACHE, "10");
+    }
+
+    @Test
+    @DisplayName("다른 인스턴스의 무효화 메시지를 받으면 L1 항목만 제거해 다음 조회가 L2의 최신 값을 읽는다")
+    void remoteInvalidation_evictsLocalEntry() {
+        Cache cache = cacheManager.getCache(CACHE);
+        remote.put(10L, "old");
+        cache.get(10L);
+        remote.put(10L, "new");
+
+        assertThat(cache.get(10L).get()).isEqualTo("old");
+        listener.handle("other|" + CACHE + "|10");
+
+        assertThat(cache.get(10L).get()).isEqualTo("new");
+    }
+
+    @Test
+    @DisplayName("자기 인스턴스가 보낸 무효화 메시지는 무시한다")
+    void ownInvalidation_isIgnored() {
+        Cache cache = cacheManager.getCache(CACHE);
+        cache.put(10L, "mine");
+        clearInvocations(remote);
+
+        listener.handle("me|" + CACHE + "|10");
+        cache.get(10L);
+
+        verify(remote, never()).get(10L);
+    }
+
+    @Test
+    @DisplayName("key 없는 무효화 메시지는 해당 캐시의 L1 전체를 비운다")
+    void clearInvalidation_clearsLocalCache() {
+        Cache cache = cacheManager.getCache(CACHE);
+        remote.put(1L, "a");
+        remote.put(2L, "b");
+        cache.get(1L);
+        cache.get(2L);
+        clearInvocations(remote);
+
+        listener.handle("other|" + CACHE);
+        cache.get(1L);
+        cache.get(2L);
+
+        verify(remote).get(1L);
+        verify(remote).get(2L);
+    }
+
+    @Test
+    @DisplayName("valueLoader 조회는 L2에 위임하고 결과를 L1에 채운다")
+    void valueLoader_populatesLocal() {
+        Cache cache = cacheManager.getCache(CACHE);
+
+        String loaded = cache.get(10L, () -> "loaded");
+        String cached = cache.get(10L, () -> "again");
+
+        assertThat(loaded).isEqualTo("loaded");
+        assertThat(cached).isEqualTo("loaded");
+        assertThat(remote.get(10L).get()).isEqualTo("loaded");
+    }
+}
@@ -2,6 +2,7 @@ package com.omisys.product.infrastructure.filter;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.omisys.auth.server.auth_dto.jwt.JwtClaim;
+import com.omisys.common.domain.jwt.UserClaimsCodec;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.mock.web.MockFilterChain;
@@ -39,6 +40,19 @@ class SecurityContextFilterTest {
 
     @Test
     void X_USER_CLAIMS_있으면_Authentication_세팅되고_체인통과() throws Exception {
+        var request = new MockHttpServletRequest("GET", "/api/products");
+        request.addHeader(X_USER_CLAIMS, UserClaimsCodec.encode(1L, "chanhoan", "ROLE_USER"));
+
+        var response = new MockHttpServletResponse();
+        var chain = new MockFilterChain();
+
+        filter.doFilter(request, response, chain);
+
+        assertAuthenticated(chain);
+    }
+
+    @Test
+    void 전환기간의_URL인코딩_JSON_X_USER_CLAIMS도_Authentication_세팅된다() throws Exception {
         JwtClaim claim = new JwtClaim(1L, "chanhoan", "ROLE_USER");
         String json = objectMapper.writeValueAsString(claim);
         String encoded = URLEncoder.encode(json, StandardCharsets.UTF_8);
@@ -51,11 +65,31 @@ class SecurityContextFilterTest {
 
         filter.doFilter(request, response, chain);
 
+        assertAuthenticated(chain);
+    }
+
+    @Test
+    void 손상된_X_USER_CLAIMS면_인증세팅없이_체인통과() throws Exception {
+        var request = new MockHttpServletRequest("GET", "/api/products");
+        request.addHeader(X_USER_CLAIMS, "AQ");
+
+        var response = new MockHttpServletResponse();
+        var chain = new MockFilterChain();
+
+        filter.doFilter(request, response, chain);
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        assertThat(chain.getRequest()).isSameAs(request);
+    }
+
+    private void assertAuthenticated(MockFilterChain chain) {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         assertThat(auth).isNotNull();
-        assertThat(auth.getPrincipal()).isEqualTo(1L);
-        assertThat(auth.getCredentials()).isEqualTo("chanhoan");
+        assertThat(auth.getPrincipal()).isInstanceOf(JwtClaim.class);
+        assertThat(((JwtClaim) auth.getPrincipal()).getUserId()).isEqualTo(1L);
+        assertThat(auth.getName()).isEqualTo("chanhoan");
         assertThat(auth.getAuthorities()).extracting(Object::toString).contains("ROLE_USER");
         assertThat(auth.isAuthenticated()).isTrue();
+        assertThat(chain.getRequest()).isNotNull();
     }
 }
@@ -0,0 +1,124 @@
+package com.omisys.product.infrastructure.outbox;
+
+import com.omisys.product.domain.model.outbox.OutboxEvent;
+import com.omisys.product.domain.repository.jdbc.OutboxEventJdbcRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 이벤트마다 커밋하는 방식과 그룹 커밋(OutboxBatchWriter)의 초당 커밋 수·처리량·p99 지연 비교 하네스.
+ *
+ * <p>기준선은 이벤트마다 단일 행 INSERT(자동 커밋 한 번)로, JPA 트랜잭션 오버헤드를 뺀 만큼 기존 방식보다 유리하다.
+ * 결과는 MySQL의 fsync 설정(innodb_flush_log_at_trx_commit, sync_binlog)에 크게 좌우되므로 운영과 같은 설정에서 측정한다.</p>
+ *
+ * <p>실행: {@code OUTBOX_BENCHMARK_JDBC_URL=jdbc:mysql://localhost:3306/outbox_bench OUTBOX_BENCHMARK_USER=root
+ * OUTBOX_BENCHMARK_PASSWORD=... ./gradlew :service:product:server:test --tests '*OutboxBatchWriterBenchmarkTest'}</p>
+ */
+@EnabledIfEnvironmentVariable(named = "OUTBOX_BENCHMARK_JDBC_URL", matches = ".+")
+class OutboxBatchWriterBenchmarkTest {
+
+    private static final int EVENTS = 20_000;
+    private static final int THREADS = 64;
+
+    private HikariDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private OutboxEventJdbcRepository jdbcRepository;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(System.getenv("OUTBOX_BENCHMARK_JDBC_URL"));
+        dataSource.setUsername(System.getenv().getOrDefault("OUTBOX_BENCHMARK_USER", "root"));
+        dataSource.setPassword(System.getenv().getOrDefault("OUTBOX_BENCHMARK_PASSWORD", ""));
+        dataSource.setMaximumPoolSize(THREADS);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("""
+                CREATE TABLE IF NOT EXISTS outbox_events (
+                    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                    aggregate_type VARCHAR(50) NOT NULL,
+                    aggregate_id VARCHAR(100) NOT NULL,
+                    event_type VARCHAR(100) NOT NULL,
+                    message_key VARCHAR(100) NOT NULL,
+                    payload TEXT NOT NULL,
+                    status VARCHAR(20) NOT NULL,
+                    retry_count INT NOT NULL,
+                    next_retry_at DATETIME(6),
+                    created_at DATETIME(6) NOT NULL,
+                    published_at DATETIME(6),
+                    INDEX idx_outbox_status_retry (status, next_retry_at, created_at)
+                )
+                """);
+        jdbcTemplate.execute("TRUNCATE TABLE outbox_events");
+        jdbcRepository = new OutboxEventJdbcRepository(jdbcTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("TRUNCATE TABLE outbox_events");
+        dataSource.close();
+    }
+
+    @Test
+    void 이벤트별_커밋과_그룹_커밋을_비교한다() throws InterruptedException {
+        run("per-event", () -> EVENTS, event -> jdbcRepository.insertAll(List.of(event)));
+        assertThat(count()).isEqualTo(EVENTS);
+        jdbcTemplate.execute("TRUNCATE TABLE outbox_events");
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        OutboxBatchWriter writer = new OutboxBatchWriter(jdbcRepository, mock(OutboxJournal.class), meterRegistry,
+                true, 200, 5, 10_000, 10_000, 60);
+        writer.start();
+        try {
+            run("group", meterRegistry.timer("product.outbox.batch.flush")::count, writer::write);
+        } finally {
+            writer.stop();
+        }
+        assertThat(count()).isEqualTo(EVENTS);
+    }
+
+    private void run(String label, LongSupplier commits, Consumer<OutboxEvent> write) throws InterruptedException {
+        long[] latencies = new long[EVENTS];
+        AtomicInteger index = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < EVENTS; i++) {
+            OutboxEvent event = OutboxEvent.pending("PreOrder", "1", "process_preorder", Integer.toString(i), "{}");
+            executor.execute(() -> {
+                long begin = System.nanoTime();
+                write.accept(event);
+                latencies[index.getAndIncrement()] = System.nanoTime() - begin;
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.MINUTES);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        Arrays.sort(latencies);
+        System.out.printf("[outbox-benchmark] %-9s %,8.0f events/s %,8.0f commits/s p50=%.2fms p99=%.2fms%n",
+                label, EVENTS / seconds, commits.getAsLong() / seconds,
+                latencies[EVENTS / 2] / 1e6, latencies[(int) (EVENTS * 0.99)] / 1e6);
+    }
+
+    private int count() {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_events", Integer.class);
+        return count == null ? 0 : count;
+    }
+}
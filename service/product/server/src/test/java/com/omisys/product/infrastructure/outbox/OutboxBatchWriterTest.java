@@ -0,0 +1,136 @@
+package com.omisys.product.infrastructure.outbox;
+
+import com.omisys.product.domain.model.outbox.OutboxEvent;
+import com.omisys.product.domain.repository.jdbc.OutboxEventJdbcRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.connection.stream.RecordId;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class OutboxBatchWriterTest {
+
+    private final OutboxEventJdbcRepository jdbcRepository = mock(OutboxEventJdbcRepository.class);
+    private final OutboxJournal journal = mock(OutboxJournal.class);
+    private OutboxBatchWriter writer;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (writer != null) {
+            writer.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("동시에 들어온 이벤트들을 INSERT 한 번(커밋 한 번)으로 저장하고 모든 호출자를 깨운다")
+    void groupsEventsIntoOneInsert() throws Exception {
+        writer = start(10, 500, 3_000);
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            futures.add(writer.submit(event(i)).future);
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(3, TimeUnit.SECONDS);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<OutboxEvent>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcRepository, times(1)).insertAll(captor.capture());
+        assertThat(captor.getValue()).hasSize(10);
+    }
+
+    @Test
+    @DisplayName("배치가 차지 않아도 max-delay가 지나면 저장한다")
+    void flushesAfterMaxDelay() throws Exception {
+        writer = start(100, 5, 3_000);
+
+        writer.write(event(1));
+
+        verify(jdbcRepository).insertAll(anyList());
+    }
+
+    @Test
+    @DisplayName("저장 실패는 배치의 모든 호출자에게 전달되고 저널 항목은 지워진다")
+    void failurePropagatesToWholeBatch() {
+        RecordId journalId = RecordId.of("1-0");
+        when(journal.append(any())).thenReturn(journalId);
+        doThrow(new IllegalStateException("db down")).when(jdbcRepository).insertAll(anyList());
+        writer = start(1, 0, 3_000);
+
+        assertThatThrownBy(() -> writer.write(event(1)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasRootCauseMessage("db down");
+        verify(journal, timeout(1_000)).remove(List.of(journalId));
+    }
+
+    @Test
+    @DisplayName("대기 시간을 넘겨 포기한 이벤트는 이후 배치에서 저장되지 않는다")
+    void abandonedEventIsNotInserted() throws Exception {
+        CountDownLatch firstInsertStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstInsert = new CountDownLatch(1);
+        List<List<OutboxEvent>> inserted = new ArrayList<>();
+        doAnswer(invocation -> {
+            List<OutboxEvent> events = invocation.getArgument(0);
+            synchronized (inserted) {
+                inserted.add(List.copyOf(events));
+            }
+            firstInsertStarted.countDown();
+            releaseFirstInsert.await(3, TimeUnit.SECONDS);
+            return null;
+        }).when(jdbcRepository).insertAll(anyList());
+        writer = start(1, 0, 50);
+
+        CompletableFuture<Void> first = writer.submit(event(1)).future;
+        assertThat(firstInsertStarted.await(1, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> writer.write(event(2)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Outbox 일괄 저장 대기 시간 초과");
+        releaseFirstInsert.countDown();
+        first.get(1, TimeUnit.SECONDS);
+        writer.stop();
+
+        synchronized (inserted) {
+            assertThat(inserted).hasSize(1);
+            assertThat(inserted.get(0).get(0).getMessageKey()).isEqualTo("1");
+        }
+    }
+
+    @Test
+    @DisplayName("종료 시 큐에 남은 이벤트를 저장하고, 이후 들어온 이벤트는 거절한다")
+    void stopDrainsQueueAndRejectsNewEvents() throws Exception {
+        writer = start(100, 10_000, 3_000);
+        CompletableFuture<Void> queued = writer.submit(event(1)).future;
+
+        writer.stop();
+
+        assertThat(queued).isCompleted();
+        verify(jdbcRepository).insertAll(anyList());
+        assertThatThrownBy(() -> writer.submit(event(2)).future.get())
+                .isInstanceOf(ExecutionException.class);
+    }
+
+    private OutboxBatchWriter start(int batchSize, long maxDelayMillis, long waitTimeoutMillis) {
+        OutboxBatchWriter batchWriter = new OutboxBatchWriter(jdbcRepository, journal, new SimpleMeterRegistry(),
+                true, batchSize, maxDelayMillis, 1_000, waitTimeoutMillis, 60);
+        batchWriter.start();
+        return batchWriter;
+    }
+
+    private static OutboxEvent event(int userId) {
+        return OutboxEvent.pending("PreOrder", "10", "process_preorder", Integer.toString(userId), "{}");
+    }
+}
@@ -0,0 +1,91 @@
+package com.omisys.product.infrastructure.stock;
+
+import com.omisys.product.domain.repository.cassandra.ProductColumnRepository;
+import com.omisys.product.domain.repository.redis.StockLedgerRepository;
+import io.lettuce.core.RedisCommandExecutionException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisSystemException;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockWriteBehindTest {
+
+    @Mock private StringRedisTemplate redisTemplate;
+    @Mock private StreamOperations<String, Object, Object> streamOperations;
+    @Mock private StockLedgerRepository stockLedgerRepository;
+    @Mock private ProductColumnRepository productColumnRepository;
+
+    private StockWriteBehind writeBehind;
+
+    @BeforeEach
+    void setUp() {
+        writeBehind = new StockWriteBehind(redisTemplate, stockLedgerRepository, productColumnRepository,
+                new SimpleMeterRegistry(), true, 100, 10, 60);
+    }
+
+    @Test
+    @DisplayName("runOnce: 읽기가 NOGROUP으로 실패하면 다음 번에 컨슈머 그룹을 다시 만든다")
+    void runOnce_noGroup_recreatesGroup() {
+        // given: 첫 읽기는 그룹이 사라져 실패하고, 그룹을 다시 만든 뒤의 읽기는 성공한다
+        stubStreamOperations();
+        when(streamOperations.read(any(Consumer.class), any(StreamReadOptions.class), any(StreamOffset.class)))
+                .thenThrow(redisError("NOGROUP No such key 'product:stock:{ledger}:changes' or consumer group"))
+                .thenReturn(List.of());
+
+        // when
+        boolean first = writeBehind.runOnce();
+        boolean second = writeBehind.runOnce();
+        boolean third = writeBehind.runOnce();
+
+        // then: 시작할 때 한 번, NOGROUP 뒤에 한 번만 만든다
+        assertThat(first).isFalse();
+        assertThat(second).isTrue();
+        assertThat(third).isTrue();
+        verify(redisTemplate, times(2)).execute(any(RedisCallback.class));
+    }
+
+    @Test
+    @DisplayName("runOnce: 그룹이 이미 있으면(BUSYGROUP) 그대로 읽기를 이어간다")
+    void runOnce_busyGroup_continues() {
+        // given
+        stubStreamOperations();
+        when(redisTemplate.execute(any(RedisCallback.class)))
+                .thenThrow(redisError("BUSYGROUP Consumer Group name already exists"));
+        when(streamOperations.read(any(Consumer.class), any(StreamReadOptions.class), any(StreamOffset.class)))
+                .thenReturn(List.of());
+
+        // when & then
+        assertThat(writeBehind.runOnce()).isTrue();
+        assertThat(writeBehind.runOnce()).isTrue();
+        verify(redisTemplate, times(1)).execute(any(RedisCallback.class));
+    }
+
+    private void stubStreamOperations() {
+        when(redisTemplate.<Object, Object>opsForStream()).thenReturn(streamOperations);
+        lenient().when(streamOperations.pending(anyString(), anyString(), any(), anyLong()))
+                .thenReturn(new PendingMessages(StockWriteBehind.GROUP, List.of()));
+    }
+
+    /** Lettuce 오류는 RedisSystemException("Error in execution")의 원인으로 감싸져 올라온다. */
+    private static RedisSystemException redisError(String message) {
+        return new RedisSystemException("Error in execution", new RedisCommandExecutionException(message));
+    }
+}